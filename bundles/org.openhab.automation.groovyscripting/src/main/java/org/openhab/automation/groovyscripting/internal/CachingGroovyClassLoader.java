@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.SourceUnit;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * A {@link GroovyClassLoader} which caches the classes compiled from script sources, so that loading a script with
+ * the same content again (e.g. by another script engine or after a restart) doesn't need to compile it again.
+ * The classes are cached in memory by the SHA-256 hash of the script, and their bytecode is optionally persisted to a
+ * folder. The persisted classes are only used as long as the Groovy version and the classes in the script directory
+ * are unchanged.
+ *
+ * @author Wouter Born - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoader extends GroovyClassLoader {
+    private static final int MAX_CACHED_CLASSES = 500;
+    private static final String CLASSES_FILE_EXTENSION = ".classes";
+    private static final String FINGERPRINT_FILE = "fingerprint";
+
+    private final Logger logger = LoggerFactory.getLogger(CachingGroovyClassLoader.class);
+
+    private final Map<String, CachedClass> classCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedClass> eldest) {
+            return size() > MAX_CACHED_CLASSES;
+        }
+    };
+    // the bytecode generated by the compilation running on the current thread
+    private final ThreadLocal<@Nullable Map<String, byte[]>> generatedClasses = new ThreadLocal<>();
+    // incremented whenever the cached classes become invalid
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+    private final AtomicLong savedCompileTime = new AtomicLong();
+
+    private volatile @Nullable Path cacheFolder;
+
+    public CachingGroovyClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    /**
+     * Persist the compiled classes to a folder. Classes persisted with another fingerprint are deleted.
+     *
+     * @param folder the folder to persist the classes to
+     * @param fingerprint identifies the Groovy version and script directory content the classes are compiled for
+     */
+    public void enablePersistentCache(Path folder, String fingerprint) {
+        try {
+            Files.createDirectories(folder);
+            Path fingerprintFile = folder.resolve(FINGERPRINT_FILE);
+            if (!Files.exists(fingerprintFile) || !fingerprint.equals(Files.readString(fingerprintFile))) {
+                deleteCachedClasses(folder);
+                Files.writeString(fingerprintFile, fingerprint);
+            }
+            cacheFolder = folder;
+        } catch (IOException e) {
+            logger.warn("Failed to use folder '{}' for compiled scripts: {}", folder, e.getMessage());
+            cacheFolder = null;
+        }
+    }
+
+    /**
+     * Only cache the compiled classes in memory.
+     */
+    public void disablePersistentCache() {
+        cacheFolder = null;
+    }
+
+    /**
+     * Discard all cached classes, e.g. because the classes scripts depend on have changed.
+     *
+     * @param fingerprint identifies the Groovy version and the new script directory content
+     */
+    public void invalidate(String fingerprint) {
+        generation.incrementAndGet();
+        synchronized (classCache) {
+            classCache.clear();
+        }
+        // also reload the classes from the script directory
+        clearCache();
+        Path folder = cacheFolder;
+        if (folder != null) {
+            try {
+                deleteCachedClasses(folder);
+                Files.writeString(folder.resolve(FINGERPRINT_FILE), fingerprint);
+            } catch (IOException e) {
+                logger.warn("Failed to delete compiled scripts in '{}': {}", folder, e.getMessage());
+                cacheFolder = null;
+            }
+        }
+    }
+
+    @Override
+    @NonNullByDefault({})
+    public Class<?> parseClass(String text, String fileName) throws CompilationFailedException {
+        String key = hash(text);
+        CachedClass cachedClass;
+        synchronized (classCache) {
+            cachedClass = classCache.get(key);
+        }
+        Path folder = cacheFolder;
+        if (cachedClass == null && folder != null) {
+            cachedClass = loadCachedClass(folder, key);
+            if (cachedClass != null) {
+                synchronized (classCache) {
+                    classCache.put(key, cachedClass);
+                }
+            }
+        }
+        if (cachedClass != null) {
+            int hits = cacheHits.incrementAndGet();
+            long saved = savedCompileTime.addAndGet(cachedClass.compileTime());
+            logger.debug("Using cached class of script '{}', saved {} ms compile time ({} ms for {} scripts in total)",
+                    fileName, cachedClass.compileTime(), saved, hits);
+            return cachedClass.clazz();
+        }
+
+        int currentGeneration = generation.get();
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        Class<?> clazz;
+        generatedClasses.set(classes);
+        try {
+            clazz = super.parseClass(text, fileName);
+        } finally {
+            generatedClasses.remove();
+        }
+        long compileTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.debug("Compiled script '{}' in {} ms", fileName, compileTime);
+
+        if (currentGeneration == generation.get()) {
+            synchronized (classCache) {
+                classCache.put(key, new CachedClass(clazz, compileTime));
+            }
+            if (folder != null && classes.containsKey(clazz.getName())) {
+                persistClasses(folder, key, clazz.getName(), compileTime, classes);
+            }
+        }
+        return clazz;
+    }
+
+    @Override
+    @NonNullByDefault({})
+    protected ClassCollector createCollector(CompilationUnit unit, SourceUnit su) {
+        return new RecordingClassCollector(new InnerLoader(this), unit, su);
+    }
+
+    /**
+     * Create a fingerprint of the Groovy version and the files in a directory.
+     *
+     * @param directory the directory with the classes scripts may depend on
+     * @param groovyVersion the version of Groovy the scripts are compiled with
+     * @return the fingerprint
+     */
+    public static String fingerprint(Path directory, String groovyVersion) {
+        StringBuilder content = new StringBuilder(groovyVersion).append('\n');
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.filter(Files::isRegularFile).sorted().forEach(file -> {
+                    try {
+                        content.append(directory.relativize(file)).append('|').append(Files.size(file)).append('|')
+                                .append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+                    } catch (IOException e) {
+                        // the file is not used for the fingerprint, e.g. because it was deleted in the meantime
+                    }
+                });
+            } catch (IOException e) {
+                // an incomplete fingerprint only causes the scripts to be compiled again
+                content.append(e.getMessage());
+            }
+        }
+        return hash(content.toString());
+    }
+
+    private @Nullable CachedClass loadCachedClass(Path folder, String key) {
+        Path file = folder.resolve(key + CLASSES_FILE_EXTENSION);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream inputStream = Files.newInputStream(file);
+                DataInputStream in = new DataInputStream(inputStream)) {
+            long compileTime = in.readLong();
+            String mainClassName = in.readUTF();
+            int count = in.readInt();
+            // all classes of a script are defined by the same loader, like when they are compiled
+            PersistedClassLoader loader = new PersistedClassLoader(this);
+            Class<?> mainClass = null;
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] bytecode = in.readNBytes(in.readInt());
+                Class<?> clazz = loader.define(name, bytecode);
+                if (name.equals(mainClassName)) {
+                    mainClass = clazz;
+                }
+            }
+            if (mainClass == null) {
+                throw new IOException("Main class " + mainClassName + " is missing");
+            }
+            return new CachedClass(mainClass, compileTime);
+        } catch (IOException | LinkageError e) {
+            logger.debug("Failed to load compiled script from '{}', compiling it again: {}", file, e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    private void persistClasses(Path folder, String key, String mainClassName, long compileTime,
+            Map<String, byte[]> classes) {
+        Path file = folder.resolve(key + CLASSES_FILE_EXTENSION);
+        try {
+            Path tempFile = Files.createTempFile(folder, key, ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile);
+                    DataOutputStream out = new DataOutputStream(outputStream)) {
+                out.writeLong(compileTime);
+                out.writeUTF(mainClassName);
+                out.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            // scripts with the same content may be compiled at the same time, the file is complete in either case
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.debug("Failed to persist compiled script to '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private static void deleteCachedClasses(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : files.toList()) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(CLASSES_FILE_EXTENSION) || fileName.endsWith(".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedClass(Class<?> clazz, long compileTime) {
+    }
+
+    /**
+     * Defines persisted classes itself, while {@link InnerLoader#defineClass(String, byte[])} defines them in the
+     * shared loader, where the names of the classes of different scripts would clash.
+     */
+    private static class PersistedClassLoader extends InnerLoader {
+        PersistedClassLoader(GroovyClassLoader delegate) {
+            super(delegate);
+        }
+
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+
+    /**
+     * Records the bytecode of the classes generated by the compilation running on the current thread.
+     */
+    private class RecordingClassCollector extends ClassCollector {
+        RecordingClassCollector(InnerLoader loader, CompilationUnit unit, SourceUnit su) {
+            super(loader, unit, su);
+        }
+
+        @Override
+        @NonNullByDefault({})
+        protected Class<?> createClass(byte[] code, ClassNode classNode) {
+            Map<String, byte[]> classes = generatedClasses.get();
+            if (classes != null) {
+                classes.put(classNode.getName(), code);
+            }
+            return super.createClass(code, classNode);
+        }
+    }
+}
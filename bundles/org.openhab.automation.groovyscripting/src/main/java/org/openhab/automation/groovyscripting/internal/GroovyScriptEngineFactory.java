@@ -13,7 +13,9 @@
 package org.openhab.automation.groovyscripting.internal;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -24,32 +26,75 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.service.WatchService;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 
-import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
 
 /**
  * This is an implementation of a {@link ScriptEngineFactory} for Groovy.
  *
  * @author Wouter Born - Initial contribution
  */
-@Component(service = ScriptEngineFactory.class)
+@Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.automation.groovyscripting", property = Constants.SERVICE_PID
+        + "=org.openhab.automation.groovyscripting")
+@ConfigurableService(category = "automation", label = "Groovy Scripting", description_uri = "automation:groovyscripting")
 @NonNullByDefault
-public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
+public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory implements WatchService.WatchEventListener {
 
     private static final String FILE_DIRECTORY = "automation" + File.separator + "groovy";
+    private static final Path CACHE_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "cache",
+            "org.openhab.automation.groovyscripting");
+    private static final String CFG_PERSIST_COMPILED_SCRIPTS = "persistCompiledScripts";
+
     private final org.codehaus.groovy.jsr223.GroovyScriptEngineFactory factory = new org.codehaus.groovy.jsr223.GroovyScriptEngineFactory();
 
     private final List<String> scriptTypes = (List<String>) Stream.of(factory.getExtensions(), factory.getMimeTypes())
             .flatMap(List::stream) //
             .collect(Collectors.toUnmodifiableList());
 
-    private final GroovyClassLoader gcl = new GroovyClassLoader(GroovyScriptEngineFactory.class.getClassLoader());
+    private final CachingGroovyClassLoader gcl = new CachingGroovyClassLoader(
+            GroovyScriptEngineFactory.class.getClassLoader());
+    private final WatchService watchService;
+    private final Path scriptDir;
 
-    public GroovyScriptEngineFactory() {
-        String scriptDir = OpenHAB.getConfigFolder() + File.separator + FILE_DIRECTORY;
+    @Activate
+    public GroovyScriptEngineFactory(@Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService,
+            Map<String, Object> config) {
+        this.watchService = watchService;
+        this.scriptDir = Path.of(OpenHAB.getConfigFolder(), FILE_DIRECTORY);
         logger.debug("Adding script directory {} to the GroovyScriptEngine class path.", scriptDir);
-        gcl.addClasspath(scriptDir);
+        gcl.addClasspath(scriptDir.toString());
+        modified(config);
+        // compiled scripts depend on the classes in the script directory
+        watchService.registerListener(this, Path.of(FILE_DIRECTORY), true);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        watchService.unregisterListener(this);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        if (ConfigParser.valueAsOrElse(config.get(CFG_PERSIST_COMPILED_SCRIPTS), Boolean.class, true)) {
+            gcl.enablePersistentCache(CACHE_FOLDER, getFingerprint());
+        } else {
+            gcl.disablePersistentCache();
+        }
+    }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        logger.debug("Script directory changed ({} {}), discarding compiled scripts.", kind, path);
+        gcl.invalidate(getFingerprint());
     }
 
     @Override
@@ -64,4 +109,8 @@ public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
         }
         return null;
     }
+
+    private String getFingerprint() {
+        return CachingGroovyClassLoader.fingerprint(scriptDir, GroovySystem.getVersion());
+    }
 }
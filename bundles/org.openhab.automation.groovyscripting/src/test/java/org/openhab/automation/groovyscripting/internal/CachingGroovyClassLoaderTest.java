@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.SourceUnit;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import groovy.lang.Script;
+
+/**
+ * Tests {@link CachingGroovyClassLoader}.
+ *
+ * @author Wouter Born - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoaderTest {
+    private static final String SCRIPT = "def twice = { it * 2 }; twice(21)";
+    private static final String GROOVY_VERSION = "4.0.11";
+
+    private @TempDir @NonNullByDefault({}) Path cacheFolder;
+    private @TempDir @NonNullByDefault({}) Path scriptDirectory;
+
+    /**
+     * Counts the compilations of scripts.
+     */
+    private static class CountingClassLoader extends CachingGroovyClassLoader {
+        int compilations;
+
+        CountingClassLoader() {
+            super(CachingGroovyClassLoaderTest.class.getClassLoader());
+        }
+
+        @Override
+        @NonNullByDefault({})
+        protected ClassCollector createCollector(CompilationUnit unit, SourceUnit su) {
+            compilations++;
+            return super.createCollector(unit, su);
+        }
+    }
+
+    @Test
+    public void scriptWithTheSameContentIsCompiledOnce() throws Exception {
+        CountingClassLoader loader = new CountingClassLoader();
+
+        Class<?> first = loader.parseClass(SCRIPT, "first.groovy");
+        Class<?> second = loader.parseClass(SCRIPT, "second.groovy");
+        assertSame(first, second);
+        assertEquals(1, loader.compilations);
+        assertEquals(42, run(second));
+
+        Class<?> changed = loader.parseClass(SCRIPT + " + 1", "first.groovy");
+        assertNotSame(first, changed);
+        assertEquals(2, loader.compilations);
+        assertEquals(43, run(changed));
+    }
+
+    @Test
+    public void persistedClassesAreUsedByAnotherLoader() throws Exception {
+        String fingerprint = CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION);
+        CountingClassLoader loader = new CountingClassLoader();
+        loader.enablePersistentCache(cacheFolder, fingerprint);
+        loader.parseClass(SCRIPT, "script.groovy");
+        assertEquals(1, loader.compilations);
+        assertEquals(1, listClassFiles().size());
+
+        // like after a restart
+        CountingClassLoader restarted = new CountingClassLoader();
+        restarted.enablePersistentCache(cacheFolder, fingerprint);
+        Class<?> clazz = restarted.parseClass(SCRIPT, "script.groovy");
+        assertEquals(0, restarted.compilations);
+        // the closure of the script is persisted as well
+        assertEquals(42, run(clazz));
+
+        // the loaded class is cached in memory
+        assertSame(clazz, restarted.parseClass(SCRIPT, "script.groovy"));
+    }
+
+    @Test
+    public void persistedClassesAreDiscardedForAnotherFingerprint() throws Exception {
+        CountingClassLoader loader = new CountingClassLoader();
+        loader.enablePersistentCache(cacheFolder, CachingGroovyClassLoader.fingerprint(scriptDirectory, "4.0.10"));
+        loader.parseClass(SCRIPT, "script.groovy");
+        assertEquals(1, listClassFiles().size());
+
+        CountingClassLoader upgraded = new CountingClassLoader();
+        upgraded.enablePersistentCache(cacheFolder,
+                CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION));
+        assertTrue(listClassFiles().isEmpty());
+        assertEquals(42, run(upgraded.parseClass(SCRIPT, "script.groovy")));
+        assertEquals(1, upgraded.compilations);
+    }
+
+    @Test
+    public void corruptPersistedClassesAreCompiledAgain() throws Exception {
+        String fingerprint = CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION);
+        CountingClassLoader loader = new CountingClassLoader();
+        loader.enablePersistentCache(cacheFolder, fingerprint);
+        loader.parseClass(SCRIPT, "script.groovy");
+        Path classFile = listClassFiles().get(0);
+        Files.write(classFile, new byte[] { 0, 0, 0, 0, 0, 0, 0, 1, 0 });
+
+        CountingClassLoader restarted = new CountingClassLoader();
+        restarted.enablePersistentCache(cacheFolder, fingerprint);
+        assertEquals(42, run(restarted.parseClass(SCRIPT, "script.groovy")));
+        assertEquals(1, restarted.compilations);
+        // the file is replaced with the classes of the new compilation
+        assertTrue(Files.size(classFile) > 9);
+    }
+
+    @Test
+    public void invalidateDiscardsCachedClasses() throws Exception {
+        CountingClassLoader loader = new CountingClassLoader();
+        loader.enablePersistentCache(cacheFolder,
+                CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION));
+        Class<?> first = loader.parseClass(SCRIPT, "script.groovy");
+
+        Files.writeString(scriptDirectory.resolve("Helper.groovy"), "class Helper {}");
+        String fingerprint = CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION);
+        loader.invalidate(fingerprint);
+        assertTrue(listClassFiles().isEmpty());
+        assertEquals(fingerprint, Files.readString(cacheFolder.resolve("fingerprint")));
+
+        Class<?> second = loader.parseClass(SCRIPT, "script.groovy");
+        assertNotSame(first, second);
+        assertEquals(2, loader.compilations);
+        assertEquals(1, listClassFiles().size());
+    }
+
+    @Test
+    public void fingerprintChangesWithTheScriptDirectoryAndGroovyVersion() throws Exception {
+        String empty = CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION);
+        assertEquals(empty, CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION));
+        assertNotEquals(empty, CachingGroovyClassLoader.fingerprint(scriptDirectory, "4.0.12"));
+
+        Path helper = scriptDirectory.resolve("lib").resolve("Helper.groovy");
+        Files.createDirectories(helper.getParent());
+        Files.writeString(helper, "class Helper {}");
+        String added = CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION);
+        assertNotEquals(empty, added);
+
+        Files.setLastModifiedTime(helper, FileTime.fromMillis(Files.getLastModifiedTime(helper).toMillis() + 1000));
+        String modified = CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION);
+        assertNotEquals(added, modified);
+
+        Files.writeString(helper, "class Helper { int x }");
+        assertNotEquals(modified, CachingGroovyClassLoader.fingerprint(scriptDirectory, GROOVY_VERSION));
+
+        // a missing directory only depends on the Groovy version
+        assertEquals(CachingGroovyClassLoader.fingerprint(scriptDirectory.resolve("missing"), GROOVY_VERSION),
+                CachingGroovyClassLoader.fingerprint(scriptDirectory.resolve("other"), GROOVY_VERSION));
+    }
+
+    private Object run(Class<?> scriptClass) throws Exception {
+        return ((Script) scriptClass.getDeclaredConstructor().newInstance()).run();
+    }
+
+    private List<Path> listClassFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheFolder)) {
+            return files.filter(file -> file.toString().endsWith(".classes")).toList();
+        }
+    }
+}
@@ -13,7 +13,11 @@
 package org.openhab.automation.jrubyscripting.internal;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,7 +40,7 @@ import org.slf4j.LoggerFactory;
  * Processes JRuby Configuration Parameters.
  *
  * @author Brian O'Connell - Initial contribution
- * @author Jimmy Tanagra - Add $LOAD_PATH, require injection
+ * @author Jimmy Tanagra - Add $LOAD_PATH, require injection, gem lock file, engine pool size
  */
 @NonNullByDefault
 public class JRubyScriptEngineConfiguration {
@@ -60,6 +64,10 @@ public class JRubyScriptEngineConfiguration {
     private static final String REQUIRE_CONFIG_KEY = "require";
     private static final String CHECK_UPDATE_CONFIG_KEY = "check_update";
     private static final String DEPENDENCY_TRACKING_CONFIG_KEY = "dependency_tracking";
+    private static final String ENGINE_POOL_SIZE_CONFIG_KEY = "engine_pool_size";
+
+    // records the gem settings and the gems resolved for them, so the gems only need to be resolved again on changes
+    private static final String GEM_LOCK_FILE = "openhab-gems.lock";
 
     // Map of configuration parameters
     private final Map<String, OptionalConfigurationElement> configurationParameters = Map.ofEntries(
@@ -85,7 +93,9 @@ public class JRubyScriptEngineConfiguration {
 
             Map.entry(CHECK_UPDATE_CONFIG_KEY, new OptionalConfigurationElement("true")),
 
-            Map.entry(DEPENDENCY_TRACKING_CONFIG_KEY, new OptionalConfigurationElement("true")));
+            Map.entry(DEPENDENCY_TRACKING_CONFIG_KEY, new OptionalConfigurationElement("true")),
+
+            Map.entry(ENGINE_POOL_SIZE_CONFIG_KEY, new OptionalConfigurationElement("0")));
 
     /**
      * Update configuration
@@ -205,6 +215,13 @@ public class JRubyScriptEngineConfiguration {
 
         boolean checkUpdate = "true".equals(get(CHECK_UPDATE_CONFIG_KEY));
 
+        Path gemLockFile = Path.of(gemHome, GEM_LOCK_FILE);
+        String gemLockKey = String.join("|", gems, Boolean.toString(checkUpdate), Constants.VERSION);
+        if (isGemLockValid(gemLockFile, gemLockKey)) {
+            logger.debug("Gem settings are unchanged and the resolved gems are installed, not resolving gems");
+            return;
+        }
+
         String[] gemsArray = gems.split(",");
         // Set update_native_env_enabled to false so that bundler doesn't leak
         // into other script engines
@@ -242,9 +259,63 @@ public class JRubyScriptEngineConfiguration {
         try {
             logger.debug("Installing Gems");
             logger.trace("Gem install code:\n{}", gemCommand);
+            long start = System.currentTimeMillis();
             engine.eval(gemCommand);
+            logger.debug("Resolved gems in {} ms", System.currentTimeMillis() - start);
+            writeGemLock(engine, gemLockFile, gemLockKey, gemHome);
         } catch (ScriptException e) {
             logger.warn("Error installing Gems", unwrap(e));
+            try {
+                Files.deleteIfExists(gemLockFile);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Check if the gems were resolved for the current gem settings and are still installed
+     *
+     * @param gemLockFile File the resolved gems are recorded in
+     * @param gemLockKey Gem settings the gems have to be resolved for
+     */
+    private boolean isGemLockValid(Path gemLockFile, String gemLockKey) {
+        if (!Files.exists(gemLockFile)) {
+            return false;
+        }
+        try {
+            List<String> lines = Files.readAllLines(gemLockFile);
+            if (lines.isEmpty() || !lines.get(0).equals(gemLockKey)) {
+                return false;
+            }
+            // the gems may have been removed from gem_home in the meantime
+            return lines.stream().skip(1).allMatch(gemDir -> Files.isDirectory(Path.of(gemDir)));
+        } catch (IOException e) {
+            logger.debug("Error reading gem lock file {}: {}", gemLockFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Record the gems which were resolved for the current gem settings
+     *
+     * @param engine Engine in which the gems were resolved
+     * @param gemLockFile File to record the resolved gems in
+     * @param gemLockKey Gem settings the gems were resolved for
+     * @param gemHome Gem home the gems were installed to
+     */
+    private void writeGemLock(ScriptEngine engine, Path gemLockFile, String gemLockKey, String gemHome) {
+        try {
+            List<String> lines = new ArrayList<>();
+            lines.add(gemLockKey);
+            // the specs activated by bundler, default gems included with JRuby are not recorded
+            Object gemDirs = engine.eval("Gem.loaded_specs.values.map(&:gem_dir).join(\"\\n\")");
+            if (gemDirs != null) {
+                Stream.of(gemDirs.toString().split("\n")).filter(gemDir -> !gemDir.isEmpty())
+                        .filter(gemDir -> Path.of(gemDir).startsWith(Path.of(gemHome))).forEach(lines::add);
+            }
+            Files.write(gemLockFile, lines);
+        } catch (ScriptException | IOException | RuntimeException e) {
+            logger.debug("Error writing gem lock file {}: {}", gemLockFile, e.getMessage());
         }
     }
 
@@ -334,6 +405,19 @@ public class JRubyScriptEngineConfiguration {
         return "true".equals(get(DEPENDENCY_TRACKING_CONFIG_KEY));
     }
 
+    public int getEnginePoolSize() {
+        if ("threadsafe".equals(get("local_context"))) {
+            // the runtime is thread-local, an engine pre-warmed on another thread would have an unconfigured runtime
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(get(ENGINE_POOL_SIZE_CONFIG_KEY)));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid engine_pool_size '{}', not pre-creating engines", get(ENGINE_POOL_SIZE_CONFIG_KEY));
+            return 0;
+        }
+    }
+
     /**
      * Configure system properties
      * 
@@ -31,6 +31,7 @@ import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptExtensionManagerWrapper;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.service.WatchService;
 import org.osgi.framework.Constants;
@@ -46,7 +47,7 @@ import org.osgi.service.component.annotations.ReferencePolicy;
  * This is an implementation of a {@link ScriptEngineFactory} for Ruby.
  *
  * @author Brian O'Connell - Initial contribution
- * @author Jimmy Tanagra - Add require injection
+ * @author Jimmy Tanagra - Add require injection, pre-warmed engines
  */
 @NonNullByDefault
 @Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.automation.jrubyscripting", property = Constants.SERVICE_PID
@@ -61,6 +62,8 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
             Objects.requireNonNull(factory.getMimeTypes()).stream()).toList();
 
     private final JRubyDependencyTracker jrubyDependencyTracker;
+    private final JRubyScriptEnginePool enginePool = new JRubyScriptEnginePool(
+            ThreadPoolManager.getPool("jrubyscripting"));
 
     // Adds $ in front of a set of variables so that Ruby recognizes them as global
     // variables
@@ -83,6 +86,7 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
     @Deactivate
     protected void deactivate() {
         jrubyDependencyTracker.deactivate();
+        enginePool.dispose();
     }
 
     // The modified call updates configuration for the automation
@@ -94,6 +98,8 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
         if (configuration.enableDependencyTracking()) {
             jrubyDependencyTracker.activate();
         }
+        // the pooled engines are configured with the current configuration, so they are replaced on every change
+        enginePool.configure(configuration.getEnginePoolSize(), this::createConfiguredEngine);
     }
 
     @Override
@@ -137,7 +143,12 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
         // presets, including 'ir'. We wait for the second call before running the
         // require statements.
         if (scopeValues.containsKey("ir")) {
+            long start = System.currentTimeMillis();
             configuration.injectRequire(scriptEngine);
+            logger.debug("Required scripts for {} in {} ms",
+                    scriptExtension instanceof ScriptExtensionManagerWrapper wrapper ? wrapper.getScriptIdentifier()
+                            : "script",
+                    System.currentTimeMillis() - start);
         }
     }
 
@@ -158,9 +169,21 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
         if (!scriptTypes.contains(scriptType)) {
             return null;
         }
+        long start = System.currentTimeMillis();
+        ScriptEngine engine = enginePool.take();
+        boolean preWarmed = engine != null;
+        if (engine == null) {
+            engine = createConfiguredEngine();
+        }
+        logger.debug("Created JRuby engine in {} ms (pre-warmed: {})", System.currentTimeMillis() - start, preWarmed);
+        return new JRubyEngineWrapper((org.jruby.embed.jsr223.JRubyEngine) engine);
+    }
+
+    private ScriptEngine createConfiguredEngine() {
         ScriptEngine engine = factory.getScriptEngine();
+        // this also boots the Ruby runtime
         configuration.configureRubyEnvironment(engine);
-        return new JRubyEngineWrapper((org.jruby.embed.jsr223.JRubyEngine) engine);
+        return engine;
     }
 
     @Override
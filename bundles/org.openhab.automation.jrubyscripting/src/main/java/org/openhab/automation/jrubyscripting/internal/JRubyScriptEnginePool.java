@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrubyscripting.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.jruby.Ruby;
+import org.jruby.embed.PropertyName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of pre-warmed JRuby script engines, i.e. engines with a booted Ruby runtime and a configured Ruby environment,
+ * so that loading a script doesn't have to wait for the runtime to boot.
+ * The required scripts (e.g. the helper library) are not loaded in advance, as they depend on the presets of the
+ * script the engine is used for.
+ *
+ * @author Jimmy Tanagra - Initial contribution
+ */
+@NonNullByDefault
+class JRubyScriptEnginePool {
+    private final Logger logger = LoggerFactory.getLogger(JRubyScriptEnginePool.class);
+
+    private final ExecutorService executor;
+    private final Deque<ScriptEngine> engines = new ArrayDeque<>();
+
+    private int size;
+    private int pendingCreations;
+    // incremented whenever the pooled engines become invalid, e.g. because of a configuration change
+    private int generation;
+    private @Nullable Supplier<ScriptEngine> engineSupplier;
+
+    JRubyScriptEnginePool(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Configure the pool and discard and terminate the pooled engines.
+     *
+     * @param size the number of engines to keep ready, 0 to disable the pool
+     * @param engineSupplier creates a pre-warmed engine with the current configuration
+     */
+    synchronized void configure(int size, Supplier<ScriptEngine> engineSupplier) {
+        this.size = size;
+        this.engineSupplier = engineSupplier;
+        generation++;
+        pendingCreations = 0;
+        discardEngines();
+        refill();
+    }
+
+    /**
+     * Get a pre-warmed engine from the pool.
+     *
+     * @return an engine which has never been used, or null if the pool is empty
+     */
+    synchronized @Nullable ScriptEngine take() {
+        ScriptEngine engine = engines.pollFirst();
+        refill();
+        return engine;
+    }
+
+    /**
+     * Discard and terminate the pooled engines and disable the pool.
+     */
+    synchronized void dispose() {
+        size = 0;
+        engineSupplier = null;
+        generation++;
+        pendingCreations = 0;
+        discardEngines();
+    }
+
+    private synchronized void refill() {
+        Supplier<ScriptEngine> supplier = engineSupplier;
+        if (supplier == null || engines.size() + pendingCreations >= size) {
+            return;
+        }
+        pendingCreations++;
+        int currentGeneration = generation;
+        executor.execute(() -> {
+            ScriptEngine engine = null;
+            try {
+                long start = System.currentTimeMillis();
+                engine = supplier.get();
+                logger.debug("Pre-warmed a JRuby engine in {} ms", System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to pre-warm a JRuby engine: {}", e.getMessage());
+            }
+            synchronized (this) {
+                if (currentGeneration == generation) {
+                    pendingCreations--;
+                    if (engine != null) {
+                        engines.addLast(engine);
+                        // keep filling until the pool is full
+                        refill();
+                    }
+                    return;
+                }
+            }
+            // the pool was reconfigured or disposed in the meantime
+            if (engine != null) {
+                terminate(engine);
+            }
+        });
+    }
+
+    private void discardEngines() {
+        List<ScriptEngine> discarded = new ArrayList<>(engines);
+        engines.clear();
+        if (!discarded.isEmpty()) {
+            executor.execute(() -> discarded.forEach(this::terminate));
+        }
+    }
+
+    /**
+     * Tear down the Ruby runtime of an engine which was never handed out.
+     */
+    private void terminate(ScriptEngine engine) {
+        String scope = System.getProperty(PropertyName.LOCALCONTEXT_SCOPE.toString(), "singlethread");
+        if (!"singlethread".equalsIgnoreCase(scope) && !"concurrent".equalsIgnoreCase(scope)) {
+            // the runtime is shared with other engines or bound to the thread which created it
+            return;
+        }
+        try {
+            if (engine.eval("require 'jruby'; JRuby.runtime") instanceof Ruby runtime) {
+                runtime.tearDown();
+            }
+        } catch (ScriptException | RuntimeException e) {
+            logger.debug("Failed to tear down a pooled JRuby engine: {}", e.getMessage());
+        }
+    }
+}
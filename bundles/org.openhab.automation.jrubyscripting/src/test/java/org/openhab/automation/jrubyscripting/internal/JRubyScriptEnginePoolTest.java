@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrubyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.jruby.Ruby;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link JRubyScriptEnginePool}.
+ *
+ * The tasks of the pool are collected and run by the test, so that their order is deterministic.
+ *
+ * @author Jimmy Tanagra - Initial contribution
+ */
+@NonNullByDefault
+public class JRubyScriptEnginePoolTest {
+    private static final String RUNTIME_SCRIPT = "require 'jruby'; JRuby.runtime";
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private final List<ScriptEngine> created = new ArrayList<>();
+    private final List<Ruby> runtimes = new ArrayList<>();
+    private final Supplier<ScriptEngine> engineSupplier = this::createEngine;
+
+    private @NonNullByDefault({}) JRubyScriptEnginePool pool;
+
+    @BeforeEach
+    public void setUp() {
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        pool = new JRubyScriptEnginePool(executor);
+    }
+
+    @Test
+    public void disabledPoolCreatesNoEngines() {
+        pool.configure(0, engineSupplier);
+        assertNull(pool.take());
+        runTasks();
+
+        assertTrue(created.isEmpty());
+    }
+
+    @Test
+    public void poolIsFilledUpToItsSize() {
+        pool.configure(2, engineSupplier);
+        runTasks();
+        assertEquals(2, created.size());
+
+        // the engines are handed out in the order of their creation and replaced
+        assertSame(created.get(0), pool.take());
+        assertSame(created.get(1), pool.take());
+        runTasks();
+        assertEquals(4, created.size());
+        assertSame(created.get(2), pool.take());
+        verifyNotTerminated(0, 1, 2);
+    }
+
+    @Test
+    public void emptyPoolIsRefilledAfterTake() {
+        pool.configure(1, engineSupplier);
+        assertNull(pool.take());
+
+        runTasks();
+        assertEquals(1, created.size());
+        assertSame(created.get(0), pool.take());
+    }
+
+    @Test
+    public void failedCreationLeavesThePoolEmpty() {
+        pool.configure(1, () -> {
+            throw new IllegalStateException("boot failed");
+        });
+        runTasks();
+        assertNull(pool.take());
+
+        // the next take tries again
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void reconfigureTerminatesPooledEngines() {
+        pool.configure(2, engineSupplier);
+        runTasks();
+        ScriptEngine taken = pool.take();
+        runTasks();
+
+        pool.configure(1, engineSupplier);
+        runTasks();
+        assertEquals(4, created.size());
+        verifyTerminated(1, 2);
+        assertSame(taken, created.get(0));
+        verifyNotTerminated(0);
+        assertSame(created.get(3), pool.take());
+    }
+
+    @Test
+    public void engineOfAnOutdatedConfigurationIsTerminated() {
+        pool.configure(1, engineSupplier);
+        pool.configure(1, engineSupplier);
+        runTasks();
+
+        assertEquals(2, created.size());
+        verifyTerminated(0);
+        assertSame(created.get(1), pool.take());
+    }
+
+    @Test
+    public void disposeTerminatesPooledEngines() {
+        pool.configure(2, engineSupplier);
+        runTasks();
+
+        pool.dispose();
+        runTasks();
+        verifyTerminated(0, 1);
+        assertNull(pool.take());
+        runTasks();
+        assertEquals(2, created.size());
+    }
+
+    private ScriptEngine createEngine() {
+        ScriptEngine engine = mock(ScriptEngine.class);
+        Ruby runtime = mock(Ruby.class);
+        try {
+            when(engine.eval(anyString())).thenReturn(runtime);
+        } catch (ScriptException e) {
+            throw new IllegalStateException(e);
+        }
+        created.add(engine);
+        runtimes.add(runtime);
+        return engine;
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void verifyTerminated(int... indexes) {
+        for (int index : indexes) {
+            try {
+                verify(created.get(index)).eval(RUNTIME_SCRIPT);
+            } catch (ScriptException e) {
+                throw new IllegalStateException(e);
+            }
+            verify(runtimes.get(index)).tearDown();
+        }
+    }
+
+    private void verifyNotTerminated(int... indexes) {
+        for (int index : indexes) {
+            verifyNoInteractions(created.get(index), runtimes.get(index));
+        }
+    }
+}
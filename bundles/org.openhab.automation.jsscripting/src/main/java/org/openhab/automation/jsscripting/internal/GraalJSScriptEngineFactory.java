@@ -23,13 +23,17 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 
@@ -44,8 +48,13 @@ import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 @ConfigurableService(category = "automation", label = "JS Scripting", description_uri = "automation:jsscripting")
 @NonNullByDefault
 public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
+    private final Logger logger = LoggerFactory.getLogger(GraalJSScriptEngineFactory.class);
+
     private static final String CFG_INJECTION_ENABLED = "injectionEnabled";
     private static final String CFG_INJECTION_CACHING_ENABLED = "injectionCachingEnabled";
+    private static final String CFG_CONTEXT_POOL_SIZE = "contextPoolSize";
+    private static final int DEFAULT_CONTEXT_POOL_SIZE = 2;
+    private static final String CFG_EVENT_LOOP_ENABLED = "eventLoopEnabled";
 
     private static final GraalJSEngineFactory factory = new GraalJSEngineFactory();
 
@@ -60,9 +69,12 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     private boolean injectionEnabled = true;
     private boolean injectionCachingEnabled = true;
+    private boolean eventLoopEnabled = false;
 
     private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSDependencyTracker jsDependencyTracker;
+    private final OpenhabGraalJSScriptEnginePool enginePool = new OpenhabGraalJSScriptEnginePool(
+            ThreadPoolManager.getPool("jsscripting"));
 
     @Activate
     public GraalJSScriptEngineFactory(final @Reference JSScriptServiceUtil jsScriptServiceUtil,
@@ -72,6 +84,11 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         modified(config);
     }
 
+    @Deactivate
+    public void deactivate() {
+        enginePool.dispose();
+    }
+
     @Override
     public List<String> getScriptTypes() {
         return scriptTypes;
@@ -87,8 +104,35 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         if (!scriptTypes.contains(scriptType)) {
             return null;
         }
-        return new DebuggingGraalScriptEngine<>(new OpenhabGraalJSScriptEngine(injectionEnabled,
-                injectionCachingEnabled, jsScriptServiceUtil, jsDependencyTracker));
+        long start = System.currentTimeMillis();
+        OpenhabGraalJSScriptEngine engine = enginePool.take();
+        boolean preInitialized = engine != null;
+        if (engine == null) {
+            engine = createOpenhabEngine();
+        }
+        logger.debug("Created GraalJS engine in {} ms (pre-initialized: {})", System.currentTimeMillis() - start,
+                preInitialized);
+        return new DebuggingGraalScriptEngine<>(engine);
+    }
+
+    private OpenhabGraalJSScriptEngine createPreInitializedEngine() {
+        OpenhabGraalJSScriptEngine engine = createOpenhabEngine();
+        try {
+            engine.preInitialize();
+            return engine;
+        } catch (RuntimeException e) {
+            // e.g. the injection uses a script extension module before the script is known, the engine is then
+            // initialized when it is used for a script
+            logger.debug("Failed to pre-initialize a GraalJS engine, it is initialized when used: {}",
+                    e.getMessage());
+            engine.closeUnused();
+            return createOpenhabEngine();
+        }
+    }
+
+    private OpenhabGraalJSScriptEngine createOpenhabEngine() {
+        return new OpenhabGraalJSScriptEngine(injectionEnabled, injectionCachingEnabled, eventLoopEnabled,
+                jsScriptServiceUtil, jsDependencyTracker);
     }
 
     @Override
@@ -101,5 +145,10 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         this.injectionEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_ENABLED), Boolean.class, true);
         this.injectionCachingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_CACHING_ENABLED),
                 Boolean.class, true);
+        this.eventLoopEnabled = ConfigParser.valueAsOrElse(config.get(CFG_EVENT_LOOP_ENABLED), Boolean.class, false);
+        int contextPoolSize = ConfigParser.valueAsOrElse(config.get(CFG_CONTEXT_POOL_SIZE), Integer.class,
+                DEFAULT_CONTEXT_POOL_SIZE);
+        // the pooled engines are created with the configuration, so they are replaced on every change
+        enginePool.configure(contextPoolSize, this::createPreInitializedEngine);
     }
 }
@@ -46,7 +46,7 @@ public class JSScriptServiceUtil {
         return scriptExecution;
     }
 
-    public JSRuntimeFeatures getJSRuntimeFeatures(Lock lock) {
-        return new JSRuntimeFeatures(lock, this);
+    public JSRuntimeFeatures getJSRuntimeFeatures(Lock lock, boolean eventLoopEnabled) {
+        return new JSRuntimeFeatures(lock, eventLoopEnabled, this);
     }
 }
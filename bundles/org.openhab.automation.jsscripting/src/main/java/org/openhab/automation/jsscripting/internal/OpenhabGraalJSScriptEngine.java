@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.FileSystems;
@@ -30,7 +31,9 @@ import java.nio.file.attribute.FileAttribute;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -38,6 +41,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.Nullable;
@@ -66,7 +70,9 @@ import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
  * @author Dan Cunningham - Script injections
  * @author Florian Hotze - Create lock object for multi-thread synchronization; Inject the {@link JSRuntimeFeatures}
  *         into the JS context; Fix memory leak caused by HostObject by making HostAccess reference static; Switch to
- *         {@link Lock} for multi-thread synchronization; globals and openhab-js injection code caching
+ *         {@link Lock} for multi-thread synchronization; globals and openhab-js injection code caching; cache
+ *         of the sources of evaluated scripts; optional event loop for timers and rule executions; initialization
+ *         in advance for pre-created engines
  */
 public class OpenhabGraalJSScriptEngine
         extends InvocationInterceptingScriptEngineWithInvocableAndAutoCloseable<GraalJSScriptEngine> {
@@ -94,7 +100,25 @@ public class OpenhabGraalJSScriptEngine
     }
     private static final String OPENHAB_JS_INJECTION_CODE = "Object.assign(this, require('openhab'));";
 
+    /** Maximum number of script sources kept in {@link #SOURCE_CACHE} */
+    private static final int SOURCE_CACHE_SIZE = 256;
+    /**
+     * Sources of the evaluated scripts, shared across all contexts. The shared {@link #ENGINE} keeps the parsed code of a
+     * source as long as the source is referenced, so the parsed script is reused when the same script (e.g. a
+     * transformation or a script file) is evaluated again, even by another script engine.
+     */
+    private static final Map<SourceKey, Source> SOURCE_CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SourceKey, Source> eldest) {
+            return size() > SOURCE_CACHE_SIZE;
+        }
+    };
+
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
+    /** Function of the global script, which names the logger and the timers of the script */
+    private static final String IDENTIFIER_INITIALIZER_NAME = "__initidentifier__";
     /** Final CommonJS search path for our library */
     private static final Path NODE_DIR = Paths.get("node_modules");
     /** Shared Polyglot {@link Engine} across all instances of {@link OpenhabGraalJSScriptEngine} */
@@ -137,7 +161,12 @@ public class OpenhabGraalJSScriptEngine
     private @Nullable Consumer<String> scriptDependencyListener;
     private String engineIdentifier; // this field is very helpful for debugging, please do not remove it
 
+    private @Nullable ModuleLocator moduleLocator;
+
     private boolean initialized = false;
+    // whether the global script and (if cached) the openhab-js injection were evaluated before the script was known
+    private boolean preInitialized = false;
+    private boolean injected = false;
     private final boolean injectionEnabled;
     private final boolean injectionCachingEnabled;
 
@@ -146,11 +175,11 @@ public class OpenhabGraalJSScriptEngine
      * that tracks the script lifecycle and provides hooks for scripts to do so too.
      */
     public OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled,
-            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
+            boolean eventLoopEnabled, JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
         this.injectionEnabled = injectionEnabled;
         this.injectionCachingEnabled = injectionCachingEnabled;
-        this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock);
+        this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock, eventLoopEnabled);
 
         LOGGER.debug("Initializing GraalJS script engine...");
 
@@ -223,6 +252,29 @@ public class OpenhabGraalJSScriptEngine
                         }));
     }
 
+    /**
+     * Evaluates the global script and, if caching is enabled, the openhab-js injection before the engine is used for a
+     * script, e.g. for the engines of the {@link OpenhabGraalJSScriptEnginePool}.
+     * The script extension modules required meanwhile are resolved for the script as soon as it is known.
+     */
+    void preInitialize() {
+        lock.lock();
+        try {
+            long start = System.nanoTime();
+            initializeContext();
+            if (injectionEnabled && injectionCachingEnabled) {
+                LOGGER.debug("Evaluating cached openhab-js injection in advance...");
+                delegate.getPolyglotContext().eval(OPENHAB_JS_SOURCE);
+                injected = true;
+            }
+            preInitialized = true;
+            LOGGER.debug("Successfully pre-initialized GraalJS script engine in {} ms.",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     protected void beforeInvocation() {
         super.beforeInvocation();
@@ -260,27 +312,22 @@ public class OpenhabGraalJSScriptEngine
         scriptDependencyListener = localScriptDependencyListener;
 
         ScriptExtensionModuleProvider scriptExtensionModuleProvider = new ScriptExtensionModuleProvider(
-                scriptExtensionAccessor, lock);
-
-        // Wrap the "require" function to also allow loading modules from the ScriptExtensionModuleProvider
-        Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn = originalRequireFn -> moduleName -> scriptExtensionModuleProvider
-                .locatorFor(delegate.getPolyglotContext(), localEngineIdentifier).locateModule(moduleName)
-                .map(m -> (Object) m).orElseGet(() -> originalRequireFn.apply(new Object[] { moduleName }));
-        delegate.getBindings(ScriptContext.ENGINE_SCOPE).put(REQUIRE_WRAPPER_NAME, wrapRequireFn);
-        delegate.put("require", wrapRequireFn.apply((Function<Object[], Object>) delegate.get("require")));
-
-        // Injections into the JS runtime
-        jsRuntimeFeatures.getFeatures().forEach((key, obj) -> {
-            LOGGER.debug("Injecting {} into the JS runtime...", key);
-            delegate.put(key, obj);
-        });
+                scriptExtensionAccessor, lock, jsRuntimeFeatures.eventLoop);
+        moduleLocator = scriptExtensionModuleProvider.locatorFor(delegate.getPolyglotContext(), localEngineIdentifier);
 
         initialized = true;
 
+        long start = System.nanoTime();
         try {
-            LOGGER.debug("Evaluating cached global script...");
-            delegate.getPolyglotContext().eval(GLOBAL_SOURCE);
-            if (this.injectionEnabled) {
+            Value jsBindings = delegate.getPolyglotContext().getBindings("js");
+            if (preInitialized) {
+                // the global script was evaluated before the script file name or rule UID was available
+                jsBindings.getMember(IDENTIFIER_INITIALIZER_NAME).executeVoid();
+            } else {
+                initializeContext();
+            }
+            jsBindings.removeMember(IDENTIFIER_INITIALIZER_NAME);
+            if (this.injectionEnabled && !injected) {
                 if (this.injectionCachingEnabled) {
                     LOGGER.debug("Evaluating cached openhab-js injection...");
                     delegate.getPolyglotContext().eval(OPENHAB_JS_SOURCE);
@@ -289,12 +336,97 @@ public class OpenhabGraalJSScriptEngine
                     eval(OPENHAB_JS_INJECTION_CODE);
                 }
             }
-            LOGGER.debug("Successfully initialized GraalJS script engine.");
+            LOGGER.debug("Successfully initialized GraalJS script engine in {} ms.",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
         } catch (ScriptException e) {
             LOGGER.error("Could not inject global script", e);
         }
     }
 
+    /**
+     * Wraps the "require" function, injects the {@link JSRuntimeFeatures} and evaluates the global script. None of it
+     * depends on the script the engine is used for.
+     */
+    private void initializeContext() {
+        // Wrap the "require" function to also allow loading modules from the ScriptExtensionModuleProvider
+        Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn = originalRequireFn -> moduleName -> locateModule(
+                moduleName).map(m -> (Object) m).orElseGet(() -> originalRequireFn.apply(new Object[] { moduleName }));
+        delegate.getBindings(ScriptContext.ENGINE_SCOPE).put(REQUIRE_WRAPPER_NAME, wrapRequireFn);
+        delegate.put("require", wrapRequireFn.apply((Function<Object[], Object>) delegate.get("require")));
+
+        // Injections into the JS runtime
+        jsRuntimeFeatures.getFeatures().forEach((key, obj) -> {
+            LOGGER.debug("Injecting {} into the JS runtime...", key);
+            delegate.put(key, obj);
+        });
+
+        LOGGER.debug("Evaluating cached global script...");
+        delegate.getPolyglotContext().eval(GLOBAL_SOURCE);
+    }
+
+    private Optional<Value> locateModule(String moduleName) {
+        ModuleLocator localModuleLocator = moduleLocator;
+        if (localModuleLocator != null) {
+            return localModuleLocator.locateModule(moduleName);
+        }
+        if (ScriptExtensionModuleProvider.isRuntimeModule(moduleName)) {
+            // the engine is pre-initialized, the module is resolved once the script is known
+            return Optional.of(ScriptExtensionModuleProvider.deferredModule(delegate.getPolyglotContext(), () -> {
+                ModuleLocator boundModuleLocator = moduleLocator;
+                if (boundModuleLocator == null) {
+                    throw new IllegalStateException(moduleName + " is not available before the script is known");
+                }
+                return boundModuleLocator.locateModule(moduleName).orElseThrow();
+            }, () -> moduleLocator != null));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Object eval(String script) throws ScriptException {
+        cacheSource(script, delegate.getContext());
+        return super.eval(script);
+    }
+
+    @Override
+    public Object eval(String script, ScriptContext scriptContext) throws ScriptException {
+        cacheSource(script, scriptContext);
+        return super.eval(script, scriptContext);
+    }
+
+    @Override
+    public Object eval(Reader reader) throws ScriptException {
+        return eval(readScript(reader));
+    }
+
+    @Override
+    public Object eval(Reader reader, ScriptContext scriptContext) throws ScriptException {
+        return eval(readScript(reader), scriptContext);
+    }
+
+    private static String readScript(Reader reader) throws ScriptException {
+        StringWriter script = new StringWriter();
+        try {
+            reader.transferTo(script);
+        } catch (IOException e) {
+            throw new ScriptException(e);
+        }
+        return script.toString();
+    }
+
+    /**
+     * Keeps a reference to the source the GraalJS script engine evaluates for the script, so that the shared
+     * {@link #ENGINE} keeps its parsed code.
+     */
+    private static void cacheSource(String script, ScriptContext scriptContext) {
+        Object fileName = scriptContext.getAttribute(ScriptEngine.FILENAME);
+        SourceKey key = new SourceKey(fileName != null ? fileName.toString() : "<eval>", script);
+        synchronized (SOURCE_CACHE) {
+            // built like the GraalJS script engine builds it, so that it equals the evaluated source
+            SOURCE_CACHE.computeIfAbsent(key, k -> Source.newBuilder("js", k.script(), k.name()).buildLiteral());
+        }
+    }
+
     @Override
     protected Object afterInvocation(Object obj) {
         lock.unlock();
@@ -312,6 +444,14 @@ public class OpenhabGraalJSScriptEngine
         jsRuntimeFeatures.close();
     }
 
+    /**
+     * Closes an engine which has never been used for a script, including its polyglot context.
+     */
+    void closeUnused() {
+        close();
+        delegate.close();
+    }
+
     /**
      * Tests if this is a root node directory, `/node_modules`, `C:\node_modules`, etc...
      *
@@ -346,4 +486,7 @@ public class OpenhabGraalJSScriptEngine
 
         return new InputStreamReader(ioStream);
     }
+
+    private record SourceKey(String name, String script) {
+    }
 }
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of pre-initialized {@link OpenhabGraalJSScriptEngine}s, i.e. engines with a created polyglot context, in which
+ * the globals and (if cached) the openhab-js injection are already evaluated, so that creating a script engine for a
+ * UI script action or a transformation doesn't have to wait for it.
+ * The script extension modules required by the injection are resolved once the script the engine is used for is
+ * known, see {@link OpenhabGraalJSScriptEngine#preInitialize()}.
+ *
+ * @author Florian Hotze - Initial contribution
+ */
+@NonNullByDefault
+class OpenhabGraalJSScriptEnginePool {
+    private final Logger logger = LoggerFactory.getLogger(OpenhabGraalJSScriptEnginePool.class);
+
+    private final ExecutorService executor;
+    private final Deque<OpenhabGraalJSScriptEngine> engines = new ArrayDeque<>();
+
+    private int size;
+    private int pendingCreations;
+    // incremented whenever the pooled engines become invalid, e.g. because of a configuration change
+    private int generation;
+    private @Nullable Supplier<OpenhabGraalJSScriptEngine> engineSupplier;
+
+    OpenhabGraalJSScriptEnginePool(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Configure the pool and discard and close the pooled engines.
+     *
+     * @param size the number of engines to keep ready, 0 to disable the pool
+     * @param engineSupplier creates a pre-initialized engine with the current configuration
+     */
+    synchronized void configure(int size, Supplier<OpenhabGraalJSScriptEngine> engineSupplier) {
+        this.size = size;
+        this.engineSupplier = engineSupplier;
+        generation++;
+        pendingCreations = 0;
+        discardEngines();
+        refill();
+    }
+
+    /**
+     * Get a pre-initialized engine from the pool.
+     *
+     * @return an engine which has never been used, or null if the pool is empty
+     */
+    synchronized @Nullable OpenhabGraalJSScriptEngine take() {
+        OpenhabGraalJSScriptEngine engine = engines.pollFirst();
+        refill();
+        return engine;
+    }
+
+    /**
+     * Discard and close the pooled engines and disable the pool.
+     */
+    synchronized void dispose() {
+        size = 0;
+        engineSupplier = null;
+        generation++;
+        pendingCreations = 0;
+        discardEngines();
+    }
+
+    private synchronized void refill() {
+        Supplier<OpenhabGraalJSScriptEngine> supplier = engineSupplier;
+        if (supplier == null || engines.size() + pendingCreations >= size) {
+            return;
+        }
+        pendingCreations++;
+        int currentGeneration = generation;
+        executor.execute(() -> {
+            OpenhabGraalJSScriptEngine engine = null;
+            try {
+                long start = System.currentTimeMillis();
+                engine = supplier.get();
+                logger.debug("Pre-initialized a script engine in {} ms", System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to pre-initialize a script engine: {}", e.getMessage());
+            }
+            synchronized (this) {
+                if (currentGeneration == generation) {
+                    pendingCreations--;
+                    if (engine != null) {
+                        engines.addLast(engine);
+                        // keep filling until the pool is full
+                        refill();
+                    }
+                    return;
+                }
+            }
+            // the pool was reconfigured or disposed in the meantime
+            if (engine != null) {
+                terminate(engine);
+            }
+        });
+    }
+
+    private void discardEngines() {
+        List<OpenhabGraalJSScriptEngine> discarded = new ArrayList<>(engines);
+        engines.clear();
+        if (!discarded.isEmpty()) {
+            executor.execute(() -> discarded.forEach(this::terminate));
+        }
+    }
+
+    /**
+     * Close an engine which was never handed out, including its polyglot context.
+     */
+    private void terminate(OpenhabGraalJSScriptEngine engine) {
+        try {
+            engine.closeUnused();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to close a pooled script engine: {}", e.getMessage());
+        }
+    }
+}
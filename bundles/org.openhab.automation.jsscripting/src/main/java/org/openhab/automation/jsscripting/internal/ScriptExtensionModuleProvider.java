@@ -17,11 +17,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
+import org.openhab.automation.jsscripting.internal.threading.ScriptEventLoop;
 import org.openhab.automation.jsscripting.internal.threading.ThreadsafeWrappingScriptedAutomationManagerDelegate;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
@@ -31,7 +35,7 @@ import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAuto
  *
  * @author Jonathan Gilbert - Initial contribution
  * @author Florian Hotze - Pass in lock object for multi-thread synchronization; Switch to {@link Lock} for multi-thread
- *         synchronization
+ *         synchronization; Pass in the {@link ScriptEventLoop}
  */
 
 @NonNullByDefault
@@ -39,13 +43,69 @@ public class ScriptExtensionModuleProvider {
 
     private static final String RUNTIME_MODULE_PREFIX = "@runtime";
     private static final String DEFAULT_MODULE_NAME = "Defaults";
+    /**
+     * Creates a placeholder for a runtime module, whose members are resolved when they are used after the module is
+     * available. Until then, reading a member returns a placeholder for the member, so the module can be destructured.
+     */
+    private static final Source DEFERRED_MODULE_SOURCE = Source.newBuilder("js", """
+            (function (resolveModule, isAvailable) {
+              let available = false;
+              function defer (resolve) {
+                let target;
+                const get = () => (target === undefined ? (target = resolve()) : target);
+                return new Proxy(function () {}, {
+                  get: (t, key) => {
+                    if (available || (available = isAvailable())) {
+                      return key === Symbol.hasInstance ? (value) => value instanceof get() : get()[key];
+                    }
+                    return typeof key === 'symbol' ? undefined : defer(() => get()[key]);
+                  },
+                  set: (t, key, value) => {
+                    get()[key] = value;
+                    return true;
+                  },
+                  has: (t, key) => key in get(),
+                  apply: (t, thisArg, args) => Reflect.apply(get(), thisArg, args),
+                  construct: (t, args) => Reflect.construct(get(), args)
+                });
+              }
+              return defer(resolveModule);
+            })\
+            """, "<deferred>").buildLiteral();
     private final Lock lock;
+    private final @Nullable ScriptEventLoop eventLoop;
 
     private final ScriptExtensionAccessor scriptExtensionAccessor;
 
-    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor, Lock lock) {
+    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor, Lock lock,
+            @Nullable ScriptEventLoop eventLoop) {
         this.scriptExtensionAccessor = scriptExtensionAccessor;
         this.lock = lock;
+        this.eventLoop = eventLoop;
+    }
+
+    /**
+     * Checks whether a module is provided by this class.
+     *
+     * @param name the name of the module
+     * @return whether the module is a runtime module
+     */
+    public static boolean isRuntimeModule(String name) {
+        return name.split("/")[0].equals(RUNTIME_MODULE_PREFIX);
+    }
+
+    /**
+     * Creates a placeholder for a runtime module, which is required before the script it belongs to is known, e.g.
+     * while the openhab-js injection is evaluated in advance for a pre-created script engine.
+     * The members of the placeholder are resolved against the actual module as soon as it is available.
+     *
+     * @param ctx the context of the script
+     * @param module supplies the actual module once it is available
+     * @param available tells whether the actual module is available
+     * @return the placeholder for the runtime module
+     */
+    public static Value deferredModule(Context ctx, Supplier<Value> module, BooleanSupplier available) {
+        return ctx.eval(DEFERRED_MODULE_SOURCE).execute(module, available);
     }
 
     public ModuleLocator locatorFor(Context ctx, String engineIdentifier) {
@@ -104,7 +164,7 @@ public class ScriptExtensionModuleProvider {
         for (Map.Entry<String, Object> entry : rv.entrySet()) {
             if (entry.getValue() instanceof ScriptedAutomationManager) {
                 entry.setValue(new ThreadsafeWrappingScriptedAutomationManagerDelegate(
-                        (ScriptedAutomationManager) entry.getValue(), lock));
+                        (ScriptedAutomationManager) entry.getValue(), lock, eventLoop));
             }
         }
 
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An event loop for a single GraalJS context: timer callbacks and rule executions are queued and run one after the
+ * other on a single thread (a virtual thread if the JVM supports them), instead of each of them blocking a thread of
+ * the scheduler or the rule engine while waiting for the lock of the context.
+ * The lock is still taken for each task, as the script engine itself is invoked synchronously by openHAB core, e.g.
+ * when loading the script.
+ *
+ * @author Florian Hotze - Initial contribution
+ */
+@NonNullByDefault
+public class ScriptEventLoop {
+    // a warning is logged when this many tasks are waiting, which means that a task is blocking the event loop
+    private static final int QUEUE_DEPTH_WARNING = 100;
+    private static final long STATISTICS_INTERVAL = Duration.ofMinutes(1).toNanos();
+
+    private final Logger logger = LoggerFactory.getLogger(ScriptEventLoop.class);
+    private final Lock lock;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(createThreadFactory());
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    // the statistics are only accessed by the event loop thread, latencies are in ns
+    private long averageLatency;
+    private long maxLatency;
+    private int tasks;
+    private long statisticsStart = System.nanoTime();
+    private volatile String identifier = "noIdentifier";
+
+    public ScriptEventLoop(Lock lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * Set the identifier of the script, which is used for logging.
+     *
+     * @param identifier identifier to use
+     */
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * Queue a task, which will be run with exclusive access to the context.
+     *
+     * @param task the task to run
+     */
+    public void execute(Runnable task) {
+        long queued = System.nanoTime();
+        int depth = queueDepth.incrementAndGet();
+        if (depth == QUEUE_DEPTH_WARNING) {
+            logger.warn("{} tasks are waiting in the event loop of {}, it might be blocked by a long running task",
+                    depth, identifier);
+        }
+        try {
+            executor.execute(() -> run(task, queued));
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            logger.debug("Event loop of {} is shut down, task discarded", identifier);
+        }
+    }
+
+    /**
+     * Discard all queued tasks and stop the event loop thread.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        queueDepth.set(0);
+    }
+
+    private void run(Runnable task, long queued) {
+        long start = System.nanoTime();
+        int depth = queueDepth.decrementAndGet();
+        long latency = start - queued;
+        averageLatency = averageLatency + (latency - averageLatency) / 8;
+        lock.lock();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to execute a task of {}: {}", identifier, e.getMessage());
+        } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid deadlocks
+            lock.unlock();
+        }
+        long end = System.nanoTime();
+        if (logger.isTraceEnabled()) {
+            logger.trace("Task of {} waited {} ms and ran {} ms, {} tasks waiting (average wait {} ms)", identifier,
+                    TimeUnit.NANOSECONDS.toMillis(latency), TimeUnit.NANOSECONDS.toMillis(end - start), depth,
+                    TimeUnit.NANOSECONDS.toMillis(averageLatency));
+        }
+        tasks++;
+        maxLatency = Math.max(maxLatency, latency);
+        if (end - statisticsStart >= STATISTICS_INTERVAL) {
+            logger.debug("Event loop of {} ran {} tasks in the last {} s, {} tasks waiting (average wait {} ms, "
+                    + "longest wait {} ms)", identifier, tasks, TimeUnit.NANOSECONDS.toSeconds(end - statisticsStart),
+                    queueDepth.get(), TimeUnit.NANOSECONDS.toMillis(averageLatency),
+                    TimeUnit.NANOSECONDS.toMillis(maxLatency));
+            tasks = 0;
+            maxLatency = 0;
+            statisticsStart = end;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        try {
+            // Virtual threads are available from Java 21 on, the add-on is built for an older version
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder,
+                    "OH-jsscripting-eventloop-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new NamedThreadFactory("jsscripting-eventloop");
+        }
+    }
+}
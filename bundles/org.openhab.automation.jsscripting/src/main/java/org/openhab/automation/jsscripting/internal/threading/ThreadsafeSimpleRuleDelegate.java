@@ -35,27 +35,37 @@ import org.openhab.core.config.core.Configuration;
  * for rules which wrap GraalJS Contexts, which are not multithreaded.
  *
  * @author Jonathan Gilbert - Initial contribution
+ * @author Florian Hotze - Queue rule executions in the {@link ScriptEventLoop} if enabled
  */
 @NonNullByDefault
 class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
 
     private final Lock lock;
+    private final @Nullable ScriptEventLoop eventLoop;
     private final SimpleRule delegate;
 
     /**
      * Constructor requires a lock object and delegate to forward invocations to.
      *
      * @param lock rule executions will synchronize on this object
+     * @param eventLoop rule executions will be queued in this event loop instead, if not null
      * @param delegate the delegate to forward invocations to
      */
-    ThreadsafeSimpleRuleDelegate(Lock lock, SimpleRule delegate) {
+    ThreadsafeSimpleRuleDelegate(Lock lock, @Nullable ScriptEventLoop eventLoop, SimpleRule delegate) {
         this.lock = lock;
+        this.eventLoop = eventLoop;
         this.delegate = delegate;
     }
 
     @Override
     @NonNullByDefault({})
     public Object execute(Action module, Map<String, ?> inputs) {
+        ScriptEventLoop localEventLoop = eventLoop;
+        if (localEventLoop != null) {
+            // the rule engine thread doesn't wait for the execution, so the rule has no outputs
+            localEventLoop.execute(() -> delegate.execute(module, inputs));
+            return null;
+        }
         lock.lock();
         try {
             return delegate.execute(module, inputs);
@@ -33,10 +33,12 @@ import org.openhab.core.scheduler.SchedulerTemporalAdjuster;
  * the cancel methods) which controls multithreaded execution access to the single-threaded GraalJS contexts.
  *
  * @author Florian Hotze - Initial contribution; Reimplementation to conform standard JS setTimeout and setInterval;
- *         Threadsafe reimplementation of the timer creation methods of {@link ScriptExecution}
+ *         Threadsafe reimplementation of the timer creation methods of {@link ScriptExecution}; Queue the callbacks
+ *         in the {@link ScriptEventLoop} if enabled
  */
 public class ThreadsafeTimers {
     private final Lock lock;
+    private final @Nullable ScriptEventLoop eventLoop;
     private final Scheduler scheduler;
     private final ScriptExecution scriptExecution;
     // Mapping of positive, non-zero integer values (used as timeoutID or intervalID) and the Scheduler
@@ -44,8 +46,10 @@ public class ThreadsafeTimers {
     private AtomicLong lastId = new AtomicLong();
     private String identifier = "noIdentifier";
 
-    public ThreadsafeTimers(Lock lock, ScriptExecution scriptExecution, Scheduler scheduler) {
+    public ThreadsafeTimers(Lock lock, @Nullable ScriptEventLoop eventLoop, ScriptExecution scriptExecution,
+            Scheduler scheduler) {
         this.lock = lock;
+        this.eventLoop = eventLoop;
         this.scheduler = scheduler;
         this.scriptExecution = scriptExecution;
     }
@@ -57,6 +61,10 @@ public class ThreadsafeTimers {
      */
     public void setIdentifier(String identifier) {
         this.identifier = identifier;
+        ScriptEventLoop localEventLoop = eventLoop;
+        if (localEventLoop != null) {
+            localEventLoop.setIdentifier(identifier);
+        }
     }
 
     /**
@@ -79,15 +87,7 @@ public class ThreadsafeTimers {
      * @return a handle to the created timer, so that it can be canceled or rescheduled
      */
     public Timer createTimer(@Nullable String identifier, ZonedDateTime instant, Runnable closure) {
-        return scriptExecution.createTimer(identifier, instant, () -> {
-            lock.lock();
-            try {
-                closure.run();
-            } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid
-                        // deadlocks
-                lock.unlock();
-            }
-        });
+        return scriptExecution.createTimer(identifier, instant, () -> runInContext(closure));
     }
 
     /**
@@ -101,16 +101,10 @@ public class ThreadsafeTimers {
      */
     public long setTimeout(Runnable callback, Long delay) {
         long id = lastId.incrementAndGet();
-        ScheduledCompletableFuture<Object> future = scheduler.schedule(() -> {
-            lock.lock();
-            try {
-                callback.run();
-                idSchedulerMapping.remove(id);
-            } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid
-                        // deadlocks
-                lock.unlock();
-            }
-        }, identifier + ".timeout." + id, Instant.now().plusMillis(delay));
+        ScheduledCompletableFuture<Object> future = scheduler.schedule(() -> runInContext(() -> {
+            callback.run();
+            idSchedulerMapping.remove(id);
+        }), identifier + ".timeout." + id, Instant.now().plusMillis(delay));
         idSchedulerMapping.put(id, future);
         return id;
     }
@@ -140,15 +134,8 @@ public class ThreadsafeTimers {
      */
     public long setInterval(Runnable callback, Long delay) {
         long id = lastId.incrementAndGet();
-        ScheduledCompletableFuture<Object> future = scheduler.schedule(() -> {
-            lock.lock();
-            try {
-                callback.run();
-            } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid
-                        // deadlocks
-                lock.unlock();
-            }
-        }, identifier + ".interval." + id, new LoopingAdjuster(Duration.ofMillis(delay)));
+        ScheduledCompletableFuture<Object> future = scheduler.schedule(() -> runInContext(callback),
+                identifier + ".interval." + id, new LoopingAdjuster(Duration.ofMillis(delay)));
         idSchedulerMapping.put(id, future);
         return id;
     }
@@ -176,6 +163,26 @@ public class ThreadsafeTimers {
         idSchedulerMapping.clear();
     }
 
+    /**
+     * Run a callback with exclusive access to the context: queued in the event loop if enabled, otherwise on the
+     * calling thread as soon as the lock is available.
+     *
+     * @param callback the callback to run
+     */
+    private void runInContext(Runnable callback) {
+        ScriptEventLoop localEventLoop = eventLoop;
+        if (localEventLoop != null) {
+            localEventLoop.execute(callback);
+            return;
+        }
+        lock.lock();
+        try {
+            callback.run();
+        } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid deadlocks
+            lock.unlock();
+        }
+    }
+
     /**
      * This is a temporal adjuster that takes a single delay.
      * This adjuster makes the scheduler run as a fixed rate scheduler from the first time adjustInto was called.
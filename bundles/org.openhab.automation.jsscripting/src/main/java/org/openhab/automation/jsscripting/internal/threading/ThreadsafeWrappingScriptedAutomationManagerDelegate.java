@@ -15,6 +15,7 @@ package org.openhab.automation.jsscripting.internal.threading;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.automation.Rule;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedHandler;
@@ -33,17 +34,20 @@ import org.openhab.core.automation.type.TriggerType;
  *
  * @author Jonathan Gilbert - Initial contribution
  * @author Florian Hotze - Pass in lock object for multi-thread synchronization; Switch to {@link Lock} for multi-thread
- *         synchronization
+ *         synchronization; Pass in the {@link ScriptEventLoop}
  */
 @NonNullByDefault
 public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
 
     private ScriptedAutomationManager delegate;
     private final Lock lock;
+    private final @Nullable ScriptEventLoop eventLoop;
 
-    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock) {
+    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock,
+            @Nullable ScriptEventLoop eventLoop) {
         this.delegate = delegate;
         this.lock = lock;
+        this.eventLoop = eventLoop;
     }
 
     public void removeModuleType(String UID) {
@@ -65,7 +69,7 @@ public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
     public Rule addRule(Rule element) {
         // wrap in a threadsafe version, safe per context
         if (element instanceof SimpleRule rule) {
-            element = new ThreadsafeSimpleRuleDelegate(lock, rule);
+            element = new ThreadsafeSimpleRuleDelegate(lock, eventLoop, rule);
         }
 
         return delegate.addRule(element);
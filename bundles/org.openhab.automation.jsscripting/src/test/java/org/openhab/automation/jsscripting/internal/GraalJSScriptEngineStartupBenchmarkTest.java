@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.core.automation.module.script.ScriptEngineFactory.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
+import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
+import org.openhab.core.automation.module.script.action.ScriptExecution;
+import org.openhab.core.scheduler.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the startup of 200 UI rules with a script action, and the latency of a new UI script action, with and
+ * without pre-created script engines.
+ *
+ * Run with {@code -Djsscripting.benchmark=true}.
+ *
+ * @author Florian Hotze - Initial contribution
+ */
+@NonNullByDefault
+@EnabledIfSystemProperty(named = "jsscripting.benchmark", matches = "true", disabledReason = "Only for manual execution.")
+public class GraalJSScriptEngineStartupBenchmarkTest {
+    private static final int UI_RULES = 200;
+    private static final int SCRIPT_ACTIONS = 20;
+    private static final String SCRIPT = "console.debug('Executing rule ' + ruleUID); 'done';";
+
+    private final Logger logger = LoggerFactory.getLogger(GraalJSScriptEngineStartupBenchmarkTest.class);
+    private final ScriptExtensionAccessor scriptExtensionAccessor = mock(ScriptExtensionAccessor.class);
+    private final JSDependencyTracker jsDependencyTracker = mock(JSDependencyTracker.class);
+    private final JSScriptServiceUtil jsScriptServiceUtil = new JSScriptServiceUtil(mock(Scheduler.class),
+            mock(ScriptExecution.class));
+
+    private @TempDir @NonNullByDefault({}) Path libraryPath;
+
+    @BeforeEach
+    public void setUp() {
+        when(jsDependencyTracker.getLibraryPath()).thenReturn(libraryPath);
+        when(scriptExtensionAccessor.findDefaultPresets(anyString())).thenReturn(Map.of());
+        when(scriptExtensionAccessor.findPreset(anyString(), anyString())).thenReturn(Map.of());
+    }
+
+    @Test
+    public void startupOfUiRules() throws Exception {
+        // the first engines are slow until the shared polyglot engine is warmed up
+        measureStartup(0);
+        for (int contextPoolSize : new int[] { 0, 2 }) {
+            long elapsed = measureStartup(contextPoolSize);
+            logger.info("Started {} UI rules with contextPoolSize {} in {} ms", UI_RULES, contextPoolSize,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private long measureStartup(int contextPoolSize) throws Exception {
+        GraalJSScriptEngineFactory factory = createFactory(contextPoolSize);
+        List<ScriptEngine> engines = new ArrayList<>();
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < UI_RULES; i++) {
+                engines.add(runScriptAction(factory, "rule" + i));
+            }
+            return System.nanoTime() - start;
+        } finally {
+            close(factory, engines);
+        }
+    }
+
+    @Test
+    public void latencyOfNewScriptActions() throws Exception {
+        for (int contextPoolSize : new int[] { 0, 2 }) {
+            GraalJSScriptEngineFactory factory = createFactory(contextPoolSize);
+            List<ScriptEngine> engines = new ArrayList<>();
+            List<Long> latencies = new ArrayList<>();
+            try {
+                for (int i = 0; i < SCRIPT_ACTIONS; i++) {
+                    // give the pool the time to refill, like between two script actions of a user
+                    Thread.sleep(1000);
+                    long start = System.nanoTime();
+                    engines.add(runScriptAction(factory, "action" + i));
+                    latencies.add(System.nanoTime() - start);
+                }
+            } finally {
+                close(factory, engines);
+            }
+            // the first script actions warm up the shared polyglot engine
+            latencies = new ArrayList<>(latencies.subList(SCRIPT_ACTIONS / 2, SCRIPT_ACTIONS));
+            Collections.sort(latencies);
+            logger.info("Latency of a new script action with contextPoolSize {}: median {} ms, max {} ms",
+                    contextPoolSize, TimeUnit.NANOSECONDS.toMillis(latencies.get(latencies.size() / 2)),
+                    TimeUnit.NANOSECONDS.toMillis(latencies.get(latencies.size() - 1)));
+        }
+    }
+
+    private GraalJSScriptEngineFactory createFactory(int contextPoolSize) throws InterruptedException {
+        GraalJSScriptEngineFactory factory = new GraalJSScriptEngineFactory(jsScriptServiceUtil, jsDependencyTracker,
+                Map.of("contextPoolSize", contextPoolSize));
+        // let the pool fill up, like after the start of the add-on
+        Thread.sleep(5000);
+        return factory;
+    }
+
+    /**
+     * Creates the script engine of a UI script action and runs it, like a rule does when it is triggered.
+     */
+    private ScriptEngine runScriptAction(GraalJSScriptEngineFactory factory, String ruleUID) throws Exception {
+        ScriptEngine engine = factory.createScriptEngine("application/javascript");
+        assertNotNull(engine);
+        ScriptContext context = engine.getContext();
+        context.setAttribute(CONTEXT_KEY_ENGINE_IDENTIFIER, ruleUID + ".script", ScriptContext.ENGINE_SCOPE);
+        context.setAttribute(CONTEXT_KEY_EXTENSION_ACCESSOR, scriptExtensionAccessor, ScriptContext.ENGINE_SCOPE);
+        Consumer<String> dependencyListener = dependency -> {
+        };
+        context.setAttribute(CONTEXT_KEY_DEPENDENCY_LISTENER, dependencyListener, ScriptContext.ENGINE_SCOPE);
+        context.setAttribute("ruleUID", ruleUID, ScriptContext.ENGINE_SCOPE);
+        assertEquals("done", engine.eval(SCRIPT));
+        return engine;
+    }
+
+    private void close(GraalJSScriptEngineFactory factory, List<ScriptEngine> engines) throws Exception {
+        for (ScriptEngine engine : engines) {
+            ((AutoCloseable) engine).close();
+        }
+        factory.deactivate();
+    }
+}
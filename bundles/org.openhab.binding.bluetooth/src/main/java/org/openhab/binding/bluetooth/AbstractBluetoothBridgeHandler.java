@@ -61,6 +61,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    private @Nullable BluetoothAdvertisementFilter advertisementFilter;
+    private long lastReceivedAdvertisements;
+
     /**
      * Constructor
      *
@@ -89,6 +92,10 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
 
+        advertisementFilter = new BluetoothAdvertisementFilter(config.dropDuplicateAdvertisements,
+                config.rssiSmoothingWindow, config.minDeviceUpdateInterval, scheduler);
+        lastReceivedAdvertisements = 0;
+
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
                 TimeUnit.SECONDS);
@@ -107,6 +114,22 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
                 removeDevice(device);
             }
         }
+
+        BluetoothAdvertisementFilter advertisementFilter = this.advertisementFilter;
+        if (advertisementFilter != null) {
+            advertisementFilter.dispose();
+        }
+        this.advertisementFilter = null;
+    }
+
+    /**
+     * Returns the filter for the scan notifications of the devices of this bridge
+     *
+     * @return the filter, or null if the bridge is not initialized
+     */
+    @Nullable
+    BluetoothAdvertisementFilter getAdvertisementFilter() {
+        return advertisementFilter;
     }
 
     @Override
@@ -114,6 +137,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     }
 
     private void removeInactiveDevices() {
+        logAdvertisementStatistics();
         // clean up orphaned entries
         synchronized (devices) {
             for (BD device : devices.values()) {
@@ -130,9 +154,27 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         synchronized (devices) {
             devices.remove(device.getAddress());
         }
+        BluetoothAdvertisementFilter advertisementFilter = this.advertisementFilter;
+        if (advertisementFilter != null) {
+            advertisementFilter.removeDevice(device.getAddress());
+        }
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
+    private void logAdvertisementStatistics() {
+        BluetoothAdvertisementFilter advertisementFilter = this.advertisementFilter;
+        if (advertisementFilter == null || !logger.isDebugEnabled()) {
+            return;
+        }
+        long received = advertisementFilter.getReceived();
+        if (received != lastReceivedAdvertisements) {
+            lastReceivedAdvertisements = received;
+            logger.debug("Bridge '{}' received {} scan notifications, forwarded {}, handling them took {} ms",
+                    getThing().getUID(), received, advertisementFilter.getForwarded(),
+                    advertisementFilter.getDispatchTime());
+        }
+    }
+
     private boolean shouldRemove(BD device) {
         // we can't remove devices with listeners since that means they have a handler.
         if (device.hasListeners()) {
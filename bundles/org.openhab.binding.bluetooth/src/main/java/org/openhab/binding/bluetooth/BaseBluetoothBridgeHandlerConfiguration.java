@@ -26,4 +26,7 @@ public class BaseBluetoothBridgeHandlerConfiguration {
     public boolean backgroundDiscovery = false;
     public int inactiveDeviceCleanupInterval = 60;
     public int inactiveDeviceCleanupThreshold = 300;
+    public boolean dropDuplicateAdvertisements = false;
+    public int rssiSmoothingWindow = 1;
+    public int minDeviceUpdateInterval = 0;
 }
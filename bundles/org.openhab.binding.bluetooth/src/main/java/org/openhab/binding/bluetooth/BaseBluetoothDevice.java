@@ -26,6 +26,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -340,9 +341,26 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
             default:
                 break;
         }
+        if (event == BluetoothEventType.SCAN_RECORD
+                && adapter instanceof AbstractBluetoothBridgeHandler<?> bridgeHandler) {
+            BluetoothAdvertisementFilter filter = bridgeHandler.getAdvertisementFilter();
+            if (filter != null) {
+                BluetoothScanNotification notification = (BluetoothScanNotification) args[0];
+                if (filter.accept(address, notification, n -> dispatchScanRecord(filter, n))) {
+                    dispatchScanRecord(filter, notification);
+                }
+                return;
+            }
+        }
         super.notifyListeners(event, args);
     }
 
+    private void dispatchScanRecord(BluetoothAdvertisementFilter filter, BluetoothScanNotification notification) {
+        long start = System.nanoTime();
+        super.notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+        filter.recordDispatchTime(System.nanoTime() - start);
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * The {@link BluetoothAdvertisementFilter} is the stage between a bridge and the listeners of its devices, which
+ * reduces the scan notifications the listeners have to decode in busy environments:
+ * <ul>
+ * <li>advertisements with the same payload as the last forwarded one of the device are dropped, unless their RSSI
+ * differs by at least {@value #RSSI_CHANGE_THRESHOLD} dBm from the last forwarded one</li>
+ * <li>the RSSI is averaged over the last received values</li>
+ * <li>the notifications of a device are forwarded at most once per update interval, a changed payload received in
+ * between is forwarded at the end of the interval</li>
+ * </ul>
+ * All of these are disabled by default, in which case every notification is forwarded.
+ *
+ * @author Connor Petty - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementFilter {
+
+    /** Minimum change of the RSSI in dBm for which an advertisement with an unchanged payload is forwarded */
+    static final int RSSI_CHANGE_THRESHOLD = 5;
+
+    private final boolean dropDuplicates;
+    private final int rssiWindow;
+    private final long minUpdateIntervalNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Map<BluetoothAddress, DeviceState> deviceStates = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+    private final AtomicLong dispatchNanos = new AtomicLong();
+
+    /**
+     * Creates a filter
+     *
+     * @param dropDuplicates drop advertisements whose payload hasn't changed
+     * @param rssiWindow number of RSSI values to average, 1 to forward the received values
+     * @param minUpdateInterval minimum interval in milliseconds between the notifications of a device, 0 to disable
+     * @param scheduler the scheduler used to forward delayed notifications
+     */
+    public BluetoothAdvertisementFilter(boolean dropDuplicates, int rssiWindow, int minUpdateInterval,
+            ScheduledExecutorService scheduler) {
+        this.dropDuplicates = dropDuplicates;
+        this.rssiWindow = Math.max(1, rssiWindow);
+        this.minUpdateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minUpdateInterval));
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Filters a received scan notification
+     *
+     * @param address the address of the device the notification was received from
+     * @param notification the received notification, its RSSI is replaced by the averaged value
+     * @param forwarder forwards delayed notifications to the listeners of the device
+     * @return true if the notification should be forwarded to the listeners now
+     */
+    public boolean accept(BluetoothAddress address, BluetoothScanNotification notification,
+            Consumer<BluetoothScanNotification> forwarder) {
+        received.incrementAndGet();
+        if (!dropDuplicates && rssiWindow == 1 && minUpdateIntervalNanos == 0) {
+            forwarded.incrementAndGet();
+            return true;
+        }
+        DeviceState state = deviceStates.computeIfAbsent(address, a -> new DeviceState(rssiWindow));
+        synchronized (state) {
+            int rssi = notification.getRssi();
+            if (rssi != Integer.MIN_VALUE) {
+                notification.setRssi(state.averageRssi(rssi));
+            }
+            if (dropDuplicates && !state.hasChanged(notification)) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (state.lastForwarded != 0 && now - state.lastForwarded < minUpdateIntervalNanos) {
+                // keep the latest notification of each kind, so that a changed payload isn't lost
+                state.pending.put(kind(notification), notification);
+                if (state.flushJob == null) {
+                    state.flushJob = scheduler.schedule(() -> flush(state, forwarder),
+                            state.lastForwarded + minUpdateIntervalNanos - now, TimeUnit.NANOSECONDS);
+                }
+                return false;
+            }
+            state.forwarded(notification, now);
+            // a newer notification of the same kind supersedes the pending one
+            state.pending.remove(kind(notification));
+        }
+        forwarded.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Records the time the listeners of a device needed to handle a forwarded notification
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void recordDispatchTime(long nanos) {
+        dispatchNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Forgets the state of a device, e.g. because it was removed from the bridge
+     *
+     * @param address the address of the device
+     */
+    public void removeDevice(BluetoothAddress address) {
+        DeviceState state = deviceStates.remove(address);
+        if (state != null) {
+            synchronized (state) {
+                state.cancelFlush();
+            }
+        }
+    }
+
+    /**
+     * Discards all delayed notifications
+     */
+    public void dispose() {
+        deviceStates.values().forEach(state -> {
+            synchronized (state) {
+                state.cancelFlush();
+            }
+        });
+        deviceStates.clear();
+    }
+
+    /**
+     * @return the number of scan notifications received
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /**
+     * @return the number of scan notifications forwarded to the listeners
+     */
+    public long getForwarded() {
+        return forwarded.get();
+    }
+
+    /**
+     * @return the time in milliseconds the listeners needed to handle the forwarded notifications
+     */
+    public long getDispatchTime() {
+        return TimeUnit.NANOSECONDS.toMillis(dispatchNanos.get());
+    }
+
+    private void flush(DeviceState state, Consumer<BluetoothScanNotification> forwarder) {
+        BluetoothScanNotification[] notifications;
+        synchronized (state) {
+            state.flushJob = null;
+            notifications = state.pending.values().toArray(BluetoothScanNotification[]::new);
+            state.pending.clear();
+            long now = System.nanoTime();
+            for (BluetoothScanNotification notification : notifications) {
+                state.forwarded(notification, now);
+            }
+        }
+        for (BluetoothScanNotification notification : notifications) {
+            forwarded.incrementAndGet();
+            forwarder.accept(notification);
+        }
+    }
+
+    private static String kind(BluetoothScanNotification notification) {
+        StringBuilder kind = new StringBuilder();
+        if (notification.getManufacturerData().length > 0) {
+            kind.append('m');
+        }
+        if (!notification.getServiceData().isEmpty()) {
+            kind.append('s');
+        }
+        if (notification.getData().length > 0) {
+            kind.append('d');
+        }
+        if (!notification.getDeviceName().isEmpty()) {
+            kind.append('n');
+        }
+        if (notification.getRssi() != Integer.MIN_VALUE) {
+            kind.append('r');
+        }
+        return kind.toString();
+    }
+
+    /**
+     * The payloads last forwarded for a device
+     */
+    private static class DeviceState {
+        private final int[] rssiValues;
+        private int rssiCount;
+        private int rssiIndex;
+
+        private byte[] manufacturerData = new byte[0];
+        private Map<String, byte[]> serviceData = Map.of();
+        private byte[] data = new byte[0];
+        private String name = "";
+        private int rssi = Integer.MIN_VALUE;
+        private long lastForwarded;
+
+        private final Map<String, BluetoothScanNotification> pending = new LinkedHashMap<>();
+        private @Nullable ScheduledFuture<?> flushJob;
+
+        DeviceState(int rssiWindow) {
+            rssiValues = new int[rssiWindow];
+        }
+
+        int averageRssi(int rssi) {
+            rssiValues[rssiIndex] = rssi;
+            rssiIndex = (rssiIndex + 1) % rssiValues.length;
+            rssiCount = Math.min(rssiCount + 1, rssiValues.length);
+            long sum = 0;
+            for (int i = 0; i < rssiCount; i++) {
+                sum += rssiValues[i];
+            }
+            return (int) Math.round((double) sum / rssiCount);
+        }
+
+        boolean hasChanged(BluetoothScanNotification notification) {
+            byte[] manufacturerData = notification.getManufacturerData();
+            Map<String, byte[]> serviceData = notification.getServiceData();
+            byte[] data = notification.getData();
+            String name = notification.getDeviceName();
+            int rssi = notification.getRssi();
+            if (manufacturerData.length == 0 && serviceData.isEmpty() && data.length == 0 && name.isEmpty()
+                    && rssi == Integer.MIN_VALUE) {
+                return true;
+            }
+            boolean payloadChanged = (manufacturerData.length > 0
+                    && !Arrays.equals(manufacturerData, this.manufacturerData))
+                    || (!serviceData.isEmpty() && !serviceDataEquals(serviceData))
+                    || (data.length > 0 && !Arrays.equals(data, this.data))
+                    || (!name.isEmpty() && !name.equals(this.name));
+            // the RSSI varies with almost every advertisement, so only significant changes are forwarded
+            return payloadChanged || (rssi != Integer.MIN_VALUE
+                    && (this.rssi == Integer.MIN_VALUE || Math.abs(rssi - this.rssi) >= RSSI_CHANGE_THRESHOLD));
+        }
+
+        void forwarded(BluetoothScanNotification notification, long now) {
+            if (notification.getManufacturerData().length > 0) {
+                manufacturerData = notification.getManufacturerData();
+            }
+            if (!notification.getServiceData().isEmpty()) {
+                serviceData = notification.getServiceData();
+            }
+            if (notification.getData().length > 0) {
+                data = notification.getData();
+            }
+            if (!notification.getDeviceName().isEmpty()) {
+                name = notification.getDeviceName();
+            }
+            if (notification.getRssi() != Integer.MIN_VALUE) {
+                rssi = notification.getRssi();
+            }
+            lastForwarded = now;
+        }
+
+        void cancelFlush() {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+            pending.clear();
+        }
+
+        private boolean serviceDataEquals(Map<String, byte[]> serviceData) {
+            if (serviceData.size() != this.serviceData.size()) {
+                return false;
+            }
+            for (Map.Entry<String, byte[]> entry : serviceData.entrySet()) {
+                if (!Arrays.equals(entry.getValue(), this.serviceData.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link BluetoothAdvertisementFilter}.
+ *
+ * @author Connor Petty - Initial contribution
+ */
+@NonNullByDefault
+class BluetoothAdvertisementFilterTest {
+
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("00:11:22:33:44:55");
+
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private final List<BluetoothScanNotification> delayed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void forwardsEverythingByDefault() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(false, 1, 0, scheduler);
+        assertTrue(accept(filter, manufacturerData(1, 2)));
+        assertTrue(accept(filter, manufacturerData(1, 2)));
+        assertEquals(2, filter.getReceived());
+        assertEquals(2, filter.getForwarded());
+    }
+
+    @Test
+    void dropsDuplicatePayloads() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(true, 1, 0, scheduler);
+        assertTrue(accept(filter, manufacturerData(1, 2)));
+        assertFalse(accept(filter, manufacturerData(1, 2)));
+        assertTrue(accept(filter, manufacturerData(1, 3)));
+        assertTrue(accept(filter, rssi(-60)));
+        assertFalse(accept(filter, rssi(-60)));
+        // a notification without payload is always forwarded
+        assertTrue(accept(filter, new BluetoothScanNotification()));
+        assertEquals(6, filter.getReceived());
+        assertEquals(4, filter.getForwarded());
+    }
+
+    @Test
+    void dropsDuplicatePayloadsWithChangingRssi() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(true, 1, 0, scheduler);
+        assertTrue(accept(filter, advertisement(-60, 1, 2)));
+        // small RSSI changes don't make an unchanged payload a new advertisement
+        assertFalse(accept(filter, advertisement(-62, 1, 2)));
+        assertFalse(accept(filter, advertisement(-57, 1, 2)));
+        // a changed payload is forwarded, even if the RSSI didn't change
+        assertTrue(accept(filter, advertisement(-60, 1, 3)));
+        // a significant RSSI change is forwarded
+        assertTrue(accept(filter, advertisement(-60 - BluetoothAdvertisementFilter.RSSI_CHANGE_THRESHOLD, 1, 3)));
+        assertFalse(accept(filter, rssi(-63)));
+        assertEquals(6, filter.getReceived());
+        assertEquals(3, filter.getForwarded());
+    }
+
+    @Test
+    void smoothesRssi() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(false, 3, 0, scheduler);
+        BluetoothScanNotification notification = rssi(-60);
+        accept(filter, notification);
+        assertEquals(-60, notification.getRssi());
+        notification = rssi(-70);
+        accept(filter, notification);
+        assertEquals(-65, notification.getRssi());
+        notification = rssi(-80);
+        accept(filter, notification);
+        assertEquals(-70, notification.getRssi());
+        notification = rssi(-90);
+        accept(filter, notification);
+        assertEquals(-80, notification.getRssi());
+    }
+
+    @Test
+    void delaysChangedPayloadsWithinUpdateInterval() throws InterruptedException {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(true, 1, 200, scheduler);
+        assertTrue(accept(filter, manufacturerData(1)));
+        assertFalse(accept(filter, manufacturerData(2)));
+        assertFalse(accept(filter, manufacturerData(3)));
+        assertTrue(delayed.isEmpty());
+
+        TimeUnit.MILLISECONDS.sleep(400);
+        // only the latest payload is forwarded at the end of the interval
+        assertEquals(1, delayed.size());
+        assertArrayEquals(new byte[] { 3 }, delayed.get(0).getManufacturerData());
+        assertEquals(2, filter.getForwarded());
+        // the delayed payload is the last forwarded one now
+        assertFalse(accept(filter, manufacturerData(3)));
+    }
+
+    @Test
+    void removeDeviceDiscardsDelayedPayloads() throws InterruptedException {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(true, 1, 100, scheduler);
+        assertTrue(accept(filter, manufacturerData(1)));
+        assertFalse(accept(filter, manufacturerData(2)));
+        filter.removeDevice(ADDRESS);
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertTrue(delayed.isEmpty());
+        assertTrue(accept(filter, manufacturerData(1)));
+    }
+
+    private boolean accept(BluetoothAdvertisementFilter filter, BluetoothScanNotification notification) {
+        return filter.accept(ADDRESS, notification, delayed::add);
+    }
+
+    private static BluetoothScanNotification manufacturerData(int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setManufacturerData(bytes);
+        return notification;
+    }
+
+    private static BluetoothScanNotification advertisement(int rssi, int... data) {
+        BluetoothScanNotification notification = manufacturerData(data);
+        notification.setRssi(rssi);
+        return notification;
+    }
+
+    private static BluetoothScanNotification rssi(int rssi) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        return notification;
+    }
+}
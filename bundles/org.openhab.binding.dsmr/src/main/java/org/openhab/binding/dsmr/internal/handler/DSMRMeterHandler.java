@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.dsmr.internal.handler;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
@@ -29,6 +28,7 @@ import org.openhab.binding.dsmr.internal.meter.DSMRMeterConfiguration;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterConstants;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterDescriptor;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterValueAggregator;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
@@ -60,9 +60,10 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     private @NonNullByDefault({}) DSMRMeter meter;
 
     /**
-     * Last received cosem objects.
+     * Aggregates the cosem objects received since the last state update.
      */
-    private List<CosemObject> lastReceivedValues = Collections.emptyList();
+    private DSMRMeterValueAggregator aggregator = new DSMRMeterValueAggregator(
+            DSMRMeterValueAggregator.AGGREGATION_LAST, false);
 
     /**
      * Reference to the meter watchdog.
@@ -117,6 +118,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         channel = meterType.meterKind.isChannelRelevant() ? meterConfig.channel : DSMRMeterConstants.UNKNOWN_CHANNEL;
         final DSMRMeterDescriptor meterDescriptor = new DSMRMeterDescriptor(meterType, channel);
         meter = new DSMRMeter(meterDescriptor);
+        aggregator = new DSMRMeterValueAggregator(meterConfig.aggregation, meterConfig.changedOnly);
         meterWatchdog = scheduler.scheduleWithFixedDelay(this::updateState, meterConfig.refresh, meterConfig.refresh,
                 TimeUnit.SECONDS);
         updateStatus(ThingStatus.UNKNOWN);
@@ -131,28 +133,20 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     }
 
     /**
-     * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedValues are
-     * cleared after processing here so when it does contain values the next time this method is called and it contains
-     * values those are new values.
+     * Updates the state of the channels from the Cosem values received from the meter since the last update. The
+     * aggregator starts a new interval after collecting the states here, so when it does contain values the next time
+     * this method is called those are new values.
      */
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
-        if (!lastReceivedValues.isEmpty()) {
-            for (final CosemObject cosemObject : lastReceivedValues) {
-                for (final Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
-                    final String channel = cosemObject.getType().name().toLowerCase()
-                            /* CosemObject has a specific sub channel if key not empty */
-                            + (entry.getKey().isEmpty() ? "" : "_" + entry.getKey());
-
-                    final State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
-                }
+        if (aggregator.hasValues()) {
+            for (final Entry<String, State> entry : aggregator.collect().entrySet()) {
+                logger.debug("Updating state for channel {} to value {}", entry.getKey(), entry.getValue());
+                updateState(entry.getKey(), entry.getValue());
             }
             if (ThingHandlerHelper.isHandlerInitialized(getThing()) && getThing().getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
             }
-            lastReceivedValues = Collections.emptyList();
         }
     }
 
@@ -164,7 +158,6 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     @Override
     public void telegramReceived(final P1Telegram telegram) {
-        lastReceivedValues = Collections.emptyList();
         final DSMRMeter localMeter = meter;
 
         if (localMeter == null) {
@@ -180,7 +173,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
             if (logger.isTraceEnabled()) {
                 logger.trace("Received {} objects for {}", filteredValues.size(), getThing().getThingTypeUID().getId());
             }
-            lastReceivedValues = filteredValues;
+            aggregator.add(filteredValues);
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateState();
             }
@@ -218,6 +211,8 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     private void setDeviceOffline(final ThingStatusDetail status, @Nullable final String details) {
         updateStatus(ThingStatus.OFFLINE, status, details);
+        // values received before going off line are outdated, and all states must be updated again when back online
+        aggregator.reset();
         getThing().getChannels().forEach(c -> updateState(c.getUID(), UnDefType.NULL));
     }
 }
@@ -32,8 +32,19 @@ public class DSMRMeterConfiguration {
      */
     public int refresh;
 
+    /**
+     * How the values received within the refresh interval are aggregated, either "last" or "average".
+     */
+    public String aggregation = DSMRMeterValueAggregator.AGGREGATION_LAST;
+
+    /**
+     * Only update the channels of which the state has changed.
+     */
+    public boolean changedOnly;
+
     @Override
     public String toString() {
-        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ")";
+        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ",aggregation=" + aggregation
+                + ",changedOnly=" + changedOnly + ")";
     }
 }
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.meter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+
+/**
+ * Aggregates the values of the telegrams received within a refresh interval of a meter to the channel states to
+ * update at the end of the interval.
+ * In average mode the instantaneous values (power, voltage and current) are averaged over the interval, for all other
+ * values (e.g. counters) the last received value is used.
+ * Optionally only the channels whose state changed since the last update are returned.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRMeterValueAggregator {
+
+    /**
+     * Aggregation mode that uses the last received values.
+     */
+    public static final String AGGREGATION_LAST = "last";
+    /**
+     * Aggregation mode that averages the instantaneous values.
+     */
+    public static final String AGGREGATION_AVERAGE = "average";
+
+    private final boolean average;
+    private final boolean changedOnly;
+
+    /**
+     * Last received state per channel within the current interval.
+     */
+    private final Map<String, State> lastValues = new LinkedHashMap<>();
+    /**
+     * Sum of the averaged values per channel within the current interval.
+     */
+    private final Map<String, Sum> sums = new HashMap<>();
+    /**
+     * States returned at the end of the previous intervals.
+     */
+    private final Map<String, State> updatedStates = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param aggregation the aggregation mode, {@link #AGGREGATION_LAST} or {@link #AGGREGATION_AVERAGE}
+     * @param changedOnly if true only changed states are returned
+     */
+    public DSMRMeterValueAggregator(final String aggregation, final boolean changedOnly) {
+        this.average = AGGREGATION_AVERAGE.equals(aggregation);
+        this.changedOnly = changedOnly;
+    }
+
+    /**
+     * Adds the values of a received telegram.
+     *
+     * @param cosemObjects the values of the meter
+     */
+    public synchronized void add(final List<CosemObject> cosemObjects) {
+        for (final CosemObject cosemObject : cosemObjects) {
+            for (final Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
+                final String channel = cosemObject.getType().name().toLowerCase()
+                        /* CosemObject has a specific sub channel if key not empty */
+                        + (entry.getKey().isEmpty() ? "" : "_" + entry.getKey());
+                final State state = entry.getValue();
+
+                lastValues.put(channel, state);
+                if (average && state instanceof QuantityType<?> quantity && isInstantaneous(quantity.getUnit())) {
+                    final Sum sum = sums.get(channel);
+
+                    if (sum == null || !sum.add(quantity)) {
+                        sums.put(channel, new Sum(quantity));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if values were received since the last call to {@link #collect()}
+     */
+    public synchronized boolean hasValues() {
+        return !lastValues.isEmpty();
+    }
+
+    /**
+     * Returns the states of the channels for the values received since the last call and starts a new interval.
+     *
+     * @return the states per channel id
+     */
+    public synchronized Map<String, State> collect() {
+        final Map<String, State> states = new LinkedHashMap<>();
+
+        for (final Entry<String, State> entry : lastValues.entrySet()) {
+            final String channel = entry.getKey();
+            final Sum sum = sums.get(channel);
+            final State state = sum == null ? entry.getValue() : sum.average();
+
+            if (!changedOnly || !state.equals(updatedStates.get(channel))) {
+                states.put(channel, state);
+            }
+            updatedStates.put(channel, state);
+        }
+        lastValues.clear();
+        sums.clear();
+        return states;
+    }
+
+    /**
+     * Discards the received values and the states of the previous intervals, so all states are returned again.
+     */
+    public synchronized void reset() {
+        lastValues.clear();
+        sums.clear();
+        updatedStates.clear();
+    }
+
+    private static boolean isInstantaneous(final Unit<?> unit) {
+        return unit.isCompatible(Units.WATT) || unit.isCompatible(Units.VOLT) || unit.isCompatible(Units.AMPERE);
+    }
+
+    /**
+     * Sum of the values of a channel, in the unit of the first value.
+     */
+    private static class Sum {
+        private final QuantityType<?> first;
+        private BigDecimal total;
+        private int count = 1;
+
+        Sum(final QuantityType<?> first) {
+            this.first = first;
+            this.total = first.toBigDecimal();
+        }
+
+        boolean add(final QuantityType<?> quantity) {
+            final @Nullable QuantityType<?> converted = quantity.toUnit(first.getUnit());
+
+            if (converted == null) {
+                return false;
+            }
+            total = total.add(converted.toBigDecimal());
+            count++;
+            return true;
+        }
+
+        State average() {
+            // the average has the precision of the meter values
+            final BigDecimal value = total.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64)
+                    .setScale(Math.max(0, first.toBigDecimal().scale()), RoundingMode.HALF_UP);
+
+            return withValue(first, value);
+        }
+
+        private static <Q extends Quantity<Q>> QuantityType<Q> withValue(final QuantityType<Q> quantity,
+                final BigDecimal value) {
+            return new QuantityType<>(value, quantity.getUnit());
+        }
+    }
+}
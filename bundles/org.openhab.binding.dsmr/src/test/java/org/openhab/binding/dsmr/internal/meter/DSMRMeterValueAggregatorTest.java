@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.meter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * Test class for {@link DSMRMeterValueAggregator}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRMeterValueAggregatorTest {
+
+    private static final String ACTUAL_DELIVERY = "emeter_actual_delivery";
+    private static final String DELIVERY_TARIFF1 = "emeter_delivery_tariff1";
+
+    /**
+     * Test if the last received values are returned in last mode.
+     */
+    @Test
+    public void testLast() throws ParseException {
+        final DSMRMeterValueAggregator aggregator = new DSMRMeterValueAggregator(
+                DSMRMeterValueAggregator.AGGREGATION_LAST, false);
+
+        assertFalse(aggregator.hasValues(), "No values should be available before a telegram is received");
+        aggregator.add(telegram("1.000*kW", "100.000*kWh"));
+        aggregator.add(telegram("3.000*kW", "100.001*kWh"));
+        assertTrue(aggregator.hasValues(), "Values should be available after a telegram is received");
+
+        final Map<String, State> states = aggregator.collect();
+
+        assertEquals(QuantityType.valueOf("3.000 kW"), states.get(ACTUAL_DELIVERY));
+        assertEquals(QuantityType.valueOf("100.001 kWh"), states.get(DELIVERY_TARIFF1));
+        assertFalse(aggregator.hasValues(), "Collecting should start a new interval");
+    }
+
+    /**
+     * Test if the instantaneous values are averaged and the counters use the last value in average mode.
+     */
+    @Test
+    public void testAverage() throws ParseException {
+        final DSMRMeterValueAggregator aggregator = new DSMRMeterValueAggregator(
+                DSMRMeterValueAggregator.AGGREGATION_AVERAGE, false);
+
+        aggregator.add(telegram("1.000*kW", "100.000*kWh"));
+        aggregator.add(telegram("2.000*kW", "100.001*kWh"));
+        aggregator.add(telegram("6.000*kW", "100.002*kWh"));
+        Map<String, State> states = aggregator.collect();
+
+        assertEquals(QuantityType.valueOf("3.000 kW"), states.get(ACTUAL_DELIVERY));
+        assertEquals(QuantityType.valueOf("100.002 kWh"), states.get(DELIVERY_TARIFF1));
+
+        aggregator.add(telegram("5.000*kW", "100.003*kWh"));
+        states = aggregator.collect();
+        assertEquals(QuantityType.valueOf("5.000 kW"), states.get(ACTUAL_DELIVERY),
+                "Values of the previous interval should not be included in the average");
+    }
+
+    /**
+     * Test if only changed values are returned in changed only mode, and all values again after a reset.
+     */
+    @Test
+    public void testChangedOnly() throws ParseException {
+        final DSMRMeterValueAggregator aggregator = new DSMRMeterValueAggregator(
+                DSMRMeterValueAggregator.AGGREGATION_LAST, true);
+
+        aggregator.add(telegram("1.000*kW", "100.000*kWh"));
+        assertEquals(2, aggregator.collect().size(), "All values should be returned the first time");
+
+        aggregator.add(telegram("2.000*kW", "100.000*kWh"));
+        Map<String, State> states = aggregator.collect();
+        assertEquals(Map.of(ACTUAL_DELIVERY, QuantityType.valueOf("2.000 kW")), states);
+
+        aggregator.reset();
+        aggregator.add(telegram("2.000*kW", "100.000*kWh"));
+        assertEquals(2, aggregator.collect().size(), "All values should be returned after a reset");
+    }
+
+    /**
+     * Test the number of state updates of a meter sending a telegram every second, with a refresh of 60 seconds.
+     */
+    @Test
+    public void testStateUpdateRate() {
+        final List<CosemObject> cosemObjects = new DSMRMeter(
+                new DSMRMeterDescriptor(DSMRMeterType.ELECTRICITY_V5_0, 0))
+                .filterMeterValues(TelegramReaderUtil.readTelegram("dsmr_50").getCosemObjects(), 0);
+
+        final int channels = countStateUpdates(new DSMRMeterValueAggregator(DSMRMeterValueAggregator.AGGREGATION_LAST,
+                false), cosemObjects, 1);
+        assertEquals(10 * channels, countStateUpdates(
+                new DSMRMeterValueAggregator(DSMRMeterValueAggregator.AGGREGATION_AVERAGE, false), cosemObjects, 10),
+                "Each refresh should update all channels");
+        assertEquals(channels, countStateUpdates(
+                new DSMRMeterValueAggregator(DSMRMeterValueAggregator.AGGREGATION_AVERAGE, true), cosemObjects, 10),
+                "Unchanged values should only be updated once");
+    }
+
+    private static int countStateUpdates(final DSMRMeterValueAggregator aggregator,
+            final List<CosemObject> cosemObjects, final int refreshes) {
+        int updates = 0;
+
+        for (int refresh = 0; refresh < refreshes; refresh++) {
+            for (int second = 0; second < 60; second++) {
+                aggregator.add(cosemObjects);
+            }
+            updates += aggregator.collect().size();
+        }
+        return updates;
+    }
+
+    private static List<CosemObject> telegram(final String actualDelivery, final String deliveryTariff1)
+            throws ParseException {
+        return List.of(cosemObject(CosemObjectType.EMETER_ACTUAL_DELIVERY, actualDelivery),
+                cosemObject(CosemObjectType.EMETER_DELIVERY_TARIFF1, deliveryTariff1));
+    }
+
+    private static CosemObject cosemObject(final CosemObjectType type, final String value) throws ParseException {
+        final CosemObject cosemObject = new CosemObject(type, type.obisId);
+
+        cosemObject.parseCosemValues("(" + value + ")");
+        return cosemObject;
+    }
+}
@@ -33,6 +33,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
@@ -80,15 +81,30 @@ public class S3Actions {
     }
 
     public List<String> listBucket(String prefix) throws APIException, AuthException {
-        Map<String, String> headers = new HashMap<>();
-        Map<String, String> params = new HashMap<>();
-        return listObjectsV2(prefix, headers, params);
+        List<String> returnList = new ArrayList<>();
+        DocumentBuilder docBuilder;
+        try {
+            docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new APIException(e);
+        }
+        // request the pages one after the other instead of recursively, so large buckets don't grow the stack
+        String continuationToken = null;
+        do {
+            continuationToken = listObjectsV2(docBuilder, prefix, continuationToken, returnList);
+        } while (continuationToken != null);
+        return returnList;
     }
 
-    private List<String> listObjectsV2(String prefix, Map<String, String> headers, Map<String, String> params)
-            throws APIException, AuthException {
+    private @Nullable String listObjectsV2(DocumentBuilder docBuilder, String prefix,
+            @Nullable String continuationToken, List<String> returnList) throws APIException, AuthException {
+        Map<String, String> headers = new HashMap<>();
+        Map<String, String> params = new HashMap<>();
         params.put("list-type", "2");
         params.put("prefix", prefix);
+        if (continuationToken != null) {
+            params.put("continuation-token", continuationToken);
+        }
         if (!awsAccessKey.isEmpty() || !awsSecretKey.isEmpty()) {
             headers.put("x-amz-content-sha256", AWS4SignerBase.EMPTY_BODY_SHA256);
             AWS4SignerForAuthorizationHeader signer = new AWS4SignerForAuthorizationHeader(this.bucketUri, "GET", "s3",
@@ -126,13 +142,6 @@ public class S3Actions {
             throw new APIException("HTTP Response is not 200");
         }
 
-        DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder docBuilder;
-        try {
-            docBuilder = docBuilderFactory.newDocumentBuilder();
-        } catch (ParserConfigurationException e) {
-            throw new APIException(e);
-        }
         InputSource is = new InputSource(new StringReader(contentResponse.getContentAsString()));
         Document doc;
         try {
@@ -141,10 +150,9 @@ public class S3Actions {
             throw new APIException(e);
         }
         NodeList nameNodesList = doc.getElementsByTagName("Key");
-        List<String> returnList = new ArrayList<>();
 
         if (nameNodesList.getLength() == 0) {
-            return returnList;
+            return null;
         }
 
         for (int i = 0; i < nameNodesList.getLength(); i++) {
@@ -152,18 +160,13 @@ public class S3Actions {
         }
 
         nameNodesList = doc.getElementsByTagName("IsTruncated");
-        if (nameNodesList.getLength() > 0) {
-            if ("true".equals(nameNodesList.item(0).getFirstChild().getTextContent())) {
-                nameNodesList = doc.getElementsByTagName("NextContinuationToken");
-                if (nameNodesList.getLength() > 0) {
-                    String continueToken = nameNodesList.item(0).getFirstChild().getTextContent();
-                    params.clear();
-                    headers.clear();
-                    params.put("continuation-token", continueToken);
-                    returnList.addAll(listObjectsV2(prefix, headers, params));
-                }
+        if (nameNodesList.getLength() > 0
+                && "true".equals(nameNodesList.item(0).getFirstChild().getTextContent())) {
+            nameNodesList = doc.getElementsByTagName("NextContinuationToken");
+            if (nameNodesList.getLength() > 0) {
+                return nameNodesList.item(0).getFirstChild().getTextContent();
             }
         }
-        return returnList;
+        return null;
     }
 }
@@ -17,7 +17,10 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -53,6 +56,24 @@ public class WatcherCommon {
         return returnList;
     }
 
+    /**
+     * Get the entries of the current listing which are not part of the previous listing. A set is used for the
+     * previous listing, so the diff takes linear time also for folders with a lot of files.
+     *
+     * @param currentListing the current listing
+     * @param previousListing the previous listing
+     * @return the new entries in the order of the current listing
+     */
+    public static List<String> getNewEntries(Collection<String> currentListing, Set<String> previousListing) {
+        List<String> newEntries = new ArrayList<>();
+        for (String entry : currentListing) {
+            if (!previousListing.contains(entry)) {
+                newEntries.add(entry);
+            }
+        }
+        return newEntries;
+    }
+
     public static void saveNewListing(List<String> newList, File listingFile) throws IOException {
         try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(listingFile, true))) {
             for (String newFile : newList) {
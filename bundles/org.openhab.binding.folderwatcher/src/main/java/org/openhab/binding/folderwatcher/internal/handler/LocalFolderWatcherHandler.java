@@ -14,16 +14,25 @@ package org.openhab.binding.folderwatcher.internal.handler;
 
 import static org.openhab.binding.folderwatcher.internal.FolderWatcherBindingConstants.CHANNEL_NEWFILE;
 
+import static java.nio.file.StandardWatchEventKinds.*;
+
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileVisitResult;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -55,7 +64,9 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
     private File currentLocalListingFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
             + File.separator + thing.getUID().getAsString().replace(':', '_') + ".data");
     private @Nullable ScheduledFuture<?> executionJob;
-    private List<String> previousLocalListing = new ArrayList<>();
+    private Set<String> previousLocalListing = new HashSet<>();
+    private @Nullable WatchService watchService;
+    private boolean treeListed;
 
     public LocalFolderWatcherHandler(Thing thing) {
         super(thing);
@@ -79,7 +90,7 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             return;
         }
         try {
-            previousLocalListing = WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
+            previousLocalListing = new HashSet<>(WatcherCommon.initStorage(currentLocalListingFile, config.localDir));
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             logger.debug("Can't write file {}: {}", currentLocalListingFile, e.getMessage());
@@ -87,9 +98,24 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
         }
 
         if (config.pollIntervalLocal > 0) {
-            updateStatus(ThingStatus.ONLINE);
-            executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
-                    config.pollIntervalLocal, TimeUnit.SECONDS);
+            if (config.watchEventsLocal) {
+                try {
+                    watchService = FileSystems.getDefault().newWatchService();
+                } catch (IOException e) {
+                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+                    logger.debug("Can't watch directory {}: {}", config.localDir, e.getMessage());
+                    return;
+                }
+                treeListed = false;
+                updateStatus(ThingStatus.ONLINE);
+                // the complete tree is only listed once, afterwards only the file system events are processed
+                executionJob = scheduler.scheduleWithFixedDelay(this::processWatchEvents, 0, config.pollIntervalLocal,
+                        TimeUnit.SECONDS);
+            } else {
+                updateStatus(ThingStatus.ONLINE);
+                executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation,
+                        config.pollIntervalLocal, config.pollIntervalLocal, TimeUnit.SECONDS);
+            }
         } else {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                     "Polling interval can't be null or negative");
@@ -104,60 +130,134 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             executionJob.cancel(true);
             this.executionJob = null;
         }
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Can't close watch service: {}", e.getMessage());
+            }
+            this.watchService = null;
+        }
     }
 
-    private void refreshFolderInformation() {
-        final String rootDir = config.localDir;
+    private synchronized void refreshFolderInformation() {
         try {
             List<String> currentLocalListing = new ArrayList<>();
+            listDirectory(Paths.get(config.localDir), currentLocalListing);
 
-            Files.walkFileTree(Paths.get(rootDir), new FileVisitor<@Nullable Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (dir != null) {
-                        if (!dir.equals(Paths.get(rootDir)) && !config.listRecursiveLocal) {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
+            List<String> diffLocalListing = WatcherCommon.getNewEntries(currentLocalListing, previousLocalListing);
+            diffLocalListing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
 
-                @Override
-                public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (file != null) {
-                        if (Files.isHidden(file) && !config.listHiddenLocal) {
-                            return FileVisitResult.CONTINUE;
+            if (!diffLocalListing.isEmpty()) {
+                WatcherCommon.saveNewListing(diffLocalListing, currentLocalListingFile);
+            }
+            previousLocalListing = new HashSet<>(currentLocalListing);
+            treeListed = true;
+        } catch (IOException e) {
+            logger.debug("File manipulation error: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void processWatchEvents() {
+        WatchService watchService = this.watchService;
+        if (watchService == null) {
+            return;
+        }
+        if (!treeListed) {
+            // registers the directories with the watch service
+            refreshFolderInformation();
+            return;
+        }
+        try {
+            List<String> diffLocalListing = new ArrayList<>();
+            boolean overflow = false;
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        overflow = true;
+                        continue;
+                    }
+                    Path file = dir.resolve((Path) event.context());
+                    String absPath = file.toAbsolutePath().toString();
+                    if (event.kind() == ENTRY_DELETE) {
+                        previousLocalListing.remove(absPath);
+                    } else if (Files.isDirectory(file)) {
+                        if (config.listRecursiveLocal) {
+                            // files can be created before the new directory is registered, so list it once
+                            List<String> newDirListing = new ArrayList<>();
+                            listDirectory(file, newDirListing);
+                            newDirListing.stream().filter(previousLocalListing::add).forEach(diffLocalListing::add);
                         }
-                        currentLocalListing.add(file.toAbsolutePath().toString());
+                    } else if ((config.listHiddenLocal || !Files.isHidden(file)) && previousLocalListing.add(absPath)) {
+                        diffLocalListing.add(absPath);
                     }
-                    return FileVisitResult.CONTINUE;
-                }
-
-                @Override
-                public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
                 }
-
-                @Override
-                public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
+                if (!key.reset()) {
+                    // the directory was deleted
+                    String dirPrefix = dir.toAbsolutePath().toString() + File.separator;
+                    previousLocalListing.removeIf(file -> file.startsWith(dirPrefix));
                 }
-            });
-
-            List<String> diffLocalListing = new ArrayList<>(currentLocalListing);
-            diffLocalListing.removeAll(previousLocalListing);
+            }
             diffLocalListing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
-
             if (!diffLocalListing.isEmpty()) {
                 WatcherCommon.saveNewListing(diffLocalListing, currentLocalListingFile);
             }
-            previousLocalListing = new ArrayList<>(currentLocalListing);
+            if (overflow) {
+                logger.debug("Too many changes in {}, listing the complete directory", config.localDir);
+                refreshFolderInformation();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // thing was disposed
         } catch (IOException e) {
             logger.debug("File manipulation error: {}", e.getMessage());
         }
     }
+
+    private void listDirectory(Path startDir, List<String> listing) throws IOException {
+        final Path rootDir = Paths.get(config.localDir);
+        final WatchService watchService = this.watchService;
+
+        Files.walkFileTree(startDir, new FileVisitor<@Nullable Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (dir != null) {
+                    if (!dir.equals(rootDir) && !config.listRecursiveLocal) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (watchService != null) {
+                        dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (file != null) {
+                    if (Files.isHidden(file) && !config.listHiddenLocal) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    listing.add(file.toAbsolutePath().toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
 }
@@ -16,8 +16,9 @@ import static org.openhab.binding.folderwatcher.internal.FolderWatcherBindingCon
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -52,7 +53,7 @@ public class S3BucketWatcherHandler extends BaseThingHandler {
     private File currentS3ListingFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
             + File.separator + thing.getUID().getAsString().replace(':', '_') + ".data");
     private @Nullable ScheduledFuture<?> executionJob;
-    private List<String> previousS3Listing = new ArrayList<>();
+    private Set<String> previousS3Listing = new HashSet<>();
     private HttpClientFactory httpClientFactory;
     private @Nullable S3Actions s3;
 
@@ -85,7 +86,7 @@ public class S3BucketWatcherHandler extends BaseThingHandler {
         }
 
         try {
-            previousS3Listing = WatcherCommon.initStorage(currentS3ListingFile, config.s3BucketName);
+            previousS3Listing = new HashSet<>(WatcherCommon.initStorage(currentS3ListingFile, config.s3BucketName));
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             logger.debug("Can't write file {}: {}", currentS3ListingFile, e.getMessage());
@@ -105,18 +106,16 @@ public class S3BucketWatcherHandler extends BaseThingHandler {
     }
 
     private boolean refreshS3BucketInformation() {
-        List<String> currentS3Listing = new ArrayList<>();
         try {
-            currentS3Listing = s3.listBucket(config.s3Path);
+            List<String> currentS3Listing = s3.listBucket(config.s3Path);
             updateStatus(ThingStatus.ONLINE);
-            List<String> difS3Listing = new ArrayList<>(currentS3Listing);
-            difS3Listing.removeAll(previousS3Listing);
+            List<String> difS3Listing = WatcherCommon.getNewEntries(currentS3Listing, previousS3Listing);
             difS3Listing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
 
             if (!difS3Listing.isEmpty()) {
                 WatcherCommon.saveNewListing(difS3Listing, currentS3ListingFile);
             }
-            previousS3Listing = new ArrayList<>(currentS3Listing);
+            previousS3Listing = new HashSet<>(currentS3Listing);
         } catch (Exception e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "Can't connect to the bucket");
             logger.debug("Can't connect to the bucket: {}", e.getMessage());
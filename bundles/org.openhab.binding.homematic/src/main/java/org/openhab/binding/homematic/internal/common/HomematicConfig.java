@@ -51,6 +51,7 @@ public class HomematicConfig {
 
     private int socketMaxAlive = 900;
     private int timeout = 15;
+    private int metadataLoadThreads = 4;
     private int installModeDuration = DEFAULT_INSTALL_MODE_DURATION;
     private long discoveryTimeToLive = -1;
     private boolean unpairOnDeletion = false;
@@ -176,6 +177,20 @@ public class HomematicConfig {
         this.timeout = timeout;
     }
 
+    /**
+     * Returns the number of devices whose metadata is loaded in parallel from a Homematic gateway.
+     */
+    public int getMetadataLoadThreads() {
+        return metadataLoadThreads;
+    }
+
+    /**
+     * Sets the number of devices whose metadata is loaded in parallel from a Homematic gateway.
+     */
+    public void setMetadataLoadThreads(int metadataLoadThreads) {
+        this.metadataLoadThreads = metadataLoadThreads;
+    }
+
     /**
      * Returns the time to live for discovery results of a Homematic gateway in seconds.
      */
@@ -442,9 +457,9 @@ public class HomematicConfig {
         return String.format("""
                 %s[gatewayAddress=%s,callbackHost=%s,xmlCallbackPort=%d,binCallbackPort=%d,\
                 gatewayType=%s,rfPort=%d,wiredPort=%d,hmIpPort=%d,cuxdPort=%d,groupPort=%d,timeout=%d,\
-                discoveryTimeToLive=%d,installModeDuration=%d,socketMaxAlive=%d]\
+                discoveryTimeToLive=%d,installModeDuration=%d,socketMaxAlive=%d,metadataLoadThreads=%d]\
                 """, getClass().getSimpleName(), gatewayAddress, callbackHost, xmlCallbackPort, binCallbackPort,
                 gatewayType, getRfPort(), getWiredPort(), getHmIpPort(), getCuxdPort(), getGroupPort(), timeout,
-                discoveryTimeToLive, installModeDuration, socketMaxAlive);
+                discoveryTimeToLive, installModeDuration, socketMaxAlive, metadataLoadThreads);
     }
 }
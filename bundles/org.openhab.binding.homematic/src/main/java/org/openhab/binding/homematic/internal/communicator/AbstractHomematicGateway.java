@@ -16,6 +16,7 @@ import static org.openhab.binding.homematic.internal.HomematicBindingConstants.G
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,8 +25,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -76,6 +84,8 @@ import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,11 +116,13 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final ParamsetDescriptionCache paramsetDescriptionCache;
+    private final Object deviceLoadedLock = new Object();
 
     static {
         // loads all virtual datapoints
@@ -139,6 +151,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.paramsetDescriptionCache = new ParamsetDescriptionCache(
+                Path.of(OpenHAB.getUserDataFolder(), "homematic", id + ".paramsets"));
     }
 
     @Override
@@ -180,6 +194,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
 
         logger.info("{}", config.getGatewayInfo());
+        paramsetDescriptionCache.load(gatewayInfo.getType() + ":" + gatewayInfo.getFirmware());
         StringBuilder sb = new StringBuilder();
         for (Entry<HmInterface, TransferMode> entry : availableInterfaces.entrySet()) {
             sb.append(entry.getKey()).append(":").append(entry.getValue()).append(", ");
@@ -206,6 +221,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void dispose() {
         initialized = false;
+        cancelLoadAllMetadata = true;
         if (enableNewDeviceFuture != null) {
             enableNewDeviceFuture.cancel(true);
         }
@@ -215,6 +231,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         receiveDelayedExecutor.stop();
         stopServers(true);
         stopClients();
+        paramsetDescriptionCache.save();
         devices.clear();
         echoEvents.clear();
         availableInterfaces.clear();
@@ -376,67 +393,113 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
 
-        // loading datapoints for all channels
-        Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
-        for (HmDevice device : deviceDescriptions) {
-            if (!cancelLoadAllMetadata) {
-                try {
-                    logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
-                            device.getType());
-                    if (device.isGatewayExtras()) {
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
-                    } else {
-                        for (HmChannel channel : device.getChannels()) {
-                            logger.trace("  Loading channel {}", channel);
-                            // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
-                                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
-                                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
-                            } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    prepareDevice(device);
+        // loading datapoints for all channels, the devices are loaded by several workers in parallel
+        Queue<HmDevice> pendingDevices = new ConcurrentLinkedQueue<>(deviceDescriptions);
+        Set<String> loadedDevices = ConcurrentHashMap.newKeySet();
+        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new ConcurrentHashMap<>();
+        Runnable worker = () -> {
+            HmDevice device;
+            while (!cancelLoadAllMetadata && (device = pendingDevices.poll()) != null) {
+                if (loadDeviceMetadata(device, datapointsByChannelIdCache)) {
                     loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
-                } catch (IOException ex) {
-                    logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
-                            ex.getMessage());
                 }
             }
+        };
+
+        int workers = Math.max(1, Math.min(config.getMetadataLoadThreads(), deviceDescriptions.size()));
+        logger.debug("Loading metadata of {} devices from gateway '{}' with {} workers", deviceDescriptions.size(), id,
+                workers);
+        List<Future<?>> futures = new ArrayList<>();
+        // the workers block on RPC requests, they get their own threads to not delay the tasks of the gateway pool
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, workers - 1),
+                new NamedThreadFactory(GATEWAY_POOL_NAME + "-metadata-" + id));
+        try {
+            for (int i = 1; i < workers; i++) {
+                futures.add(executor.submit(worker));
+            }
+            // the calling thread is one of the workers
+            worker.run();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    logger.warn("Loading metadata from gateway '{}' failed: {}", id, ex.getMessage(), ex);
+                } catch (InterruptedException ex) {
+                    cancelLoadAllMetadata = true;
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdown();
         }
+        paramsetDescriptionCache.save();
+
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
         }
         initialized = true;
     }
 
+    /**
+     * Loads the metadata of the device and returns true, if the device was loaded.
+     */
+    private boolean loadDeviceMetadata(HmDevice device,
+            Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache) {
+        try {
+            logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(), device.getType());
+            if (device.isGatewayExtras()) {
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
+            } else {
+                for (HmChannel channel : device.getChannels()) {
+                    logger.trace("  Loading channel {}", channel);
+                    // speed up metadata generation a little bit for equal channels in the gateway devices
+                    if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
+                            || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
+                        HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
+                        cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+                    } else {
+                        String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
+                                channel.getDevice().getFirmware(), channel.getNumber());
+                        Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+                        if (cachedDatapoints != null) {
+                            // clone all datapoints
+                            cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
+                        } else {
+                            logger.trace("    Loading datapoints into channel {}", channel);
+                            addChannelDatapoints(channel, HmParamsetType.MASTER);
+                            addChannelDatapoints(channel, HmParamsetType.VALUES);
+
+                            // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+                            // the data point set might change depending on the selected mode.
+                            if (!channel.isReconfigurable()) {
+                                datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
+                            }
+                        }
+                    }
+                }
+            }
+            // the type generation and the things are not prepared for parallel updates
+            synchronized (deviceLoadedLock) {
+                prepareDevice(device);
+                gatewayAdapter.onDeviceLoaded(device);
+            }
+            return true;
+        } catch (IOException ex) {
+            logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
+                    ex.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Loads all datapoints from the gateway.
      */
     protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
         try {
-            getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType);
+            getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType,
+                    paramsetDescriptionCache);
         } catch (UnknownParameterSetException ex) {
             logger.info(
                     "Can not load metadata for device: {}, channel: {}, paramset: {}, maybe there are no channels available",
@@ -444,6 +507,13 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
     }
 
+    /**
+     * Returns the cache for the paramset descriptions of the gateway.
+     */
+    protected ParamsetDescriptionCache getParamsetDescriptionCache() {
+        return paramsetDescriptionCache;
+    }
+
     /**
      * Loads all device descriptions from the gateway.
      */
@@ -142,7 +142,8 @@ public class CcuGateway extends AbstractHomematicGateway {
     @Override
     protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
         try {
-            getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType);
+            getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType,
+                    getParamsetDescriptionCache());
         } catch (UnknownParameterSetException ex) {
             logger.debug(
                     "RpcMessage RPC failure (-3 Unknown paramset), fetching metadata with TclRega script for device: {}, channel: {}, paramset: {}",
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the paramset descriptions received from a Homematic gateway in a file, so they don't have to be loaded again
+ * after a restart. The descriptions are stored per device type, firmware, channel and paramset, the stored
+ * descriptions are discarded if the type or firmware of the gateway changes.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+@NonNullByDefault
+public class ParamsetDescriptionCache {
+    private static final int FILE_VERSION = 1;
+    // only the datatypes of the RPC protocols are allowed in the file
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+            .createFilter("maxdepth=16;java.lang.Object;java.lang.String;java.lang.Boolean;java.lang.Number;"
+                    + "java.lang.Integer;java.lang.Long;java.lang.Double;java.util.Date;java.util.HashMap;"
+                    + "java.util.TreeMap;java.util.Map$Entry;java.util.ArrayList;!*");
+
+    private final Logger logger = LoggerFactory.getLogger(ParamsetDescriptionCache.class);
+    private final Path file;
+    private final Map<String, Object[]> descriptions = new ConcurrentHashMap<>();
+    private String gatewayVersion = "";
+    private volatile boolean modified;
+
+    public ParamsetDescriptionCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the stored paramset descriptions, if they were received from a gateway with the given version.
+     */
+    public synchronized void load(String gatewayVersion) {
+        this.gatewayVersion = gatewayVersion;
+        descriptions.clear();
+        modified = false;
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            in.setObjectInputFilter(FILTER);
+            if (in.readInt() != FILE_VERSION || !gatewayVersion.equals(in.readUTF())) {
+                logger.debug("Discarding paramset descriptions of another gateway version in '{}'", file);
+                modified = true;
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object[]> storedDescriptions = (Map<String, Object[]>) in.readObject();
+            descriptions.putAll(storedDescriptions);
+            logger.debug("Loaded {} paramset descriptions from '{}'", descriptions.size(), file);
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            logger.debug("Can't load paramset descriptions from '{}': {}", file, ex.getMessage());
+            descriptions.clear();
+            modified = true;
+        }
+    }
+
+    /**
+     * Saves the paramset descriptions, if they were modified since they were loaded or saved.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        modified = false;
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(FILE_VERSION);
+                out.writeUTF(gatewayVersion);
+                out.writeObject(new HashMap<>(descriptions));
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Saved {} paramset descriptions to '{}'", descriptions.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't save paramset descriptions to '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the stored paramset description for the channel or null, if no description is stored.
+     */
+    public Object @Nullable [] get(HmChannel channel, HmParamsetType paramsetType) {
+        return descriptions.get(getKey(channel, paramsetType));
+    }
+
+    /**
+     * Stores the paramset description received from the gateway for the channel.
+     */
+    public void put(HmChannel channel, HmParamsetType paramsetType, Object[] description) {
+        descriptions.put(getKey(channel, paramsetType), description);
+        modified = true;
+    }
+
+    /**
+     * Returns the number of stored paramset descriptions.
+     */
+    public int size() {
+        return descriptions.size();
+    }
+
+    private String getKey(HmChannel channel, HmParamsetType paramsetType) {
+        return String.format("%s:%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber(), paramsetType);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.openhab.binding.homematic.internal.HomematicBindingConstants;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.ParamsetDescriptionCache;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.parser.GetAllScriptsParser;
 import org.openhab.binding.homematic.internal.communicator.parser.GetAllSystemVariablesParser;
@@ -216,14 +217,33 @@ public abstract class RpcClient<T> {
      * Loads all datapoint metadata into the given channel.
      */
     public void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
+        addChannelDatapoints(channel, paramsetType, null);
+    }
+
+    /**
+     * Loads all datapoint metadata into the given channel. The paramset description is taken from the given cache if
+     * available, otherwise it is loaded from the gateway and stored in the cache.
+     */
+    public void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType,
+            ParamsetDescriptionCache descriptionCache) throws IOException {
         if (isConfigurationChannel(channel) && paramsetType != HmParamsetType.MASTER) {
             // The configuration channel only has a MASTER Paramset, so there is nothing to load
             return;
         }
-        RpcRequest<T> request = createRpcRequest("getParamsetDescription");
-        request.addArg(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
-        request.addArg(paramsetType.toString());
-        new GetParamsetDescriptionParser(channel, paramsetType).parse(sendMessage(config.getRpcPort(channel), request));
+        Object[] description = descriptionCache != null ? descriptionCache.get(channel, paramsetType) : null;
+        boolean cached = description != null;
+        if (!cached) {
+            RpcRequest<T> request = createRpcRequest("getParamsetDescription");
+            request.addArg(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
+            request.addArg(paramsetType.toString());
+            description = sendMessage(config.getRpcPort(channel), request);
+        }
+        new GetParamsetDescriptionParser(channel, paramsetType).parse(description);
+
+        // the datapoints of reconfigurable channels depend on the selected function, so they are never cached
+        if (!cached && descriptionCache != null && !channel.isReconfigurable()) {
+            descriptionCache.put(channel, paramsetType, description);
+        }
     }
 
     /**
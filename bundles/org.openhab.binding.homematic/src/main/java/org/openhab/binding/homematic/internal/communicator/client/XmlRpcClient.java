@@ -69,7 +69,7 @@ public class XmlRpcClient extends RpcClient<String> {
     }
 
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client XmlRpcRequest (port {}):\n{}", port, request);
         }
@@ -100,6 +100,13 @@ public class XmlRpcClient extends RpcClient<String> {
         throw reason;
     }
 
+    private synchronized AuthenticationHandler getAuthenticationHandler() throws ConfigurationException {
+        if (authenticationHandler == null) {
+            authenticationHandler = new AuthenticationHandler(config);
+        }
+        return authenticationHandler;
+    }
+
     private byte[] send(int port, RpcRequest<String> request) throws IOException {
         byte[] ret = new byte[0];
         try {
@@ -109,11 +116,7 @@ public class XmlRpcClient extends RpcClient<String> {
             if (port == config.getGroupPort()) {
                 url += "/groups";
             }
-            if (authenticationHandler == null) {
-                authenticationHandler = new AuthenticationHandler(config);
-            }
-
-            Request req = authenticationHandler.updateAuthenticationInformation(
+            Request req = getAuthenticationHandler().updateAuthenticationInformation(
                     httpClient.POST(new URI(url)).content(content).timeout(config.getTimeout(), TimeUnit.SECONDS)
                             .header(HttpHeader.CONTENT_TYPE, "text/xml;charset=" + config.getEncoding()));
 
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Tests for {@link ParamsetDescriptionCache}.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class ParamsetDescriptionCacheTest extends JavaTest {
+    private static final String GATEWAY_VERSION = "CCU3:3.75.6";
+
+    private @TempDir Path tempDir;
+    private Path file;
+
+    @BeforeEach
+    public void setup() {
+        file = tempDir.resolve("homematic").resolve("ccu.paramsets");
+    }
+
+    @Test
+    public void storedDescriptionsAreLoadedAfterRestart() {
+        HmChannel channel = createDimmerHmChannel();
+        ParamsetDescriptionCache descriptionCache = new ParamsetDescriptionCache(file);
+        descriptionCache.load(GATEWAY_VERSION);
+        descriptionCache.put(channel, HmParamsetType.VALUES, createDescription());
+        descriptionCache.save();
+
+        descriptionCache = new ParamsetDescriptionCache(file);
+        descriptionCache.load(GATEWAY_VERSION);
+
+        Object[] description = descriptionCache.get(channel, HmParamsetType.VALUES);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> level = ((Map<String, Map<String, Object>>) description[0]).get("LEVEL");
+        assertThat(level.get("TYPE"), is("FLOAT"));
+        assertThat(level.get("MAX"), is(1.0));
+        assertThat(level.get("OPERATIONS"), is(7));
+        assertThat((Object[]) level.get("VALUE_LIST"), is(new Object[] { "A", "B" }));
+        assertThat(descriptionCache.get(channel, HmParamsetType.MASTER), is(nullValue()));
+    }
+
+    @Test
+    public void storedDescriptionsAreDiscardedForOtherGatewayVersion() {
+        ParamsetDescriptionCache descriptionCache = new ParamsetDescriptionCache(file);
+        descriptionCache.load(GATEWAY_VERSION);
+        descriptionCache.put(createDimmerHmChannel(), HmParamsetType.VALUES, createDescription());
+        descriptionCache.save();
+
+        descriptionCache = new ParamsetDescriptionCache(file);
+        descriptionCache.load("CCU3:3.77.6");
+
+        assertThat(descriptionCache.size(), is(0));
+    }
+
+    private Object[] createDescription() {
+        Map<String, Object> level = new HashMap<>();
+        level.put("TYPE", "FLOAT");
+        level.put("MIN", Double.valueOf(0.0));
+        level.put("MAX", Double.valueOf(1.0));
+        level.put("OPERATIONS", Integer.valueOf(7));
+        level.put("UNIT", "100%");
+        level.put("VALUE_LIST", new Object[] { "A", "B" });
+        Map<String, Map<String, Object>> datapoints = new TreeMap<>();
+        datapoints.put("LEVEL", level);
+        return new Object[] { datapoints };
+    }
+}
@@ -19,9 +19,11 @@ import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
 import static org.openhab.binding.homematic.test.util.RpcClientMockImpl.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.binding.homematic.internal.communicator.ParamsetDescriptionCache;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.message.XmlRpcRequest;
 import org.openhab.binding.homematic.internal.model.HmChannel;
@@ -68,6 +70,17 @@ public class RpcClientTest extends JavaTest {
         assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(0));
     }
 
+    @Test
+    public void paramsetDescriptionIsLoadedOnceWithCache() throws IOException {
+        ParamsetDescriptionCache descriptionCache = new ParamsetDescriptionCache(Path.of("paramsets"));
+
+        rpcClient.addChannelDatapoints(createDimmerHmChannel(), HmParamsetType.VALUES, descriptionCache);
+        rpcClient.addChannelDatapoints(createDimmerHmChannel(), HmParamsetType.VALUES, descriptionCache);
+
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(1));
+        assertThat(descriptionCache.size(), is(1));
+    }
+
     @Test
     public void valuesParamsetIsLoadedForChannel() throws IOException {
         HmChannel channel = createDimmerHmChannel();
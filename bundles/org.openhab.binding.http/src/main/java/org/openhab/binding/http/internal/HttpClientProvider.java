@@ -12,11 +12,15 @@
  */
 package org.openhab.binding.http.internal;
 
+import java.net.URI;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jetty.client.HttpClient;
+import org.openhab.binding.http.internal.http.HostRequestLimiter;
 
 /**
- * The {@link HttpClientProvider} defines the interface for providing {@link HttpClient} instances to thing handlers
+ * The {@link HttpClientProvider} defines the interface for providing {@link HttpClient} instances and the shared
+ * {@link HostRequestLimiter}s to thing handlers
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -36,4 +40,12 @@ public interface HttpClientProvider {
      * @return q HttpClient
      */
     HttpClient getInsecureClient();
+
+    /**
+     * get the request limiter for the host of an URI (shared by all things)
+     *
+     * @param uri the URI
+     * @return a HostRequestLimiter
+     */
+    HostRequestLimiter getHostRequestLimiter(URI uri);
 }
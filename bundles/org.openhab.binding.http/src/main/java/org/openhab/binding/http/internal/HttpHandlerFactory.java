@@ -14,12 +14,16 @@ package org.openhab.binding.http.internal;
 
 import static org.openhab.binding.http.internal.HttpBindingConstants.THING_TYPE_URL;
 
+import java.net.URI;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.http.HostRequestLimiter;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
@@ -48,6 +52,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
 
     private final HttpClient secureClient;
     private final HttpClient insecureClient;
+    private final Map<String, HostRequestLimiter> hostRequestLimiters = new ConcurrentHashMap<>();
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
@@ -109,4 +114,10 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
     public HttpClient getInsecureClient() {
         return insecureClient;
     }
+
+    @Override
+    public HostRequestLimiter getHostRequestLimiter(URI uri) {
+        return hostRequestLimiters.computeIfAbsent(uri.getHost() + ":" + uri.getPort(),
+                k -> new HostRequestLimiter());
+    }
 }
@@ -42,6 +42,7 @@ import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.binding.http.internal.http.HttpAuthException;
 import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
+import org.openhab.binding.http.internal.http.HostRequestLimiter;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
 import org.openhab.core.i18n.TimeZoneProvider;
@@ -334,8 +335,8 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             channelUrls.put(channelUID, key);
             Objects.requireNonNull(
                     urlHandlers.computeIfAbsent(key,
-                            k -> new RefreshingUrlCache(rateLimitedHttpClient, stateUrl, config,
-                                    channelConfig.stateContent, config.contentType, this)))
+                            k -> new RefreshingUrlCache(rateLimitedHttpClient, getHostRequestLimiter(stateUrl),
+                                    stateUrl, config, channelConfig.stateContent, config.contentType, this)))
                     .addConsumer(itemValueConverter::process);
         }
 
@@ -403,6 +404,15 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
         }
     }
 
+    private HostRequestLimiter getHostRequestLimiter(String url) {
+        try {
+            return httpClientProvider.getHostRequestLimiter(Util.uriFromString(String.format(url, new Date())));
+        } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
+            // the URL is invalid, the error is reported when the request is created
+            return new HostRequestLimiter();
+        }
+    }
+
     private String concatenateUrlParts(String baseUrl, @Nullable String extension) {
         if (extension != null && !extension.isEmpty()) {
             if (!URL_PART_DELIMITER.contains(baseUrl.charAt(baseUrl.length() - 1))
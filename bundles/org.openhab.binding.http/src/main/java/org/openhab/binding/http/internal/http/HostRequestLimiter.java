@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link HostRequestLimiter} limits the number of concurrent requests to a single host, shared by all things
+ * that request from this host. The limit adapts to the latency of the host: it is increased by one after a full
+ * window of fast responses and halved when a request fails or takes much longer than the best latency seen recently.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class HostRequestLimiter {
+    static final int INITIAL_LIMIT = 2;
+    static final int MAX_LIMIT = 8;
+    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
+    // a response slower than this factor times the best latency is considered as a sign of overload
+    private static final int LATENCY_TOLERANCE = 2;
+
+    private final Queue<CompletableFuture<@Nullable Void>> waiting = new ArrayDeque<>();
+    private int limit = INITIAL_LIMIT;
+    private int inFlight = 0;
+    private int fastResponses = 0;
+    private long minLatency = Long.MAX_VALUE; // in ns
+
+    /**
+     * Request a permit for sending a request to the host
+     *
+     * @return a {@link CompletableFuture} that completes as soon as the request may be sent. Every completed permit
+     *         needs to be returned by calling {@link #release(long, boolean)} or {@link #release()}.
+     */
+    public synchronized CompletableFuture<@Nullable Void> acquire() {
+        CompletableFuture<@Nullable Void> permit = new CompletableFuture<>();
+        if (inFlight < limit) {
+            inFlight++;
+            permit.complete(null);
+        } else if (waiting.size() >= MAX_QUEUE_SIZE) {
+            permit.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+        } else {
+            waiting.add(permit);
+        }
+        return permit;
+    }
+
+    /**
+     * Return a permit without adapting the limit, e.g. if no request was sent
+     */
+    public void release() {
+        CompletableFuture<@Nullable Void> next;
+        synchronized (this) {
+            inFlight--;
+            next = pollNext();
+        }
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    /**
+     * Return a permit and adapt the limit
+     *
+     * @param latency the time in ns between sending the request and receiving the response
+     * @param success true if the host responded, false on timeouts or server errors
+     */
+    public void release(long latency, boolean success) {
+        CompletableFuture<@Nullable Void> next;
+        synchronized (this) {
+            inFlight--;
+            if (success) {
+                // let the best latency age slowly, so that a permanently slower host is not limited forever
+                minLatency = Math.min(latency, minLatency == Long.MAX_VALUE ? latency : minLatency + (minLatency >> 6));
+            }
+            if (!success || latency > minLatency * LATENCY_TOLERANCE) {
+                limit = Math.max(1, limit / 2);
+                fastResponses = 0;
+            } else if (++fastResponses >= limit) {
+                limit = Math.min(MAX_LIMIT, limit + 1);
+                fastResponses = 0;
+            }
+            next = pollNext();
+        }
+        // complete outside the lock, the request is created and sent in the future's dependent stages
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    private @Nullable CompletableFuture<@Nullable Void> pollNext() {
+        if (inFlight < limit) {
+            CompletableFuture<@Nullable Void> next = waiting.poll();
+            if (next != null) {
+                inFlight++;
+            }
+            return next;
+        }
+        return null;
+    }
+
+    /**
+     * Get the current limit of concurrent requests
+     *
+     * @return the limit
+     */
+    public synchronized int getLimit() {
+        return limit;
+    }
+}
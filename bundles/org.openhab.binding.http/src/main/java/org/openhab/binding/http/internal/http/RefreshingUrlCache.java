@@ -24,12 +24,18 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
@@ -44,10 +50,13 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class RefreshingUrlCache {
+    private static final int MAX_START_JITTER_SECONDS = 5;
+
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
     private final String url;
     private final RateLimitedHttpClient httpClient;
+    private final HostRequestLimiter hostRequestLimiter;
     private final boolean strictErrorHandling;
     private final int timeout;
     private final int bufferSize;
@@ -61,10 +70,15 @@ public class RefreshingUrlCache {
 
     private @Nullable ScheduledFuture<?> future;
     private @Nullable ChannelHandlerContent lastContent;
+    // validators of the last content for conditional requests
+    private volatile @Nullable String lastETag;
+    private volatile @Nullable String lastModified;
 
-    public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
-            String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
+    public RefreshingUrlCache(RateLimitedHttpClient httpClient, HostRequestLimiter hostRequestLimiter, String url,
+            HttpThingConfig thingConfig, String httpContent, @Nullable String httpContentType,
+            HttpStatusListener httpStatusListener) {
         this.httpClient = httpClient;
+        this.hostRequestLimiter = hostRequestLimiter;
         this.url = url;
         this.strictErrorHandling = thingConfig.strictErrorHandling;
         this.timeout = thingConfig.timeout;
@@ -82,7 +96,11 @@ public class RefreshingUrlCache {
             logger.warn("Starting refresh task requested but it is already started. This is bug.");
             return;
         }
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, refreshTime, TimeUnit.SECONDS);
+        // spread the first refresh over a few seconds, so that things started together do not poll in bursts
+        long initialDelay = 1000
+                + ThreadLocalRandom.current().nextLong(Math.min(refreshTime, MAX_START_JITTER_SECONDS) * 1000L);
+        future = executor.scheduleWithFixedDelay(this::refresh, initialDelay, refreshTime * 1000L,
+                TimeUnit.MILLISECONDS);
         logger.trace("Started refresh task for URL '{}' with interval {}s", url, refreshTime);
     }
 
@@ -111,42 +129,101 @@ public class RefreshingUrlCache {
             URI uri = Util.uriFromString(String.format(this.url, new Date()));
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
-            httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
-                request.timeout(timeout, TimeUnit.MILLISECONDS);
-                headers.forEach(request::header);
-
-                CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
-                responseContentFuture.exceptionally(t -> {
-                    if (t instanceof HttpAuthException) {
-                        if (isRetry || !httpClient.reAuth(uri)) {
-                            logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
-                            httpStatusListener.onHttpError("Authentication failed");
+            httpClient.newRequest(uri, httpMethod, httpContent, httpContentType)
+                    .thenCompose(request -> hostRequestLimiter.acquire().thenApply(permit -> request))
+                    .thenAccept(request -> {
+                        if (consumers.isEmpty()) {
+                            // stopped while waiting for the permit
+                            hostRequestLimiter.release();
+                            return;
+                        }
+                        AtomicBoolean permitReturned = new AtomicBoolean();
+                        try {
+                            request.timeout(timeout, TimeUnit.MILLISECONDS);
+                            headers.forEach(request::header);
+                            addValidators(request);
+
+                            CompletableFuture<@Nullable ChannelHandlerContent> contentFuture = new CompletableFuture<>();
+                            contentFuture.handle((content, t) -> {
+                                if (t instanceof HttpNotModifiedException) {
+                                    logger.trace("Content of '{}' not modified, skipping processing", uri);
+                                    return null;
+                                } else if (t instanceof HttpAuthException) {
+                                    if (isRetry || !httpClient.reAuth(uri)) {
+                                        logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
+                                        httpStatusListener.onHttpError("Authentication failed");
+                                    } else {
+                                        refresh(true);
+                                    }
+                                }
+                                processResult(t == null ? content : null);
+                                return null;
+                            });
+
+                            if (logger.isTraceEnabled()) {
+                                logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+                            }
+
+                            long sendTime = System.nanoTime();
+                            request.onComplete(result -> {
+                                if (permitReturned.compareAndSet(false, true)) {
+                                    // the host responded unless the request timed out, failed before a response
+                                    // was received or the server reported an error
+                                    Response response = result.getResponse();
+                                    int status = response == null ? 0 : response.getStatus();
+                                    hostRequestLimiter.release(System.nanoTime() - sendTime,
+                                            status > 0 && status < HttpStatus.INTERNAL_SERVER_ERROR_500);
+                                }
+                            });
+                            request.send(new HttpResponseListener(contentFuture, fallbackEncoding, bufferSize,
+                                    httpStatusListener));
+                        } catch (RuntimeException e) {
+                            if (permitReturned.compareAndSet(false, true)) {
+                                hostRequestLimiter.release();
+                            }
+                            throw e;
+                        }
+                    }).exceptionally(e -> {
+                        if (e instanceof CancellationException) {
+                            logger.debug("Request to URL {} was cancelled by thing handler.", uri);
                         } else {
-                            refresh(true);
+                            logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
                         }
-                    }
-                    return null;
-                }).thenAccept(this::processResult);
-
-                if (logger.isTraceEnabled()) {
-                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
-                }
-
-                request.send(new HttpResponseListener(responseContentFuture, fallbackEncoding, bufferSize,
-                        httpStatusListener));
-            }).exceptionally(e -> {
-                if (e instanceof CancellationException) {
-                    logger.debug("Request to URL {} was cancelled by thing handler.", uri);
-                } else {
-                    logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
-                }
-                return null;
-            });
+                        return null;
+                    });
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", url, e.getMessage());
         }
     }
 
+    /**
+     * Add the validators of the last response, so that the server can answer with 304 (Not Modified) instead of
+     * sending the same content again
+     *
+     * @param request the request
+     */
+    private void addValidators(Request request) {
+        if (httpMethod != HttpMethod.GET) {
+            return;
+        }
+        String eTag = lastETag;
+        String modified = lastModified;
+        if (lastContent != null) {
+            if (eTag != null) {
+                request.header(HttpHeader.IF_NONE_MATCH, eTag);
+            }
+            if (modified != null) {
+                request.header(HttpHeader.IF_MODIFIED_SINCE, modified);
+            }
+        }
+        request.onResponseHeaders(response -> {
+            if (response.getStatus() == HttpStatus.OK_200) {
+                lastETag = response.getHeaders().get(HttpHeader.ETAG);
+                lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
+            }
+        });
+    }
+
     public void addConsumer(Consumer<@Nullable ChannelHandlerContent> consumer) {
         consumers.add(consumer);
     }
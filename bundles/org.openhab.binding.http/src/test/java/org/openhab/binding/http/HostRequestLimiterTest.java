@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.http.internal.http.HostRequestLimiter;
+
+/**
+ * The {@link HostRequestLimiterTest} implements tests for the {@link HostRequestLimiter}
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class HostRequestLimiterTest {
+    private static final long FAST = 10_000_000; // 10ms in ns
+    private static final long SLOW = 100_000_000; // 100ms in ns
+
+    @Test
+    public void testRequestsAreQueuedAboveLimit() {
+        HostRequestLimiter limiter = new HostRequestLimiter();
+        assertEquals(2, limiter.getLimit());
+
+        CompletableFuture<@Nullable Void> first = limiter.acquire();
+        CompletableFuture<@Nullable Void> second = limiter.acquire();
+        CompletableFuture<@Nullable Void> third = limiter.acquire();
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        // a returned permit starts the queued request
+        limiter.release(FAST, true);
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    public void testLimitIncreasesWithFastResponses() {
+        HostRequestLimiter limiter = new HostRequestLimiter();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.release(FAST, true);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitDecreasesWithSlowOrFailedResponses() {
+        HostRequestLimiter limiter = new HostRequestLimiter();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.release(FAST, true);
+        }
+
+        limiter.acquire();
+        limiter.release(SLOW, true);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.acquire();
+        limiter.release(FAST, false);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.acquire();
+        limiter.release(FAST, false);
+        limiter.acquire();
+        limiter.release(FAST, false);
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void testReleaseWithoutRequestKeepsLimit() {
+        HostRequestLimiter limiter = new HostRequestLimiter();
+        limiter.acquire();
+        limiter.release(FAST, true);
+
+        CompletableFuture<@Nullable Void> first = limiter.acquire();
+        CompletableFuture<@Nullable Void> second = limiter.acquire();
+        CompletableFuture<@Nullable Void> third = limiter.acquire();
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        // a permit returned without sending a request starts the queued request, but doesn't adapt the limit
+        limiter.release();
+        assertTrue(third.isDone());
+        assertEquals(2, limiter.getLimit());
+
+        // later responses are still compared to the real best latency
+        limiter.release(FAST, true);
+        limiter.release(FAST, true);
+        assertEquals(3, limiter.getLimit());
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
@@ -43,6 +44,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.openhab.binding.http.internal.http.HostRequestLimiter;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
@@ -111,6 +113,26 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
                 .allMatch(TEST_CONTENT::equals));
     }
 
+    @Test
+    public void testNoUpdateOnNotModified() {
+        stubFor(get(urlEqualTo(TEST_LOCATION))
+                .willReturn(aResponse().withHeader("ETag", "\"1\"").withBody(TEST_CONTENT)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"1\"")).atPriority(1)
+                .willReturn(aResponse().withStatus(304)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // verify we get at least three successful requests in 5s
+        verify(statusListener, timeout(5000).atLeast(3)).onHttpSuccess();
+        verify(statusListener, never()).onHttpError(any());
+        urlCache.stop();
+
+        // assert only the first response was processed
+        assertEquals(1, contentWrappers.size());
+        assertEquals(TEST_CONTENT, Objects.requireNonNull(contentWrappers.get(0)).getAsString());
+        assertTrue(urlCache.get().isPresent());
+    }
+
     @Test
     public void testNoUpdateOn404ErrorInNormalMode() {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withStatus(404)));
@@ -252,8 +274,8 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
      * @return the cache object
      */
     private RefreshingUrlCache getUrlCache(String content) {
-        RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig, content, null,
-                statusListener);
+        RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, new HostRequestLimiter(), url,
+                thingConfig, content, null, statusListener);
         urlCache.addConsumer(contentWrappers::add);
         urlCache.start(scheduler, thingConfig.refresh);
         return urlCache;
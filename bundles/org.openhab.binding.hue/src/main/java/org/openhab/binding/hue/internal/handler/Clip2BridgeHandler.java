@@ -15,6 +15,7 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -116,6 +117,10 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private @Nullable Future<?> updateOnlineStateTask;
     private @Nullable ScheduledFuture<?> scheduledUpdateTask;
     private Map<Integer, Future<?>> resourcesEventTasks = new ConcurrentHashMap<>();
+    private final Object resourceOwnersLock = new Object();
+    private Map<String, List<Clip2ThingHandler>> resourceOwners = Map.of();
+
+    private volatile boolean resourceOwnersChanged = true;
 
     private boolean assetsLoaded;
     private int applKeyRetriesRemaining;
@@ -245,11 +250,50 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
      * If a child thing has been added, and the bridge is online, update the child's data.
      */
     public void childInitialized() {
+        resourceOwnersChanged();
         if (thing.getStatus() == ThingStatus.ONLINE) {
             updateThingsScheduled(5000);
         }
     }
 
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        resourceOwnersChanged();
+    }
+
+    /**
+     * Called when a child thing handler has changed the set of resources that contribute to its state, so that the
+     * index of resource owners is rebuilt before the next SSE event is dispatched.
+     */
+    public void resourceOwnersChanged() {
+        resourceOwnersChanged = true;
+    }
+
+    /**
+     * Get the index of child thing handlers by the ids of the resources which they consume. The index is rebuilt from
+     * the child thing handlers if any of them has changed its set of resources since the last call.
+     *
+     * @return a map of resource id to the respective child thing handlers.
+     */
+    private Map<String, List<Clip2ThingHandler>> getResourceOwners() {
+        synchronized (resourceOwnersLock) {
+            if (resourceOwnersChanged) {
+                // reset the flag first, so that a change during the rebuild causes another rebuild next time
+                resourceOwnersChanged = false;
+                Map<String, List<Clip2ThingHandler>> owners = new HashMap<>();
+                getThing().getThings().forEach(thing -> {
+                    if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
+                        clip2ThingHandler.getResourceIds().forEach(resourceId -> owners
+                                .computeIfAbsent(resourceId, k -> new ArrayList<>(1)).add(clip2ThingHandler));
+                    }
+                });
+                resourceOwners = owners;
+                logger.debug("getResourceOwners() indexed {} resources", owners.size());
+            }
+            return resourceOwners;
+        }
+    }
+
     @Override
     public void dispose() {
         if (assetsLoaded) {
@@ -509,8 +553,8 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform all
-     * child thing handlers with the respective resource.
+     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform the
+     * child thing handlers which consume the respective resource.
      *
      * @param resources a list of incoming resource objects.
      */
@@ -533,11 +577,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         if (numberOfResources != resources.size()) {
             logger.debug("onResourcesEventTask() merged to {} resources", resources.size());
         }
-        getThing().getThings().forEach(thing -> {
-            if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
-                clip2ThingHandler.onResources(resources);
+        Map<String, List<Clip2ThingHandler>> owners = getResourceOwners();
+        Map<Clip2ThingHandler, List<Resource>> handlerResources = new HashMap<>();
+        for (Resource resource : resources) {
+            List<Clip2ThingHandler> handlers = owners.get(resource.getId());
+            if (Objects.nonNull(handlers)) {
+                handlers.forEach(handler -> handlerResources.computeIfAbsent(handler, k -> new ArrayList<>())
+                        .add(resource));
             }
-        });
+        }
+        handlerResources.forEach((handler, handlerResourceList) -> handler.onResources(handlerResourceList));
     }
 
     /**
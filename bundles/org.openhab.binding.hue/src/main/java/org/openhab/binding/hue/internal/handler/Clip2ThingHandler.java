@@ -268,6 +268,16 @@ public class Clip2ThingHandler extends BaseThingHandler {
         controlIds.clear();
     }
 
+    /**
+     * Inform the bridge handler that the set of resources which contribute to this thing has changed.
+     */
+    private void notifyResourceIdsChanged() {
+        Bridge bridge = getBridge();
+        if (Objects.nonNull(bridge) && bridge.getHandler() instanceof Clip2BridgeHandler bridgeHandler) {
+            bridgeHandler.resourceOwnersChanged();
+        }
+    }
+
     /**
      * Get the bridge handler.
      *
@@ -295,6 +305,22 @@ public class Clip2ThingHandler extends BaseThingHandler {
         return Objects.nonNull(commandResourceId) ? serviceContributorsCache.get(commandResourceId) : null;
     }
 
+    /**
+     * Return the ids of all resources that contribute to the thing state, i.e. this thing's own resource, its service
+     * resources and its scenes. The bridge handler uses them to dispatch incoming SSE events.
+     *
+     * @return a set of resource ids, which is empty if the handler is disposing.
+     */
+    public Set<String> getResourceIds() {
+        if (disposing) {
+            return Set.of();
+        }
+        Set<String> resourceIds = new HashSet<>(serviceContributorsCache.keySet());
+        resourceIds.addAll(sceneContributorsCache.keySet());
+        resourceIds.add(resourceId);
+        return resourceIds;
+    }
+
     /**
      * Return a ResourceReference to this handler's resource.
      *
@@ -630,7 +656,8 @@ public class Clip2ThingHandler extends BaseThingHandler {
     }
 
     /**
-     * Update the channel state depending on new resources sent from the bridge.
+     * Update the channel state depending on new resources sent from the bridge. The bridge only sends the resources
+     * whose ids are in {@link #getResourceIds()}.
      *
      * @param resources a collection of Resource objects containing the new state.
      */
@@ -1109,6 +1136,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
             commandResourceIds.clear();
             commandResourceIds.putAll(services.stream() // use a 'mergeFunction' to prevent duplicates
                     .collect(Collectors.toMap(ResourceReference::getType, ResourceReference::getId, (r1, r2) -> r1)));
+            notifyResourceIdsChanged();
         }
     }
 
@@ -1252,6 +1280,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 logger.debug("{} -> updateSceneContributors() found {} normal resp. smart scenes", resourceId,
                         scenes.size());
             }
+            notifyResourceIdsChanged();
             updateSceneContributorsDone = true;
         }
         return updateSceneContributorsDone;
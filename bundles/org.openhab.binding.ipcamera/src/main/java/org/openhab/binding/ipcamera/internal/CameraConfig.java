@@ -49,6 +49,7 @@ public class CameraConfig {
     private String motionOptions = "";
     private boolean ptzContinuous;
     private int gifPreroll;
+    private boolean internalImageProcessing;
 
     public int getOnvifMediaProfile() {
         return onvifMediaProfile;
@@ -166,6 +167,10 @@ public class CameraConfig {
         return gifPreroll;
     }
 
+    public boolean getInternalImageProcessing() {
+        return internalImageProcessing;
+    }
+
     public int getPort() {
         return port;
     }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link GifEncoder} creates an animated GIF from snapshots held in RAM, so no FFmpeg process and no temporary
+ * files are needed.
+ *
+ * @author Matthew Skinner - Initial contribution
+ */
+@NonNullByDefault
+public class GifEncoder {
+    private static final String GIF_METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+
+    /**
+     * @param snapshots the jpgs in the order they should be shown
+     * @param file the GIF file to create
+     * @param frameDelayMs how long each snapshot is shown
+     * @param height the height of the GIF, the width is scaled to keep the aspect ratio. 0 keeps the size.
+     */
+    public static void writeGif(List<byte[]> snapshots, File file, int frameDelayMs, int height) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("gif");
+        if (!writers.hasNext()) {
+            throw new IOException("No GIF encoder available");
+        }
+        ImageWriter writer = writers.next();
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not replace " + file);
+        }
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            if (output == null) {
+                throw new IOException("Could not create " + file);
+            }
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+            boolean first = true;
+            for (byte[] snapshot : snapshots) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(snapshot));
+                if (image == null) {
+                    continue; // Not a valid jpg, e.g. the placeholder while the camera is offline
+                }
+                image = scale(image, height);
+                IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image),
+                        null);
+                addAnimationMetadata(metadata, frameDelayMs, first);
+                writer.writeToSequence(new IIOImage(image, null, metadata), null);
+                first = false;
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int height) {
+        if (height <= 0 || image.getHeight() <= height) {
+            return toRgb(image, image.getWidth(), image.getHeight());
+        }
+        // Even width like FFmpeg's scale=-2
+        int width = Math.max(2, (image.getWidth() * height / image.getHeight()) & ~1);
+        return toRgb(image, width, height);
+    }
+
+    private static BufferedImage toRgb(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+
+    private static void addAnimationMetadata(IIOMetadata metadata, int frameDelayMs, boolean first)
+            throws IOException {
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(GIF_METADATA_FORMAT);
+        IIOMetadataNode control = getNode(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        // The delay is in 1/100 of a second
+        control.setAttribute("delayTime", Integer.toString(Math.max(1, frameDelayMs / 10)));
+        control.setAttribute("transparentColorIndex", "0");
+        if (first) {
+            // Loop forever like the GIFs created by FFmpeg
+            IIOMetadataNode extensions = getNode(root, "ApplicationExtensions");
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] { 0x1, 0x0, 0x0 });
+            extensions.appendChild(loop);
+        }
+        metadata.setFromTree(GIF_METADATA_FORMAT, root);
+    }
+
+    private static IIOMetadataNode getNode(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The {@link JpegFrameExtractor} finds complete jpg images in a mjpeg stream as it arrives from the camera, so the
+ * stream that is already open can be used to create snapshots instead of starting FFmpeg. Only one jpg per interval
+ * is copied, all other frames are skipped without copying them. If the end of a jpg is missing, the stream is
+ * scanned for the start of the next jpg once the maximum jpg size is exceeded.
+ *
+ * @author Matthew Skinner - Initial contribution
+ */
+@NonNullByDefault
+public class JpegFrameExtractor {
+    private static final byte MARKER = (byte) 0xFF;
+    private static final byte START_OF_IMAGE = (byte) 0xD8;
+    private static final byte END_OF_IMAGE = (byte) 0xD9;
+
+    private final Consumer<byte[]> jpgConsumer;
+    private final int maxJpgSize;
+    private long intervalNanos;
+    private long lastCaptureTime;
+    private byte[] frame = new byte[64 * 1024];
+    private int frameLength;
+    private boolean capturing;
+    private boolean overflow;
+    // Thumbnails inside the EXIF data of a jpg have their own start and end markers
+    private int depth;
+    // number of bytes of the current jpg, including the bytes of skipped jpgs
+    private int jpgBytes;
+    private byte previous;
+
+    public JpegFrameExtractor(Consumer<byte[]> jpgConsumer, int maxJpgSize) {
+        this.jpgConsumer = jpgConsumer;
+        this.maxJpgSize = maxJpgSize;
+    }
+
+    /**
+     * @param intervalMs the minimum time between two captured jpgs
+     */
+    public synchronized void setInterval(int intervalMs) {
+        intervalNanos = intervalMs * 1_000_000L;
+    }
+
+    public synchronized void reset() {
+        depth = 0;
+        previous = 0;
+        capturing = false;
+        frameLength = 0;
+    }
+
+    /**
+     * Scans the next part of the mjpeg stream.
+     */
+    public synchronized void feed(ByteBuf data) {
+        int start = data.readerIndex();
+        int end = data.writerIndex();
+        int copyFrom = capturing ? start : -1;
+        for (int i = start; i < end; i++) {
+            byte current = data.getByte(i);
+            if (depth > 0 && ++jpgBytes > maxJpgSize) {
+                // the end of the jpg is missing, wait for the start of the next one
+                depth = 0;
+                capturing = false;
+                copyFrom = -1;
+            }
+            if (previous == MARKER && current == START_OF_IMAGE) {
+                if (depth++ == 0) {
+                    jpgBytes = 2;
+                    long now = System.nanoTime();
+                    capturing = now - lastCaptureTime >= intervalNanos;
+                    if (capturing) {
+                        frameLength = 0;
+                        overflow = false;
+                        append(MARKER);
+                        copyFrom = i;
+                    }
+                }
+            } else if (previous == MARKER && current == END_OF_IMAGE && depth > 0) {
+                if (--depth == 0 && capturing) {
+                    append(data, copyFrom, i + 1);
+                    copyFrom = -1;
+                    capturing = false;
+                    if (!overflow) {
+                        lastCaptureTime = System.nanoTime();
+                        jpgConsumer.accept(Arrays.copyOf(frame, frameLength));
+                    }
+                }
+            }
+            previous = current;
+        }
+        if (capturing && copyFrom >= 0) {
+            append(data, copyFrom, end);
+        }
+    }
+
+    private void append(byte value) {
+        ensureCapacity(frameLength + 1);
+        if (!overflow) {
+            frame[frameLength++] = value;
+        }
+    }
+
+    private void append(ByteBuf data, int from, int to) {
+        int length = to - from;
+        ensureCapacity(frameLength + length);
+        if (!overflow) {
+            data.getBytes(from, frame, frameLength, length);
+            frameLength += length;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > maxJpgSize) {
+            // Not a valid jpg or too big, skip it
+            overflow = true;
+        } else if (capacity > frame.length) {
+            frame = Arrays.copyOf(frame, Math.min(maxJpgSize, Math.max(capacity, frame.length * 2)));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link MotionDetector} detects motion by comparing each snapshot with the one before, without the need to run
+ * FFmpeg. The jpg is decoded at a reduced resolution and split into a grid of blocks. A block has changed when its
+ * average brightness differs from the last snapshot by more than the noise level, after the change in brightness of
+ * the whole picture (e.g. the camera adjusting its exposure) has been removed.
+ *
+ * @author Matthew Skinner - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetector {
+    private static final int GRID_WIDTH = 32;
+    private static final int GRID_HEIGHT = 24;
+    // Decoding at about this width is enough for the grid and much faster than decoding the full picture
+    private static final int DECODE_WIDTH = 160;
+    private static final int NOISE_LEVEL = 12;
+    // Number of snapshots without motion before the alarm turns OFF
+    private static final int QUIET_SNAPSHOTS = 3;
+
+    private int @Nullable [] lastGrid;
+    private boolean motion;
+    private int quietSnapshots;
+
+    /**
+     * Compares the snapshot with the last one.
+     *
+     * @param jpg the new snapshot
+     * @param threshold the percentage of the picture that needs to change to count as motion
+     * @return true while motion is detected
+     * @throws IOException if the jpg could not be decoded
+     */
+    public synchronized boolean detect(byte[] jpg, int threshold) throws IOException {
+        int[] grid = toGrid(jpg);
+        int[] last = lastGrid;
+        lastGrid = grid;
+        if (last == null) {
+            return motion;
+        }
+        if (getChangedPercentage(last, grid) > threshold) {
+            motion = true;
+            quietSnapshots = 0;
+        } else if (motion && ++quietSnapshots >= QUIET_SNAPSHOTS) {
+            motion = false;
+        }
+        return motion;
+    }
+
+    public synchronized void reset() {
+        lastGrid = null;
+        motion = false;
+        quietSnapshots = 0;
+    }
+
+    static double getChangedPercentage(int[] last, int[] grid) {
+        long brightnessShift = 0;
+        for (int i = 0; i < grid.length; i++) {
+            brightnessShift += grid[i] - last[i];
+        }
+        int shift = (int) (brightnessShift / grid.length);
+        int changed = 0;
+        for (int i = 0; i < grid.length; i++) {
+            if (Math.abs(grid[i] - last[i] - shift) > NOISE_LEVEL) {
+                changed++;
+            }
+        }
+        return changed * 100.0 / grid.length;
+    }
+
+    /**
+     * @return the average brightness (0-255) of each block of the grid
+     */
+    static int[] toGrid(byte[] jpg) throws IOException {
+        BufferedImage image = decode(jpg);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long[] sums = new long[GRID_WIDTH * GRID_HEIGHT];
+        int[] counts = new int[GRID_WIDTH * GRID_HEIGHT];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int gridRow = y * GRID_HEIGHT / height * GRID_WIDTH;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                // Integer approximation of the luma of the pixel
+                int luma = (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150 + (rgb & 0xFF) * 29) >> 8;
+                int block = gridRow + x * GRID_WIDTH / width;
+                sums[block] += luma;
+                counts[block]++;
+            }
+        }
+        int[] grid = new int[sums.length];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = counts[i] == 0 ? 0 : (int) (sums[i] / counts[i]);
+        }
+        return grid;
+    }
+
+    private static BufferedImage decode(byte[] jpg) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(jpg))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Snapshot is not a supported image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, reader.getWidth(0) / DECODE_WIDTH);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                if (image.getWidth() < GRID_WIDTH || image.getHeight() < GRID_HEIGHT) {
+                    throw new IOException("Snapshot is too small to detect motion");
+                }
+                return image;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
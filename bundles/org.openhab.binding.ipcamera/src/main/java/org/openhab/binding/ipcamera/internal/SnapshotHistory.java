@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SnapshotHistory} keeps the most recent snapshots of a camera in RAM, so they can be used to create a GIF
+ * without writing each snapshot to a file first. The history is limited in the number of snapshots and in bytes.
+ *
+ * @author Matthew Skinner - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotHistory {
+    private final Deque<byte[]> snapshots = new ArrayDeque<>();
+    private final long maxBytes;
+    private int capacity;
+    private long bytes;
+
+    public SnapshotHistory(int capacity, long maxBytes) {
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        trim();
+    }
+
+    public synchronized void add(byte[] snapshot) {
+        if (capacity <= 0) {
+            return;
+        }
+        snapshots.addLast(snapshot);
+        bytes += snapshot.length;
+        trim();
+    }
+
+    /**
+     * @return the stored snapshots, oldest first.
+     */
+    public synchronized List<byte[]> getSnapshots() {
+        return new ArrayList<>(snapshots);
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    public synchronized void clear() {
+        snapshots.clear();
+        bytes = 0;
+    }
+
+    private void trim() {
+        // Always keep the newest snapshot, even if it is bigger than the limit
+        while (snapshots.size() > Math.max(capacity, 0) || (bytes > maxBytes && snapshots.size() > 1)) {
+            bytes -= snapshots.removeFirst().length;
+        }
+    }
+}
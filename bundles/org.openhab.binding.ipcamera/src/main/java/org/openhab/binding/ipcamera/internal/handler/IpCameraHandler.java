@@ -28,7 +28,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -50,6 +49,7 @@ import org.openhab.binding.ipcamera.internal.DahuaHandler;
 import org.openhab.binding.ipcamera.internal.DoorBirdHandler;
 import org.openhab.binding.ipcamera.internal.Ffmpeg;
 import org.openhab.binding.ipcamera.internal.FoscamHandler;
+import org.openhab.binding.ipcamera.internal.GifEncoder;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
 import org.openhab.binding.ipcamera.internal.HikvisionHandler;
@@ -58,8 +58,11 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.JpegFrameExtractor;
+import org.openhab.binding.ipcamera.internal.MotionDetector;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.ReolinkHandler;
+import org.openhab.binding.ipcamera.internal.SnapshotHistory;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection.RequestType;
 import org.openhab.binding.ipcamera.internal.servlet.CameraServlet;
@@ -164,7 +167,12 @@ public class IpCameraHandler extends BaseThingHandler {
     private String mp4Filename = "ipcamera";
     private int mp4RecordTime;
     private int gifRecordTime = 5;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<>();
+    // Limits the RAM used for the GIF preroll, enough for 30 snapshots of a 4K camera.
+    private final SnapshotHistory snapshotHistory = new SnapshotHistory(0, 30 * 1024 * 1024);
+    private final MotionDetector motionDetector = new MotionDetector();
+    private final JpegFrameExtractor mjpegSnapshotExtractor = new JpegFrameExtractor(this::processSnapshot,
+            4 * 1024 * 1024);
+    private boolean internalMotionAlarm = false;
     private int snapCount;
     private boolean updateImageChannel = false;
     private byte lowPriorityCounter = 0;
@@ -195,6 +203,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public boolean ffmpegMotionAlarmEnabled = false;
     public boolean ffmpegAudioAlarmEnabled = false;
     public boolean ffmpegSnapshotGeneration = false;
+    public boolean snapshotsFromMjpegStream = false;
     public boolean snapshotPolling = false;
     public OnvifConnection onvifCamera = new OnvifConnection(this, "", "", "");
 
@@ -268,11 +277,16 @@ public class IpCameraHandler extends BaseThingHandler {
                 if (msg instanceof HttpContent content) {
                     if (mjpegUri.equals(requestUrl) && !(content instanceof LastHttpContent)) {
                         // multiple MJPEG stream packets come back as this.
-                        byte[] chunkedFrame = new byte[content.content().readableBytes()];
-                        content.content().getBytes(content.content().readerIndex(), chunkedFrame);
+                        if (snapshotsFromMjpegStream) {
+                            mjpegSnapshotExtractor.feed(content.content());
+                        }
                         CameraServlet localServlet = servlet;
-                        if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                        if (localServlet != null && !localServlet.openStreams.isEmpty()) {
+                            // Copy once into a pooled buffer which is shared by all streams
+                            ByteBuf chunkedFrame = ctx.alloc().directBuffer(content.content().readableBytes());
+                            chunkedFrame.writeBytes(content.content(), content.content().readerIndex(),
+                                    content.content().readableBytes());
+                            localServlet.openStreams.queueStreamData(chunkedFrame);
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
@@ -521,6 +535,8 @@ public class IpCameraHandler extends BaseThingHandler {
                 cameraCommunicationError("FFmpeg Snapshots Stopped: Check that your camera can be reached.");
             }
             return; // RTSP stream is creating snapshots, so camera is online.
+        } else if (snapshotsFromMjpegStream && !streamIsStopped(getTinyUrl(mjpegUri))) {
+            return; // MJPEG stream is creating snapshots, so camera is online.
         }
 
         if (supportsOnvifEvents() && onvifCamera.isConnected() && onvifCamera.getEventsSupported()) {
@@ -679,16 +695,21 @@ public class IpCameraHandler extends BaseThingHandler {
         lockCurrentSnapshot.lock();
         try {
             currentSnapshot = incommingSnapshot;
-            if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
-                if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
-                }
-            }
         } finally {
             lockCurrentSnapshot.unlock();
             currentSnapshotTime = Instant.now();
         }
+        if (cameraConfig.getGifPreroll() > 0 || (snapCount > 0 && cameraConfig.getInternalImageProcessing())) {
+            snapshotHistory.add(incommingSnapshot);
+        }
+        if (cameraConfig.getInternalImageProcessing()) {
+            if (ffmpegMotionAlarmEnabled) {
+                threadPool.execute(() -> detectMotion(incommingSnapshot));
+            }
+            if (snapCount > 0 && --snapCount == 0) {
+                threadPool.execute(this::createGif);
+            }
+        }
 
         if (updateImageChannel) {
             updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
@@ -722,6 +743,7 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     private void openMjpegStream() {
+        mjpegSnapshotExtractor.reset();
         sendHttpGET(mjpegUri);
     }
 
@@ -776,27 +798,72 @@ public class IpCameraHandler extends BaseThingHandler {
 
     private void storeSnapshots() {
         int count = 0;
-        // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
-        lockCurrentSnapshot.lock();
+        for (byte[] foo : snapshotHistory.getSnapshots()) {
+            File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
+            count++;
+            try {
+                OutputStream fos = new FileOutputStream(file);
+                fos.write(foo);
+                fos.close();
+            } catch (FileNotFoundException e) {
+                logger.warn("FileNotFoundException {}", e.getMessage());
+            } catch (IOException e) {
+                logger.warn("IOException {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the GIF from the snapshots in RAM, used instead of FFmpeg when internal image processing is enabled.
+     */
+    private void createGif() {
+        new File(cameraConfig.getFfmpegOutput()).mkdirs();
+        File file = new File(cameraConfig.getFfmpegOutput() + gifFilename + ".gif");
+        try {
+            // Twice the speed and 360 lines high, like the default GIF Out Options for FFmpeg
+            GifEncoder.writeGif(snapshotHistory.getSnapshots(), file, cameraConfig.getPollTime() / 2, 360);
+            updateGifHistory();
+            setChannelState(CHANNEL_GIF_HISTORY_LENGTH, new DecimalType(++gifHistoryLength));
+        } catch (IOException e) {
+            logger.warn("Could not create the GIF file {}: {}", file, e.getMessage());
+        }
+        setChannelState(CHANNEL_RECORDING_GIF, DecimalType.ZERO);
+        stopSnapshotPolling();
+    }
+
+    private void updateGifHistory() {
+        if (gifHistory.isEmpty()) {
+            gifHistory = gifFilename;
+        } else if (!"ipcamera".equals(gifFilename)) {
+            gifHistory = gifFilename + "," + gifHistory;
+            if (gifHistoryLength > 49) {
+                int endIndex = gifHistory.lastIndexOf(",");
+                gifHistory = gifHistory.substring(0, endIndex);
+            }
+        }
+        setChannelState(CHANNEL_GIF_HISTORY, new StringType(gifHistory));
+    }
+
+    private void detectMotion(byte[] snapshot) {
         try {
-            for (byte[] foo : fifoSnapshotBuffer) {
-                File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
-                count++;
-                try {
-                    OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
-                    fos.close();
-                } catch (FileNotFoundException e) {
-                    logger.warn("FileNotFoundException {}", e.getMessage());
-                } catch (IOException e) {
-                    logger.warn("IOException {}", e.getMessage());
+            boolean motion = motionDetector.detect(snapshot, motionThreshold.intValue());
+            if (motion != internalMotionAlarm) {
+                internalMotionAlarm = motion;
+                if (motion) {
+                    motionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+                } else {
+                    noMotionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
                 }
             }
-        } finally {
-            lockCurrentSnapshot.unlock();
+        } catch (IOException e) {
+            logger.debug("Could not detect motion in the snapshot: {}", e.getMessage());
         }
     }
 
+    private boolean internalSnapshotsNeeded() {
+        return cameraConfig.getInternalImageProcessing() && (ffmpegMotionAlarmEnabled || snapCount > 0);
+    }
+
     public void setupFfmpegFormat(FFmpegFormat format) {
         String inputOptions = cameraConfig.getFfmpegInputOptions();
         if (cameraConfig.getFfmpegOutput().isEmpty()) {
@@ -863,16 +930,7 @@ public class IpCameraHandler extends BaseThingHandler {
                 Ffmpeg localGIF = ffmpegGIF;
                 if (localGIF != null) {
                     localGIF.startConverting();
-                    if (gifHistory.isEmpty()) {
-                        gifHistory = gifFilename;
-                    } else if (!"ipcamera".equals(gifFilename)) {
-                        gifHistory = gifFilename + "," + gifHistory;
-                        if (gifHistoryLength > 49) {
-                            int endIndex = gifHistory.lastIndexOf(",");
-                            gifHistory = gifHistory.substring(0, endIndex);
-                        }
-                    }
-                    setChannelState(CHANNEL_GIF_HISTORY, new StringType(gifHistory));
+                    updateGifHistory();
                 }
                 break;
             case RECORD:
@@ -897,12 +955,16 @@ public class IpCameraHandler extends BaseThingHandler {
                 setChannelState(CHANNEL_MP4_HISTORY, new StringType(mp4History));
                 break;
             case RTSP_ALARMS:
+                // Motion is detected from the snapshots when internal image processing is enabled
+                boolean ffmpegMotion = ffmpegMotionAlarmEnabled && !cameraConfig.getInternalImageProcessing();
                 Ffmpeg localAlarms = ffmpegRtspHelper;
                 if (localAlarms != null) {
                     localAlarms.stopConverting();
-                    if (!ffmpegAudioAlarmEnabled && !ffmpegMotionAlarmEnabled) {
+                    if (!ffmpegAudioAlarmEnabled && !ffmpegMotion) {
                         return;
                     }
+                } else if (!ffmpegAudioAlarmEnabled && !ffmpegMotion && cameraConfig.getInternalImageProcessing()) {
+                    return;
                 }
                 String input = (cameraConfig.getAlarmInputUrl().isEmpty()) ? rtspUri : cameraConfig.getAlarmInputUrl();
                 String filterOptions = "";
@@ -911,9 +973,9 @@ public class IpCameraHandler extends BaseThingHandler {
                 } else {
                     filterOptions = "-af silencedetect=n=-" + audioThreshold + "dB:d=2";
                 }
-                if (!ffmpegMotionAlarmEnabled && !ffmpegSnapshotGeneration) {
+                if (!ffmpegMotion && !ffmpegSnapshotGeneration) {
                     filterOptions = filterOptions.concat(" -vn");
-                } else if (ffmpegMotionAlarmEnabled && !cameraConfig.getMotionOptions().isEmpty()) {
+                } else if (ffmpegMotion && !cameraConfig.getMotionOptions().isEmpty()) {
                     String usersMotionOptions = cameraConfig.getMotionOptions();
                     if (usersMotionOptions.startsWith("-")) {
                         // Need to put the users custom options first in the chain before the motion is detected
@@ -923,7 +985,7 @@ public class IpCameraHandler extends BaseThingHandler {
                         filterOptions = filterOptions + " " + usersMotionOptions + " -vf select='gte(scene,"
                                 + motionThreshold.divide(BIG_DECIMAL_SCALE_MOTION) + ")',metadata=print";
                     }
-                } else if (ffmpegMotionAlarmEnabled) {
+                } else if (ffmpegMotion) {
                     filterOptions = filterOptions.concat(" -vf select='gte(scene,"
                             + motionThreshold.divide(BIG_DECIMAL_SCALE_MOTION) + ")',metadata=print");
                 }
@@ -1045,7 +1107,14 @@ public class IpCameraHandler extends BaseThingHandler {
     public void recordGif(String filename, int seconds) {
         gifFilename = filename;
         gifRecordTime = seconds;
-        if (cameraConfig.getGifPreroll() > 0) {
+        snapshotHistory.setCapacity(cameraConfig.getGifPreroll() + seconds);
+        if (cameraConfig.getInternalImageProcessing()) {
+            if (cameraConfig.getGifPreroll() == 0) {
+                snapshotHistory.clear();
+            }
+            snapCount = seconds;
+            startSnapshotPolling();
+        } else if (cameraConfig.getGifPreroll() > 0) {
             snapCount = seconds;
         } else {
             setupFfmpegFormat(FFmpegFormat.GIF);
@@ -1157,6 +1226,15 @@ public class IpCameraHandler extends BaseThingHandler {
                         ffmpegMotionAlarmEnabled = true;
                         motionThreshold = percentCommand.toBigDecimal();
                     }
+                    if (cameraConfig.getInternalImageProcessing()) {
+                        if (ffmpegMotionAlarmEnabled) {
+                            startSnapshotPolling();
+                        } else {
+                            internalMotionAlarm = false;
+                            motionDetector.reset();
+                            stopSnapshotPolling();
+                        }
+                    }
                     setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
                     return;
                 case CHANNEL_START_STREAM:
@@ -1193,7 +1271,9 @@ public class IpCameraHandler extends BaseThingHandler {
                     return;
                 case CHANNEL_POLL_IMAGE:
                     if (OnOffType.ON.equals(command)) {
-                        if (snapshotUri.isEmpty()) {
+                        if (snapshotsFromMjpegStream) {
+                            updateImageChannel = true;
+                        } else if (snapshotUri.isEmpty()) {
                             ffmpegSnapshotGeneration = true;
                             setupFfmpegFormat(FFmpegFormat.SNAPSHOT);
                             updateImageChannel = false;
@@ -1390,6 +1470,16 @@ public class IpCameraHandler extends BaseThingHandler {
 
     void snapshotIsFfmpeg() {
         snapshotUri = "";// ffmpeg is a valid option. Simplify further checks.
+        if (cameraConfig.getInternalImageProcessing() && !mjpegUri.isEmpty() && !"ffmpeg".equals(mjpegUri)) {
+            logger.debug("Binding has no snapshot url. Will create snapshots from the cameras MJPEG stream.");
+            bringCameraOnline();
+            updateImageChannel = false;
+            ffmpegSnapshotGeneration = false;
+            snapshotsFromMjpegStream = true;
+            openCamerasStream();
+            updateState(CHANNEL_POLL_IMAGE, OnOffType.ON);
+            return;
+        }
         logger.debug(
                 "Binding has no snapshot url. Will use your CPU and FFmpeg to create snapshots from the cameras RTSP.");
         bringCameraOnline();
@@ -1470,7 +1560,8 @@ public class IpCameraHandler extends BaseThingHandler {
     void snapshotRunnable() {
         // Snapshot should be first to keep consistent time between shots
         updateSnapshot();
-        if (snapCount > 0) {
+        // With internal image processing the GIF is created when the snapshots arrive
+        if (snapCount > 0 && !cameraConfig.getInternalImageProcessing()) {
             if (--snapCount == 0) {
                 setupFfmpegFormat(FFmpegFormat.GIF);
             }
@@ -1501,7 +1592,8 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         // Most cameras will return a 503 busy error if snapshot is faster than 1 second
         long lastUpdatedMs = Duration.between(lastSnapshotRequest, Instant.now()).toMillis();
-        if (!snapshotPolling && !ffmpegSnapshotGeneration && lastUpdatedMs >= cameraConfig.getPollTime()) {
+        if (!snapshotPolling && !ffmpegSnapshotGeneration && !snapshotsFromMjpegStream
+                && lastUpdatedMs >= cameraConfig.getPollTime()) {
             updateSnapshot();
         }
         lockCurrentSnapshot.lock();
@@ -1514,6 +1606,9 @@ public class IpCameraHandler extends BaseThingHandler {
 
     public void stopSnapshotPolling() {
         Future<?> localFuture;
+        if (internalSnapshotsNeeded()) {
+            return; // Snapshots are used to detect motion or to create a GIF
+        }
         if (!streamingSnapshotMjpeg && cameraConfig.getGifPreroll() == 0
                 && !cameraConfig.getUpdateImageWhen().contains("1")) {
             snapshotPolling = false;
@@ -1531,10 +1626,11 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public void startSnapshotPolling() {
-        if (snapshotPolling || ffmpegSnapshotGeneration) {
-            return; // Already polling or creating with FFmpeg from RTSP
+        if (snapshotPolling || ffmpegSnapshotGeneration || snapshotsFromMjpegStream) {
+            return; // Already polling or creating with FFmpeg from RTSP or from the MJPEG stream
         }
-        if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")) {
+        if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")
+                || internalSnapshotsNeeded()) {
             snapshotPolling = true;
             snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 0, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
@@ -1615,12 +1711,16 @@ public class IpCameraHandler extends BaseThingHandler {
         if (localFfmpeg != null) {
             localFfmpeg.checkKeepAlive();
         }
-        if (ffmpegMotionAlarmEnabled || ffmpegAudioAlarmEnabled) {
+        if ((ffmpegMotionAlarmEnabled && !cameraConfig.getInternalImageProcessing()) || ffmpegAudioAlarmEnabled) {
             localFfmpeg = ffmpegRtspHelper;
             if (localFfmpeg == null || !localFfmpeg.isAlive()) {
                 setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
             }
         }
+        if (snapshotsFromMjpegStream && streamIsStopped(getTinyUrl(mjpegUri))) {
+            logger.debug("The MJPEG stream used for snapshots was not running, re-starting it now.");
+            openCamerasStream();
+        }
         // check if the thread has frozen due to camera doing a soft reboot
         localFfmpeg = ffmpegMjpeg;
         if (localFfmpeg != null && !localFfmpeg.isAlive()) {
@@ -1636,6 +1736,8 @@ public class IpCameraHandler extends BaseThingHandler {
     @Override
     public void initialize() {
         cameraConfig = getConfigAs(CameraConfig.class);
+        snapshotHistory.setCapacity(cameraConfig.getGifPreroll() + gifRecordTime);
+        mjpegSnapshotExtractor.setInterval(cameraConfig.getPollTime());
         threadPool = Executors.newScheduledThreadPool(2);
         mainEventLoopGroup = new NioEventLoopGroup(3);
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
@@ -1769,9 +1871,11 @@ public class IpCameraHandler extends BaseThingHandler {
         CameraServlet localServlet = servlet;
         if (localServlet != null && !localServlet.openStreams.isEmpty()) {
             if (!mjpegUri.isEmpty() && !"ffmpeg".equals(mjpegUri)) {
-                localServlet.openStreams.queueFrame(("--" + localServlet.openStreams.boundary + "\r\n\r\n").getBytes());
+                localServlet.openStreams.queueStreamData(Unpooled.wrappedBuffer(
+                        ("--" + localServlet.openStreams.boundary + "\r\n\r\n").getBytes(), getSnapshot()));
+            } else {
+                localServlet.openStreams.queueFrame(getSnapshot());
             }
-            localServlet.openStreams.queueFrame(getSnapshot());
         }
     }
 
@@ -1784,6 +1888,9 @@ public class IpCameraHandler extends BaseThingHandler {
     private void offline() {
         isOnline.set(false);
         snapshotPolling = false;
+        snapshotsFromMjpegStream = false;
+        internalMotionAlarm = false;
+        motionDetector.reset();
         Future<?> localFuture = pollCameraJob;
         if (localFuture != null) {
             localFuture.cancel(true);
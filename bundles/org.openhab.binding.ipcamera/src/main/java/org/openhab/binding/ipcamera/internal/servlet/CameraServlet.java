@@ -216,7 +216,8 @@ public class CameraServlet extends IpCameraServlet {
                                     // in handler's pollCameraRunnable() check for frozen camera
                                     handler.ffmpegMjpeg = null;
                                 }
-                            } else {
+                            } else if (!handler.snapshotsFromMjpegStream) {
+                                // Keep the stream open when it is also used to create snapshots
                                 handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
                             }
                             logger.debug("All ipcamera.mjpeg streams have stopped.");
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The {@link FrameRingBuffer} holds the most recent mjpeg frames of a camera, so that all streams can share them
+ * instead of each stream having its own FIFO of frames. Every stream reads at its own pace with a {@link Reader}.
+ * When a stream falls behind so far that its next frame was already overwritten, it skips ahead to the newest frame
+ * that starts a new part of the multipart stream.
+ * <p>
+ * The frames are reference counted {@link ByteBuf}s. A frame is released when it is overwritten, but stays valid
+ * for a stream which is still writing it out.
+ *
+ * @author Matthew Skinner - Initial contribution
+ */
+@NonNullByDefault
+class FrameRingBuffer {
+    private final @Nullable Frame[] slots;
+    private final long maxBytes;
+    private long oldestSequence;
+    private long nextSequence;
+    private long bufferedBytes;
+    private boolean closed;
+
+    /**
+     * A frame, or with cameras that provide a native mjpeg stream, a part of the stream as it was received.
+     */
+    static class Frame {
+        final ByteBuf data;
+        final boolean partStart;
+        private volatile byte @Nullable [] partHeader;
+
+        Frame(ByteBuf data, boolean partStart) {
+            this.data = data;
+            this.partStart = partStart;
+        }
+
+        /**
+         * @return the multipart header for sending this frame as a jpg, built only once for all streams.
+         */
+        byte[] getPartHeader() {
+            byte[] header = partHeader;
+            if (header == null) {
+                header = StreamOutput.buildPartHeader(data.readableBytes());
+                partHeader = header;
+            }
+            return header;
+        }
+    }
+
+    /**
+     * The read position of a single stream.
+     */
+    class Reader {
+        private long position;
+
+        private Reader(long position) {
+            this.position = position;
+        }
+
+        /**
+         * Waits for the next frame of this stream. The returned frame has been retained and must be released by the
+         * caller once it has been written.
+         *
+         * @return the next frame or null if the buffer was closed
+         */
+        @Nullable
+        Frame next() throws InterruptedException {
+            return FrameRingBuffer.this.next(this);
+        }
+    }
+
+    FrameRingBuffer(int capacity, long maxBytes) {
+        slots = new Frame[capacity];
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds a frame and takes over the ownership of the given buffer.
+     *
+     * @param data the frame
+     * @param partStart true if the frame starts a new part of the multipart stream, so a stream that lags behind can
+     *            continue with it
+     */
+    synchronized void add(ByteBuf data, boolean partStart) {
+        if (closed) {
+            data.release();
+            return;
+        }
+        if (nextSequence - oldestSequence == slots.length) {
+            evictOldest();
+        }
+        slots[index(nextSequence++)] = new Frame(data, partStart);
+        bufferedBytes += data.readableBytes();
+        // Keep at least the newest frame, even if it is bigger than the limit
+        while (bufferedBytes > maxBytes && nextSequence - oldestSequence > 1) {
+            evictOldest();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Creates a reader which starts with the newest buffered start of a part, or with the next frame if there is
+     * none.
+     */
+    synchronized Reader newReader() {
+        long start = findNewestPartStart();
+        return new Reader(start < 0 ? nextSequence : start);
+    }
+
+    /**
+     * Releases all buffered frames, e.g. when there are no more streams.
+     */
+    synchronized void clear() {
+        while (oldestSequence < nextSequence) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Releases all buffered frames and wakes up all waiting readers, no more frames are accepted.
+     */
+    synchronized void close() {
+        closed = true;
+        clear();
+        notifyAll();
+    }
+
+    private synchronized @Nullable Frame next(Reader reader) throws InterruptedException {
+        while (!closed && reader.position >= nextSequence) {
+            wait();
+        }
+        if (closed) {
+            return null;
+        }
+        if (reader.position < oldestSequence) {
+            long start = findNewestPartStart();
+            reader.position = start < 0 ? nextSequence - 1 : start;
+        }
+        Frame frame = slots[index(reader.position++)];
+        if (frame == null) {
+            return null;
+        }
+        frame.data.retain();
+        return frame;
+    }
+
+    private long findNewestPartStart() {
+        for (long sequence = nextSequence - 1; sequence >= oldestSequence; sequence--) {
+            Frame frame = slots[index(sequence)];
+            if (frame != null && frame.partStart) {
+                return sequence;
+            }
+        }
+        return -1;
+    }
+
+    private void evictOldest() {
+        int index = index(oldestSequence++);
+        Frame frame = slots[index];
+        slots[index] = null;
+        if (frame != null) {
+            bufferedBytes -= frame.data.readableBytes();
+            frame.data.release();
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % slots.length);
+    }
+}
@@ -12,56 +12,105 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams and the frames they share, to allow 1 to many streams
+ * without needing to open more than 1 source stream. Queuing a frame does not depend on the number or the speed of
+ * the streams, each stream reads from the shared {@link FrameRingBuffer} at its own pace.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
-    public String boundary = "thisMjpegStream";
+    // Enough for about 2 seconds of a native stream which arrives in parts of a few kB
+    private static final int BUFFERED_FRAMES = 64;
+    private static final long BUFFERED_BYTES = 4 * 1024 * 1024;
+
+    private final List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    private final FrameRingBuffer frames = new FrameRingBuffer(BUFFERED_FRAMES, BUFFERED_BYTES);
+    public volatile String boundary = "thisMjpegStream";
+    private volatile ByteBuf boundaryMarker = toBoundaryMarker(boundary);
 
-    public synchronized void addStream(StreamOutput stream) {
+    public void addStream(StreamOutput stream) {
+        stream.setReader(frames.newReader());
         openStreams.add(stream);
     }
 
-    public synchronized void removeStream(StreamOutput stream) {
+    public void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
+        if (openStreams.isEmpty()) {
+            frames.clear();
+        }
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
-    public synchronized void updateContentType(String contentType, String boundary) {
+    public void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
+        boundaryMarker = toBoundaryMarker(boundary);
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
-        for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+    /**
+     * Shares a whole frame with all streams.
+     */
+    public void queueFrame(byte[] frame) {
+        queueFrame(Unpooled.wrappedBuffer(frame), true);
+    }
+
+    /**
+     * Shares a part of the camera's native mjpeg stream, as it was received, with all streams. Takes over the
+     * ownership of the buffer, which is released once no stream needs it anymore.
+     */
+    public void queueStreamData(ByteBuf data) {
+        queueFrame(data, startsWithBoundary(data));
+    }
+
+    private void queueFrame(ByteBuf frame, boolean partStart) {
+        if (openStreams.isEmpty()) {
+            frame.release();
+            return;
         }
+        frames.add(frame, partStart);
     }
 
-    public synchronized void closeAllStreams() {
+    public void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
         openStreams.clear();
+        frames.close();
+    }
+
+    private boolean startsWithBoundary(ByteBuf data) {
+        ByteBuf marker = boundaryMarker;
+        int index = data.readerIndex();
+        // The CRLF which ends the previous part may be received together with the boundary
+        while (index < data.writerIndex() && (data.getByte(index) == '\r' || data.getByte(index) == '\n')) {
+            index++;
+        }
+        return data.writerIndex() - index >= marker.readableBytes()
+                && ByteBufUtil.equals(data, index, marker, 0, marker.readableBytes());
+    }
+
+    private static ByteBuf toBoundaryMarker(String boundary) {
+        return Unpooled.wrappedBuffer(("--" + boundary).getBytes(StandardCharsets.US_ASCII));
     }
 }
@@ -13,16 +13,20 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.charset.StandardCharsets;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRingBuffer.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * The {@link StreamOutput} Streams mjpeg out to a client
  *
@@ -30,25 +34,27 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class StreamOutput {
+    private static final byte[] PART_HEADER_START = "--thisMjpegStream\r\nContent-Type: image/jpeg\r\nContent-Length: "
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PART_HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PART_END = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
-    private final String boundary;
-    private String contentType;
+    private volatile String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
-    private boolean connected = false;
+    private @Nullable FrameRingBuffer.Reader reader;
+    private volatile boolean connected = false;
     public boolean isSnapshotBased = false;
 
     public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
-        contentType = "multipart/x-mixed-replace; boundary=" + boundary;
+        contentType = "multipart/x-mixed-replace; boundary=thisMjpegStream";
         this.response = response;
         output = response.getOutputStream();
         isSnapshotBased = true;
     }
 
     public StreamOutput(HttpServletResponse response, String contentType) throws IOException {
-        boundary = "";
         this.contentType = contentType;
         this.response = response;
         output = response.getOutputStream();
@@ -58,30 +64,46 @@ public class StreamOutput {
         }
     }
 
+    /**
+     * @return the header of a multipart part containing a jpg of the given length
+     */
+    static byte[] buildPartHeader(int length) {
+        byte[] contentLength = Integer.toString(length).getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[PART_HEADER_START.length + contentLength.length + PART_HEADER_END.length];
+        System.arraycopy(PART_HEADER_START, 0, header, 0, PART_HEADER_START.length);
+        System.arraycopy(contentLength, 0, header, PART_HEADER_START.length, contentLength.length);
+        System.arraycopy(PART_HEADER_END, 0, header, PART_HEADER_START.length + contentLength.length,
+                PART_HEADER_END.length);
+        return header;
+    }
+
     public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
+        sendSnapshotBasedFrame(buildPartHeader(currentSnapshot.length), Unpooled.wrappedBuffer(currentSnapshot));
+    }
+
+    private void sendSnapshotBasedFrame(byte[] header, ByteBuf frame) throws IOException {
         if (!connected) {
             sendInitialHeaders();
             // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
-            output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
+            writePart(header, frame);
             connected = true;
         }
-        output.write(header.getBytes());
-        output.write(currentSnapshot);
-        output.write("\r\n".getBytes());
+        writePart(header, frame);
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
-        }
+    private void writePart(byte[] header, ByteBuf frame) throws IOException {
+        output.write(header);
+        write(frame);
+        output.write(PART_END);
+    }
+
+    private void write(ByteBuf data) throws IOException {
+        // Copies directly from the shared buffer, without creating a byte[] for every stream
+        data.getBytes(data.readerIndex(), output, data.readableBytes());
+    }
+
+    void setReader(FrameRingBuffer.Reader reader) {
+        this.reader = reader;
     }
 
     public void updateContentType(String contentType) {
@@ -93,10 +115,22 @@ public class StreamOutput {
     }
 
     public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+        FrameRingBuffer.Reader localReader = reader;
+        if (localReader == null) {
+            throw new IOException("Stream has not been added to the open streams");
+        }
+        Frame frame = localReader.next();
+        if (frame == null) {
+            throw new IOException("Stream has been closed");
+        }
+        try {
+            if (isSnapshotBased) {
+                sendSnapshotBasedFrame(frame.getPartHeader(), frame.data);
+            } else if (connected) {
+                write(frame.data);
+            }
+        } finally {
+            frame.data.release();
         }
     }
 
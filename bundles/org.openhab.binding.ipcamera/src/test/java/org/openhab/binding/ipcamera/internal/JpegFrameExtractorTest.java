@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests {@link JpegFrameExtractor}.
+ *
+ * @author Matthew Skinner - Initial contribution
+ */
+@NonNullByDefault
+public class JpegFrameExtractorTest {
+
+    private static final int MAX_JPG_SIZE = 1000;
+
+    private final List<byte[]> jpgs = new ArrayList<>();
+    private final JpegFrameExtractor extractor = new JpegFrameExtractor(jpgs::add, MAX_JPG_SIZE);
+
+    @Test
+    public void extractsJpgSplitAcrossChunks() {
+        byte[] jpg = jpg(0x11, 0x12, 0x13);
+
+        feed(0x20, 0x21, jpg[0], jpg[1], jpg[2]);
+        feed(jpg[3], jpg[4], jpg[5], jpg[6], 0x22);
+
+        assertEquals(1, jpgs.size());
+        assertArrayEquals(jpg, jpgs.get(0));
+    }
+
+    @Test
+    public void keepsThumbnail() {
+        byte[] jpg = bytes(0xFF, 0xD8, 0x11, 0xFF, 0xD8, 0x12, 0xFF, 0xD9, 0x13, 0xFF, 0xD9);
+
+        feed(jpg);
+
+        assertEquals(1, jpgs.size());
+        assertArrayEquals(jpg, jpgs.get(0));
+    }
+
+    @Test
+    public void resyncsAfterTruncatedJpg() {
+        byte[] jpg = jpg(0x11, 0x12, 0x13);
+
+        // the end of the first jpg is missing
+        feed(0xFF, 0xD8, 0x31, 0x32);
+        feed(new byte[MAX_JPG_SIZE]);
+        assertTrue(jpgs.isEmpty());
+
+        feed(jpg);
+        assertEquals(1, jpgs.size());
+        assertArrayEquals(jpg, jpgs.get(0));
+    }
+
+    @Test
+    public void skipsJpgLargerThanMaximum() {
+        byte[] large = new byte[MAX_JPG_SIZE + 2];
+        large[0] = (byte) 0xFF;
+        large[1] = (byte) 0xD8;
+        large[MAX_JPG_SIZE] = (byte) 0xFF;
+        large[MAX_JPG_SIZE + 1] = (byte) 0xD9;
+        byte[] jpg = jpg(0x11);
+
+        feed(large);
+        feed(jpg);
+
+        assertEquals(1, jpgs.size());
+        assertArrayEquals(jpg, jpgs.get(0));
+    }
+
+    private void feed(int... data) {
+        feed(bytes(data));
+    }
+
+    private void feed(byte[] data) {
+        extractor.feed(Unpooled.wrappedBuffer(data));
+    }
+
+    private static byte[] jpg(int... content) {
+        byte[] jpg = new byte[content.length + 4];
+        jpg[0] = (byte) 0xFF;
+        jpg[1] = (byte) 0xD8;
+        for (int i = 0; i < content.length; i++) {
+            jpg[i + 2] = (byte) content[i];
+        }
+        jpg[jpg.length - 2] = (byte) 0xFF;
+        jpg[jpg.length - 1] = (byte) 0xD9;
+        return jpg;
+    }
+
+    private static byte[] bytes(int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return bytes;
+    }
+}
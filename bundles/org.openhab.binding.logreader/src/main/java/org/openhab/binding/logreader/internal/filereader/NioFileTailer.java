@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * NIO based log file reader implementation. Changes of the log file are detected with a {@link WatchService} (inotify
+ * on Linux) and new content is read in large chunks, which are split into lines without copying them byte by byte.
+ * The file is also checked every refresh interval, as not all file systems report changes.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+public class NioFileTailer extends AbstractLogFileReader implements LogFileReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(NioFileTailer.class);
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    // start of a line which is not yet terminated by a line feed
+    private byte[] partialLine = new byte[1024];
+    private int partialLineLength;
+    // position up to which the file has been read and sent to the listeners
+    private long position;
+
+    private @Nullable ExecutorService executor;
+    private @Nullable WatchService watchService;
+    private volatile boolean running;
+
+    @Override
+    public void start(String filePath, long refreshRate) throws FileReaderException {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        ExecutorService localExecutor = Executors.newSingleThreadExecutor(new NamedThreadFactory("logreader"));
+        try {
+            WatchService localWatchService = path.getFileSystem().newWatchService();
+            Path directory = path.getParent();
+            if (directory != null && Files.isDirectory(directory)) {
+                directory.register(localWatchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+            running = true;
+            logger.debug("Start executor");
+            localExecutor.execute(() -> tail(path, refreshRate, localWatchService));
+            logger.debug("Executor started");
+            this.watchService = localWatchService;
+            this.executor = localExecutor;
+        } catch (Exception e) {
+            running = false;
+            localExecutor.shutdown();
+            throw new FileReaderException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        logger.debug("Shutdown");
+        running = false;
+        WatchService localWatchService = watchService;
+        if (localWatchService != null) {
+            try {
+                // wakes up the tailing thread
+                localWatchService.close();
+            } catch (IOException e) {
+                logger.debug("Closing the watch service failed: {}", e.getMessage());
+            }
+        }
+        ExecutorService localExecutor = executor;
+        if (localExecutor != null) {
+            localExecutor.shutdown();
+        }
+        logger.debug("Shutdown complete");
+    }
+
+    private void tail(Path path, long refreshRate, WatchService watchService) {
+        FileChannel channel = null;
+        Object fileKey = null;
+        boolean startAtEnd = true;
+        try {
+            while (running) {
+                try {
+                    if (channel == null) {
+                        channel = openChannel(path);
+                        Object newFileKey = getFileKey(path);
+                        if (startAtEnd) {
+                            position = channel.size();
+                            partialLineLength = 0;
+                        } else if (channel.size() < position || (fileKey != null && !fileKey.equals(newFileKey))) {
+                            // the file was rotated, read the new file from the beginning
+                            position = 0;
+                            partialLineLength = 0;
+                            sendFileRotationToListeners();
+                        }
+                        // otherwise the file is reopened after an error and read from the last position
+                        fileKey = newFileKey;
+                        startAtEnd = false;
+                    }
+                    long size = channel.size();
+                    Object currentFileKey = getFileKey(path);
+                    if (size < position || (fileKey != null && !fileKey.equals(currentFileKey))) {
+                        // finish reading the old file before continuing with the new one
+                        readLines(channel);
+                        if (partialLineLength > 0) {
+                            sendLine(partialLine, 0, partialLineLength);
+                            partialLineLength = 0;
+                        }
+                        sendFileRotationToListeners();
+                        channel.close();
+                        channel = null;
+                        fileKey = null;
+                        position = 0;
+                        continue;
+                    }
+                    if (size > position) {
+                        readLines(channel);
+                    }
+                } catch (NoSuchFileException e) {
+                    sendFileNotFoundToListeners();
+                } catch (IOException e) {
+                    sendExceptionToListeners(e);
+                    channel = close(channel);
+                }
+                waitForChange(watchService, refreshRate);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        } finally {
+            close(channel);
+        }
+    }
+
+    private void waitForChange(WatchService watchService, long refreshRate) throws InterruptedException {
+        WatchKey key = watchService.poll(refreshRate, TimeUnit.MILLISECONDS);
+        if (key != null) {
+            // any change in the directory triggers a check, the events themselves are not needed
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    /**
+     * Read from the current position up to the end of the file and send all complete lines to the listeners. The
+     * position is advanced after each processed chunk, so that reading can be continued there after an error.
+     */
+    private void readLines(FileChannel channel) throws IOException {
+        int read;
+        buffer.clear();
+        while (running && (read = channel.read(buffer, position)) > 0) {
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    if (partialLineLength > 0) {
+                        appendPartialLine(bytes, lineStart, i);
+                        sendLine(partialLine, 0, partialLineLength);
+                        partialLineLength = 0;
+                    } else {
+                        sendLine(bytes, lineStart, i);
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            appendPartialLine(bytes, lineStart, read);
+            position += read;
+            buffer.clear();
+        }
+    }
+
+    private void sendLine(byte[] bytes, int start, int end) {
+        int lineEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+        sendLineToListeners(new String(bytes, start, lineEnd - start, StandardCharsets.UTF_8));
+    }
+
+    private void appendPartialLine(byte[] bytes, int start, int end) {
+        int length = end - start;
+        if (length > 0) {
+            if (partialLineLength + length > partialLine.length) {
+                partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLineLength + length));
+            }
+            System.arraycopy(bytes, start, partialLine, partialLineLength, length);
+            partialLineLength += length;
+        }
+    }
+
+    FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    private @Nullable Object getFileKey(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            // file was removed, this is detected when opening it again
+            return null;
+        }
+    }
+
+    private @Nullable FileChannel close(@Nullable FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Closing the log file failed: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Tests a set of search patterns against a line in a single pass. The literal text that every match of a pattern
+ * has to start with is extracted from the pattern, and all literals are searched at once with an Aho-Corasick
+ * automaton. Only the patterns whose literal was found (or which have no literal) are then evaluated as regular
+ * expression, and patterns that consist of a literal only are not evaluated at all.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+class MultiPatternMatcher {
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+    // only ASCII characters are part of the automaton, literals are cut at the first other character
+    private static final int ALPHABET_SIZE = 128;
+
+    private final List<Pattern> patterns;
+    // patterns without a literal, which always need to be evaluated
+    private final BitSet alwaysEvaluated = new BitSet();
+    // patterns which match whenever their literal is found
+    private final BitSet literalOnly = new BitSet();
+
+    // Aho-Corasick automaton: goto function including the failure transitions, and the patterns found in each state
+    private int[][] transitions = new int[1][ALPHABET_SIZE];
+    private final List<BitSet> found = new ArrayList<>();
+
+    MultiPatternMatcher(List<Pattern> patterns) {
+        this.patterns = patterns;
+        found.add(new BitSet());
+        for (int i = 0; i < patterns.size(); i++) {
+            String regex = patterns.get(i).pattern();
+            String literal = getLiteralPrefix(regex);
+            if (literal.isEmpty()) {
+                alwaysEvaluated.set(i);
+            } else {
+                addLiteral(literal, i);
+                if (literal.equals(regex) && patterns.get(i).flags() == 0) {
+                    literalOnly.set(i);
+                }
+            }
+        }
+        buildFailureTransitions();
+    }
+
+    /**
+     * Check if one of the patterns is found in the data.
+     *
+     * @param data data against search will be done.
+     * @return true if one of the patterns is found.
+     */
+    boolean find(String data) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        BitSet candidates = (BitSet) alwaysEvaluated.clone();
+        int state = 0;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            state = c < ALPHABET_SIZE ? transitions[state][c] : 0;
+            BitSet foundInState = found.get(state);
+            if (!foundInState.isEmpty()) {
+                if (foundInState.intersects(literalOnly)) {
+                    return true;
+                }
+                candidates.or(foundInState);
+            }
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (patterns.get(i).matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the literal text every match of the regular expression starts with.
+     *
+     * @param regex the regular expression, which must not contain alternatives.
+     * @return the literal, which is empty if the expression does not start with a literal.
+     */
+    static String getLiteralPrefix(String regex) {
+        int end = 0;
+        while (end < regex.length() && regex.charAt(end) < ALPHABET_SIZE
+                && META_CHARACTERS.indexOf(regex.charAt(end)) < 0) {
+            end++;
+        }
+        // the last character is optional or repeated with these quantifiers, e.g. 'ERRORS?' only requires 'ERROR'
+        if (end > 0 && end < regex.length() && "?*{".indexOf(regex.charAt(end)) >= 0) {
+            end--;
+        }
+        return regex.substring(0, end);
+    }
+
+    private void addLiteral(String literal, int patternIndex) {
+        int state = 0;
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (transitions[state][c] == 0) {
+                if (found.size() == transitions.length) {
+                    transitions = Arrays.copyOf(transitions, transitions.length * 2);
+                }
+                transitions[found.size()] = new int[ALPHABET_SIZE];
+                transitions[state][c] = found.size();
+                found.add(new BitSet());
+            }
+            state = transitions[state][c];
+        }
+        found.get(state).set(patternIndex);
+    }
+
+    private void buildFailureTransitions() {
+        int[] failure = new int[found.size()];
+        int[][] trie = new int[found.size()][];
+        for (int state = 0; state < found.size(); state++) {
+            trie[state] = transitions[state].clone();
+        }
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            if (trie[0][c] != 0) {
+                queue.add(trie[0][c]);
+            }
+        }
+        // breadth first, so the failure state of each state is complete before it is used
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            found.get(state).or(found.get(failure[state]));
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int next = trie[state][c];
+                if (next != 0) {
+                    failure[next] = transitions[failure[state]][c];
+                    queue.add(next);
+                } else {
+                    transitions[state][c] = transitions[failure[state]][c];
+                }
+            }
+        }
+        transitions = Arrays.copyOf(transitions, found.size());
+    }
+}
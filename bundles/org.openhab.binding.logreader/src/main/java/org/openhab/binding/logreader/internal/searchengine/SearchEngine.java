@@ -14,7 +14,6 @@ package org.openhab.binding.logreader.internal.searchengine;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -22,15 +21,16 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * This class implements logic for regular expression based searching.
+ * This class implements logic for regular expression based searching. All search patterns resp. all blacklisting
+ * patterns are tested in a single pass over the data by a {@link MultiPatternMatcher}.
  *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private MultiPatternMatcher matchers;
+    private MultiPatternMatcher blacklistingMatchers;
 
     private long matchCount;
 
@@ -42,8 +42,8 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, @Nullable String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        matchers = new MultiPatternMatcher(compilePatterns(patterns));
+        blacklistingMatchers = new MultiPatternMatcher(compilePatterns(blacklistingPatterns));
     }
 
     /**
@@ -53,7 +53,7 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
+        if (matchers.find(data)) {
             if (notBlacklisted(data)) {
                 matchCount++;
                 return true;
@@ -94,18 +94,6 @@ public class SearchEngine {
     }
 
     private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
-    }
-
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return !blacklistingMatchers.find(data);
     }
 }
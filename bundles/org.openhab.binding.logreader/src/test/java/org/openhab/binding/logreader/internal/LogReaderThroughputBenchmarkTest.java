@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.NioFileTailer;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the throughput in lines per second of the pattern matching with 20 patterns, compared to testing the
+ * patterns one after the other, and of tailing a busy log file.
+ *
+ * Run with {@code -Dlogreader.benchmark=true}.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+@EnabledIfSystemProperty(named = "logreader.benchmark", matches = "true", disabledReason = "Only for manual execution.")
+public class LogReaderThroughputBenchmarkTest {
+    private static final String PATTERNS = String.join("|", "ERROR+", "WARN+", "Exception", "Timeout", "refused",
+            "unreachable", "OFFLINE", "Failed to", "NullPointer", "Stack overflow", "disk full", "OutOfMemory",
+            "cannot connect", "denied", "invalid token", "rejected", "restarting", "watchdog", "COMMUNICATION_ERROR",
+            "CONFIGURATION_ERROR");
+    private static final int LINES = 200_000;
+    private static final int RUNS = 5;
+    private static final int TAILED_LINES = 1_000_000;
+
+    private final Logger logger = LoggerFactory.getLogger(LogReaderThroughputBenchmarkTest.class);
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private static List<String> createLines() {
+        Random random = new Random(1);
+        String[] levels = { "INFO ", "DEBUG", "WARN ", "ERROR", "TRACE" };
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            lines.add("2024-05-01 12:34:56.789 [" + levels[random.nextInt(levels.length)]
+                    + "] [org.openhab.core.model.script.Rule" + (i % 50) + "] - Item 'Light_" + i
+                    + "' received command ON from source " + (i % 7 == 0 ? "NullPointerException in handler" : "ui"));
+        }
+        return lines;
+    }
+
+    @Test
+    public void matchingThroughput() {
+        List<String> lines = createLines();
+        List<Pattern> patterns = new ArrayList<>();
+        for (String pattern : PATTERNS.split("\\|")) {
+            patterns.add(Pattern.compile(pattern));
+        }
+        SearchEngine searchEngine = new SearchEngine(PATTERNS, null);
+        Predicate<String> loop = line -> patterns.stream().anyMatch(pattern -> pattern.matcher(line).find());
+
+        long loopMatches = measure("pattern by pattern", lines, loop);
+        long singlePassMatches = measure("single pass", lines, searchEngine::isMatching);
+        assertEquals(loopMatches, singlePassMatches);
+    }
+
+    private long measure(String name, List<String> lines, Predicate<String> matcher) {
+        long matches = 0;
+        // the first run warms up the JIT compiler
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            matches = lines.stream().filter(matcher).count();
+            long elapsed = System.nanoTime() - start;
+            if (run > 0) {
+                logger.info("Matching {}: {} lines/s ({} matches)", name,
+                        lines.size() * TimeUnit.SECONDS.toNanos(1) / elapsed, matches);
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    public void tailingThroughput() throws Exception {
+        List<String> lines = createLines();
+        Path logFile = directory.resolve("openhab.log");
+        Files.writeString(logFile, "before start\n");
+        AtomicLong count = new AtomicLong();
+        NioFileTailer tailer = new NioFileTailer();
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+            }
+
+            @Override
+            public void fileRotated() {
+            }
+
+            @Override
+            public void handle(@Nullable String line) {
+                count.incrementAndGet();
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+            }
+        });
+        tailer.start(logFile.toString(), 1000);
+        try {
+            Thread.sleep(300);
+            long start = System.nanoTime();
+            try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardOpenOption.APPEND)) {
+                for (int i = 0; i < TAILED_LINES; i++) {
+                    writer.write(lines.get(i % lines.size()));
+                    writer.write('\n');
+                }
+            }
+            while (count.get() < TAILED_LINES && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(60)) {
+                Thread.sleep(5);
+            }
+            long elapsed = System.nanoTime() - start;
+            assertEquals(TAILED_LINES, count.get());
+            logger.info("Tailing: {} lines/s", TAILED_LINES * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        } finally {
+            tailer.stop();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests {@link NioFileTailer}.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+public class NioFileTailerTest {
+    private static final String ROTATED = "<rotated>";
+    private static final String ERROR = "<error>";
+    private static final long REFRESH_RATE = 100;
+    private static final long TIMEOUT = 5000;
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+    private @NonNullByDefault({}) Path logFile;
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean failNextRead = new AtomicBoolean();
+    private final NioFileTailer tailer = new NioFileTailer() {
+        @Override
+        FileChannel openChannel(Path path) throws IOException {
+            return new FailingFileChannel(super.openChannel(path));
+        }
+    };
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        logFile = directory.resolve("openhab.log");
+        Files.writeString(logFile, "before start\n");
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(@Nullable String line) {
+                events.add(String.valueOf(line));
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+                events.add(ERROR);
+            }
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tailer.stop();
+    }
+
+    @Test
+    public void newLinesAreSent() throws Exception {
+        start();
+        append("first\r\nsec");
+        awaitEvents("first");
+        append("ond\nthird\n");
+
+        awaitEvents("first", "second", "third");
+    }
+
+    @Test
+    public void renamedFileIsReadToTheEndBeforeRotation() throws Exception {
+        start();
+        append("old\nunterminated");
+        awaitEvents("old");
+        Files.move(logFile, directory.resolve("openhab.log.1"));
+        Files.writeString(logFile, "new\n");
+
+        awaitEvents("old", "unterminated", ROTATED, "new");
+    }
+
+    @Test
+    public void truncatedFileIsReadFromTheBeginning() throws Exception {
+        start();
+        append("a long line before the truncation\n");
+        awaitEvents("a long line before the truncation");
+        Files.writeString(logFile, "short\n", StandardOpenOption.TRUNCATE_EXISTING);
+
+        awaitEvents("a long line before the truncation", ROTATED, "short");
+    }
+
+    @Test
+    public void readingResumesAtTheLastPositionAfterAnError() throws Exception {
+        start();
+        append("first\n");
+        awaitEvents("first");
+        failNextRead.set(true);
+        append("second\n");
+
+        // the line is read once after the file has been opened again
+        awaitEvents("first", ERROR, "second");
+        append("third\n");
+        awaitEvents("first", ERROR, "second", "third");
+    }
+
+    private void start() throws FileReaderException, InterruptedException {
+        tailer.start(logFile.toString(), REFRESH_RATE);
+        // the file is opened at its end by the tailing thread
+        Thread.sleep(2 * REFRESH_RATE);
+    }
+
+    private void append(String data) throws IOException {
+        Files.writeString(logFile, data, StandardOpenOption.APPEND);
+    }
+
+    private void awaitEvents(String... expected) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (events.size() < expected.length && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        // wait a little bit longer to detect unexpected events
+        Thread.sleep(2 * REFRESH_RATE);
+        synchronized (events) {
+            assertEquals(List.of(expected), events);
+        }
+    }
+
+    /**
+     * Fails reading once when {@link #failNextRead} is set, like a read from a network share which isn't available.
+     */
+    private class FailingFileChannel extends FileChannel {
+        private final FileChannel channel;
+
+        FailingFileChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(@Nullable ByteBuffer dst, long position) throws IOException {
+            if (failNextRead.getAndSet(false)) {
+                throw new IOException("read failed");
+            }
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int read(@Nullable ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer @Nullable [] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(@Nullable ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer @Nullable [] srcs, int offset, int length) throws IOException {
+            return channel.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(@Nullable ByteBuffer src, long position) throws IOException {
+            return channel.write(src, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, @Nullable WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(@Nullable ReadableByteChannel src, long position, long count) throws IOException {
+            return channel.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(@Nullable MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public @Nullable FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
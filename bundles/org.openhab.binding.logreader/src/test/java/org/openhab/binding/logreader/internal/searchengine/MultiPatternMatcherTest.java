@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MultiPatternMatcher} against testing the patterns one after the other.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void literalPrefix() {
+        assertEquals("ERROR", MultiPatternMatcher.getLiteralPrefix("ERROR"));
+        assertEquals("ERROR", MultiPatternMatcher.getLiteralPrefix("ERRORS?"));
+        assertEquals("ERROR", MultiPatternMatcher.getLiteralPrefix("ERRORS*"));
+        assertEquals("ERROR", MultiPatternMatcher.getLiteralPrefix("ERRORS{0,2}"));
+        assertEquals("ERRORS", MultiPatternMatcher.getLiteralPrefix("ERRORS+"));
+        assertEquals("Item ", MultiPatternMatcher.getLiteralPrefix("Item .* received"));
+        assertEquals("", MultiPatternMatcher.getLiteralPrefix("(?i)error"));
+        assertEquals("", MultiPatternMatcher.getLiteralPrefix("\\d+ errors"));
+        assertEquals("", MultiPatternMatcher.getLiteralPrefix("E?RROR"));
+        assertEquals("Temp", MultiPatternMatcher.getLiteralPrefix("Temp°C"));
+    }
+
+    @Test
+    public void overlappingLiterals() {
+        assertMatchesLikeLoop(List.of("he", "she", "his", "hers"),
+                List.of("ushers", "his", "hi", "sh", "ahishers", "hhe", "", "she said"));
+        assertMatchesLikeLoop(List.of("aab", "ab"), List.of("aaab", "aab", "ab", "aa", "ba"));
+    }
+
+    @Test
+    public void patternsWithAndWithoutLiterals() {
+        List<String> patterns = List.of("ERRORS?", "WARN+", "Item .* received command ON", "(?i)exception",
+                "\\[main\\]", "Temp°C", "^\\d{4}-", "[Ff]ailed");
+        List<String> lines = List.of("2024-05-01 12:00:00.000 [INFO ] - Item 'Light' received command ON",
+                "2024-05-01 12:00:00.000 [INFO ] - Item 'Light' received command OFF", "ERRO", "ERROR", "WAR",
+                "WARNNN", "NullPointerEXCEPTION", "[main] started", "[main started", "Temp°C", "Temp C", "x2024-",
+                "Failed to connect", "ailed", "");
+        assertMatchesLikeLoop(patterns, lines);
+    }
+
+    @Test
+    public void noPatterns() {
+        assertFalse(new MultiPatternMatcher(List.of()).find("ERROR"));
+    }
+
+    @Test
+    public void randomPatterns() {
+        Random random = new Random(1);
+        String patternCharacters = "abcAB.*+?[]x\\d ";
+        String lineCharacters = "abcABx1 .ä";
+        int checked = 0;
+        for (int t = 0; t < 2000; t++) {
+            List<String> patterns = new ArrayList<>();
+            int count = 1 + random.nextInt(6);
+            while (patterns.size() < count) {
+                String pattern = randomString(random, patternCharacters, 1 + random.nextInt(5));
+                if (isValid(pattern)) {
+                    patterns.add(pattern);
+                }
+            }
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                lines.add(randomString(random, lineCharacters, random.nextInt(20)));
+            }
+            checked += assertMatchesLikeLoop(patterns, lines);
+        }
+        assertEquals(100_000, checked);
+    }
+
+    private int assertMatchesLikeLoop(List<String> regexes, List<String> lines) {
+        List<Pattern> patterns = regexes.stream().map(Pattern::compile).toList();
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+        for (String line : lines) {
+            assertEquals(findWithLoop(patterns, line), matcher.find(line), () -> regexes + " on '" + line + "'");
+        }
+        return lines.size();
+    }
+
+    private boolean findWithLoop(List<Pattern> patterns, String line) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(line).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String randomString(Random random, String characters, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(characters.charAt(random.nextInt(characters.length())));
+        }
+        return builder.toString();
+    }
+
+    private boolean isValid(String regex) {
+        try {
+            Pattern.compile(regex);
+            return true;
+        } catch (PatternSyntaxException e) {
+            return false;
+        }
+    }
+}
@@ -36,6 +36,9 @@ public class NetworkBindingConfiguration {
     public ArpPingUtilEnum arpPingUtilMethod = ArpPingUtilEnum.DISABLED;
     // For backwards compatibility reasons, the default is to use the ping method execution time as latency value
     public boolean preferResponseTimeAsLatency = false;
+    // Rate limit and concurrency window of the discovery sweep
+    public BigDecimal discoveryPacketsPerSecond = BigDecimal.valueOf(200);
+    public BigDecimal discoveryConcurrency = BigDecimal.valueOf(64);
 
     private List<NetworkBindingConfigurationListener> listeners = new ArrayList<>();
 
@@ -45,6 +48,8 @@ public class NetworkBindingConfiguration {
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
         this.preferResponseTimeAsLatency = newConfiguration.preferResponseTimeAsLatency;
+        this.discoveryPacketsPerSecond = newConfiguration.discoveryPacketsPerSecond;
+        this.discoveryConcurrency = newConfiguration.discoveryConcurrency;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeArpPingMethod(arpPingToolPath);
@@ -65,6 +70,7 @@ public class NetworkBindingConfiguration {
         return "NetworkBindingConfiguration{" + "allowSystemPings=" + allowSystemPings + ", allowDHCPlisten="
                 + allowDHCPlisten + ", cacheDeviceStateTimeInMS=" + cacheDeviceStateTimeInMS + ", arpPingToolPath='"
                 + arpPingToolPath + '\'' + ", arpPingUtilMethod=" + arpPingUtilMethod + ", preferResponseTimeAsLatency="
-                + preferResponseTimeAsLatency + '}';
+                + preferResponseTimeAsLatency + ", discoveryPacketsPerSecond=" + discoveryPacketsPerSecond
+                + ", discoveryConcurrency=" + discoveryConcurrency + '}';
     }
 }
@@ -61,6 +61,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
         super.deactivate(componentContext);
+        PresenceDetectionEngine.disposeInstance();
     }
 
     @Modified
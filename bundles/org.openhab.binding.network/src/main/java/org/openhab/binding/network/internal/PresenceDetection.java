@@ -25,12 +25,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +60,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private static final Duration DESTINATION_TTL = Duration.ofMinutes(5);
 
     NetworkUtils networkUtils = new NetworkUtils();
+    PresenceDetectionEngine engine = PresenceDetectionEngine.getInstance();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -93,10 +90,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService detectionExecutorService;
-    protected @Nullable ExecutorService waitForResultExecutorService;
     private String dhcpState = "off";
-    int detectionChecks;
     private String lastReachableNetworkInterfaceName = "";
 
     public PresenceDetection(final PresenceDetectionListener updateListener,
@@ -285,37 +279,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(this::performPresenceDetection).thenAccept(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
-    private void withDestinationAddress(Consumer<InetAddress> consumer) {
-        InetAddress destinationAddress = destination.getValue();
-        if (destinationAddress == null) {
-            logger.trace("The destinationAddress for {} is null", hostname);
-        } else {
-            consumer.accept(destinationAddress);
-        }
-    }
-
-    private void stopDetection() {
-        ExecutorService detectionExecutorService = this.detectionExecutorService;
-        if (detectionExecutorService != null) {
-            logger.debug("Shutting down detectionExecutorService");
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
-        }
-        ExecutorService waitForResultExecutorService = this.waitForResultExecutorService;
-        if (waitForResultExecutorService != null) {
-            logger.debug("Shutting down waitForResultExecutorService");
-            waitForResultExecutorService.shutdownNow();
-            this.waitForResultExecutorService = null;
-        }
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and TCP connection attempts simultaneously.
-     * A fixed thread pool will be created with as many threads as necessary to perform all tests at once.
+     * The checks are performed by the binding wide {@link PresenceDetectionEngine}, so that no threads
+     * are created or blocked for a detection run.
      *
      * Please be aware of the following restrictions:
      * <ul>
@@ -328,7 +295,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public CompletableFuture<PresenceDetectionValue> performPresenceDetection() {
         Set<String> interfaceNames = null;
 
-        detectionChecks = tcpPorts.size();
+        int detectionChecks = tcpPorts.size();
         if (pingMethod != null) {
             detectionChecks += 1;
         }
@@ -351,83 +318,64 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return CompletableFuture.completedFuture(pdv);
         }
 
-        stopDetection();
+        final Set<String> arpInterfaceNames = interfaceNames;
+        // The host name resolution may block, therefore it is done by the engine as well
+        return engine.supplyAsync(destination::getValue).thenCompose(destinationAddress -> {
+            if (destinationAddress == null) {
+                logger.trace("The destinationAddress for {} is null", hostname);
+                return CompletableFuture.<@Nullable Void> completedFuture(null);
+            }
+            return performDetectionChecks(pdv, destinationAddress, arpInterfaceNames);
+        }).handle((result, e) -> {
+            if (e != null) {
+                logger.debug("Presence detection for {} failed to complete", hostname, e);
+            }
+            logger.debug("All detection futures for {} have completed", hostname);
+
+            if (!pdv.isReachable()) {
+                logger.debug("{} is unreachable, invalidating destination value", hostname);
+                destination.invalidateValue();
+            }
 
-        ExecutorService detectionExecutorService = getThreadsFor(detectionChecks);
-        this.detectionExecutorService = detectionExecutorService;
-        ExecutorService waitForResultExecutorService = getThreadsFor(1);
-        this.waitForResultExecutorService = waitForResultExecutorService;
+            logger.debug("Sending listener final result: {}", pdv);
+            updateListener.finalDetectionResult(pdv);
+            return pdv;
+        });
+    }
 
+    private CompletableFuture<@Nullable Void> performDetectionChecks(PresenceDetectionValue pdv,
+            InetAddress destinationAddress, @Nullable Set<String> interfaceNames) {
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
 
         for (Integer tcpPort : tcpPorts) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + tcpPort);
-                performServicePing(pdv, tcpPort);
-            }, detectionExecutorService);
+            completableFutures.add(performServicePing(pdv, destinationAddress, tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use a single check for the Windows tool and
+        // one check for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performArpPing(pdv, "");
-            }, detectionExecutorService);
+            // arp-ping.exe tool capable of handling multiple interfaces by itself
+            completableFutures.add(engine.runAsync(() -> performArpPing(pdv, destinationAddress, "")));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                addAsyncDetection(completableFutures, () -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performArpPing(pdv, interfaceName);
-                }, detectionExecutorService);
+                completableFutures.add(engine.runAsync(() -> performArpPing(pdv, destinationAddress, interfaceName)));
             }
         }
 
         // ICMP ping
-        if (pingMethod != null) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                if (pingMethod == IpPingMethodEnum.JAVA_PING) {
-                    performJavaPing(pdv);
-                } else {
-                    performSystemPing(pdv);
-                }
-            }, detectionExecutorService);
+        @Nullable IpPingMethodEnum pingMethod = this.pingMethod;
+        if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+            completableFutures.add(engine.runAsync(() -> performJavaPing(pdv, destinationAddress)));
+        } else if (pingMethod != null) {
+            completableFutures.add(performSystemPing(pdv, destinationAddress, pingMethod));
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            Thread.currentThread().setName("presenceDetectionResult_" + hostname);
-            logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
-            completableFutures.forEach(completableFuture -> {
-                try {
-                    completableFuture.join();
-                } catch (CancellationException | CompletionException e) {
+        logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
+        return CompletableFuture.allOf(completableFutures.stream().map(completableFuture -> completableFuture
+                .orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS).exceptionally(e -> {
                     logger.debug("Detection future failed to complete", e);
-                }
-            });
-            logger.debug("All {} detection futures for {} have completed", completableFutures.size(), hostname);
-
-            if (!pdv.isReachable()) {
-                logger.debug("{} is unreachable, invalidating destination value", hostname);
-                destination.invalidateValue();
-            }
-
-            logger.debug("Sending listener final result: {}", pdv);
-            updateListener.finalDetectionResult(pdv);
-
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
-            detectionChecks = 0;
-
-            return pdv;
-        }, waitForResultExecutorService);
-    }
-
-    private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures, Runnable detectionRunnable,
-            ExecutorService executorService) {
-        completableFutures.add(CompletableFuture.runAsync(detectionRunnable, executorService)
-                .orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS));
+                    return null;
+                })).toArray(CompletableFuture[]::new)).thenApply(v -> null);
     }
 
     /**
@@ -471,18 +419,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.partialDetectionResult(pdv);
     }
 
-    protected void performServicePing(PresenceDetectionValue pdv, int tcpPort) {
+    protected CompletableFuture<Void> performServicePing(PresenceDetectionValue pdv, InetAddress destinationAddress,
+            int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeout);
-                if (pingResult.isSuccess()) {
-                    updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
-                }
-            } catch (IOException e) {
-                // This should not happen and might be a user configuration issue, we log a warning message therefore.
-                logger.warn("Could not create a socket connection", e);
+        return engine.servicePing(destinationAddress, tcpPort, timeout).thenAccept(pingResult -> {
+            if (pingResult.isSuccess()) {
+                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
             }
         });
     }
@@ -493,36 +436,35 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * called before performing the ARP ping.
      *
      * @param pdv the {@link PresenceDetectionValue} to update
+     * @param destinationAddress the address to ping
      * @param interfaceName the interface name. You can request a list of interface names
      *            from {@link NetworkUtils#getInterfaceNames()} for example.
      */
-    protected void performArpPing(PresenceDetectionValue pdv, String interfaceName) {
+    protected void performArpPing(PresenceDetectionValue pdv, InetAddress destinationAddress, String interfaceName) {
         logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                if (iosDevice) {
-                    networkUtils.wakeUpIOS(destinationAddress);
-                    Thread.sleep(50);
-                }
+        try {
+            if (iosDevice) {
+                networkUtils.wakeUpIOS(destinationAddress);
+                Thread.sleep(50);
+            }
 
-                PingResult pingResult = networkUtils.nativeArpPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                        destinationAddress.getHostAddress(), timeout);
-                if (pingResult != null) {
-                    if (pingResult.isSuccess()) {
-                        updateReachable(pdv, ARP_PING, getLatency(pingResult));
-                        lastReachableNetworkInterfaceName = interfaceName;
-                    } else if (lastReachableNetworkInterfaceName.equals(interfaceName)) {
-                        logger.trace("{} is no longer reachable on network interface: {}", hostname, interfaceName);
-                        lastReachableNetworkInterfaceName = "";
-                    }
+            PingResult pingResult = networkUtils.nativeArpPing(arpPingMethod, arpPingUtilPath, interfaceName,
+                    destinationAddress.getHostAddress(), timeout);
+            if (pingResult != null) {
+                if (pingResult.isSuccess()) {
+                    updateReachable(pdv, ARP_PING, getLatency(pingResult));
+                    lastReachableNetworkInterfaceName = interfaceName;
+                } else if (lastReachableNetworkInterfaceName.equals(interfaceName)) {
+                    logger.trace("{} is no longer reachable on network interface: {}", hostname, interfaceName);
+                    lastReachableNetworkInterfaceName = "";
                 }
-            } catch (IOException e) {
-                logger.trace("Failed to execute an ARP ping for {}", hostname, e);
-            } catch (InterruptedException ignored) {
-                // This can be ignored, the thread will end anyway
             }
-        });
+        } catch (IOException e) {
+            logger.trace("Failed to execute an ARP ping for {}", hostname, e);
+        } catch (InterruptedException ignored) {
+            // This can be ignored, the thread will end anyway
+        }
     }
 
     /**
@@ -532,31 +474,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @see InetAddress#isReachable(int)
      */
-    protected void performJavaPing(PresenceDetectionValue pdv) {
+    protected void performJavaPing(PresenceDetectionValue pdv, InetAddress destinationAddress) {
         logger.trace("Perform Java ping presence detection for {}", hostname);
 
-        withDestinationAddress(destinationAddress -> {
-            PingResult pingResult = networkUtils.javaPing(timeout, destinationAddress);
-            if (pingResult.isSuccess()) {
-                updateReachable(pdv, ICMP_PING, getLatency(pingResult));
-            }
-        });
+        PingResult pingResult = networkUtils.javaPing(timeout, destinationAddress);
+        if (pingResult.isSuccess()) {
+            updateReachable(pdv, ICMP_PING, getLatency(pingResult));
+        }
     }
 
-    protected void performSystemPing(PresenceDetectionValue pdv) {
+    protected CompletableFuture<Void> performSystemPing(PresenceDetectionValue pdv, InetAddress destinationAddress,
+            IpPingMethodEnum pingMethod) {
         logger.trace("Perform native ping presence detection for {}", hostname);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(),
-                        timeout);
-                if (pingResult != null && pingResult.isSuccess()) {
-                    updateReachable(pdv, ICMP_PING, getLatency(pingResult));
-                }
-            } catch (IOException e) {
-                logger.trace("Failed to execute a native ping for {}", hostname, e);
-            } catch (InterruptedException e) {
-                // This can be ignored, the thread will end anyway
+        return engine.nativePing(networkUtils, pingMethod, destinationAddress, timeout).thenAccept(pingResult -> {
+            if (pingResult != null && pingResult.isSuccess()) {
+                updateReachable(pdv, ICMP_PING, getLatency(pingResult));
             }
         });
     }
@@ -583,12 +516,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             future.cancel(true);
         }
         refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> {
-            try {
-                logger.debug("Refreshing {} reachability state", hostname);
-                getValue();
-            } catch (InterruptedException | ExecutionException e) {
+            logger.debug("Refreshing {} reachability state", hostname);
+            // Do not block the scheduler thread, the cache does not start a new detection while one is running
+            cache.getValue(this::performPresenceDetection).exceptionally(e -> {
                 logger.debug("Failed to refresh {} presence detection", hostname, e);
-            }
+                return null;
+            });
         }, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
     }
 
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.AsyncServicePinger;
+import org.openhab.binding.network.internal.utils.BatchedIcmpPinger;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton, which performs the presence detection checks of all {@link PresenceDetection} objects of the binding.
+ * <p>
+ * Instead of creating threads for every detection run, all checks share
+ * <ul>
+ * <li>a single selector thread for TCP connection attempts ({@link AsyncServicePinger}),</li>
+ * <li>batched ICMP pings with one fping process for many hosts ({@link BatchedIcmpPinger}), if fping is
+ * installed, and</li>
+ * <li>a bounded thread pool for all checks which can only be done blocking, like ARP pings and Java pings.</li>
+ * </ul>
+ * The results are returned as {@link CompletableFuture}s, so that no thread has to wait for them.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceDetectionEngine {
+    /** Maximum number of concurrently executed blocking checks */
+    private static final int MAX_BLOCKING_CHECKS = 32;
+    private static final String FPING_PATH = "fping";
+
+    private static @Nullable PresenceDetectionEngine instance;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceDetectionEngine.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final AsyncServicePinger servicePinger;
+    private final BatchedIcmpPinger icmpPinger;
+    private @Nullable Boolean batchedIcmpAvailable;
+
+    /**
+     * Returns the binding wide instance, which is created on first use.
+     */
+    public static synchronized PresenceDetectionEngine getInstance() {
+        PresenceDetectionEngine instance = PresenceDetectionEngine.instance;
+        if (instance == null) {
+            instance = new PresenceDetectionEngine();
+            PresenceDetectionEngine.instance = instance;
+        }
+        return instance;
+    }
+
+    /**
+     * Stops all running checks of the binding wide instance, a new instance is created on next use.
+     */
+    public static synchronized void disposeInstance() {
+        PresenceDetectionEngine instance = PresenceDetectionEngine.instance;
+        if (instance != null) {
+            instance.executor.shutdownNow();
+            PresenceDetectionEngine.instance = null;
+        }
+    }
+
+    PresenceDetectionEngine() {
+        executor = new ScheduledThreadPoolExecutor(MAX_BLOCKING_CHECKS,
+                new NamedThreadFactory("binding-network-presence", true));
+        // Threads are only kept as long as there are checks to perform
+        executor.setKeepAliveTime(30, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRemoveOnCancelPolicy(true);
+        servicePinger = new AsyncServicePinger(executor);
+        icmpPinger = new BatchedIcmpPinger(executor, FPING_PATH);
+    }
+
+    /**
+     * Try to establish a TCP connection to the given port without blocking a thread.
+     *
+     * @see AsyncServicePinger#servicePing(InetAddress, int, Duration)
+     */
+    public CompletableFuture<PingResult> servicePing(InetAddress address, int port, Duration timeout) {
+        return servicePinger.servicePing(address, port, timeout);
+    }
+
+    /**
+     * Performs a native ICMP ping. If fping is available, the ping is combined with the pings of other hosts,
+     * otherwise the native ping utility of the operating system is executed on the shared thread pool. If fping
+     * fails, batched pings are disabled and the native ping utility is used instead.
+     *
+     * @return a future which is completed with the {@link PingResult}, or <code>null</code> if the ping
+     *         command was not executed
+     */
+    public CompletableFuture<@Nullable PingResult> nativePing(NetworkUtils networkUtils, IpPingMethodEnum method,
+            InetAddress address, Duration timeout) {
+        if (method != IpPingMethodEnum.JAVA_PING && isBatchedIcmpAvailable()) {
+            return icmpPinger.ping(address.getHostAddress(), timeout)
+                    .<CompletableFuture<@Nullable PingResult>> handle((result, e) -> {
+                        if (e == null) {
+                            return CompletableFuture.completedFuture(result);
+                        }
+                        disableBatchedIcmp(e);
+                        return systemPing(networkUtils, method, address, timeout);
+                    }).thenCompose(future -> future);
+        }
+        return systemPing(networkUtils, method, address, timeout);
+    }
+
+    private CompletableFuture<@Nullable PingResult> systemPing(NetworkUtils networkUtils, IpPingMethodEnum method,
+            InetAddress address, Duration timeout) {
+        return supplyAsync(() -> {
+            try {
+                return networkUtils.nativePing(method, address.getHostAddress(), timeout);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Executes a blocking check on the shared thread pool.
+     */
+    public CompletableFuture<Void> runAsync(Runnable check) {
+        return CompletableFuture.runAsync(check, executor);
+    }
+
+    /**
+     * Executes a blocking check on the shared thread pool.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> check) {
+        return CompletableFuture.supplyAsync(check, executor);
+    }
+
+    private synchronized boolean isBatchedIcmpAvailable() {
+        Boolean available = batchedIcmpAvailable;
+        if (available == null) {
+            available = icmpPinger.isAvailable();
+            batchedIcmpAvailable = available;
+            logger.debug("Batched ICMP pings with fping are {}", available ? "available" : "not available");
+        }
+        return available;
+    }
+
+    private synchronized void disableBatchedIcmp(Throwable e) {
+        if (Boolean.TRUE.equals(batchedIcmpAvailable)) {
+            batchedIcmpAvailable = false;
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.info("Batched ICMP pings with fping failed, using the ping utility instead: {}",
+                    cause.getMessage());
+        }
+    }
+}
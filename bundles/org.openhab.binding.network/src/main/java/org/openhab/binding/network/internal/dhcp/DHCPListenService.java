@@ -13,7 +13,10 @@
 package org.openhab.binding.network.internal.dhcp;
 
 import java.net.SocketException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,6 +38,15 @@ import org.slf4j.LoggerFactory;
 public class DHCPListenService {
     static @Nullable DHCPPacketListenerServer instance;
     private static final Map<String, IPRequestReceivedCallback> REGISTERED_LISTENERS = new TreeMap<>();
+    private static final int MAX_SEEN_ADDRESSES = 1024;
+    private static final Map<String, Boolean> SEEN_ADDRESSES = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, Boolean> eldest) {
+            return size() > MAX_SEEN_ADDRESSES;
+        }
+    };
     private static final Logger LOGGER = LoggerFactory.getLogger(DHCPListenService.class);
 
     public static synchronized DHCPPacketListenerServer register(String hostAddress,
@@ -42,6 +54,9 @@ public class DHCPListenService {
         DHCPPacketListenerServer instance = DHCPListenService.instance;
         if (instance == null) {
             instance = new DHCPPacketListenerServer(ipAddress -> {
+                synchronized (SEEN_ADDRESSES) {
+                    SEEN_ADDRESSES.put(ipAddress, Boolean.TRUE);
+                }
                 IPRequestReceivedCallback listener = REGISTERED_LISTENERS.get(ipAddress);
                 if (listener != null) {
                     listener.dhcpRequestReceived(ipAddress);
@@ -72,4 +87,13 @@ public class DHCPListenService {
         }
         DHCPListenService.instance = null;
     }
+
+    /**
+     * Returns the addresses of all DHCP requests received while listening, most recent last.
+     */
+    public static Set<String> getSeenAddresses() {
+        synchronized (SEEN_ADDRESSES) {
+            return new LinkedHashSet<>(SEEN_ADDRESSES.keySet());
+        }
+    }
 }
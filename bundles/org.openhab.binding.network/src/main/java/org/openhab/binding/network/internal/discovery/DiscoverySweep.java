@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Probes a list of hosts asynchronously while limiting the number of sent packets per second and the number of
+ * hosts which are probed at the same time. Instead of one thread per host, a single periodic job starts the probes
+ * as long as the packet budget and the concurrency window allow it.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class DiscoverySweep {
+    static final long TICK_MILLIS = 50;
+
+    /**
+     * Probes a single host
+     */
+    public interface HostProbe {
+        /**
+         * Starts probing the given host.
+         *
+         * @return a future which completes as soon as the probe has finished
+         */
+        CompletableFuture<?> probe(String ip);
+    }
+
+    /**
+     * Receives the progress of the sweep
+     */
+    public interface ProgressListener {
+        /**
+         * Called after every probed host.
+         *
+         * @param scanned the number of probed hosts
+         * @param total the number of all hosts
+         */
+        void progress(int scanned, int total);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(DiscoverySweep.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final List<String> hosts;
+    private final HostProbe hostProbe;
+    private final ProgressListener progressListener;
+    private final double packetsPerSecond;
+    private final int packetsPerHost;
+    private final int concurrency;
+
+    private @Nullable ScheduledFuture<?> tickJob;
+    private double packetBudget;
+    private long lastTick;
+    private int nextHost;
+    private int hostsInFlight;
+    private int scannedHosts;
+    private boolean cancelled;
+
+    /**
+     * Creates a new sweep.
+     *
+     * @param scheduler the scheduler for the periodic job which starts the probes
+     * @param hosts the hosts to probe, in the order they should be probed
+     * @param hostProbe probes a single host
+     * @param progressListener receives the progress of the sweep
+     * @param packetsPerSecond the maximum number of packets per second
+     * @param packetsPerHost the number of packets a single probe sends
+     * @param concurrency the maximum number of hosts which are probed at the same time
+     */
+    public DiscoverySweep(ScheduledExecutorService scheduler, List<String> hosts, HostProbe hostProbe,
+            ProgressListener progressListener, double packetsPerSecond, int packetsPerHost, int concurrency) {
+        this.scheduler = scheduler;
+        this.hosts = List.copyOf(hosts);
+        this.hostProbe = hostProbe;
+        this.progressListener = progressListener;
+        this.packetsPerSecond = Math.max(1, packetsPerSecond);
+        this.packetsPerHost = Math.max(1, packetsPerHost);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Starts the sweep. The {@link ProgressListener} is called once with 0 scanned hosts if there is nothing to do.
+     */
+    public synchronized void start() {
+        if (hosts.isEmpty()) {
+            progressListener.progress(0, 0);
+            return;
+        }
+        lastTick = System.nanoTime();
+        // Allow to start the first tick worth of probes immediately
+        packetBudget = Math.max(packetsPerHost, packetsPerSecond * TICK_MILLIS / 1000.0);
+        tickJob = scheduler.scheduleWithFixedDelay(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops starting new probes. Probes which are already running are not interrupted.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        stopTicking();
+    }
+
+    public synchronized int getScannedHosts() {
+        return scannedHosts;
+    }
+
+    public int getTotalHosts() {
+        return hosts.size();
+    }
+
+    void tick() {
+        List<String> startedHosts = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            // The budget is limited to one second worth of packets, so that an idle window does not lead to a burst
+            packetBudget = Math.min(Math.max(packetsPerSecond, packetsPerHost),
+                    packetBudget + packetsPerSecond * (now - lastTick) / TimeUnit.SECONDS.toNanos(1));
+            lastTick = now;
+
+            while (!cancelled && nextHost < hosts.size() && hostsInFlight < concurrency
+                    && packetBudget >= packetsPerHost) {
+                packetBudget -= packetsPerHost;
+                hostsInFlight++;
+                startedHosts.add(hosts.get(nextHost++));
+            }
+            if (nextHost >= hosts.size()) {
+                stopTicking();
+            }
+        }
+
+        // Probes are started without holding the lock, as they may complete immediately
+        for (String ip : startedHosts) {
+            CompletableFuture<?> future;
+            try {
+                future = hostProbe.probe(ip);
+            } catch (RuntimeException e) {
+                logger.debug("Failed to probe {}", ip, e);
+                future = CompletableFuture.completedFuture(null);
+            }
+            future.whenComplete((result, e) -> hostFinished());
+        }
+    }
+
+    private void hostFinished() {
+        int scanned;
+        synchronized (this) {
+            hostsInFlight--;
+            scanned = ++scannedHosts;
+        }
+        progressListener.progress(scanned, hosts.size());
+    }
+
+    private void stopTicking() {
+        ScheduledFuture<?> job = tickJob;
+        if (job != null) {
+            job.cancel(false);
+            tickJob = null;
+        }
+    }
+}
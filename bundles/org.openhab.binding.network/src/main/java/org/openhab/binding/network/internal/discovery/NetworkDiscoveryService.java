@@ -16,15 +16,14 @@ import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,6 +31,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
@@ -58,6 +58,7 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final Duration PING_TIMEOUT = Duration.ofMillis(500);
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    private static final int PROGRESS_LOG_INTERVAL = 16;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -65,10 +66,9 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Set.of(80, 548, 554, 1025);
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable DiscoverySweep sweep = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
-    private final NetworkUtils networkUtils = new NetworkUtils();
+    NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS,
@@ -97,8 +97,9 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
+        DiscoverySweep sweep = this.sweep;
+        if (sweep != null) {
+            sweep.cancel();
         }
         super.deactivate();
     }
@@ -121,66 +122,91 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts an asynchronous sweep over all IPs on each interface on the network. The IPs which are known from the
+     * ARP cache and from DHCP requests are probed first. The sweep is limited by the configured number of packets per
+     * second and the number of hosts which are probed at the same time.
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+    protected synchronized void startScan() {
+        DiscoverySweep previousSweep = sweep;
+        if (previousSweep != null) {
+            previousSweep.cancel();
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
+        final List<String> networkIPs = orderByKnownHosts(networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE));
+        DiscoverySweep newSweep = new DiscoverySweep(scheduler, networkIPs, this::probe, this::scanProgress,
+                configuration.discoveryPacketsPerSecond.doubleValue(), getPacketsPerHost(),
+                configuration.discoveryConcurrency.intValue());
+        sweep = newSweep;
+        newSweep.start();
+    }
+
+    @Override
+    public int getScanTimeout() {
+        // A low packet rate may take longer than the default estimation
+        int ips = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size();
+        double packetsPerSecond = Math.max(1, configuration.discoveryPacketsPerSecond.doubleValue());
+        double sweepSeconds = ips * getPacketsPerHost() / packetsPerSecond + durationToMillis(PING_TIMEOUT) / 1000.0;
+        return Math.max(super.getScanTimeout(), (int) Math.ceil(sweepSeconds));
+    }
+
+    private int getPacketsPerHost() {
+        // Every probe sends an ICMP ping, an ARP ping and a connection attempt to every TCP service port
+        return tcpServicePorts.size() + 2;
+    }
+
+    /**
+     * Orders the given IPs so that the hosts which recently communicated on the network come first.
+     */
+    List<String> orderByKnownHosts(Set<String> networkIPs) {
+        Set<String> knownIPs = new LinkedHashSet<>(networkUtils.getArpCacheIPs());
+        knownIPs.addAll(DHCPListenService.getSeenAddresses());
+        knownIPs.retainAll(networkIPs);
+        logger.trace("{} of {} IPs are known from the ARP cache or DHCP requests", knownIPs.size(), networkIPs.size());
 
+        List<String> orderedIPs = new ArrayList<>(knownIPs);
         for (String ip : networkIPs) {
-            final PresenceDetection pd = new PresenceDetection(this, scheduler, Duration.ofSeconds(2));
-            pd.setHostname(ip);
-            pd.setIOSDevice(true);
-            pd.setUseDhcpSniffing(false);
-            pd.setTimeout(PING_TIMEOUT);
-            // Ping devices
-            pd.setUseIcmpPing(true);
-            pd.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            pd.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                try {
-                    pd.getValue();
-                } catch (ExecutionException | InterruptedException e) {
-                    stopScan();
-                }
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
-            });
+            if (!knownIPs.contains(ip)) {
+                orderedIPs.add(ip);
+            }
+        }
+        return orderedIPs;
+    }
+
+    private CompletableFuture<PresenceDetectionValue> probe(String ip) {
+        final PresenceDetection pd = new PresenceDetection(this, scheduler, Duration.ofSeconds(2));
+        pd.setHostname(ip);
+        pd.setIOSDevice(true);
+        pd.setUseDhcpSniffing(false);
+        pd.setTimeout(PING_TIMEOUT);
+        // Ping devices
+        pd.setUseIcmpPing(true);
+        pd.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
+        // TCP devices
+        pd.setServicePorts(tcpServicePorts);
+        return pd.performPresenceDetection();
+    }
+
+    private void scanProgress(int scanned, int total) {
+        if (scanned % PROGRESS_LOG_INTERVAL == 0 || scanned == total) {
+            logger.debug("Scanned {} of {} IPs", scanned, total);
+        }
+        if (scanned == total) {
+            logger.trace("Scan of {} IPs successful", total);
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+        DiscoverySweep sweep = this.sweep;
+        if (sweep != null) {
+            sweep.cancel();
+            this.sweep = null;
         }
-        service.shutdown();
-        executorService = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -189,7 +215,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called by the presence detection of the sweep started in {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -222,7 +248,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called by the presence detection of the sweep started in {@link #startScan()}.
      *
      * @param ip The device IP
      */
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP connection attempts ("service pings") with non-blocking sockets. All connection attempts share a
+ * single selector thread, which is started on demand and ends as soon as there are no more pending attempts.
+ * <p>
+ * The results are the same as for {@link NetworkUtils#servicePing(String, int, Duration)}: a refused, unroutable
+ * or timed out connection results in an unsuccessful {@link PingResult}.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class AsyncServicePinger {
+    private final Logger logger = LoggerFactory.getLogger(AsyncServicePinger.class);
+
+    private final Executor completionExecutor;
+    private final Queue<Probe> pendingProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    private class Probe {
+        final InetSocketAddress address;
+        final long startTime = System.nanoTime();
+        final long deadline;
+        final CompletableFuture<PingResult> future = new CompletableFuture<>();
+
+        Probe(InetSocketAddress address, Duration timeout) {
+            this.address = address;
+            this.deadline = startTime + timeout.toNanos();
+        }
+
+        void complete(boolean success) {
+            PingResult result = new PingResult(success, Duration.ofNanos(System.nanoTime() - startTime));
+            // Do not run the callbacks of the futures on the selector thread
+            future.completeAsync(() -> result, completionExecutor);
+        }
+    }
+
+    /**
+     * Creates a new pinger.
+     *
+     * @param completionExecutor the executor the returned futures are completed with
+     */
+    public AsyncServicePinger(Executor completionExecutor) {
+        this.completionExecutor = completionExecutor;
+    }
+
+    /**
+     * Try to establish a TCP connection to the given port.
+     *
+     * @param address the IP address
+     * @param port the TCP port. Must be not 0.
+     * @param timeout the timeout before the attempt is aborted
+     * @return a future which is completed with the {@link PingResult} of connecting to the given port, or
+     *         completed exceptionally if the connection attempt could not be started
+     */
+    public CompletableFuture<PingResult> servicePing(InetAddress address, int port, Duration timeout) {
+        Probe probe = new Probe(new InetSocketAddress(address, port), timeout);
+        pendingProbes.add(probe);
+        try {
+            ensureRunning().wakeup();
+        } catch (IOException e) {
+            pendingProbes.remove(probe);
+            probe.future.completeExceptionally(e);
+        }
+        return probe.future;
+    }
+
+    private synchronized Selector ensureRunning() throws IOException {
+        Selector selector = this.selector;
+        if (selector == null) {
+            Selector newSelector = Selector.open();
+            selector = newSelector;
+            this.selector = newSelector;
+            Thread thread = new Thread(() -> run(newSelector), "OH-binding-network-servicePing");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return selector;
+    }
+
+    private void run(Selector selector) {
+        try {
+            while (true) {
+                registerPendingProbes(selector);
+                if (selector.keys().isEmpty() && stopIfIdle(selector)) {
+                    return;
+                }
+                selector.select(Math.max(1, millisToNextDeadline(selector)));
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    finishConnect(key);
+                }
+                expireProbes(selector);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("TCP presence detection stopped unexpectedly: {}", e.getMessage());
+            for (SelectionKey key : selector.keys()) {
+                close(key, false);
+            }
+            synchronized (this) {
+                this.selector = null;
+            }
+            Probe probe;
+            while ((probe = pendingProbes.poll()) != null) {
+                probe.future.completeExceptionally(e);
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private synchronized boolean stopIfIdle(Selector selector) {
+        if (!pendingProbes.isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        closeQuietly(selector);
+        return true;
+    }
+
+    private void registerPendingProbes(Selector selector) {
+        Probe probe;
+        while ((probe = pendingProbes.poll()) != null) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                if (channel.connect(probe.address)) {
+                    channel.close();
+                    probe.complete(true);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                }
+            } catch (IOException e) {
+                logger.trace("Could not connect to {}", probe.address, e);
+                closeQuietly(channel);
+                probe.complete(false);
+            }
+        }
+    }
+
+    private void finishConnect(SelectionKey key) {
+        boolean success;
+        try {
+            success = key.isValid() && ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException e) {
+            logger.trace("Could not connect to {}", ((Probe) key.attachment()).address, e);
+            success = false;
+        }
+        close(key, success);
+    }
+
+    private void expireProbes(Selector selector) {
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            Probe probe = (Probe) key.attachment();
+            if (key.isValid() && now - probe.deadline >= 0) {
+                logger.trace("Connection attempt to {} timed out", probe.address);
+                close(key, false);
+            }
+        }
+    }
+
+    private long millisToNextDeadline(Selector selector) {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            next = Math.min(next, ((Probe) key.attachment()).deadline - now);
+        }
+        return next == Long.MAX_VALUE ? 0 : Duration.ofNanos(next).toMillis();
+    }
+
+    private void close(SelectionKey key, boolean success) {
+        key.cancel();
+        closeQuietly(key.channel());
+        ((Probe) key.attachment()).complete(success);
+    }
+
+    private void closeQuietly(@Nullable AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.trace("Failed to close {}", closeable, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.net.exec.ExecUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs ICMP pings of many hosts with a single <code>fping</code> process instead of one <code>ping</code>
+ * process per host. Ping requests arriving within a short collection window are combined into one batch, so the
+ * number of forked processes depends on the number of refresh cycles and not on the number of hosts.
+ * <p>
+ * Use {@link #isAvailable()} to check if the fping tool is installed before using this class.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class BatchedIcmpPinger {
+    /** Time to collect ping requests before a batch is started */
+    private static final Duration COLLECT_WINDOW = Duration.ofMillis(100);
+    /** Maximum number of hosts pinged by one process, fping sends the requests with a 10ms interval */
+    static final int MAX_BATCH_SIZE = 100;
+    /** Output of fping in the "-C" mode: "host : 0.52" or "host : -" if there was no response */
+    private static final Pattern RESULT_PATTERN = Pattern.compile("^(\\S+)\\s+:\\s+(-|\\d+(?:\\.\\d+)?)\\s*$");
+
+    private final Logger logger = LoggerFactory.getLogger(BatchedIcmpPinger.class);
+
+    private final ScheduledExecutorService executor;
+    private final String fpingPath;
+    private final Map<Duration, List<Request>> pendingRequests = new HashMap<>();
+
+    private static class Request {
+        final String hostAddress;
+        final CompletableFuture<PingResult> future = new CompletableFuture<>();
+
+        Request(String hostAddress) {
+            this.hostAddress = hostAddress;
+        }
+    }
+
+    /**
+     * Creates a new batched pinger.
+     *
+     * @param executor the executor the ping processes are started and waited for with
+     * @param fpingPath the fping command, for example "fping" or "/usr/sbin/fping"
+     */
+    public BatchedIcmpPinger(ScheduledExecutorService executor, String fpingPath) {
+        this.executor = executor;
+        this.fpingPath = fpingPath;
+    }
+
+    /**
+     * Return true if the fping tool is available and executable.
+     */
+    public boolean isAvailable() {
+        String os = System.getProperty("os.name");
+        if (os == null || os.toLowerCase().contains("win")) {
+            return false;
+        }
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(1), fpingPath, "-v");
+        return result != null && result.contains("fping");
+    }
+
+    /**
+     * Queues an ICMP ping. The ping is performed together with all other pings with the same timeout which are
+     * queued within a short collection window.
+     *
+     * @param hostAddress the IPv4 or IPv6 address
+     * @param timeout the timeout before the ping is considered unsuccessful
+     * @return a future which is completed with the {@link PingResult}, or completed exceptionally if the fping
+     *         process could not be executed or returned no results
+     */
+    public CompletableFuture<PingResult> ping(String hostAddress, Duration timeout) {
+        Request request = new Request(hostAddress);
+        synchronized (pendingRequests) {
+            List<Request> requests = pendingRequests.get(timeout);
+            if (requests == null) {
+                requests = new ArrayList<>();
+                pendingRequests.put(timeout, requests);
+                executor.schedule(() -> runBatches(timeout), COLLECT_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            requests.add(request);
+        }
+        return request.future;
+    }
+
+    private void runBatches(Duration timeout) {
+        List<Request> requests;
+        synchronized (pendingRequests) {
+            requests = pendingRequests.remove(timeout);
+        }
+        if (requests == null) {
+            return;
+        }
+        for (int i = 0; i < requests.size(); i += MAX_BATCH_SIZE) {
+            List<Request> batch = requests.subList(i, Math.min(requests.size(), i + MAX_BATCH_SIZE));
+            if (i + MAX_BATCH_SIZE < requests.size()) {
+                List<Request> copy = new ArrayList<>(batch);
+                executor.execute(() -> runBatch(copy, timeout));
+            } else {
+                runBatch(batch, timeout);
+            }
+        }
+    }
+
+    private void runBatch(List<Request> batch, Duration timeout) {
+        Map<String, List<Request>> requestsByHost = new HashMap<>();
+        for (Request request : batch) {
+            requestsByHost.computeIfAbsent(request.hostAddress, host -> new ArrayList<>()).add(request);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(fpingPath);
+        command.add("-C");
+        command.add("1");
+        command.add("-q");
+        command.add("-r");
+        command.add("0");
+        command.add("-t");
+        command.add(String.valueOf(Math.max(1, timeout.toMillis())));
+        command.addAll(requestsByHost.keySet());
+        logger.trace("Pinging {} hosts with a single fping process", requestsByHost.size());
+
+        try {
+            Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+            int resultLines = 0;
+            String otherOutput = "";
+            try (BufferedReader r = new BufferedReader(
+                    new InputStreamReader(proc.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    ResultLine resultLine = parseResultLine(line);
+                    if (resultLine == null) {
+                        logger.trace("Unexpected fping output: {}", line);
+                        if (otherOutput.isEmpty()) {
+                            otherOutput = line.trim();
+                        }
+                        continue;
+                    }
+                    resultLines++;
+                    List<Request> requests = requestsByHost.remove(resultLine.hostAddress());
+                    if (requests != null) {
+                        requests.forEach(request -> request.future.complete(resultLine.result()));
+                    }
+                }
+            }
+            int exitCode = proc.waitFor();
+            if (resultLines == 0) {
+                // fping itself failed, e.g. due to missing permissions, the hosts may still be reachable
+                throw new IOException("fping returned no results (exit code " + exitCode + "): " + otherOutput);
+            }
+            // Hosts without a result line, e.g. due to an invalid address, are unreachable
+            requestsByHost.values().forEach(requests -> requests
+                    .forEach(request -> request.future.complete(new PingResult(false, timeout))));
+        } catch (IOException e) {
+            logger.debug("Failed to execute fping: {}", e.getMessage());
+            requestsByHost.values()
+                    .forEach(requests -> requests.forEach(request -> request.future.completeExceptionally(e)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            requestsByHost.values()
+                    .forEach(requests -> requests.forEach(request -> request.future.completeExceptionally(e)));
+        }
+    }
+
+    /**
+     * A result line of the fping output.
+     */
+    record ResultLine(String hostAddress, PingResult result) {
+    }
+
+    /**
+     * Parses one line of fping output in the "-C 1" mode.
+     *
+     * @return the host and its {@link PingResult} or <code>null</code> if the line is not a result line
+     */
+    static @Nullable ResultLine parseResultLine(String line) {
+        Matcher matcher = RESULT_PATTERN.matcher(line.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new ResultLine(matcher.group(1), toPingResult(matcher.group(2)));
+    }
+
+    private static PingResult toPingResult(String latency) {
+        if ("-".equals(latency)) {
+            return new PingResult(false, Duration.ZERO);
+        }
+        Duration responseTime = NetworkUtils.millisToDuration(Double.parseDouble(latency));
+        PingResult result = new PingResult(true, responseTime);
+        result.setResponseTime(responseTime);
+        return result;
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.network.internal.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.ConnectException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
@@ -28,6 +29,8 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -36,7 +39,9 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -160,6 +165,26 @@ public class NetworkUtils {
         return getNetworkIPs(getInterfaceIPs(), maximumPerInterface);
     }
 
+    /**
+     * Returns the IPv4 addresses in the ARP cache of the operating system, i.e. the addresses of hosts which
+     * recently communicated with this host. This is only supported on Linux, an empty set is returned otherwise.
+     */
+    public Set<String> getArpCacheIPs() {
+        Path arpCache = Path.of("/proc/net/arp");
+        if (!Files.isReadable(arpCache)) {
+            return Set.of();
+        }
+        try (Stream<String> lines = Files.lines(arpCache)) {
+            // Columns: IP address, HW type, Flags, HW address, Mask, Device. Flags 0x0 marks incomplete entries.
+            return lines.skip(1).map(line -> line.trim().split("\\s+"))
+                    .filter(columns -> columns.length >= 4 && !"0x0".equals(columns[2]))
+                    .map(columns -> columns[0]).collect(Collectors.toCollection(LinkedHashSet::new));
+        } catch (IOException | UncheckedIOException e) {
+            logger.trace("Could not read the ARP cache", e);
+            return Set.of();
+        }
+    }
+
     /**
      * Takes the interfaceIPs and fetches every IP which can be assigned on their network
      *
@@ -412,9 +437,15 @@ public class NetworkUtils {
                     interfaceName, ipV4address).start();
         }
 
+        // The old arping version has no timeout option, do not wait for it forever
+        if (!proc.waitFor(timeout.plusSeconds(1).toMillis(), TimeUnit.MILLISECONDS)) {
+            proc.destroyForcibly();
+            return new PingResult(false, Duration.between(execStartTime, Instant.now()));
+        }
+
         // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
         // network interface not ready.
-        return new PingResult(proc.waitFor() == 0, Duration.between(execStartTime, Instant.now()));
+        return new PingResult(proc.exitValue() == 0, Duration.between(execStartTime, Instant.now()));
     }
 
     /**
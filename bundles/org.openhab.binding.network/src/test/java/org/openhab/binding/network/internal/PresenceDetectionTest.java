@@ -19,13 +19,17 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.time.Duration;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,14 +56,28 @@ public class PresenceDetectionTest {
     private @NonNullByDefault({}) PresenceDetection subject;
 
     private @Mock @NonNullByDefault({}) Consumer<PresenceDetectionValue> callback;
-    private @Mock @NonNullByDefault({}) ExecutorService detectionExecutorService;
-    private @Mock @NonNullByDefault({}) ExecutorService waitForResultExecutorService;
+    private @Mock @NonNullByDefault({}) PresenceDetectionEngine engine;
     private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
     private @Mock @NonNullByDefault({}) PresenceDetectionListener listener;
     private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
 
     @BeforeEach
     public void setUp() {
+        // The engine performs blocking checks immediately and TCP and ICMP checks with the mocked network utils
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return CompletableFuture.completedFuture(null);
+        }).when(engine).runAsync(any());
+        doAnswer(invocation -> CompletableFuture.completedFuture(((Supplier<?>) invocation.getArgument(0)).get()))
+                .when(engine).supplyAsync(any());
+        doAnswer(invocation -> CompletableFuture.completedFuture(
+                networkUtils.servicePing(((InetAddress) invocation.getArgument(0)).getHostAddress(),
+                        invocation.getArgument(1), invocation.getArgument(2))))
+                .when(engine).servicePing(any(), anyInt(), any());
+        doAnswer(invocation -> CompletableFuture.completedFuture(networkUtils.nativePing(invocation.getArgument(1),
+                ((InetAddress) invocation.getArgument(2)).getHostAddress(), invocation.getArgument(3))))
+                .when(engine).nativePing(any(), any(), any(), any());
+
         // Mock an interface
         when(networkUtils.getInterfaceNames()).thenReturn(Set.of("TESTinterface"));
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeArpPingMethod(anyString());
@@ -67,6 +85,7 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, scheduledExecutorService, Duration.ofSeconds(2)));
         subject.networkUtils = networkUtils;
+        subject.engine = engine;
 
         // Set a useful configuration. The default presenceDetection is a no-op.
         subject.setHostname("127.0.0.1");
@@ -80,74 +99,63 @@ public class PresenceDetectionTest {
         assertThat(subject.pingMethod, is(IpPingMethodEnum.WINDOWS_PING));
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // All checks are handed over to the shared engine, no threads are created per detection.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.detectionExecutorService);
-
-        doNothing().when(subject).performArpPing(any(), any());
-        doNothing().when(subject).performJavaPing(any());
-        doNothing().when(subject).performSystemPing(any());
-        doNothing().when(subject).performServicePing(any(), anyInt());
-
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+    public void engineTest() {
+        doNothing().when(subject).performArpPing(any(), any(), any());
+        doNothing().when(subject).performJavaPing(any(), any());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performSystemPing(any(), any(), any());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performServicePing(any(), any(), anyInt());
 
         subject.getValue(callback -> {
         });
 
-        // Thread count: ARP + ICMP + 1*TCP
-        assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.detectionExecutorService);
-
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
-
-        assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.detectionExecutorService);
+        // Checks: ARP + ICMP + 1*TCP
+        verify(engine, times(1)).runAsync(any());
+        verify(subject, times(1)).performArpPing(any(), any(), eq("TESTinterface"));
+        verify(subject, times(1)).performSystemPing(any(), any(), eq(IpPingMethodEnum.WINDOWS_PING));
+        verify(subject, times(1)).performServicePing(any(), any(), eq(1010));
+        verify(listener, times(1)).finalDetectionResult(any());
     }
 
     @Test
-    public void partialAndFinalCallbackTests() throws InterruptedException, IOException {
+    public void partialAndFinalCallbackTests() throws InterruptedException, IOException, ExecutionException {
         PingResult pingResult = new PingResult(true, Duration.ofMillis(10));
         doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
         doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
                 anyString(), any(), any());
         doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
 
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
-
-        subject.performPresenceDetection();
-
-        assertThat(subject.detectionChecks, is(3));
-
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
-
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
+        PresenceDetectionValue value = subject.performPresenceDetection().get();
 
-        assertThat(subject.detectionChecks, is(0));
-
-        verify(subject, times(0)).performJavaPing(any());
-        verify(subject).performSystemPing(any());
-        verify(subject).performArpPing(any(), any());
-        verify(subject).performServicePing(any(), anyInt());
+        verify(subject, times(0)).performJavaPing(any(), any());
+        verify(subject).performSystemPing(any(), any(), any());
+        verify(subject).performArpPing(any(), any(), any());
+        verify(subject).performServicePing(any(), any(), anyInt());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> pdvCapture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
         verify(listener, times(1)).finalDetectionResult(pdvCapture.capture());
 
         assertThat(pdvCapture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, ICMP_PING, TCP_CONNECTION"));
+        assertThat(value.getSuccessfulDetectionTypes(), is("ARP_PING, ICMP_PING, TCP_CONNECTION"));
+    }
+
+    @Test
+    public void unreachableTest() throws InterruptedException, IOException, ExecutionException {
+        PingResult pingResult = new PingResult(false, Duration.ofMillis(10));
+        doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
+        doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
+                anyString(), any(), any());
+        doReturn(CompletableFuture.failedFuture(new IOException("test"))).when(engine).servicePing(any(), anyInt(),
+                any());
+
+        PresenceDetectionValue value = subject.performPresenceDetection().get();
+
+        // A failed check does not prevent the final result
+        assertFalse(value.isReachable());
+        verify(listener, times(0)).partialDetectionResult(any());
+        verify(listener, times(1)).finalDetectionResult(any());
     }
 
     @Test
@@ -158,29 +166,22 @@ public class PresenceDetectionTest {
                 anyString(), any(), any());
         doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
 
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        CompletableFuture<@Nullable Void> arpPing = new CompletableFuture<>();
+        doReturn(arpPing, new CompletableFuture<>()).when(engine).runAsync(any());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection();
-        assertNotNull(subject.detectionExecutorService);
-        // There should be no straight callback yet
+        // There should be no straight callback yet, the ARP ping is still running
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the ARP ping now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
-
-        // "Wait" for the presence detection to finish
-        capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(capture.capture());
+        verify(engine, times(1)).runAsync(capture.capture());
         capture.getValue().run();
+        arpPing.complete(null);
 
         // Although there are multiple partial results and a final result,
         // the getValue() consumers get the fastest response possible, and only once.
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests cases for {@link DiscoverySweep}
+ *
+ * @author David Graeff - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class DiscoverySweepTest {
+    private static final List<String> HOSTS = List.of("192.168.1.1", "192.168.1.2", "192.168.1.3", "192.168.1.4");
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> tickJob;
+    private @Mock @NonNullByDefault({}) DiscoverySweep.ProgressListener progressListener;
+
+    private final List<String> probedHosts = new ArrayList<>();
+    private final List<CompletableFuture<Void>> probes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(tickJob).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    private CompletableFuture<?> probe(String ip) {
+        probedHosts.add(ip);
+        CompletableFuture<Void> probe = new CompletableFuture<>();
+        probes.add(probe);
+        return probe;
+    }
+
+    @Test
+    public void concurrencyWindowTest() {
+        DiscoverySweep sweep = new DiscoverySweep(scheduler, HOSTS, this::probe, progressListener, 1000, 1, 2);
+        sweep.start();
+
+        sweep.tick();
+        // Only two hosts may be probed at the same time
+        assertThat(probedHosts, is(HOSTS.subList(0, 2)));
+
+        probes.get(0).complete(null);
+        verify(progressListener).progress(1, 4);
+        sweep.tick();
+        assertThat(probedHosts, is(HOSTS.subList(0, 3)));
+    }
+
+    @Test
+    public void packetBudgetTest() {
+        // 1 packet per second with 1 packet per host allows one host immediately and none in the next tick
+        DiscoverySweep sweep = new DiscoverySweep(scheduler, HOSTS, this::probe, progressListener, 1, 1, 10);
+        sweep.start();
+
+        sweep.tick();
+        sweep.tick();
+        assertThat(probedHosts.size(), is(1));
+    }
+
+    @Test
+    public void completeSweepTest() {
+        DiscoverySweep sweep = new DiscoverySweep(scheduler, HOSTS, this::probe, progressListener, 1000, 1, 10);
+        sweep.start();
+
+        sweep.tick();
+        assertThat(probedHosts, is(HOSTS));
+        // No more hosts to start, the periodic job is stopped
+        verify(tickJob).cancel(false);
+
+        probes.forEach(probe -> probe.complete(null));
+        verify(progressListener).progress(4, 4);
+        assertThat(sweep.getScannedHosts(), is(4));
+    }
+
+    @Test
+    public void cancelTest() {
+        DiscoverySweep sweep = new DiscoverySweep(scheduler, HOSTS, this::probe, progressListener, 1000, 1, 1);
+        sweep.start();
+
+        sweep.tick();
+        sweep.cancel();
+        probes.get(0).complete(null);
+        sweep.tick();
+        assertThat(probedHosts.size(), is(1));
+    }
+}
@@ -18,7 +18,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.core.config.discovery.DiscoveryListener;
 import org.openhab.core.config.discovery.DiscoveryResult;
 
@@ -47,6 +50,7 @@ public class DiscoveryTest {
 
     private @Mock @NonNullByDefault({}) PresenceDetectionValue value;
     private @Mock @NonNullByDefault({}) DiscoveryListener listener;
+    private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
 
     @BeforeEach
     public void setUp() {
@@ -91,4 +95,14 @@ public class DiscoveryTest {
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
     }
+
+    @Test
+    public void knownHostsFirst() {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        d.networkUtils = networkUtils;
+        when(networkUtils.getArpCacheIPs()).thenReturn(Set.of("192.168.1.3", "10.0.0.1"));
+
+        Set<String> networkIPs = new LinkedHashSet<>(List.of("192.168.1.1", "192.168.1.2", "192.168.1.3"));
+        assertThat(d.orderByKnownHosts(networkIPs), is(List.of("192.168.1.3", "192.168.1.1", "192.168.1.2")));
+    }
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
+
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parser which extracts the results of the fping command.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class BatchedIcmpPingerTest {
+
+    @Test
+    public void parseReachableResultTest() {
+        BatchedIcmpPinger.ResultLine resultLine = BatchedIcmpPinger.parseResultLine("192.168.1.1 : 0.52");
+
+        assertNotNull(resultLine);
+        assertEquals("192.168.1.1", resultLine.hostAddress());
+        PingResult result = resultLine.result();
+        assertTrue(result.isSuccess());
+        Duration responseTime = result.getResponseTime();
+        assertNotNull(responseTime);
+        assertEquals(0.52, durationToMillis(responseTime), 0.001);
+    }
+
+    @Test
+    public void parseUnreachableResultTest() {
+        BatchedIcmpPinger.ResultLine resultLine = BatchedIcmpPinger.parseResultLine("192.168.1.2 : -");
+
+        assertNotNull(resultLine);
+        assertEquals("192.168.1.2", resultLine.hostAddress());
+        assertFalse(resultLine.result().isSuccess());
+    }
+
+    @Test
+    public void parseIPv6ResultTest() {
+        BatchedIcmpPinger.ResultLine resultLine = BatchedIcmpPinger.parseResultLine("fe80::1 : 12.1");
+
+        assertNotNull(resultLine);
+        assertEquals("fe80::1", resultLine.hostAddress());
+        assertTrue(resultLine.result().isSuccess());
+    }
+
+    @Test
+    public void parseOtherOutputTest() {
+        assertNull(BatchedIcmpPinger.parseResultLine("ICMP Host Unreachable from 192.168.1.10 for ICMP Echo sent"));
+        assertNull(BatchedIcmpPinger.parseResultLine(""));
+        assertNull(BatchedIcmpPinger.parseResultLine("fping: can't create socket (must run as root?)"));
+    }
+}
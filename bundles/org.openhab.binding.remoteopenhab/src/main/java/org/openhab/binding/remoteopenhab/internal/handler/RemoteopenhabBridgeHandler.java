@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -62,6 +63,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
@@ -122,6 +124,16 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     private Map<ChannelUID, State> channelsLastStates = new HashMap<>();
 
+    // definition of the remote items at the last synchronization, used to only update what changed when reconnecting
+    private final Map<String, String> itemDefinitions = new ConcurrentHashMap<>();
+
+    // state events are applied in batches, each batch looking up the channels in one map
+    private final List<StateEvent> pendingStateEvents = new ArrayList<>();
+    private boolean stateEventsApplying;
+    private final Object channelsLock = new Object();
+    private Map<String, Channel> channelsByItemName = Map.of();
+    private @Nullable Thing channelsByItemNameThing;
+
     public RemoteopenhabBridgeHandler(Bridge bridge, HttpClient httpClient, HttpClient httpClientTrustingCert,
             ClientBuilder clientBuilder, SseEventSourceFactory eventSourceFactory,
             RemoteopenhabChannelTypeProvider channelTypeProvider,
@@ -191,6 +203,10 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         stopStreamingUpdates(false);
         stopCheckConnectionJob();
         channelsLastStates.clear();
+        itemDefinitions.clear();
+        synchronized (pendingStateEvents) {
+            pendingStateEvents.clear();
+        }
     }
 
     @Override
@@ -327,7 +343,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
             int nbRemoved = 0;
             ThingBuilder thingBuilder = editThing();
             for (RemoteopenhabItem item : items) {
-                Channel channel = getThing().getChannel(item.name);
+                Channel channel = getChannel(item.name);
                 if (channel != null) {
                     thingBuilder.withoutChannel(channel.getUID());
                     nbRemoved++;
@@ -343,7 +359,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     private void setDynamicOptions(List<RemoteopenhabItem> items) {
         for (RemoteopenhabItem item : items) {
-            Channel channel = getThing().getChannel(item.name);
+            Channel channel = getChannel(item.name);
             if (channel == null) {
                 continue;
             }
@@ -380,12 +396,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
             } else if (getThing().getStatus() != ThingStatus.ONLINE) {
                 List<RemoteopenhabItem> items = restClient.getRemoteItems("name,type,groupType,state,stateDescription");
 
-                if (createChannels(items, true)) {
-                    setDynamicOptions(items);
-                    for (RemoteopenhabItem item : items) {
-                        updateChannelState(item.name, null, item.state, false);
-                    }
-
+                if (synchronizeChannels(items)) {
                     updateStatus(ThingStatus.ONLINE);
 
                     restartStreamingUpdates();
@@ -405,6 +416,67 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         }
     }
 
+    /**
+     * Create the channels and set their states from the list of remote items. After the first synchronization, only
+     * the channels of the items that were added, removed or changed are updated, and only the channels whose state
+     * changed are updated, so that reconnecting to a server with a lot of items doesn't rebuild the whole thing.
+     *
+     * @param items the list of remote items
+     * @return true if the channels were successfully created
+     */
+    private boolean synchronizeChannels(List<RemoteopenhabItem> items) {
+        Map<String, String> definitions = new HashMap<>();
+        items.forEach(item -> definitions.put(item.name, getItemDefinition(item)));
+        boolean fullSync = itemDefinitions.isEmpty();
+        if (fullSync) {
+            if (!createChannels(items, true)) {
+                return false;
+            }
+        } else {
+            List<RemoteopenhabItem> changedItems = new ArrayList<>();
+            List<RemoteopenhabItem> removedItems = new ArrayList<>();
+            for (RemoteopenhabItem item : items) {
+                if (!getItemDefinition(item).equals(itemDefinitions.get(item.name))) {
+                    if ("Group".equals(item.type) && item.groupType.isEmpty()) {
+                        // The item became a standard group for which there is no channel
+                        removedItems.add(item);
+                    } else {
+                        changedItems.add(item);
+                    }
+                }
+            }
+            for (String itemName : itemDefinitions.keySet()) {
+                if (!definitions.containsKey(itemName)) {
+                    RemoteopenhabItem item = new RemoteopenhabItem();
+                    item.name = itemName;
+                    removedItems.add(item);
+                }
+            }
+            logger.debug("Delta synchronization for the thing {}: {} items added or changed, {} items removed",
+                    getThing().getUID(), changedItems.size(), removedItems.size());
+            if (!removedItems.isEmpty()) {
+                removeChannels(removedItems);
+            }
+            if (!changedItems.isEmpty() && !createChannels(changedItems, false)) {
+                itemDefinitions.clear();
+                return false;
+            }
+        }
+        itemDefinitions.clear();
+        itemDefinitions.putAll(definitions);
+        setDynamicOptions(items);
+        for (RemoteopenhabItem item : items) {
+            updateChannelState(item.name, null, item.state, !fullSync);
+        }
+        return true;
+    }
+
+    private String getItemDefinition(RemoteopenhabItem item) {
+        RemoteopenhabStateDescription stateDescription = item.stateDescription;
+        return stateDescription == null ? item.type + "|" + item.groupType
+                : item.type + "|" + item.groupType + "|" + stateDescription.readOnly + "|" + stateDescription.pattern;
+    }
+
     private void startCheckConnectionJob(int accessibilityInterval, int aliveInterval, boolean restartIfNoActivity) {
         ScheduledFuture<?> localCheckConnectionJob = checkConnectionJob;
         if (localCheckConnectionJob == null || localCheckConnectionJob.isCancelled()) {
@@ -487,21 +559,51 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     @Override
     public void onItemStateEvent(String itemName, String stateType, String state, boolean onlyIfStateChanged) {
-        updateChannelState(itemName, stateType, state, onlyIfStateChanged);
+        synchronized (pendingStateEvents) {
+            pendingStateEvents.add(new StateEvent(itemName, stateType, state, onlyIfStateChanged));
+            if (stateEventsApplying) {
+                // The events are applied with the running batch
+                return;
+            }
+            stateEventsApplying = true;
+        }
+        scheduler.execute(this::applyPendingStateEvents);
+    }
+
+    private void applyPendingStateEvents() {
+        while (true) {
+            List<StateEvent> events;
+            synchronized (pendingStateEvents) {
+                if (pendingStateEvents.isEmpty()) {
+                    stateEventsApplying = false;
+                    return;
+                }
+                events = new ArrayList<>(pendingStateEvents);
+                pendingStateEvents.clear();
+            }
+            logger.trace("Applying a batch of {} state events", events.size());
+            for (StateEvent event : events) {
+                updateChannelState(event.itemName(), event.stateType(), event.state(), event.onlyIfStateChanged());
+            }
+        }
     }
 
     @Override
     public void onItemAdded(RemoteopenhabItem item) {
+        // The item definition is unknown until the next synchronization
+        itemDefinitions.remove(item.name);
         createChannels(List.of(item), false);
     }
 
     @Override
     public void onItemRemoved(RemoteopenhabItem item) {
+        itemDefinitions.remove(item.name);
         removeChannels(List.of(item));
     }
 
     @Override
     public void onItemUpdated(RemoteopenhabItem newItem, RemoteopenhabItem oldItem) {
+        itemDefinitions.remove(newItem.name);
         if (!newItem.type.equals(oldItem.type)) {
             createChannels(List.of(newItem), false);
         } else {
@@ -517,7 +619,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     private void updateChannelState(String itemName, @Nullable String stateType, String state,
             boolean onlyIfStateChanged) {
-        Channel channel = getThing().getChannel(itemName);
+        Channel channel = getChannel(itemName);
         if (channel == null) {
             logger.trace("No channel for item {}", itemName);
             return;
@@ -650,6 +752,23 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         }
     }
 
+    /**
+     * Get the channel of a remote item. The channels are looked up in a map which is rebuilt each time the thing is
+     * updated, as the lookup by the thing iterates over all channels.
+     */
+    private @Nullable Channel getChannel(String itemName) {
+        Thing thing = getThing();
+        synchronized (channelsLock) {
+            if (thing != channelsByItemNameThing) {
+                Map<String, Channel> channels = new HashMap<>();
+                thing.getChannels().forEach(channel -> channels.put(channel.getUID().getId(), channel));
+                channelsByItemName = channels;
+                channelsByItemNameThing = thing;
+            }
+            return channelsByItemName.get(itemName);
+        }
+    }
+
     private boolean checkStateType(String itemName, @Nullable String stateType, String expectedType) {
         if (stateType != null && !expectedType.equals(stateType)) {
             logger.debug("Unexpected value type {} for item {}", stateType, itemName);
@@ -663,4 +782,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Set.of(RemoteopenhabDiscoveryService.class);
     }
+
+    private record StateEvent(String itemName, @Nullable String stateType, String state, boolean onlyIfStateChanged) {
+    }
 }
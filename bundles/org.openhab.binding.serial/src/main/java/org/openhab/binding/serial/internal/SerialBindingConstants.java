@@ -34,6 +34,7 @@ public class SerialBindingConstants {
     public static final String TRIGGER_CHANNEL = "data";
     public static final String STRING_CHANNEL = "string";
     public static final String BINARY_CHANNEL = "binary";
+    public static final String FRAME_CHANNEL = "frame";
     public static final String DEVICE_STRING_CHANNEL = "string";
     public static final String DEVICE_NUMBER_CHANNEL = "number";
     public static final String DEVICE_DIMMER_CHANNEL = "dimmer";
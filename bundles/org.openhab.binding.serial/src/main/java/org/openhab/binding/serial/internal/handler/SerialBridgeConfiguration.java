@@ -52,9 +52,47 @@ public class SerialBridgeConfiguration {
      */
     public @Nullable String charset;
 
+    /**
+     * How received data is split into frames
+     */
+    public String framing = "idle";
+
+    /**
+     * Time in milliseconds without received data after which a frame is complete
+     */
+    public int frameTimeout = 100;
+
+    /**
+     * Frame delimiter as hex bytes
+     */
+    public @Nullable String frameDelimiter;
+
+    /**
+     * Frame length for fixed length framing
+     */
+    public int frameLength;
+
+    /**
+     * Offset of the length field for length prefix framing
+     */
+    public int lengthFieldOffset;
+
+    /**
+     * Size in bytes of the length field for length prefix framing
+     */
+    public int lengthFieldSize = 1;
+
+    /**
+     * Value added to the length field to get the number of bytes following the length field
+     */
+    public int lengthAdjustment;
+
     @Override
     public String toString() {
         return "SerialBridgeConfiguration [serialPort=" + serialPort + ", Baudrate=" + baudRate + ", Databits="
-                + dataBits + ", Parity=" + parity + ", Stopbits=" + stopBits + ", charset=" + charset + "]";
+                + dataBits + ", Parity=" + parity + ", Stopbits=" + stopBits + ", charset=" + charset + ", framing="
+                + framing + ", frameTimeout=" + frameTimeout + ", frameDelimiter=" + frameDelimiter + ", frameLength="
+                + frameLength + ", lengthFieldOffset=" + lengthFieldOffset + ", lengthFieldSize=" + lengthFieldSize
+                + ", lengthAdjustment=" + lengthAdjustment + "]";
     }
 }
@@ -13,6 +13,7 @@
 package org.openhab.binding.serial.internal.handler;
 
 import static org.openhab.binding.serial.internal.SerialBindingConstants.BINARY_CHANNEL;
+import static org.openhab.binding.serial.internal.SerialBindingConstants.FRAME_CHANNEL;
 import static org.openhab.binding.serial.internal.SerialBindingConstants.STRING_CHANNEL;
 import static org.openhab.binding.serial.internal.SerialBindingConstants.TRIGGER_CHANNEL;
 
@@ -27,9 +28,11 @@ import java.util.TooManyListenersException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.serial.internal.util.Framing;
 import org.openhab.binding.serial.internal.util.Parity;
 import org.openhab.binding.serial.internal.util.StopBits;
 import org.openhab.core.io.transport.serial.PortInUseException;
@@ -49,6 +52,7 @@ import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
+import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,7 +77,10 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
 
     private Charset charset = StandardCharsets.UTF_8;
 
-    private @Nullable String lastValue;
+    private @Nullable SerialFrameDecoder frameDecoder;
+    private Framing framing = Framing.IDLE;
+
+    private byte @Nullable [] lastValue;
 
     private final AtomicBoolean readerActive = new AtomicBoolean(false);
     private @Nullable ScheduledFuture<?> reader;
@@ -86,7 +93,7 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
     @Override
     public void handleCommand(final ChannelUID channelUID, final Command command) {
         if (command instanceof RefreshType) {
-            final String lastValue = this.lastValue;
+            final byte[] lastValue = this.lastValue;
 
             if (lastValue != null) {
                 refresh(channelUID.getId(), lastValue);
@@ -120,6 +127,16 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
             return;
         }
 
+        try {
+            final SerialFrameDecoder frameDecoder = new SerialFrameDecoder(config);
+            this.frameDecoder = frameDecoder;
+            framing = frameDecoder.getFraming();
+        } catch (final IllegalArgumentException e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                    "Invalid framing: " + e.getMessage());
+            return;
+        }
+
         final String port = config.serialPort;
         if (port == null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, "Port must be set");
@@ -199,6 +216,7 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
             this.reader = null;
         }
 
+        frameDecoder = null;
         lastValue = null;
     }
 
@@ -207,8 +225,7 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
         switch (event.getEventType()) {
             case SerialPortEvent.DATA_AVAILABLE:
                 if (readerActive.compareAndSet(false, true)) {
-                    reader = scheduler.schedule(() -> receiveAndProcess(new StringBuilder(), true), 0,
-                            TimeUnit.MILLISECONDS);
+                    reader = scheduler.schedule(() -> receiveAndProcess(true), 0, TimeUnit.MILLISECONDS);
                 }
                 break;
             default:
@@ -229,21 +246,21 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
      * Refreshes the channel with the last received data
      *
      * @param channelId the channel to refresh
-     * @param channelId the data to use
+     * @param data the data to use
      */
-    private void refresh(final String channelId, final String data) {
+    private void refresh(final String channelId, final byte[] data) {
         if (!isLinked(channelId)) {
             return;
         }
 
         switch (channelId) {
             case STRING_CHANNEL:
-                updateState(channelId, new StringType(data));
+                updateState(channelId, new StringType(new String(data, charset)));
                 break;
             case BINARY_CHANNEL:
                 final StringBuilder sb = new StringBuilder("data:");
                 sb.append(RawType.DEFAULT_MIME_TYPE).append(";base64,")
-                        .append(Base64.getEncoder().encodeToString(data.getBytes(charset)));
+                        .append(Base64.getEncoder().encodeToString(data));
                 updateState(channelId, new StringType(sb.toString()));
                 break;
             default:
@@ -253,55 +270,41 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
 
     /**
      * Read from the serial port and process the data
-     * 
-     * @param sb the string builder to receive the data
+     *
      * @param firstAttempt indicates if this is the first read attempt without waiting
      */
-    private void receiveAndProcess(final StringBuilder sb, final boolean firstAttempt) {
+    private void receiveAndProcess(final boolean firstAttempt) {
         final InputStream inputStream = this.inputStream;
+        final SerialFrameDecoder frameDecoder = this.frameDecoder;
 
-        if (inputStream == null) {
+        if (inputStream == null || frameDecoder == null) {
             readerActive.set(false);
             return;
         }
 
         try {
             if (firstAttempt || inputStream.available() > 0) {
-                final byte[] readBuffer = new byte[20];
-
-                // read data from serial device
+                // read data from serial device, complete frames are processed while reading
                 while (inputStream.available() > 0) {
-                    final int bytes = inputStream.read(readBuffer);
-                    sb.append(new String(readBuffer, 0, bytes, charset));
+                    if (frameDecoder.read(inputStream, this::processFrame) < 0) {
+                        break;
+                    }
                 }
 
                 // Add wait states around reading the stream, so that interrupted transmissions
                 // are merged
                 if (readerActive.get()) {
-                    reader = scheduler.schedule(() -> receiveAndProcess(sb, false), 100, TimeUnit.MILLISECONDS);
+                    reader = scheduler.schedule(() -> receiveAndProcess(false), config.frameTimeout,
+                            TimeUnit.MILLISECONDS);
                 }
 
             } else {
-                final String result = sb.toString();
-
-                triggerChannel(TRIGGER_CHANNEL, CommonTriggerEvents.PRESSED);
-                refresh(STRING_CHANNEL, result);
-                refresh(BINARY_CHANNEL, result);
-
-                result.lines().forEach(l -> getThing().getThings().forEach(t -> {
-                    final SerialDeviceHandler device = (SerialDeviceHandler) t.getHandler();
-                    if (device != null) {
-                        device.handleData(l);
-                    }
-                }));
-
-                lastValue = result;
+                frameDecoder.idle(this::processFrame);
 
                 if (readerActive.compareAndSet(true, false)) {
                     // Check we haven't received more data while processing
                     if (inputStream.available() > 0 && readerActive.compareAndSet(false, true)) {
-                        reader = scheduler.schedule(() -> receiveAndProcess(new StringBuilder(), true), 0,
-                                TimeUnit.MILLISECONDS);
+                        reader = scheduler.schedule(() -> receiveAndProcess(true), 0, TimeUnit.MILLISECONDS);
                     }
                 }
             }
@@ -311,6 +314,30 @@ public class SerialBridgeHandler extends BaseBridgeHandler implements SerialPort
         }
     }
 
+    /**
+     * Process a frame received from the serial port
+     *
+     * @param frame the received frame
+     */
+    private void processFrame(final byte[] frame) {
+        triggerChannel(TRIGGER_CHANNEL, CommonTriggerEvents.PRESSED);
+        triggerChannel(FRAME_CHANNEL, HexUtils.bytesToHex(frame));
+        refresh(STRING_CHANNEL, frame);
+        refresh(BINARY_CHANNEL, frame);
+
+        // binary frames are passed as a whole, as they may contain line breaks
+        final String data = new String(frame, charset);
+        final Stream<String> lines = framing == Framing.IDLE ? data.lines() : Stream.of(data);
+        lines.forEach(l -> getThing().getThings().forEach(t -> {
+            final SerialDeviceHandler device = (SerialDeviceHandler) t.getHandler();
+            if (device != null) {
+                device.handleData(l);
+            }
+        }));
+
+        lastValue = frame;
+    }
+
     /**
      * Sends a string to the serial port.
      *
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.serial.internal.util.Framing;
+import org.openhab.core.util.HexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SerialFrameDecoder} splits the data received from the serial port into frames. The data is read
+ * directly into a buffer which is reused for all frames, only the complete frames are copied.
+ *
+ * @author Mike Major - Initial contribution
+ */
+@NonNullByDefault
+public class SerialFrameDecoder {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(SerialFrameDecoder.class);
+
+    private final Framing framing;
+    private final byte[] delimiter;
+    private final int frameLength;
+    private final int lengthFieldOffset;
+    private final int lengthFieldSize;
+    private final int lengthAdjustment;
+
+    /**
+     * The received data, in write mode between calls
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Number of bytes at the start of the buffer already searched for the delimiter
+     */
+    private int delimiterSearched;
+
+    /**
+     * Creates a decoder from the bridge configuration
+     *
+     * @param config the bridge configuration
+     * @throws IllegalArgumentException if the framing configuration is invalid
+     */
+    public SerialFrameDecoder(final SerialBridgeConfiguration config) {
+        framing = Framing.fromConfig(config.framing);
+        frameLength = config.frameLength;
+        lengthFieldOffset = config.lengthFieldOffset;
+        lengthFieldSize = config.lengthFieldSize;
+        lengthAdjustment = config.lengthAdjustment;
+
+        switch (framing) {
+            case DELIMITER:
+                final String frameDelimiter = config.frameDelimiter;
+                delimiter = frameDelimiter == null ? new byte[0]
+                        : HexUtils.hexToBytes(frameDelimiter.replaceAll("\\s", ""));
+                if (delimiter.length == 0) {
+                    throw new IllegalArgumentException("Frame delimiter must be set");
+                }
+                break;
+            case FIXED_LENGTH:
+                delimiter = new byte[0];
+                if (frameLength < 1 || frameLength > BUFFER_SIZE) {
+                    throw new IllegalArgumentException("Frame length must be between 1 and " + BUFFER_SIZE);
+                }
+                break;
+            case LENGTH_PREFIX:
+                delimiter = new byte[0];
+                if (lengthFieldSize < 1 || lengthFieldSize > 4) {
+                    throw new IllegalArgumentException("Length field size must be between 1 and 4");
+                }
+                if (lengthFieldOffset < 0) {
+                    throw new IllegalArgumentException("Length field offset must not be negative");
+                }
+                break;
+            default:
+                delimiter = new byte[0];
+                break;
+        }
+    }
+
+    /**
+     * Return the framing
+     *
+     * @return the framing
+     */
+    public Framing getFraming() {
+        return framing;
+    }
+
+    /**
+     * Reads the available data from the stream and passes the complete frames to the consumer.
+     *
+     * @param inputStream the stream to read from
+     * @param consumer the consumer of the frames
+     * @return the number of bytes read, or -1 if the end of the stream is reached
+     * @throws IOException if reading from the stream fails
+     */
+    public int read(final InputStream inputStream, final Consumer<byte[]> consumer) throws IOException {
+        final int bytes = inputStream.read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                buffer.remaining());
+
+        if (bytes > 0) {
+            buffer.position(buffer.position() + bytes);
+            decode(consumer);
+        }
+        return bytes;
+    }
+
+    /**
+     * Called when no data was received within the frame timeout. With idle and delimiter framing the remaining data
+     * is passed as frame to the consumer, with the other framings an incomplete frame is discarded, so the next frame
+     * is read from its start.
+     *
+     * @param consumer the consumer of the frames
+     */
+    public void idle(final Consumer<byte[]> consumer) {
+        if (buffer.position() == 0) {
+            return;
+        }
+        if (framing == Framing.IDLE || framing == Framing.DELIMITER) {
+            emitAll(consumer);
+        } else {
+            logger.debug("Discarding {} bytes of incomplete frame", buffer.position());
+            clear();
+        }
+    }
+
+    /**
+     * Discards the received data
+     */
+    public void clear() {
+        buffer.clear();
+        delimiterSearched = 0;
+    }
+
+    private void decode(final Consumer<byte[]> consumer) {
+        if (framing == Framing.IDLE) {
+            if (!buffer.hasRemaining()) {
+                logger.debug("Received more than {} bytes without pause, splitting data", BUFFER_SIZE);
+                emitAll(consumer);
+            }
+            return;
+        }
+
+        buffer.flip();
+        int length;
+        while ((length = nextFrameLength()) > 0) {
+            final byte[] frame = new byte[length - delimiter.length];
+
+            buffer.get(frame);
+            buffer.position(buffer.position() + delimiter.length);
+            delimiterSearched = 0;
+            consumer.accept(frame);
+        }
+        buffer.compact();
+
+        if (length < 0 || !buffer.hasRemaining()) {
+            logger.debug("Discarding {} bytes of data not matching the {} framing", buffer.position(), framing);
+            clear();
+        }
+    }
+
+    /**
+     * Returns the length of the frame at the position of the buffer
+     *
+     * @return the length of the frame including the delimiter, 0 if the frame is incomplete or -1 if the data isn't a
+     *         valid frame
+     */
+    private int nextFrameLength() {
+        final int start = buffer.position();
+        final int available = buffer.remaining();
+
+        switch (framing) {
+            case DELIMITER:
+                for (int i = Math.max(0, delimiterSearched - delimiter.length + 1); i <= available
+                        - delimiter.length; i++) {
+                    if (matchesDelimiter(start + i)) {
+                        return i + delimiter.length;
+                    }
+                }
+                delimiterSearched = available;
+                return 0;
+            case FIXED_LENGTH:
+                return available >= frameLength ? frameLength : 0;
+            case LENGTH_PREFIX:
+                final int headerLength = lengthFieldOffset + lengthFieldSize;
+                if (available < headerLength) {
+                    return 0;
+                }
+                long length = 0;
+                for (int i = 0; i < lengthFieldSize; i++) {
+                    length = (length << 8) | (buffer.get(start + lengthFieldOffset + i) & 0xFF);
+                }
+                final long totalLength = headerLength + length + lengthAdjustment;
+                if (totalLength < headerLength || totalLength > buffer.capacity()) {
+                    return -1;
+                }
+                return available >= totalLength ? (int) totalLength : 0;
+            default:
+                return 0;
+        }
+    }
+
+    private boolean matchesDelimiter(final int index) {
+        for (int i = 0; i < delimiter.length; i++) {
+            if (buffer.get(index + i) != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void emitAll(final Consumer<byte[]> consumer) {
+        final byte[] frame = new byte[buffer.position()];
+
+        buffer.flip();
+        buffer.get(frame);
+        clear();
+        consumer.accept(frame);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.util;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Enum to convert config framing value to the way received data is split into frames
+ *
+ * @author Mike Major - Initial contribution
+ */
+@NonNullByDefault
+public enum Framing {
+    /**
+     * A frame is all data received until no data is received within the frame timeout
+     */
+    IDLE("idle"),
+    /**
+     * A frame ends with a delimiter
+     */
+    DELIMITER("delimiter"),
+    /**
+     * All frames have the same length
+     */
+    FIXED_LENGTH("fixedLength"),
+    /**
+     * The length of a frame is given by a field in the frame header
+     */
+    LENGTH_PREFIX("lengthPrefix");
+
+    final String configValue;
+
+    private Framing(final String configValue) {
+        this.configValue = configValue;
+    }
+
+    /**
+     * Return the enum value from the config value
+     *
+     * @param configValue the config value
+     * @return the enum value
+     * @throws IllegalArgumentException if the config value is unknown
+     */
+    public static Framing fromConfig(final String configValue) {
+        return Arrays.asList(values()).stream().filter(f -> f.configValue.equals(configValue)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown framing '" + configValue + "'"));
+    }
+}
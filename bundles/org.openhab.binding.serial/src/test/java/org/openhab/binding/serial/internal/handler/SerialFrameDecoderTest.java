@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SerialFrameDecoder}.
+ *
+ * @author Mike Major - Initial contribution
+ */
+@NonNullByDefault
+public class SerialFrameDecoderTest {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final List<byte[]> frames = new ArrayList<>();
+
+    @Test
+    public void delimiterSplitAcrossReads() throws IOException {
+        SerialFrameDecoder decoder = decoder("delimiter", config -> config.frameDelimiter = "0D 0A");
+
+        read(decoder, 0x41, 0x42, 0x0D);
+        assertTrue(frames.isEmpty());
+        read(decoder, 0x0A, 0x43, 0x0D, 0x0A, 0x44);
+
+        assertFrames(bytes(0x41, 0x42), bytes(0x43));
+        // the remaining data is passed as frame when the frame timeout expires
+        decoder.idle(frames::add);
+        assertFrames(bytes(0x41, 0x42), bytes(0x43), bytes(0x44));
+    }
+
+    @Test
+    public void delimiterNotFoundInFullBuffer() throws IOException {
+        SerialFrameDecoder decoder = decoder("delimiter", config -> config.frameDelimiter = "0D0A");
+
+        byte[] data = new byte[BUFFER_SIZE];
+        Arrays.fill(data, (byte) 0x41);
+        data[BUFFER_SIZE - 1] = 0x0D;
+        assertEquals(BUFFER_SIZE, decoder.read(new ByteArrayInputStream(data), frames::add));
+        // the data is discarded, the start of the delimiter at the end of the buffer is discarded as well
+        assertTrue(frames.isEmpty());
+
+        read(decoder, 0x0A, 0x42, 0x0D, 0x0A);
+        assertFrames(bytes(0x0A, 0x42));
+    }
+
+    @Test
+    public void fixedLengthSplitAcrossReads() throws IOException {
+        SerialFrameDecoder decoder = decoder("fixedLength", config -> config.frameLength = 4);
+
+        read(decoder, 1, 2, 3);
+        assertTrue(frames.isEmpty());
+        read(decoder, 4, 5);
+        assertFrames(bytes(1, 2, 3, 4));
+        read(decoder, 6, 7, 8, 9, 10, 11, 12, 13);
+        assertFrames(bytes(1, 2, 3, 4), bytes(5, 6, 7, 8), bytes(9, 10, 11, 12));
+
+        // an incomplete frame is discarded when the frame timeout expires
+        decoder.idle(frames::add);
+        read(decoder, 21, 22, 23, 24);
+        assertFrames(bytes(1, 2, 3, 4), bytes(5, 6, 7, 8), bytes(9, 10, 11, 12), bytes(21, 22, 23, 24));
+    }
+
+    @Test
+    public void lengthPrefix() throws IOException {
+        SerialFrameDecoder decoder = decoder("lengthPrefix", config -> {
+            config.lengthFieldOffset = 1;
+            config.lengthFieldSize = 2;
+            config.lengthAdjustment = 1;
+        });
+
+        // start byte, length of the payload without the checksum, payload and checksum
+        read(decoder, 0x02, 0x00);
+        read(decoder, 0x02, 0x11);
+        assertTrue(frames.isEmpty());
+        read(decoder, 0x12, 0x33, 0x02, 0x00, 0x00, 0x44);
+
+        assertFrames(bytes(0x02, 0x00, 0x02, 0x11, 0x12, 0x33), bytes(0x02, 0x00, 0x00, 0x44));
+    }
+
+    @Test
+    public void lengthPrefixOutOfBoundsIsDiscarded() throws IOException {
+        SerialFrameDecoder decoder = decoder("lengthPrefix", config -> {
+            config.lengthFieldSize = 2;
+            config.lengthAdjustment = -3;
+        });
+
+        // the length is smaller than the adjustment
+        read(decoder, 0x00, 0x02, 0x11, 0x12);
+        assertTrue(frames.isEmpty());
+        // the length exceeds the buffer
+        read(decoder, 0xFF, 0xFF, 0x11, 0x12);
+        assertTrue(frames.isEmpty());
+
+        read(decoder, 0x00, 0x04, 0x11);
+        assertFrames(bytes(0x00, 0x04, 0x11));
+    }
+
+    @Test
+    public void idleFramingSplitsFullBuffer() throws IOException {
+        SerialFrameDecoder decoder = decoder("idle", config -> {
+        });
+
+        read(decoder, 1, 2);
+        read(decoder, 3);
+        assertTrue(frames.isEmpty());
+        decoder.idle(frames::add);
+        assertFrames(bytes(1, 2, 3));
+
+        byte[] data = new byte[BUFFER_SIZE + 1];
+        Arrays.fill(data, (byte) 0x41);
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(data);
+        assertEquals(BUFFER_SIZE, decoder.read(inputStream, frames::add));
+        assertEquals(2, frames.size());
+        assertEquals(BUFFER_SIZE, frames.get(1).length);
+
+        assertEquals(1, decoder.read(inputStream, frames::add));
+        assertEquals(-1, decoder.read(inputStream, frames::add));
+        decoder.idle(frames::add);
+        assertArrayEquals(bytes(0x41), frames.get(2));
+    }
+
+    @Test
+    public void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> decoder("fixedlength", config -> config.frameLength = 4));
+        assertThrows(IllegalArgumentException.class, () -> decoder("delimiter", config -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> decoder("fixedLength", config -> config.frameLength = 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> decoder("lengthPrefix", config -> config.lengthFieldSize = 5));
+    }
+
+    private SerialFrameDecoder decoder(String framing, ConfigCustomizer customizer) {
+        SerialBridgeConfiguration config = new SerialBridgeConfiguration();
+        config.framing = framing;
+        customizer.customize(config);
+        return new SerialFrameDecoder(config);
+    }
+
+    private void read(SerialFrameDecoder decoder, int... data) throws IOException {
+        assertEquals(data.length, decoder.read(new ByteArrayInputStream(bytes(data)), frames::add));
+    }
+
+    private void assertFrames(byte[]... expected) {
+        assertEquals(expected.length, frames.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], frames.get(i));
+        }
+    }
+
+    private static byte[] bytes(int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return bytes;
+    }
+
+    private interface ConfigCustomizer {
+        void customize(SerialBridgeConfiguration config);
+    }
+}
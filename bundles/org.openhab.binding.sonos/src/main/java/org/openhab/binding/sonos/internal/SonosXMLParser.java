@@ -17,8 +17,10 @@ import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,6 +65,15 @@ public class SonosXMLParser {
             </DIDL-Lite>\
             """;
 
+    /** Number of parsed LastChange events and DIDL-Lite meta data documents kept for reuse */
+    private static final int PARSED_CACHE_SIZE = 32;
+
+    private static final ParserPool PARSERS = new ParserPool(false);
+    private static final ParserPool SECURE_PARSERS = new ParserPool(true);
+
+    private static final Map<String, Map<String, String>> AV_TRANSPORT_CACHE = createCache();
+    private static final Map<String, SonosMetaData> METADATA_CACHE = createCache();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -88,6 +99,60 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * Keeps one {@link SAXParser} per thread, as creating the factory and the parser costs much more than parsing
+     * the short documents sent by the zone players. A parser is only reused after the previous parse has finished,
+     * so nested parsing from within a handler gets its own parser.
+     */
+    private static class ParserPool {
+        private final boolean disallowDoctype;
+        private final ThreadLocal<@Nullable SAXParser> idleParser = new ThreadLocal<>();
+        private @Nullable SAXParserFactory factory;
+
+        ParserPool(boolean disallowDoctype) {
+            this.disallowDoctype = disallowDoctype;
+        }
+
+        void parse(InputSource source, DefaultHandler handler)
+                throws IOException, SAXException, ParserConfigurationException {
+            SAXParser parser = idleParser.get();
+            if (parser == null) {
+                parser = newParser();
+            } else {
+                idleParser.remove();
+            }
+            try {
+                parser.parse(source, handler);
+            } finally {
+                parser.reset();
+                idleParser.set(parser);
+            }
+        }
+
+        private synchronized SAXParser newParser() throws SAXException, ParserConfigurationException {
+            SAXParserFactory factory = this.factory;
+            if (factory == null) {
+                factory = SAXParserFactory.newInstance();
+                if (disallowDoctype) {
+                    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                }
+                this.factory = factory;
+            }
+            return factory.newSAXParser();
+        }
+    }
+
+    private static <V> Map<String, V> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(PARSED_CACHE_SIZE, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > PARSED_CACHE_SIZE;
+            }
+        });
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -95,9 +160,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Alarms from string '{}'", xml);
         }
@@ -111,9 +174,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Entries from string '{}'", xml);
         }
@@ -132,12 +193,9 @@ public class SonosXMLParser {
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml)
             throws SAXException, ParserConfigurationException {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        SAXParser saxParser = factory.newSAXParser();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
         try {
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            SECURE_PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException e) {
             LOGGER.warn("Could not parse Resource MetaData from string '{}'", xml);
         }
@@ -151,9 +209,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse ZoneGroup from string '{}'", xml);
         }
@@ -164,9 +220,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse RadioTime from string '{}'", xml);
         }
@@ -177,46 +231,65 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Rendering Control from string '{}'", xml);
         }
         return handler.getChanges();
     }
 
+    /**
+     * The result is shared with all other callers parsing the same LastChange event and must not be modified.
+     *
+     * @param xml
+     * @return an unmodifiable map of the changed AV transport variables
+     */
     public static Map<String, String> getAVTransportFromXML(String xml) {
+        Map<String, String> changes = AV_TRANSPORT_CACHE.get(xml);
+        if (changes != null) {
+            return changes;
+        }
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse AV Transport from string '{}'", xml);
+            return Collections.unmodifiableMap(handler.getChanges());
         }
-        return handler.getChanges();
+        changes = Collections.unmodifiableMap(handler.getChanges());
+        AV_TRANSPORT_CACHE.put(xml, changes);
+        return changes;
     }
 
+    /**
+     * The DIDL-Lite meta data of the current track is requested by all members of a group for every event, so the
+     * result of recently parsed meta data is reused.
+     *
+     * @param xml
+     * @return the meta data from the given DIDL-Lite xml string
+     */
     public static SonosMetaData getMetaDataFromXML(String xml) {
+        SonosMetaData metaData = METADATA_CACHE.get(xml);
+        if (metaData != null) {
+            return metaData;
+        }
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse MetaData from string '{}'", xml);
+            return handler.getMetaData();
         }
 
-        return handler.getMetaData();
+        metaData = handler.getMetaData();
+        METADATA_CACHE.put(xml, metaData);
+        return metaData;
     }
 
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(new StringReader(xml)), handler);
+            PARSERS.parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse music services from string '{}'", xml);
         }
@@ -915,9 +988,7 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(URL descriptorURL) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(descriptorURL.openStream()), roomNameHandler);
+            PARSERS.parse(new InputSource(descriptorURL.openStream()), roomNameHandler);
         } catch (SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Sonos room name from URL '{}'", descriptorURL);
         } catch (IOException e) {
@@ -955,9 +1026,7 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
-            saxParser.parse(new InputSource(descriptorURL.openStream()), modelNameHandler);
+            PARSERS.parse(new InputSource(descriptorURL.openStream()), modelNameHandler);
         } catch (SAXException | ParserConfigurationException e) {
             LOGGER.warn("Could not parse Sonos model name from URL '{}'", descriptorURL);
         } catch (IOException e) {
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -184,7 +185,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final Object stateLock = new Object();
     private final Object jobLock = new Object();
 
-    private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, String> stateMap = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> pollingJob;
     private @Nullable SonosZonePlayerState savedState;
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays the GENA notifications of a group of zone players for a series of track changes, and measures the time
+ * needed for parsing them. Every track change is a new event, which is received by all zone players of the group.
+ *
+ * Run with {@code -Dsonos.benchmark=true}.
+ *
+ * @author Laurent Garnier - Initial contribution
+ */
+@NonNullByDefault
+public class SonosEventParsingBenchmarkTest {
+    private static final int ZONE_PLAYERS = 12;
+    private static final int TRACK_CHANGES = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(SonosEventParsingBenchmarkTest.class);
+
+    private String readResource(String name) throws IOException {
+        InputStream resourceStream = getClass().getResourceAsStream(name);
+        assertNotNull(resourceStream);
+        return new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Handles one notification like the zone player handler does: the LastChange events are parsed, then the
+     * DIDL-Lite meta data of the current track and of the enqueued URI are read.
+     */
+    private String handleEvents(String avTransportEvent, String renderingControlEvent) {
+        Map<String, String> avTransport = SonosXMLParser.getAVTransportFromXML(avTransportEvent);
+        Map<String, String> renderingControl = SonosXMLParser.getRenderingControlFromXML(renderingControlEvent);
+        String trackMetaData = avTransport.get("CurrentTrackMetaData");
+        String enqueuedMetaData = avTransport.get("EnqueuedTransportURIMetaData");
+        assertNotNull(trackMetaData);
+        assertNotNull(enqueuedMetaData);
+        SonosMetaData track = SonosXMLParser.getMetaDataFromXML(trackMetaData);
+        SonosMetaData enqueued = SonosXMLParser.getMetaDataFromXML(enqueuedMetaData);
+        return track.getTitle() + "|" + enqueued.getTitle() + "|" + renderingControl.get("VolumeMaster");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "sonos.benchmark", matches = "true", disabledReason = "Only for manual execution.")
+    public void replayGroupNotifications() throws Exception {
+        String avTransportEvent = readResource("/AVTransportLastChange.xml");
+        String renderingControlEvent = readResource("/RenderingControlLastChange.xml");
+        assertTrue(avTransportEvent.contains("Turn Down for What"));
+
+        // Warm up the parsers of the current thread
+        assertEquals("Turn Down for What|Queue|23", handleEvents(avTransportEvent, renderingControlEvent));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long start = System.nanoTime();
+            List<Future<String>> results = new ArrayList<>();
+            for (int track = 0; track < TRACK_CHANGES; track++) {
+                String trackEvent = avTransportEvent.replace("Turn Down for What", "Track " + track);
+                for (int player = 0; player < ZONE_PLAYERS; player++) {
+                    // Every notification arrives as a new string, like it is received from the network
+                    String avTransport = new String(trackEvent);
+                    String renderingControl = new String(renderingControlEvent);
+                    results.add(executor.submit(() -> handleEvents(avTransport, renderingControl)));
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("Track " + i / ZONE_PLAYERS + "|Queue|23", results.get(i).get(30, TimeUnit.SECONDS));
+            }
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            logger.info("Parsed {} notifications of {} track changes in {} ms ({} µs per notification)",
+                    results.size(), TRACK_CHANGES, elapsedMicros / 1000, elapsedMicros / results.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
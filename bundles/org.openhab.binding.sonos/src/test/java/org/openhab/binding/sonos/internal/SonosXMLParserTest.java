@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
@@ -99,6 +100,65 @@ public class SonosXMLParserTest {
                 sonosMetaData.getAlbumArtUri());
     }
 
+    @Test
+    public void getAVTransportFromXML() throws IOException {
+        InputStream resourceStream = getClass().getResourceAsStream("/AVTransportLastChange.xml");
+        assertNotNull(resourceStream);
+        final String xml = new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(xml);
+        assertEquals("PLAYING", changes.get("TransportState"));
+        assertEquals("SHUFFLE_NOREPEAT", changes.get("CurrentPlayMode"));
+        assertEquals("x-rincon-queue:RINCON_000E58A1B2C301400#0", changes.get("AVTransportURI"));
+        assertEquals("file:///jffs/settings/savedqueues.rsq#12", changes.get("EnqueuedTransportURI"));
+        String trackMetaData = changes.get("CurrentTrackMetaData");
+        assertNotNull(trackMetaData);
+        assertEquals("Turn Down for What", SonosXMLParser.getMetaDataFromXML(trackMetaData).getTitle());
+
+        // The same event received by another group member returns the already parsed values
+        assertSame(changes, SonosXMLParser.getAVTransportFromXML(new String(xml)));
+        assertSame(SonosXMLParser.getMetaDataFromXML(trackMetaData),
+                SonosXMLParser.getMetaDataFromXML(new String(trackMetaData)));
+        assertThrows(UnsupportedOperationException.class, () -> changes.put("TransportState", "STOPPED"));
+    }
+
+    @Test
+    public void getAVTransportFromXMLDifferentEvents() throws IOException {
+        InputStream resourceStream = getClass().getResourceAsStream("/AVTransportLastChange.xml");
+        assertNotNull(resourceStream);
+        final String xml = new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
+        final String otherXml = xml.replace("PLAYING", "PAUSED_PLAYBACK").replace("Turn Down for What", "Lean On");
+
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(xml);
+        Map<String, String> otherChanges = SonosXMLParser.getAVTransportFromXML(otherXml);
+        assertNotSame(changes, otherChanges);
+        assertEquals("PLAYING", changes.get("TransportState"));
+        assertEquals("PAUSED_PLAYBACK", otherChanges.get("TransportState"));
+
+        String trackMetaData = changes.get("CurrentTrackMetaData");
+        String otherTrackMetaData = otherChanges.get("CurrentTrackMetaData");
+        assertNotNull(trackMetaData);
+        assertNotNull(otherTrackMetaData);
+        assertEquals("Turn Down for What", SonosXMLParser.getMetaDataFromXML(trackMetaData).getTitle());
+        assertEquals("Lean On", SonosXMLParser.getMetaDataFromXML(otherTrackMetaData).getTitle());
+
+        // Parsing the first event again still returns its own shared result
+        assertSame(changes, SonosXMLParser.getAVTransportFromXML(new String(xml)));
+    }
+
+    @Test
+    public void getRenderingControlFromXML() throws IOException {
+        InputStream resourceStream = getClass().getResourceAsStream("/RenderingControlLastChange.xml");
+        assertNotNull(resourceStream);
+        final String xml = new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> changes = SonosXMLParser.getRenderingControlFromXML(xml);
+        assertEquals("23", changes.get("VolumeMaster"));
+        assertEquals("0", changes.get("MuteMaster"));
+        assertEquals("1", changes.get("LoudnessMaster"));
+        assertEquals("2", changes.get("Treble"));
+        assertEquals("1", changes.get("SubEnabled"));
+        assertEquals("FactoryDefaults", changes.get("PresetNameList"));
+    }
+
     @Test
     public void compileMetadataString() {
         SonosEntry sonosEntry = new SonosEntry("1", "Can't Buy Me Love", "0", "A Hard Day's Night", "", "",
@@ -113,7 +113,8 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
     Tr064RootHandler(Bridge bridge, HttpClient httpClient) {
         super(bridge);
         this.httpClient = httpClient;
-        this.soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout);
+        this.soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout,
+                Tr064RootConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS);
     }
 
     @Override
@@ -154,8 +155,8 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
         }
 
         endpointBaseURL = "http://" + config.host + ":49000";
-        soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout);
         timeout = config.timeout;
+        soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout, config.maxConcurrentRequests);
         updateStatus(ThingStatus.UNKNOWN);
 
         connectFuture = scheduler.scheduleWithFixedDelay(this::internalInitialize, 0, RETRY_INTERVAL, TimeUnit.SECONDS);
@@ -214,15 +215,10 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
      */
     private void poll() {
         try {
-            channels.forEach((channelUID, channelConfig) -> {
-                if (isLinked(channelUID)) {
-                    State state = stateCache.putIfAbsentAndGet(channelUID,
-                            () -> soapConnector.getChannelStateFromDevice(channelConfig, channels, stateCache));
-                    if (state != null) {
-                        updateState(channelUID, state);
-                    }
-                }
-            });
+            Map<ChannelUID, Tr064ChannelConfig> linkedChannels = channels.entrySet().stream()
+                    .filter(channel -> isLinked(channel.getKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            soapConnector.refreshChannelStatesFromDevice(linkedChannels, this::updateState);
         } catch (RuntimeException e) {
             logger.warn("Exception while refreshing remote data for thing '{}':", thing.getUID(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
@@ -256,7 +252,8 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
                     soapValueConverter.getStateFromSOAPValue(soapResponse, "NewSecurityPort", null)
                             .ifPresentOrElse(port -> {
                                 endpointBaseURL = "https://" + config.host + ":" + port;
-                                soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout);
+                                soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout,
+                                        config.maxConcurrentRequests);
                                 logger.debug("endpointBaseURL is now '{}'", endpointBaseURL);
                             }, () -> logger.warn("Could not determine secure port, disabling https"));
                 } else {
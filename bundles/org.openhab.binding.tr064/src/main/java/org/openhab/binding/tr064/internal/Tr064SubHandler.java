@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -189,15 +190,14 @@ public class Tr064SubHandler extends BaseThingHandler {
      */
     private void poll() {
         SOAPConnector soapConnector = this.soapConnector;
-        channels.forEach((channelUID, channelConfig) -> {
-            if (isLinked(channelUID)) {
-                State state = stateCache.putIfAbsentAndGet(channelUID, () -> soapConnector == null ? UnDefType.UNDEF
-                        : soapConnector.getChannelStateFromDevice(channelConfig, channels, stateCache));
-                if (state != null) {
-                    updateState(channelUID, state);
-                }
-            }
-        });
+        Map<ChannelUID, Tr064ChannelConfig> linkedChannels = channels.entrySet().stream()
+                .filter(channel -> isLinked(channel.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (soapConnector == null) {
+            linkedChannels.keySet().forEach(channelUID -> updateState(channelUID, UnDefType.UNDEF));
+        } else {
+            soapConnector.refreshChannelStatesFromDevice(linkedChannels, this::updateState);
+        }
     }
 
     /**
@@ -19,12 +19,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import javax.xml.soap.MessageFactory;
@@ -37,6 +48,7 @@ import javax.xml.soap.SOAPMessage;
 import javax.xml.soap.SOAPPart;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.ContentResponse;
@@ -50,7 +62,9 @@ import org.openhab.binding.tr064.internal.dto.config.ActionType;
 import org.openhab.binding.tr064.internal.dto.config.ChannelTypeDescription;
 import org.openhab.binding.tr064.internal.dto.scpd.root.SCPDServiceType;
 import org.openhab.binding.tr064.internal.dto.scpd.service.SCPDActionType;
+import org.openhab.core.cache.ExpiringCache;
 import org.openhab.core.cache.ExpiringCacheMap;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
@@ -67,22 +81,41 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class SOAPConnector {
+    private static final Duration SOAP_MESSAGE_CACHE_DURATION = Duration.ofMillis(2000);
+    private static final String THREAD_POOL_NAME = "binding-tr064";
+    // creating a MessageFactory is expensive, the factory itself is stateless
+    private static @Nullable MessageFactory messageFactory;
+
     private final Logger logger = LoggerFactory.getLogger(SOAPConnector.class);
     private final HttpClient httpClient;
     private final String endpointBaseURL;
     private final SOAPValueConverter soapValueConverter;
     private final int timeout;
+    private final int maxConcurrentRequests;
+    private final Semaphore requestPermits;
 
-    private final ExpiringCacheMap<SOAPRequest, SOAPMessage> soapMessageCache = new ExpiringCacheMap<>(
-            Duration.ofMillis(2000));
+    // one cache per request, so that different requests can be executed concurrently while the same request is only
+    // executed once
+    private final Map<SOAPRequest, ExpiringCache<SOAPMessage>> soapMessageCache = new ConcurrentHashMap<>();
 
-    public SOAPConnector(HttpClient httpClient, String endpointBaseURL, int timeout) {
+    public SOAPConnector(HttpClient httpClient, String endpointBaseURL, int timeout, int maxConcurrentRequests) {
         this.httpClient = httpClient;
         this.endpointBaseURL = endpointBaseURL;
         this.timeout = timeout;
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.requestPermits = new Semaphore(this.maxConcurrentRequests, true);
         this.soapValueConverter = new SOAPValueConverter(httpClient, timeout);
     }
 
+    private static synchronized MessageFactory getMessageFactory() throws SOAPException {
+        MessageFactory messageFactory = SOAPConnector.messageFactory;
+        if (messageFactory == null) {
+            messageFactory = MessageFactory.newInstance();
+            SOAPConnector.messageFactory = messageFactory;
+        }
+        return messageFactory;
+    }
+
     /**
      * prepare a SOAP request for an action request to a service
      *
@@ -92,8 +125,7 @@ public class SOAPConnector {
      * @throws SOAPException if a problem with creating the SOAP message occurs
      */
     private Request prepareSOAPRequest(SOAPRequest soapRequest) throws IOException, SOAPException {
-        MessageFactory messageFactory = MessageFactory.newInstance();
-        SOAPMessage soapMessage = messageFactory.createMessage();
+        SOAPMessage soapMessage = getMessageFactory().createMessage();
         SOAPPart soapPart = soapMessage.getSOAPPart();
         SOAPEnvelope envelope = soapPart.getEnvelope();
         envelope.setEncodingStyle("http://schemas.xmlsoap.org/soap/encoding/");
@@ -138,17 +170,21 @@ public class SOAPConnector {
      * @throws Tr064CommunicationException if an error occurs during the request
      */
     public SOAPMessage doSOAPRequest(SOAPRequest soapRequest) throws Tr064CommunicationException {
+        // expired responses are not needed anymore, they are requested again if the request is repeated
+        soapMessageCache.values().removeIf(ExpiringCache::isExpired);
         try {
-            SOAPMessage soapMessage = Objects.requireNonNull(soapMessageCache.putIfAbsentAndGet(soapRequest, () -> {
-                try {
-                    SOAPMessage newValue = doSOAPRequestUncached(soapRequest);
-                    logger.trace("Storing in cache: {}", newValue);
-                    return newValue;
-                } catch (Tr064CommunicationException e) {
-                    // wrap exception
-                    throw new IllegalArgumentException(e);
-                }
-            }));
+            ExpiringCache<SOAPMessage> cache = soapMessageCache.computeIfAbsent(soapRequest,
+                    request -> new ExpiringCache<>(SOAP_MESSAGE_CACHE_DURATION, () -> {
+                        try {
+                            SOAPMessage newValue = doSOAPRequestUncached(request);
+                            logger.trace("Storing in cache: {}", newValue);
+                            return newValue;
+                        } catch (Tr064CommunicationException e) {
+                            // wrap exception
+                            throw new IllegalArgumentException(e);
+                        }
+                    }));
+            SOAPMessage soapMessage = Objects.requireNonNull(cache.getValue());
             logger.trace("Returning from cache: {}", soapMessage);
             return soapMessage;
         } catch (IllegalArgumentException e) {
@@ -162,13 +198,27 @@ public class SOAPConnector {
     }
 
     /**
-     * execute a SOAP request without cache
+     * execute a SOAP request without cache (at most maxConcurrentRequests are executed concurrently)
      *
      * @param soapRequest the request itself
      * @return the SOAPMessage answer from the remote host
      * @throws Tr064CommunicationException if an error occurs during the request
      */
-    public synchronized SOAPMessage doSOAPRequestUncached(SOAPRequest soapRequest) throws Tr064CommunicationException {
+    public SOAPMessage doSOAPRequestUncached(SOAPRequest soapRequest) throws Tr064CommunicationException {
+        try {
+            requestPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Tr064CommunicationException(e);
+        }
+        try {
+            return executeSOAPRequest(soapRequest);
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    private SOAPMessage executeSOAPRequest(SOAPRequest soapRequest) throws Tr064CommunicationException {
         try {
             Request request = prepareSOAPRequest(soapRequest).timeout(timeout, TimeUnit.SECONDS);
             if (logger.isTraceEnabled()) {
@@ -190,7 +240,7 @@ public class SOAPConnector {
             try (final ByteArrayInputStream is = new ByteArrayInputStream(response.getContent())) {
                 logger.trace("Received response: {}", response.getContentAsString());
 
-                SOAPMessage soapMessage = MessageFactory.newInstance().createMessage(null, is);
+                SOAPMessage soapMessage = getMessageFactory().createMessage(null, is);
                 if (soapMessage.getSOAPBody().hasFault()) {
                     String soapError = getSOAPElement(soapMessage, "errorCode").orElse("unknown");
                     String soapReason = getSOAPElement(soapMessage, "errorDescription").orElse("unknown");
@@ -250,24 +300,14 @@ public class SOAPConnector {
             Map<ChannelUID, Tr064ChannelConfig> channelConfigMap, ExpiringCacheMap<ChannelUID, State> stateCache) {
         try {
             final SCPDActionType getAction = channelConfig.getGetAction();
-            if (getAction == null) {
+            final SOAPRequest soapRequest = getStateRequest(channelConfig);
+            if (getAction == null || soapRequest == null) {
                 // channel has no get action, return a default
-                return switch (channelConfig.getDataType()) {
-                    case "boolean" -> OnOffType.OFF;
-                    case "string" -> StringType.EMPTY;
-                    default -> UnDefType.UNDEF;
-                };
+                return getDefaultState(channelConfig);
             }
 
             // get value(s) from remote device
-            Map<String, String> arguments = new HashMap<>();
-            String parameter = channelConfig.getParameter();
-            ActionType action = channelConfig.getChannelTypeDescription().getGetAction();
-            if (parameter != null && !action.getParameter().isInternalOnly()) {
-                arguments.put(action.getParameter().getName(), parameter);
-            }
-            SOAPMessage soapResponse = doSOAPRequest(
-                    new SOAPRequest(channelConfig.getService(), getAction.getName(), arguments));
+            SOAPMessage soapResponse = doSOAPRequest(soapRequest);
             String argumentName = channelConfig.getChannelTypeDescription().getGetAction().getArgument();
             // find all other channels with the same action that are already in cache, so we can update them
             Map<ChannelUID, Tr064ChannelConfig> channelsInRequest = channelConfigMap.entrySet().stream()
@@ -290,20 +330,136 @@ public class SOAPConnector {
                     .orElseThrow(() -> new Tr064CommunicationException("failed to transform '"
                             + channelConfig.getChannelTypeDescription().getGetAction().getArgument() + "'"));
         } catch (Tr064CommunicationException e) {
-            if (e.getHttpError() == 500) {
-                switch (e.getSoapError()) {
-                    case "714" -> {
-                        // NoSuchEntryInArray usually is an unknown entry in the MAC list
-                        logger.debug("Failed to get {}: {}", channelConfig, e.getMessage());
-                        return UnDefType.UNDEF;
-                    }
-                    default -> {
-                    }
+            logFailure(channelConfig, e);
+            return UnDefType.UNDEF;
+        }
+    }
+
+    /**
+     * refresh the values of channels from the remote device. Channels sharing the same get action are refreshed with a
+     * single request and up to maxConcurrentRequests requests are executed concurrently on the calling thread and the
+     * thread pool of the binding. The method returns when all requests are done.
+     *
+     * @param channelConfigMap the channels to refresh
+     * @param stateConsumer the consumer of the channel states
+     * @throws RuntimeException if refreshing the channels failed unexpectedly
+     */
+    public void refreshChannelStatesFromDevice(Map<ChannelUID, Tr064ChannelConfig> channelConfigMap,
+            BiConsumer<ChannelUID, State> stateConsumer) {
+        Map<SOAPRequest, Map<ChannelUID, Tr064ChannelConfig>> requests = new LinkedHashMap<>();
+        channelConfigMap.forEach((channelUID, channelConfig) -> {
+            SOAPRequest soapRequest = getStateRequest(channelConfig);
+            if (soapRequest == null) {
+                stateConsumer.accept(channelUID, getDefaultState(channelConfig));
+            } else {
+                requests.computeIfAbsent(soapRequest, request -> new LinkedHashMap<>()).put(channelUID,
+                        channelConfig);
+            }
+        });
+
+        Queue<Map.Entry<SOAPRequest, Map<ChannelUID, Tr064ChannelConfig>>> queue = new ConcurrentLinkedQueue<>(
+                requests.entrySet());
+        Runnable worker = () -> {
+            Map.Entry<SOAPRequest, Map<ChannelUID, Tr064ChannelConfig>> entry;
+            while ((entry = queue.poll()) != null) {
+                getChannelStatesFromDevice(entry.getKey(), entry.getValue()).forEach(stateConsumer);
+            }
+        };
+        int workers = Math.min(maxConcurrentRequests, queue.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        if (workers > 1) {
+            ExecutorService executor = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+            for (int i = 1; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(worker, executor));
+            }
+        }
+        RuntimeException failure = null;
+        try {
+            worker.run();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // wait for the other requests, so that their failures are reported to the caller
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
                 }
             }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * get the values of channels sharing the same get action from the remote device
+     *
+     * @param soapRequest the get action request of the channels
+     * @param channelConfigMap the channels
+     * @return the values of the channels
+     */
+    private Map<ChannelUID, State> getChannelStatesFromDevice(SOAPRequest soapRequest,
+            Map<ChannelUID, Tr064ChannelConfig> channelConfigMap) {
+        Map<ChannelUID, State> states = new HashMap<>();
+        try {
+            SOAPMessage soapResponse = doSOAPRequest(soapRequest);
+            channelConfigMap.forEach((channelUID, channelConfig) -> {
+                String argumentName = channelConfig.getChannelTypeDescription().getGetAction().getArgument();
+                states.put(channelUID,
+                        soapValueConverter.getStateFromSOAPValue(soapResponse, argumentName, channelConfig)
+                                .orElseGet(() -> {
+                                    logger.warn("Failed to get {}: failed to transform '{}'", channelConfig,
+                                            argumentName);
+                                    return UnDefType.UNDEF;
+                                }));
+            });
+        } catch (Tr064CommunicationException e) {
+            channelConfigMap.forEach((channelUID, channelConfig) -> {
+                logFailure(channelConfig, e);
+                states.put(channelUID, UnDefType.UNDEF);
+            });
+        }
+        return states;
+    }
+
+    /**
+     * get the request for the value of a channel
+     *
+     * @param channelConfig the channel config containing all information
+     * @return the request or null if the channel has no get action
+     */
+    private @Nullable SOAPRequest getStateRequest(Tr064ChannelConfig channelConfig) {
+        final SCPDActionType getAction = channelConfig.getGetAction();
+        if (getAction == null) {
+            return null;
+        }
+        Map<String, String> arguments = new HashMap<>();
+        String parameter = channelConfig.getParameter();
+        ActionType action = channelConfig.getChannelTypeDescription().getGetAction();
+        if (parameter != null && !action.getParameter().isInternalOnly()) {
+            arguments.put(action.getParameter().getName(), parameter);
+        }
+        return new SOAPRequest(channelConfig.getService(), getAction.getName(), arguments);
+    }
+
+    private State getDefaultState(Tr064ChannelConfig channelConfig) {
+        return switch (channelConfig.getDataType()) {
+            case "boolean" -> OnOffType.OFF;
+            case "string" -> StringType.EMPTY;
+            default -> UnDefType.UNDEF;
+        };
+    }
+
+    private void logFailure(Tr064ChannelConfig channelConfig, Tr064CommunicationException e) {
+        if (e.getHttpError() == 500 && "714".equals(e.getSoapError())) {
+            // NoSuchEntryInArray usually is an unknown entry in the MAC list
+            logger.debug("Failed to get {}: {}", channelConfig, e.getMessage());
+        } else {
             // all other cases are an error
             logger.warn("Failed to get {}: {}", channelConfig, e.getMessage());
-            return UnDefType.UNDEF;
         }
     }
 }
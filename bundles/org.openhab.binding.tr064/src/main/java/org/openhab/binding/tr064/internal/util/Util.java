@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -85,6 +86,41 @@ public class Util {
     // cache XML content for 5s
     private static final ExpiringCacheMap<String, Object> XML_OBJECT_CACHE = new ExpiringCacheMap<>(
             Duration.ofMillis(3000));
+    // creating a JAXBContext is expensive, they are thread-safe and can be re-used
+    private static final Map<Class<?>, JAXBContext> JAXB_CONTEXTS = new ConcurrentHashMap<>();
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory xif = XMLInputFactory.newFactory();
+        xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        return xif;
+    }
+
+    /**
+     * get the (cached) JAXBContext for a class
+     *
+     * @param clazz the class describing the XML file
+     * @return the JAXBContext
+     * @throws JAXBException if the context could not be created
+     */
+    private static JAXBContext getJAXBContext(Class<?> clazz) throws JAXBException {
+        try {
+            return JAXB_CONTEXTS.computeIfAbsent(clazz, c -> {
+                try {
+                    return JAXBContext.newInstance(c);
+                } catch (JAXBException e) {
+                    // wrap exception
+                    throw new IllegalArgumentException(e);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JAXBException jaxbException) {
+                throw jaxbException;
+            }
+            throw e;
+        }
+    }
 
     /**
      * read the channel config from the resource file (static initialization)
@@ -94,11 +130,8 @@ public class Util {
     public static List<ChannelTypeDescription> readXMLChannelConfig() {
         try {
             InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("channels.xml");
-            JAXBContext context = JAXBContext.newInstance(ChannelTypeDescriptions.class);
-            XMLInputFactory xif = XMLInputFactory.newFactory();
-            xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-            xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-            XMLStreamReader xsr = xif.createXMLStreamReader(new StreamSource(resource));
+            JAXBContext context = getJAXBContext(ChannelTypeDescriptions.class);
+            XMLStreamReader xsr = XML_INPUT_FACTORY.createXMLStreamReader(new StreamSource(resource));
             Unmarshaller um = context.createUnmarshaller();
             JAXBElement<ChannelTypeDescriptions> root = um.unmarshal(xsr, ChannelTypeDescriptions.class);
             return root.getValue().getChannel();
@@ -365,11 +398,8 @@ public class Util {
                     }
                     InputStream xml = new ByteArrayInputStream(response);
 
-                    JAXBContext context = JAXBContext.newInstance(clazz);
-                    XMLInputFactory xif = XMLInputFactory.newFactory();
-                    xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-                    xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-                    XMLStreamReader xsr = xif.createXMLStreamReader(new StreamSource(xml));
+                    JAXBContext context = getJAXBContext(clazz);
+                    XMLStreamReader xsr = XML_INPUT_FACTORY.createXMLStreamReader(new StreamSource(xml));
                     Unmarshaller um = context.createUnmarshaller();
                     T newValue = um.unmarshal(xsr, clazz).getValue();
                     LOGGER.trace("Storing in cache {}", newValue);
@@ -26,19 +26,28 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.events.Event;
 import org.openhab.core.events.EventPublisher;
+import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.items.events.GroupItemStateChangedEvent;
 import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
 import org.openhab.core.library.CoreItemFactory;
 import org.openhab.core.types.Command;
 import org.openhab.io.hueemulation.internal.ConfigStore;
@@ -91,18 +100,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
  * </p>
  *
  * <p>
+ * The responses of the often polled <code>/lights</code> and <code>/groups</code> endpoints are kept
+ * pre-serialized in a {@link SerializedResponseCache}. An entry is invalidated when the state, the item
+ * or the hue metadata of the associated item changes.
  * </p>
  *
  * @author David Graeff - Initial contribution
  * @author Florian Schmidt - Removed base type restriction from Group items
  */
-@Component(immediate = false, service = LightsAndGroups.class)
+@Component(immediate = false, service = { LightsAndGroups.class, EventSubscriber.class })
 @JaxrsResource
 @JaxrsApplicationSelect("(" + JaxrsWhiteboardConstants.JAX_RS_NAME + "=" + HueEmulationService.REST_APP_NAME + ")")
 @NonNullByDefault
 @Path("")
 @Produces(MediaType.APPLICATION_JSON)
-public class LightsAndGroups implements RegistryChangeListener<Item> {
+public class LightsAndGroups implements RegistryChangeListener<Item>, EventSubscriber {
     public static final String EXPOSE_AS_DEVICE_TAG = "huelight";
     private final Logger logger = LoggerFactory.getLogger(LightsAndGroups.class);
     private static final String ITEM_TYPE_GROUP = "Group";
@@ -118,12 +130,35 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    private @Nullable SerializedResponseCache<HueLightEntry> lightsCache;
+    private @Nullable SerializedResponseCache<HueGroupEntry> groupsCache;
+
+    private final RegistryChangeListener<Metadata> metadataChangeListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Metadata element) {
+            metadataChanged(element);
+        }
+
+        @Override
+        public void removed(Metadata element) {
+            metadataChanged(element);
+        }
+
+        @Override
+        public void updated(Metadata oldElement, Metadata element) {
+            metadataChanged(element);
+        }
+    };
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        lightsCache = new SerializedResponseCache<>(cs.gson, "lights", light -> light.item.getName());
+        groupsCache = new SerializedResponseCache<>(cs.gson, "groups",
+                group -> group.groupItem != null ? group.groupItem.getName() : null);
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
@@ -141,8 +176,66 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         itemRegistry.removeRegistryChangeListener(this);
     }
 
+    @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
+    protected void setMetadataRegistry(MetadataRegistry metadataRegistry) {
+        metadataRegistry.addRegistryChangeListener(metadataChangeListener);
+    }
+
+    protected void unsetMetadataRegistry(MetadataRegistry metadataRegistry) {
+        metadataRegistry.removeRegistryChangeListener(metadataChangeListener);
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return Set.of(ItemStateChangedEvent.TYPE, GroupItemStateChangedEvent.TYPE);
+    }
+
+    @Override
+    public void receive(Event event) {
+        // also covers GroupItemStateChangedEvent, which is a subclass
+        if (event instanceof ItemStateChangedEvent changedEvent) {
+            SerializedResponseCache<HueLightEntry> lights = lightsCache;
+            if (lights != null) {
+                lights.invalidateItem(changedEvent.getItemName());
+            }
+            SerializedResponseCache<HueGroupEntry> groups = groupsCache;
+            if (groups != null) {
+                groups.invalidateItem(changedEvent.getItemName());
+            }
+        }
+    }
+
+    private void metadataChanged(Metadata metadata) {
+        if (ConfigStore.METAKEY.equals(metadata.getUID().getNamespace())) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates all pre-serialized light and group responses.
+     */
+    private void invalidateAll() {
+        SerializedResponseCache<HueLightEntry> lights = lightsCache;
+        if (lights != null) {
+            lights.invalidateAll();
+        }
+        invalidateGroups();
+    }
+
+    /**
+     * Group responses contain the group members, which may change with every item registry change.
+     */
+    private void invalidateGroups() {
+        SerializedResponseCache<HueGroupEntry> groups = groupsCache;
+        if (groups != null) {
+            groups.invalidateAll();
+        }
+    }
+
     @Override
     public synchronized void added(Item newElement) {
+        invalidateGroups();
+
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -197,6 +290,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
     @Override
     public synchronized void removed(Item element) {
+        invalidateGroups();
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
         cs.ds.lights.remove(hueID);
@@ -216,6 +310,11 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         GenericItem element = (GenericItem) newElement;
 
         String hueID = cs.mapItemUIDtoHueID(element);
+        invalidateGroups();
+        SerializedResponseCache<HueLightEntry> cache = lightsCache;
+        if (cache != null) {
+            cache.invalidate(hueID);
+        }
 
         HueGroupEntry hueGroup = cs.ds.groups.get(hueID);
         if (hueGroup != null) {
@@ -247,12 +346,16 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        SerializedResponseCache<HueLightEntry> cache = lightsCache;
+        if (cache == null) {
+            return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        }
+        return cachedResponse(request, cache.get(cs.ds.lights));
     }
 
     @GET
@@ -383,6 +486,10 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             }
             hueDevice.lastCommand = command;
             hueDevice.lastHueChange = newState;
+            SerializedResponseCache<HueLightEntry> cache = lightsCache;
+            if (cache != null) {
+                cache.invalidate(id);
+            }
         }
 
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
@@ -414,6 +521,10 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
         // First synchronize the internal state information with the framework
         hueDevice.action = StateUtils.colorStateFromItemState(groupItem.getState(), hueDevice.deviceType);
+        SerializedResponseCache<HueGroupEntry> cache = groupsCache;
+        if (cache != null) {
+            cache.invalidate(id);
+        }
 
         List<HueResponse> responses = new ArrayList<>();
         Command command = StateUtils.computeCommandByState(responses, "/groups/" + id + "/state/", hueDevice.action,
@@ -438,12 +549,28 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        SerializedResponseCache<HueGroupEntry> cache = groupsCache;
+        if (cache == null) {
+            return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        }
+        return cachedResponse(request, cache.get(cs.ds.groups));
+    }
+
+    /**
+     * Returns the pre-serialized response, or "304 Not Modified" if the client sent a matching ETag.
+     */
+    private Response cachedResponse(Request request, SerializedResponseCache.Snapshot snapshot) {
+        EntityTag etag = new EntityTag(snapshot.etag);
+        ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(snapshot.body).tag(etag).build();
     }
 
     @GET
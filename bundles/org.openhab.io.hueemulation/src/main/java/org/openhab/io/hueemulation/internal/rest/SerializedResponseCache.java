@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized JSON of all entries of a hue data store map (lights or groups), so that the
+ * <code>/api/{username}/lights</code> and <code>/api/{username}/groups</code> endpoints, which are polled
+ * very often by Alexa and Harmony hubs, do not serialize the whole map on every request.
+ * <p>
+ * Every entry is serialized on its own and kept until it is invalidated, e.g. because the state of the
+ * associated item changed. The complete response is assembled from those fragments and reused as long as no
+ * entry got invalidated. Entries that got replaced or removed in the map directly are detected by identity.
+ * <p>
+ * Every distinct response body gets a new version, which is used as ETag.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class SerializedResponseCache<T> {
+
+    /**
+     * A serialized response body with its ETag value
+     */
+    public static class Snapshot {
+        public final String body;
+        public final String etag;
+
+        Snapshot(String body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+
+    private static class Fragment<T> {
+        final T entry;
+        final String json;
+
+        Fragment(T entry, String json) {
+            this.entry = entry;
+            this.json = json;
+        }
+    }
+
+    private final Gson gson;
+    private final String etagPrefix;
+    private final Function<T, @Nullable String> itemNameOf;
+
+    private final Map<String, Fragment<T>> fragments = new HashMap<>();
+    private final Map<String, String> idByItemName = new HashMap<>();
+    private @Nullable Snapshot snapshot;
+    private boolean valid;
+    private long version;
+
+    /**
+     * Creates a new response cache.
+     *
+     * @param gson The gson instance with the custom serializers of the hue data store
+     * @param etagPrefix A prefix for ETags, to distinguish responses of different endpoints
+     * @param itemNameOf Returns the name of the item associated with an entry, if any
+     */
+    public SerializedResponseCache(Gson gson, String etagPrefix, Function<T, @Nullable String> itemNameOf) {
+        this.gson = gson;
+        this.etagPrefix = etagPrefix;
+        this.itemNameOf = itemNameOf;
+    }
+
+    /**
+     * Returns the serialized map. Only entries that got invalidated, added or replaced since the last call
+     * are serialized again.
+     *
+     * @param entries The hue data store map, keyed by hue ID
+     * @return The response body and its ETag
+     */
+    public synchronized Snapshot get(Map<String, T> entries) {
+        Snapshot current = snapshot;
+        if (current != null && valid && isUpToDate(entries)) {
+            return current;
+        }
+
+        StringBuilder body = new StringBuilder("{");
+        Map<String, Fragment<T>> newFragments = new HashMap<>();
+        idByItemName.clear();
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            String id = entry.getKey();
+            T value = entry.getValue();
+            Fragment<T> fragment = fragments.get(id);
+            if (fragment == null || fragment.entry != value) {
+                fragment = new Fragment<>(value, gson.toJson(value));
+            }
+            newFragments.put(id, fragment);
+            String itemName = itemNameOf.apply(value);
+            if (itemName != null) {
+                idByItemName.put(itemName, id);
+            }
+            if (body.length() > 1) {
+                body.append(',');
+            }
+            body.append(gson.toJson(id)).append(':').append(fragment.json);
+        }
+        body.append('}');
+        fragments.clear();
+        fragments.putAll(newFragments);
+
+        valid = true;
+        String newBody = body.toString();
+        if (current != null && current.body.equals(newBody)) {
+            return current;
+        }
+        current = new Snapshot(newBody, etagPrefix + "-" + (++version));
+        snapshot = current;
+        return current;
+    }
+
+    /**
+     * Invalidates the entry with the given hue ID.
+     */
+    public synchronized void invalidate(String id) {
+        if (fragments.remove(id) != null) {
+            valid = false;
+        }
+    }
+
+    /**
+     * Invalidates the entry associated with the given item.
+     */
+    public synchronized void invalidateItem(String itemName) {
+        String id = idByItemName.get(itemName);
+        if (id != null) {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Invalidates all entries.
+     */
+    public synchronized void invalidateAll() {
+        fragments.clear();
+        idByItemName.clear();
+        valid = false;
+    }
+
+    private boolean isUpToDate(Map<String, T> entries) {
+        if (entries.size() != fragments.size()) {
+            return false;
+        }
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            Fragment<T> fragment = fragments.get(entry.getKey());
+            if (fragment == null || fragment.entry != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -16,12 +16,14 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +32,7 @@ import org.openhab.core.events.Event;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemStateChangedEvent;
 import org.openhab.core.library.items.ColorItem;
 import org.openhab.core.library.items.SwitchItem;
 import org.openhab.core.library.types.HSBType;
@@ -327,6 +330,71 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/lights");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get(HttpHeader.ETAG);
+        assertThat(etag, is(notNullValue()));
+
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/lights").method(HttpMethod.GET)
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    public void allLightsUpdatedOnStateChange() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/lights");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get(HttpHeader.ETAG);
+        assertThat(response.getContentAsString(), containsString("\"on\":false"));
+
+        HueLightEntry hueDevice = cs.ds.lights.get("1");
+        hueDevice.item.setState(OnOffType.ON);
+        ItemStateChangedEvent event = mock(ItemStateChangedEvent.class);
+        when(event.getItemName()).thenReturn(hueDevice.item.getName());
+        subject.receive(event);
+
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/lights").method(HttpMethod.GET)
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaders().get(HttpHeader.ETAG), is(not(etag)));
+        assertThat(response.getContentAsString(), containsString("\"on\":true"));
+    }
+
+    @Test
+    public void allGroupsUpdatedOnNewGroup() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/groups");
+        assertEquals(200, response.getStatus());
+        assertThat(response.getContentAsString(), not(containsString("group1")));
+
+        GroupItem item = new GroupItem("group1", new SwitchItem("switch1"));
+        item.setLabel("group1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+
+        response = commonSetup.sendGet("/testuser/groups");
+        assertEquals(200, response.getStatus());
+        assertThat(response.getContentAsString(), containsString("group1"));
+    }
+
+    @Test
+    public void allGroupsUpdatedOnGroupAction() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/groups");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get(HttpHeader.ETAG);
+        assertThat(response.getContentAsString(), containsString("\"on\":false"));
+
+        response = commonSetup.sendPut("/testuser/groups/10/action", "{'on':true}");
+        assertEquals(200, response.getStatus());
+
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/groups").method(HttpMethod.GET)
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaders().get(HttpHeader.ETAG), is(not(etag)));
+        assertThat(response.getContentAsString(), containsString("\"on\":true"));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
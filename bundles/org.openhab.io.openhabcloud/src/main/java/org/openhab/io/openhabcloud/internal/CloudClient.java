@@ -33,6 +33,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
@@ -81,6 +82,8 @@ public class CloudClient {
 
     private static final long READ_TIMEOUT = 60_0000;
 
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 200;
+
     /*
      * Logger for this class
      */
@@ -116,6 +119,27 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This variable holds the maximum number of HTTP requests to local openHAB which may run concurrently
+     */
+    private final int maxConcurrentRequests;
+
+    /*
+     * This variable indicates if responses are streamed with backpressure and compression (see
+     * ProxyResponseStream) instead of forwarding every content chunk directly
+     */
+    private final boolean streamingProxy;
+
+    /*
+     * This variable holds the monitor of the outgoing web socket queue, used for backpressure of streamed responses
+     */
+    private @Nullable WebSocketWriteQueue writeQueue;
+
+    /*
+     * This variable holds the uplink which coalesces and sends item updates to the openHAB Cloud
+     */
+    private final ItemUpdateUplink itemUpdateUplink;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -163,9 +187,14 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param streamingProxy Stream proxied responses with backpressure and compression
+     * @param maxConcurrentRequests Maximum number of proxied requests running at the same time in streaming mode
+     * @param itemUpdateInterval Interval in milliseconds over which item updates are coalesced, 0 to disable
+     * @param itemUpdateBatching Send the coalesced item updates as one batch message
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, boolean streamingProxy, int maxConcurrentRequests,
+            long itemUpdateInterval, boolean itemUpdateBatching) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -173,6 +202,11 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.streamingProxy = streamingProxy;
+        this.maxConcurrentRequests = maxConcurrentRequests > 0 ? maxConcurrentRequests
+                : DEFAULT_MAX_CONCURRENT_REQUESTS;
+        this.itemUpdateUplink = new ItemUpdateUplink(scheduler, (event, message) -> socket.emit(event, message),
+                this::isConnected, itemUpdateInterval, itemUpdateBatching);
         reconnectBackoff.setMin(RECONNECT_MIN);
         reconnectBackoff.setMax(RECONNECT_MAX);
         reconnectBackoff.setJitter(RECONNECT_JITTER);
@@ -203,7 +237,13 @@ public class CloudClient {
                 okHttpBuilder.addNetworkInterceptor(loggingInterceptor);
             }
             options.callFactory = okHttpBuilder.build();
-            options.webSocketFactory = okHttpBuilder.build();
+            if (streamingProxy) {
+                WebSocketWriteQueue writeQueue = new WebSocketWriteQueue(okHttpBuilder.build(), scheduler);
+                this.writeQueue = writeQueue;
+                options.webSocketFactory = writeQueue;
+            } else {
+                options.webSocketFactory = okHttpBuilder.build();
+            }
             socket = IO.socket(baseURL, options);
             URL parsed = new URL(baseURL);
             protocol = parsed.getProtocol();
@@ -377,8 +417,14 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", censored(this.uuid),
                 this.localBaseUrl);
         isConnected = false;
+        logItemUpdateStatistics();
         // And clean up the list of running requests
         runningRequests.clear();
+        // Paused streamed responses will not be able to continue
+        WebSocketWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            writeQueue.reset();
+        }
     }
 
     /**
@@ -407,6 +453,13 @@ public class CloudClient {
             // Get unique request Id
             int requestId = data.getInt("id");
             logger.debug("Got request {}", requestId);
+            // In streaming mode reject the request if too many requests are running already
+            if (streamingProxy && runningRequests.size() >= maxConcurrentRequests) {
+                logger.debug("Rejecting request {}, {} requests are already running", requestId,
+                        runningRequests.size());
+                rejectRequest(requestId);
+                return;
+            }
             // Get request path
             String requestPath = data.getString("path");
             logger.debug("Path {}", requestPath);
@@ -459,6 +512,23 @@ public class CloudClient {
                 request.content(new BytesContentProvider(requestBody.getBytes()));
             }
 
+            WebSocketWriteQueue writeQueue = this.writeQueue;
+            if (streamingProxy && writeQueue != null) {
+                ProxyResponseStream responseStream = new ProxyResponseStream(requestId, socket, writeQueue,
+                        jettyClient.getByteBufferPool(), acceptsGzip(requestHeadersJson),
+                        result -> onRequestComplete(requestId, result));
+                // the request has to be registered before it is sent, as it may complete (and be removed) immediately
+                runningRequests.put(requestId, request);
+                try {
+                    request.onRequestFailure((origRequest, failure) -> onRequestFailure(requestId, failure))
+                            .send(responseStream);
+                } catch (RuntimeException e) {
+                    runningRequests.remove(requestId);
+                    throw e;
+                }
+                return;
+            }
+
             request.onResponseHeaders(response -> {
                 logger.debug("onHeaders {}", requestId);
                 JSONObject responseJson = new JSONObject();
@@ -487,41 +557,8 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }).onRequestFailure((origRequest, failure) -> {
-                logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("responseStatusText", "openHAB connection error: " + failure.getMessage());
-                    socket.emit("responseError", responseJson);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
-            }).send(result -> {
-                logger.debug("onComplete: {}", requestId);
-                // Remove this request from list of running requests
-                runningRequests.remove(requestId);
-                if ((result != null && result.isFailed())
-                        && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
-                    if (result.getFailure() != null) {
-                        logger.debug("Jetty request {} failed: {}", requestId, result.getFailure().getMessage());
-                    }
-                    if (result.getRequestFailure() != null) {
-                        logger.debug("Request Failure: {}", result.getRequestFailure().getMessage());
-                    }
-                    if (result.getResponseFailure() != null) {
-                        logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
-                    }
-                }
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
-            });
+            }).onRequestFailure((origRequest, failure) -> onRequestFailure(requestId, failure))
+                    .send(result -> onRequestComplete(requestId, result));
 
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
@@ -531,6 +568,71 @@ public class CloudClient {
         }
     }
 
+    private void onRequestFailure(int requestId, Throwable failure) {
+        logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("responseStatusText", "openHAB connection error: " + failure.getMessage());
+            socket.emit("responseError", responseJson);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void onRequestComplete(int requestId, @Nullable Result result) {
+        logger.debug("onComplete: {}", requestId);
+        // Remove this request from list of running requests
+        runningRequests.remove(requestId);
+        if ((result != null && result.isFailed())
+                && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
+            if (result.getFailure() != null) {
+                logger.debug("Jetty request {} failed: {}", requestId, result.getFailure().getMessage());
+            }
+            if (result.getRequestFailure() != null) {
+                logger.debug("Request Failure: {}", result.getRequestFailure().getMessage());
+            }
+            if (result.getResponseFailure() != null) {
+                logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
+            }
+        }
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            socket.emit("responseFinished", responseJson);
+            logger.debug("Finished responding to request {}", requestId);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void rejectRequest(int requestId) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("headers", new JSONObject());
+            responseJson.put("responseStatusCode", HttpStatus.SERVICE_UNAVAILABLE_503);
+            responseJson.put("responseStatusText", "Too many concurrent requests");
+            socket.emit("responseHeader", responseJson);
+            JSONObject finishedJson = new JSONObject();
+            finishedJson.put("id", requestId);
+            socket.emit("responseFinished", finishedJson);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        Iterator<String> headersIterator = requestHeadersJson.keys();
+        while (headersIterator.hasNext()) {
+            String headerName = headersIterator.next();
+            if ("Accept-Encoding".equalsIgnoreCase(headerName)) {
+                return requestHeadersJson.optString(headerName).toLowerCase().contains("gzip");
+            }
+        }
+        return false;
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -659,19 +761,7 @@ public class CloudClient {
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
-            }
-        } else {
-            logger.debug("No connection, Item update is not sent");
-        }
+        itemUpdateUplink.update(itemName, itemState);
     }
 
     /**
@@ -687,9 +777,17 @@ public class CloudClient {
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
         reconnectFuture.get().ifPresent(future -> future.cancel(true));
+        itemUpdateUplink.dispose();
+        logItemUpdateStatistics();
         socket.disconnect();
     }
 
+    private void logItemUpdateStatistics() {
+        logger.info("Item updates sent to the openHAB Cloud: {}, coalesced: {}, dropped: {}",
+                itemUpdateUplink.getEmittedCount(), itemUpdateUplink.getCoalescedCount(),
+                itemUpdateUplink.getDroppedCount());
+    }
+
     public void setListener(CloudClientListener listener) {
         this.listener = listener;
     }
@@ -15,6 +15,7 @@ package org.openhab.io.openhabcloud.internal;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
@@ -75,6 +76,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_STREAMING_PROXY = "streamingProxy";
+    private static final String CFG_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+    private static final String CFG_ITEM_UPDATE_INTERVAL = "itemUpdateInterval";
+    private static final String CFG_ITEM_UPDATE_BATCHING = "itemUpdateBatching";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -92,6 +97,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private boolean streamingProxy = false;
+    private int maxConcurrentRequests = DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS;
+    private long itemUpdateInterval = 0;
+    private boolean itemUpdateBatching = false;
     private int localPort;
 
     @Activate
@@ -207,6 +216,31 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             cloudBaseUrl = DEFAULT_URL;
         }
 
+        streamingProxy = Boolean.parseBoolean(String.valueOf(config.get(CFG_STREAMING_PROXY)));
+
+        maxConcurrentRequests = DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS;
+        Object maxRequestsCfg = config.get(CFG_MAX_CONCURRENT_REQUESTS);
+        if (maxRequestsCfg != null) {
+            try {
+                maxConcurrentRequests = new BigDecimal(maxRequestsCfg.toString()).intValue();
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for maxConcurrentRequests, using default {}", maxRequestsCfg,
+                        DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS);
+            }
+        }
+
+        itemUpdateInterval = 0;
+        Object itemUpdateIntervalCfg = config.get(CFG_ITEM_UPDATE_INTERVAL);
+        if (itemUpdateIntervalCfg != null) {
+            try {
+                itemUpdateInterval = new BigDecimal(itemUpdateIntervalCfg.toString()).longValue();
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for itemUpdateInterval, sending every update immediately",
+                        itemUpdateIntervalCfg);
+            }
+        }
+        itemUpdateBatching = Boolean.parseBoolean(String.valueOf(config.get(CFG_ITEM_UPDATE_BATCHING)));
+
         exposedItems = new HashSet<>();
         Object expCfg = config.get(CFG_EXPOSE);
         if (expCfg instanceof String value) {
@@ -243,7 +277,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, streamingProxy, maxConcurrentRequests, itemUpdateInterval,
+                itemUpdateBatching);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
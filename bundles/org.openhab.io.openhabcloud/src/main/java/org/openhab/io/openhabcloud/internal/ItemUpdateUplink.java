@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class sends item updates to the openHAB Cloud. If an update interval is configured, only the latest
+ * state of every item within the interval is kept and sent at the end of the interval, either as single
+ * <code>itemupdate</code> messages or as one <code>itemupdates</code> batch message.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateUplink {
+
+    /**
+     * Maximum number of items with pending updates, further items are dropped until the next flush
+     */
+    private static final int MAX_PENDING_ITEMS = 10_000;
+
+    /**
+     * Callback interface to emit messages to the openHAB Cloud
+     */
+    public interface MessageEmitter {
+        void emit(String event, JSONObject message);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateUplink.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final MessageEmitter emitter;
+    private final BooleanSupplier connected;
+    private final long interval;
+    private final boolean batch;
+
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong emittedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Constructor of ItemUpdateUplink
+     *
+     * @param scheduler scheduler used to flush the pending updates
+     * @param emitter callback to emit messages to the openHAB Cloud
+     * @param connected supplier which returns true if the connection to the openHAB Cloud is established
+     * @param interval interval in milliseconds over which updates are coalesced, 0 sends every update immediately
+     * @param batch true to send the updates of an interval as one batch message
+     */
+    public ItemUpdateUplink(ScheduledExecutorService scheduler, MessageEmitter emitter, BooleanSupplier connected,
+            long interval, boolean batch) {
+        this.scheduler = scheduler;
+        this.emitter = emitter;
+        this.connected = connected;
+        this.interval = Math.max(0, interval);
+        this.batch = batch;
+    }
+
+    /**
+     * Queues an item update to be sent to the openHAB Cloud
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public void update(String itemName, String itemState) {
+        if (interval == 0) {
+            if (connected.getAsBoolean()) {
+                emitUpdate(itemName, itemState);
+            } else {
+                droppedCount.incrementAndGet();
+                logger.debug("No connection, Item update is not sent");
+            }
+            return;
+        }
+        synchronized (pendingUpdates) {
+            if (pendingUpdates.containsKey(itemName)) {
+                coalescedCount.incrementAndGet();
+            } else if (pendingUpdates.size() >= MAX_PENDING_ITEMS) {
+                droppedCount.incrementAndGet();
+                logger.debug("Too many pending item updates, dropping update for item '{}'", itemName);
+                return;
+            }
+            pendingUpdates.put(itemName, itemState);
+            ScheduledFuture<?> job = flushJob;
+            if (job == null || job.isDone()) {
+                flushJob = scheduler.schedule(this::flush, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends all pending item updates to the openHAB Cloud
+     */
+    public void flush() {
+        Map<String, String> updates;
+        synchronized (pendingUpdates) {
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            updates = new LinkedHashMap<>(pendingUpdates);
+            pendingUpdates.clear();
+        }
+        if (!connected.getAsBoolean()) {
+            droppedCount.addAndGet(updates.size());
+            logger.debug("No connection, {} item updates are not sent", updates.size());
+            return;
+        }
+        if (batch) {
+            emitBatch(updates);
+        } else {
+            updates.forEach(this::emitUpdate);
+        }
+        logger.debug("Item updates sent: {}, coalesced: {}, dropped: {}", emittedCount.get(), coalescedCount.get(),
+                droppedCount.get());
+    }
+
+    /**
+     * Discards all pending updates and stops the scheduled flush
+     */
+    public void dispose() {
+        synchronized (pendingUpdates) {
+            ScheduledFuture<?> job = flushJob;
+            if (job != null) {
+                job.cancel(false);
+                flushJob = null;
+            }
+            droppedCount.addAndGet(pendingUpdates.size());
+            pendingUpdates.clear();
+        }
+    }
+
+    /**
+     * Returns the number of item updates sent to the openHAB Cloud
+     */
+    public long getEmittedCount() {
+        return emittedCount.get();
+    }
+
+    /**
+     * Returns the number of item updates replaced by a newer update of the same item before being sent
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Returns the number of item updates which have not been sent, e.g. because of a missing connection
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void emitUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        JSONObject itemUpdateMessage = new JSONObject();
+        try {
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            emitter.emit("itemupdate", itemUpdateMessage);
+            emittedCount.incrementAndGet();
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void emitBatch(Map<String, String> updates) {
+        logger.debug("Sending {} item updates as batch", updates.size());
+        JSONArray items = new JSONArray();
+        JSONObject itemUpdatesMessage = new JSONObject();
+        try {
+            for (Map.Entry<String, String> update : updates.entrySet()) {
+                JSONObject item = new JSONObject();
+                item.put("itemName", update.getKey());
+                item.put("itemStatus", update.getValue());
+                items.put(item);
+            }
+            itemUpdatesMessage.put("items", items);
+            emitter.emit("itemupdates", itemUpdatesMessage);
+            emittedCount.addAndGet(updates.size());
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.socket.client.Socket;
+
+/**
+ * This class streams the response of a local openHAB request to the openHAB Cloud. In contrast to forwarding
+ * every content chunk directly, it
+ * <ul>
+ * <li>pauses reading the local response while the outgoing web socket queue is full (see
+ * {@link WebSocketWriteQueue}),</li>
+ * <li>compresses compressible responses with gzip if the requesting client accepts it and</li>
+ * <li>uses buffers from the Jetty {@link ByteBufferPool} for staging compressed data.</li>
+ * </ul>
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyResponseStream implements Response.Listener {
+
+    private static final int FRAME_SIZE = 32 * 1024;
+
+    private static final long MIN_COMPRESS_SIZE = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(ProxyResponseStream.class);
+
+    private final int requestId;
+    private final Socket socket;
+    private final WebSocketWriteQueue writeQueue;
+    private final ByteBufferPool bufferPool;
+    private final boolean acceptsGzip;
+    private final Response.CompleteListener completeListener;
+
+    private @Nullable ByteBuffer frame;
+    private @Nullable ByteBuffer input;
+    private @Nullable GZIPOutputStream gzip;
+
+    /**
+     * Constructor of ProxyResponseStream
+     *
+     * @param requestId the id of the request from the openHAB Cloud
+     * @param socket the Socket.IO socket to send the response through
+     * @param writeQueue the monitor of the outgoing web socket queue
+     * @param bufferPool the pool to take staging buffers from
+     * @param acceptsGzip true if the requesting client accepts gzip encoded responses
+     * @param completeListener listener which is notified once the response has been streamed completely
+     */
+    public ProxyResponseStream(int requestId, Socket socket, WebSocketWriteQueue writeQueue, ByteBufferPool bufferPool,
+            boolean acceptsGzip, Response.CompleteListener completeListener) {
+        this.requestId = requestId;
+        this.socket = socket;
+        this.writeQueue = writeQueue;
+        this.bufferPool = bufferPool;
+        this.acceptsGzip = acceptsGzip;
+        this.completeListener = completeListener;
+    }
+
+    @Override
+    public synchronized void onHeaders(@Nullable Response response) {
+        if (response == null) {
+            return;
+        }
+        logger.debug("onHeaders {}", requestId);
+        boolean compress = shouldCompress(response);
+        JSONObject headersJson = new JSONObject();
+        JSONObject responseJson = new JSONObject();
+        try {
+            for (HttpField field : response.getHeaders()) {
+                if (compress && field.getHeader() == HttpHeader.CONTENT_LENGTH) {
+                    continue;
+                }
+                headersJson.put(field.getName(), field.getValue());
+            }
+            if (compress) {
+                headersJson.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+                headersJson.put(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+                startCompression();
+            }
+            responseJson.put("id", requestId);
+            responseJson.put("headers", headersJson);
+            responseJson.put("responseStatusCode", response.getStatus());
+            responseJson.put("responseStatusText", "OK");
+            socket.emit("responseHeader", responseJson);
+            logger.trace("Sent headers to request {} (compressed: {})", requestId, compress);
+        } catch (JSONException | IOException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onContent(@Nullable Response response, @Nullable ByteBuffer content, @Nullable Callback callback) {
+        if (content == null || callback == null) {
+            return;
+        }
+        logger.debug("onResponseContent: {}, content size {}", requestId, content.remaining());
+        try {
+            writeContent(content);
+        } catch (IOException e) {
+            callback.failed(e);
+            return;
+        }
+        writeQueue.whenWritable(callback);
+    }
+
+    @Override
+    public void onComplete(@Nullable Result result) {
+        synchronized (this) {
+            GZIPOutputStream gzip = this.gzip;
+            if (gzip != null) {
+                try {
+                    if (result == null || !result.isFailed()) {
+                        gzip.finish();
+                        emitFrame();
+                    }
+                    gzip.close();
+                } catch (IOException e) {
+                    logger.debug("Error finishing compressed response {}: {}", requestId, e.getMessage());
+                }
+                this.gzip = null;
+            }
+            releaseBuffers();
+        }
+        completeListener.onComplete(result);
+    }
+
+    private synchronized void writeContent(ByteBuffer content) throws IOException {
+        GZIPOutputStream gzip = this.gzip;
+        if (gzip == null) {
+            emit(BufferUtil.toArray(content));
+            return;
+        }
+        if (content.hasArray()) {
+            gzip.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            content.position(content.limit());
+        } else {
+            ByteBuffer input = this.input;
+            if (input == null) {
+                input = bufferPool.acquire(FRAME_SIZE, false);
+                this.input = input;
+            }
+            while (content.hasRemaining()) {
+                input.clear();
+                int length = Math.min(input.remaining(), content.remaining());
+                ByteBuffer slice = content.slice();
+                slice.limit(length);
+                input.put(slice);
+                content.position(content.position() + length);
+                gzip.write(input.array(), input.arrayOffset(), length);
+            }
+        }
+        // a sync flush keeps streamed responses going without waiting for a full frame
+        gzip.flush();
+        emitFrame();
+    }
+
+    private boolean shouldCompress(Response response) {
+        if (!acceptsGzip || response.getStatus() != HttpStatus.OK_200
+                || response.getHeaders().containsKey(HttpHeader.CONTENT_ENCODING.asString())) {
+            return false;
+        }
+        long contentLength = response.getHeaders().getLongField(HttpHeader.CONTENT_LENGTH.asString());
+        if (contentLength >= 0 && contentLength < MIN_COMPRESS_SIZE) {
+            return false;
+        }
+        String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+        return contentType != null && isCompressible(contentType);
+    }
+
+    /**
+     * Returns true if responses of the given content type benefit from compression. Server-sent event streams
+     * are excluded, as they are long-lived and consist of small messages.
+     */
+    static boolean isCompressible(String contentType) {
+        String type = contentType.toLowerCase();
+        if (type.startsWith("text/event-stream")) {
+            return false;
+        }
+        return type.startsWith("text/") || type.contains("json") || type.contains("javascript")
+                || type.contains("xml") || type.contains("svg");
+    }
+
+    private void startCompression() throws IOException {
+        ByteBuffer frame = bufferPool.acquire(FRAME_SIZE, false);
+        frame.clear();
+        this.frame = frame;
+        gzip = new GZIPOutputStream(new FrameOutputStream(), FRAME_SIZE, true);
+    }
+
+    private void emitFrame() {
+        ByteBuffer frame = this.frame;
+        if (frame == null || frame.position() == 0) {
+            return;
+        }
+        frame.flip();
+        byte[] body = new byte[frame.remaining()];
+        frame.get(body);
+        frame.clear();
+        emit(body);
+    }
+
+    private void emit(byte[] body) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("body", body);
+            socket.emit("responseContentBinary", responseJson);
+            logger.trace("Sent {} bytes of content to request {}", body.length, requestId);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void releaseBuffers() {
+        ByteBuffer frame = this.frame;
+        if (frame != null) {
+            bufferPool.release(frame);
+            this.frame = null;
+        }
+        ByteBuffer input = this.input;
+        if (input != null) {
+            bufferPool.release(input);
+            this.input = null;
+        }
+    }
+
+    /**
+     * Output stream of the gzip compressor, which fills the pooled frame buffer and sends it once it is full.
+     */
+    private class FrameOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte @Nullable [] b, int off, int len) throws IOException {
+            ByteBuffer frame = ProxyResponseStream.this.frame;
+            if (b == null || frame == null) {
+                throw new IOException("Response stream already closed");
+            }
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (!frame.hasRemaining()) {
+                    emitFrame();
+                }
+                int length = Math.min(frame.remaining(), remaining);
+                frame.put(b, offset, length);
+                offset += length;
+                remaining -= length;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.util.Callback;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * This class keeps track of the outgoing queue of the web socket used by the Socket.IO connection to the
+ * openHAB Cloud. It is installed as the web socket factory of the Socket.IO client, so it always knows the
+ * currently active web socket and its number of queued bytes.
+ *
+ * Proxied responses use it to apply backpressure: reading further content of a local response is paused
+ * while the web socket queue is above the high watermark and resumed once it has drained below the low watermark.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class WebSocketWriteQueue implements WebSocket.Factory {
+
+    private static final long HIGH_WATERMARK = 1024 * 1024;
+
+    private static final long LOW_WATERMARK = 256 * 1024;
+
+    private static final long POLL_INTERVAL_MS = 25;
+
+    private final OkHttpClient delegate;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Queue<Callback> waiting = new ConcurrentLinkedQueue<>();
+
+    private volatile @Nullable WebSocket webSocket;
+
+    private @Nullable ScheduledFuture<?> pollJob;
+
+    public WebSocketWriteQueue(OkHttpClient delegate, ScheduledExecutorService scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public WebSocket newWebSocket(@Nullable Request request, @Nullable WebSocketListener listener) {
+        WebSocket newWebSocket = delegate.newWebSocket(request, listener);
+        webSocket = newWebSocket;
+        return newWebSocket;
+    }
+
+    /**
+     * Returns the number of bytes queued for sending on the current web socket
+     */
+    public long queueSize() {
+        WebSocket current = webSocket;
+        return current == null ? 0 : current.queueSize();
+    }
+
+    /**
+     * Completes the given callback as soon as the web socket queue has room for more data. If the queue is
+     * below the high watermark, the callback is completed immediately.
+     *
+     * @param callback the callback to complete once more data may be sent
+     */
+    public void whenWritable(Callback callback) {
+        if (waiting.isEmpty() && queueSize() < HIGH_WATERMARK) {
+            callback.succeeded();
+            return;
+        }
+        waiting.add(callback);
+        schedulePoll();
+    }
+
+    /**
+     * Returns the number of proxied responses currently paused because of a full web socket queue
+     */
+    public int getWaitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * Fails all paused responses, e.g. because the connection to the openHAB Cloud has been lost
+     */
+    public void reset() {
+        cancelPoll();
+        Callback callback;
+        IOException cause = new IOException("Connection to the openHAB Cloud lost");
+        while ((callback = waiting.poll()) != null) {
+            callback.failed(cause);
+        }
+    }
+
+    private synchronized void schedulePoll() {
+        ScheduledFuture<?> job = pollJob;
+        if (job == null || job.isDone()) {
+            pollJob = scheduler.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_MS, POLL_INTERVAL_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void cancelPoll() {
+        ScheduledFuture<?> job = pollJob;
+        if (job != null) {
+            job.cancel(false);
+            pollJob = null;
+        }
+    }
+
+    private void poll() {
+        if (queueSize() >= LOW_WATERMARK) {
+            return;
+        }
+        Callback callback;
+        while ((callback = waiting.poll()) != null) {
+            callback.succeeded();
+            if (queueSize() >= HIGH_WATERMARK) {
+                return;
+            }
+        }
+        synchronized (this) {
+            if (waiting.isEmpty()) {
+                cancelPoll();
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ItemUpdateUplink}.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateUplinkTest {
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> flushJob = mock(ScheduledFuture.class);
+    private final List<String> events = new ArrayList<>();
+    private final List<JSONObject> messages = new ArrayList<>();
+    private boolean connected = true;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(flushJob).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    private ItemUpdateUplink createUplink(long interval, boolean batch) {
+        return new ItemUpdateUplink(scheduler, (event, message) -> {
+            events.add(event);
+            messages.add(message);
+        }, () -> connected, interval, batch);
+    }
+
+    @Test
+    public void updatesAreSentImmediatelyWithoutInterval() {
+        ItemUpdateUplink uplink = createUplink(0, false);
+
+        uplink.update("Temperature", "21.5");
+        uplink.update("Temperature", "21.6");
+        connected = false;
+        uplink.update("Temperature", "21.7");
+
+        assertEquals(List.of("itemupdate", "itemupdate"), events);
+        assertUpdate(messages.get(0), "Temperature", "21.5");
+        assertUpdate(messages.get(1), "Temperature", "21.6");
+        verifyNoInteractions(scheduler);
+        assertCounts(uplink, 2, 0, 1);
+    }
+
+    @Test
+    public void latestUpdateOfTheIntervalIsSent() {
+        ItemUpdateUplink uplink = createUplink(500, false);
+
+        uplink.update("Temperature", "21.5");
+        uplink.update("Power", "100");
+        uplink.update("Temperature", "21.6");
+        uplink.update("Temperature", "21.7");
+        assertTrue(events.isEmpty());
+        // one flush is scheduled for the interval
+        verify(scheduler).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+        uplink.flush();
+        assertEquals(List.of("itemupdate", "itemupdate"), events);
+        assertUpdate(messages.get(0), "Temperature", "21.7");
+        assertUpdate(messages.get(1), "Power", "100");
+        assertCounts(uplink, 2, 2, 0);
+
+        // nothing is pending anymore
+        uplink.flush();
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    public void nextUpdateSchedulesTheNextFlush() {
+        ItemUpdateUplink uplink = createUplink(500, false);
+
+        uplink.update("Temperature", "21.5");
+        uplink.update("Temperature", "21.6");
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), any());
+
+        when(flushJob.isDone()).thenReturn(true);
+        uplink.flush();
+        uplink.update("Temperature", "21.7");
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void updatesOfTheIntervalAreSentAsBatch() {
+        ItemUpdateUplink uplink = createUplink(500, true);
+
+        uplink.update("Temperature", "21.5");
+        uplink.update("Power", "100");
+        uplink.update("Temperature", "21.6");
+        uplink.flush();
+
+        assertEquals(List.of("itemupdates"), events);
+        JSONArray items = messages.get(0).getJSONArray("items");
+        assertEquals(2, items.length());
+        assertUpdate(items.getJSONObject(0), "Temperature", "21.6");
+        assertUpdate(items.getJSONObject(1), "Power", "100");
+        assertCounts(uplink, 2, 1, 0);
+    }
+
+    @Test
+    public void updatesAreDroppedWithoutConnection() {
+        ItemUpdateUplink uplink = createUplink(500, true);
+
+        uplink.update("Temperature", "21.5");
+        uplink.update("Power", "100");
+        connected = false;
+        uplink.flush();
+
+        assertTrue(events.isEmpty());
+        assertCounts(uplink, 0, 0, 2);
+    }
+
+    @Test
+    public void updatesOfNewItemsAreDroppedWhenTooManyArePending() {
+        ItemUpdateUplink uplink = createUplink(500, true);
+
+        for (int i = 0; i < 10_000; i++) {
+            uplink.update("Item" + i, "ON");
+        }
+        uplink.update("Overflow", "ON");
+        // updates of pending items are still coalesced
+        uplink.update("Item0", "OFF");
+        assertCounts(uplink, 0, 1, 1);
+
+        uplink.flush();
+        JSONArray items = messages.get(0).getJSONArray("items");
+        assertEquals(10_000, items.length());
+        assertUpdate(items.getJSONObject(0), "Item0", "OFF");
+        assertCounts(uplink, 10_000, 1, 1);
+
+        // there is room again after the flush
+        uplink.update("Overflow", "ON");
+        uplink.flush();
+        assertUpdate(messages.get(1).getJSONArray("items").getJSONObject(0), "Overflow", "ON");
+    }
+
+    @Test
+    public void disposeDiscardsPendingUpdates() {
+        ItemUpdateUplink uplink = createUplink(500, false);
+
+        uplink.update("Temperature", "21.5");
+        uplink.update("Power", "100");
+        uplink.dispose();
+        verify(flushJob).cancel(false);
+
+        uplink.flush();
+        assertTrue(events.isEmpty());
+        assertCounts(uplink, 0, 0, 2);
+    }
+
+    private void assertUpdate(JSONObject message, String itemName, String itemState) {
+        assertEquals(itemName, message.getString("itemName"));
+        assertEquals(itemState, message.getString("itemStatus"));
+    }
+
+    private void assertCounts(ItemUpdateUplink uplink, long emitted, long coalesced, long dropped) {
+        assertEquals(emitted, uplink.getEmittedCount(), "emitted");
+        assertEquals(coalesced, uplink.getCoalescedCount(), "coalesced");
+        assertEquals(dropped, uplink.getDroppedCount(), "dropped");
+    }
+}
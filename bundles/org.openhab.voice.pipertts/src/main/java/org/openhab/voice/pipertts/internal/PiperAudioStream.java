@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.AudioStream;
+
+/**
+ * The {@link PiperAudioStream} is an {@link AudioStream} whose audio is written while it is read, so that the playback
+ * can start as soon as the first sentence is synthesized.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+class PiperAudioStream extends AudioStream {
+    private static final byte[] END = new byte[0];
+
+    private final AudioFormat audioFormat;
+    private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+    private byte[] chunk = new byte[0];
+    private int position;
+    private boolean ended;
+    private volatile boolean closed;
+    private volatile @Nullable IOException failure;
+
+    PiperAudioStream(AudioFormat audioFormat) {
+        this.audioFormat = audioFormat;
+    }
+
+    /**
+     * Append audio to the stream.
+     *
+     * @param data the audio data
+     */
+    void write(byte[] data) {
+        if (data.length > 0 && !closed) {
+            chunks.add(data);
+        }
+    }
+
+    /**
+     * Mark the end of the audio, the stream ends after the written audio is read.
+     */
+    void finish() {
+        chunks.add(END);
+    }
+
+    /**
+     * Mark the audio as incomplete, reading fails after the written audio is read.
+     *
+     * @param e the cause
+     */
+    void fail(IOException e) {
+        failure = e;
+        chunks.add(END);
+    }
+
+    /**
+     * @return true if the stream is closed by the consumer, so no more audio is needed
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @Nullable [] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        int count = Math.min(len, chunk.length - position);
+        System.arraycopy(chunk, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return chunk.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        chunks.clear();
+        super.close();
+    }
+
+    private boolean nextChunk() throws IOException {
+        while (position >= chunk.length) {
+            if (ended) {
+                IOException failure = this.failure;
+                if (failure != null) {
+                    throw failure;
+                }
+                return false;
+            }
+            try {
+                byte[] next = chunks.take();
+                if (next == END) {
+                    ended = true;
+                } else {
+                    chunk = next;
+                    position = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for audio");
+            }
+        }
+        return true;
+    }
+}
@@ -22,7 +22,15 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class PiperTTSConfiguration {
     /**
-     * Keep last voice model used loaded in memory.
+     * Keep the recently used voice models loaded in memory.
      */
     boolean preloadModel;
+    /**
+     * Maximum size in MB of the voice models kept loaded.
+     */
+    int maxPreloadedMemory = 256;
+    /**
+     * Return the audio of each sentence as soon as it is generated.
+     */
+    boolean streamAudio;
 }
@@ -24,12 +24,16 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.text.BreakIterator;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -38,6 +42,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.stream.Collectors;
@@ -99,7 +104,8 @@ public class PiperTTSService extends AbstractCachedTTSService {
     private PiperTTSConfiguration config = new PiperTTSConfiguration();
     private Map<String, List<Voice>> cachedVoicesByModel = new HashMap<>();
     private boolean ready = false;
-    private @Nullable VoiceModel preloadedModel;
+    // voice models kept loaded by voice UID, least recently used first
+    private final Map<String, VoiceModel> preloadedModels = new LinkedHashMap<>(16, 0.75f, true);
     private @Nullable PiperJNI piper;
     private @Nullable Future<?> activateTask;
     static {
@@ -204,22 +210,16 @@ public class PiperTTSService extends AbstractCachedTTSService {
     @Deactivate
     protected void deactivate(Map<String, Object> config) {
         try {
-            unloadModel();
+            unloadModels();
             getPiper().close();
             piper = null;
-        } catch (IOException e) {
-            logger.warn("Exception unloading model: {}", e.getMessage());
         } catch (LibraryNotLoaded ignored) {
         }
     }
 
     private void configChange(Map<String, Object> config) {
         this.config = new Configuration(config).as(PiperTTSConfiguration.class);
-        try {
-            unloadModel();
-        } catch (IOException e) {
-            logger.warn("IOException unloading model: {}", e.getMessage());
-        }
+        unloadModels();
     }
 
     private PiperJNI getPiper() throws LibraryNotLoaded {
@@ -339,56 +339,166 @@ public class PiperTTSService extends AbstractCachedTTSService {
         if (!(voice instanceof PiperTTSVoice ttsVoice)) {
             throw new TTSException("No piper voice provided");
         }
-        VoiceModel voiceModel = null;
-        boolean usingPreloadedModel = false;
+        long startTime = System.currentTimeMillis();
+        VoiceModel voiceModel;
+        try {
+            voiceModel = acquireModel(ttsVoice);
+        } catch (IOException e) {
+            throw new TTSException("Unable to load voice model: " + e.getMessage());
+        } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
+            throw new TTSException("Piper not initialized, try restarting the add-on.");
+        } catch (RuntimeException e) {
+            logger.warn("RuntimeException loading voice model: {}", e.getMessage());
+            throw new TTSException("There was an error running Piper");
+        }
+        if (config.streamAudio) {
+            return synthesizeStream(text, voiceModel, audioFormat, startTime);
+        }
         short[] buffer;
-        final VoiceModel preloadedModel = this.preloadedModel;
         try {
+            buffer = textToAudio(voiceModel, text);
+        } finally {
+            releaseModel(voiceModel);
+        }
+        try {
+            logger.debug("Return re-encoded audio stream");
+            AudioStream audioStream = getAudioStream(buffer, voiceModel.sampleRate, audioFormat);
+            logger.debug("Time to first audio: {} ms", System.currentTimeMillis() - startTime);
+            return audioStream;
+        } catch (IOException e) {
+            throw new TTSException("Error while creating audio stream: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Synthesize the text sentence by sentence in the background, the returned stream contains the audio of each
+     * sentence as soon as it is generated.
+     */
+    private AudioStream synthesizeStream(String text, VoiceModel voiceModel, AudioFormat audioFormat,
+            long startTime) {
+        javax.sound.sampled.AudioFormat jTargetFormat = getJavaAudioFormat(audioFormat);
+        PiperAudioStream audioStream = new PiperAudioStream(audioFormat);
+        audioStream.write(getStreamingWaveHeader(jTargetFormat));
+        List<String> sentences = splitSentences(text, voiceModel.ttsVoice.getLocale());
+        executor.submit(() -> {
             try {
-                if (preloadedModel != null && preloadedModel.ttsVoice.getUID().equals(ttsVoice.getUID())) {
-                    logger.debug("Using preloaded voice model");
-                    preloadedModel.consumers.incrementAndGet();
-                    voiceModel = preloadedModel;
-                    usingPreloadedModel = true;
-                } else {
-                    unloadModel();
-                    logger.debug("Loading voice model...");
-                    voiceModel = loadModel(ttsVoice);
-                    synchronized (modelLock) {
-                        usingPreloadedModel = voiceModel.equals(this.preloadedModel);
+                boolean first = true;
+                for (Iterator<String> iterator = sentences.iterator(); iterator.hasNext()
+                        && !audioStream.isClosed();) {
+                    short[] samples = textToAudio(voiceModel, iterator.next());
+                    audioStream.write(convertAudio(samples, voiceModel.sampleRate, jTargetFormat));
+                    if (first) {
+                        first = false;
+                        logger.debug("Time to first audio: {} ms", System.currentTimeMillis() - startTime);
                     }
                 }
-            } catch (IOException e) {
-                throw new TTSException("Unable to load voice model: " + e.getMessage());
-            }
-            try {
-                logger.debug("Generating audio for: '{}'", text);
-                buffer = getPiper().textToAudio(voiceModel.piperVoice, text);
-                logger.debug("Generated {} samples of audio", buffer.length);
-            } catch (IOException e) {
-                throw new TTSException("Voice generation failed: " + e.getMessage());
+                audioStream.finish();
+            } catch (TTSException | IOException | RuntimeException e) {
+                logger.warn("Streamed voice generation failed: {}", e.getMessage());
+                // fail the stream, so that the incomplete audio is not cached
+                audioStream.fail(new IOException(e.getMessage(), e));
+            } finally {
+                releaseModel(voiceModel);
             }
+        });
+        return audioStream;
+    }
+
+    private short[] textToAudio(VoiceModel voiceModel, String text) throws TTSException {
+        try {
+            logger.debug("Generating audio for: '{}'", text);
+            short[] buffer = getPiper().textToAudio(voiceModel.piperVoice, text);
+            logger.debug("Generated {} samples of audio", buffer.length);
+            return buffer;
+        } catch (IOException e) {
+            throw new TTSException("Voice generation failed: " + e.getMessage());
         } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
             throw new TTSException("Piper not initialized, try restarting the add-on.");
         } catch (RuntimeException e) {
             logger.warn("RuntimeException running text to audio: {}", e.getMessage());
             throw new TTSException("There was an error running Piper");
-        } finally {
+        }
+    }
+
+    static List<String> splitSentences(String text, Locale locale) {
+        List<String> sentences = new ArrayList<>();
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
+            }
+        }
+        return sentences;
+    }
+
+    /**
+     * Get a loaded model for the voice, which has to be released after use.
+     */
+    private VoiceModel acquireModel(PiperTTSVoice ttsVoice)
+            throws IOException, PiperJNI.NotInitialized, LibraryNotLoaded {
+        synchronized (modelLock) {
+            VoiceModel voiceModel = preloadedModels.get(ttsVoice.getUID());
             if (voiceModel != null) {
-                if (!usingPreloadedModel
-                        || voiceModel.consumers.decrementAndGet() == 0 && !voiceModel.equals(this.preloadedModel)) {
-                    logger.debug("Unloading voice model");
-                    voiceModel.close();
-                } else {
-                    logger.debug("Skipping voice model unload");
+                logger.debug("Using preloaded voice model");
+                voiceModel.consumers.incrementAndGet();
+                return voiceModel;
+            }
+        }
+        logger.debug("Loading voice model...");
+        long startTime = System.currentTimeMillis();
+        VoiceModel voiceModel = loadModel(ttsVoice);
+        logger.debug("Loaded voice model in {} ms", System.currentTimeMillis() - startTime);
+        if (config.preloadModel) {
+            synchronized (modelLock) {
+                if (!preloadedModels.containsKey(ttsVoice.getUID())) {
+                    logger.debug("Voice model will be kept preloaded");
+                    voiceModel.preloaded.set(true);
+                    preloadedModels.put(ttsVoice.getUID(), voiceModel);
+                    evictModels();
                 }
             }
         }
-        try {
-            logger.debug("Return re-encoded audio stream");
-            return getAudioStream(buffer, voiceModel.sampleRate, audioFormat);
-        } catch (IOException e) {
-            throw new TTSException("Error while creating audio stream: " + e.getMessage());
+        return voiceModel;
+    }
+
+    private void releaseModel(VoiceModel voiceModel) {
+        synchronized (modelLock) {
+            if (voiceModel.consumers.decrementAndGet() == 0 && !voiceModel.preloaded.get()) {
+                logger.debug("Unloading voice model");
+                voiceModel.close();
+            } else {
+                logger.debug("Skipping voice model unload");
+            }
+        }
+    }
+
+    /**
+     * Unload the least recently used models until the preloaded models fit in the memory limit, the most recently
+     * used model is always kept.
+     */
+    private void evictModels() {
+        long maxSize = config.maxPreloadedMemory * 1024L * 1024L;
+        long size = preloadedModels.values().stream().mapToLong(VoiceModel::size).sum();
+        Iterator<VoiceModel> iterator = preloadedModels.values().iterator();
+        while (size > maxSize && preloadedModels.size() > 1) {
+            VoiceModel voiceModel = iterator.next();
+            iterator.remove();
+            size -= voiceModel.size;
+            logger.debug("Unloading least recently used voice model {}", voiceModel.ttsVoice.getUID());
+            unloadPreloadedModel(voiceModel);
+        }
+    }
+
+    private void unloadPreloadedModel(VoiceModel voiceModel) {
+        voiceModel.preloaded.set(false);
+        if (voiceModel.consumers.get() == 0) {
+            voiceModel.close();
+        } else {
+            // Do not release the model memory if it's been used, it should be released by the last consumer.
+            logger.debug("Preloaded model in use, skip memory release");
         }
     }
 
@@ -400,39 +510,39 @@ public class PiperTTSService extends AbstractCachedTTSService {
         PiperVoice piperVoice;
         VoiceModel voiceModel;
         piperVoice = piper.loadVoice(voice.voiceModelPath(), voice.voiceModelConfigPath(), voice.speakerId.orElse(-1L));
-        voiceModel = new VoiceModel(voice, piperVoice, piperVoice.getSampleRate(), new AtomicInteger(1), logger);
-        if (config.preloadModel) {
-            synchronized (modelLock) {
-                if (preloadedModel == null) {
-                    logger.debug("Voice model will be kept preloaded");
-                    preloadedModel = voiceModel;
-                } else {
-                    logger.debug("Another voice model already preloaded");
-                }
-            }
-        }
+        // the size of the model file is used as estimation of the memory used by the loaded model
+        voiceModel = new VoiceModel(voice, piperVoice, piperVoice.getSampleRate(), Files.size(voice.voiceModelPath()),
+                new AtomicInteger(1), new AtomicBoolean(), logger);
         return voiceModel;
     }
 
-    private void unloadModel() throws IOException {
-        var model = preloadedModel;
-        if (model != null) {
-            synchronized (modelLock) {
-                preloadedModel = null;
-                if (model.consumers.get() == 0) {
-                    // Do not release the model memory if it's been used, it should be released by the consumer
-                    // when there is no other consumers and is not a ref of the preloaded model object.
-                    logger.debug("Unloading preloaded model");
-                    model.close();
-                } else {
-                    logger.debug("Preloaded model in use, skip memory release");
-                }
+    private void unloadModels() {
+        synchronized (modelLock) {
+            if (!preloadedModels.isEmpty()) {
+                logger.debug("Unloading preloaded models");
             }
+            preloadedModels.values().forEach(this::unloadPreloadedModel);
+            preloadedModels.clear();
         }
     }
 
     private ByteArrayAudioStream getAudioStream(short[] samples, long sampleRate, AudioFormat targetFormat)
             throws IOException {
+        javax.sound.sampled.AudioFormat jTargetFormat = getJavaAudioFormat(targetFormat);
+        // It's required to add the wav header to the byte array stream returned for it to work with all the sink
+        // implementations.
+        // It can not be done with the AudioInputStream returned by AudioSystem::getAudioInputStream because it missed
+        // the length property.
+        // Therefore, the following method creates another AudioInputStream instance and uses the Java AudioSystem to
+        // prepend
+        // the wav header bytes,
+        // and finally initializes an OpenHAB audio stream.
+        return getAudioStreamWithRIFFHeader(convertAudio(samples, sampleRate, jTargetFormat), jTargetFormat,
+                targetFormat);
+    }
+
+    private byte[] convertAudio(short[] samples, long sampleRate, javax.sound.sampled.AudioFormat jTargetFormat)
+            throws IOException {
         // Convert the i16 samples returned by piper to a byte buffer
         ByteBuffer byteBuffer;
         int numSamples = samples.length;
@@ -449,19 +559,30 @@ public class PiperTTSService extends AbstractCachedTTSService {
                 audioLength);
         // Move the audio data to another Java audio stream in the target format so the Java AudioSystem encoded it as
         // needed.
-        javax.sound.sampled.AudioFormat jTargetFormat = new javax.sound.sampled.AudioFormat(
-                Objects.requireNonNull(targetFormat.getFrequency()), Objects.requireNonNull(targetFormat.getBitDepth()),
-                Objects.requireNonNull(targetFormat.getChannels()), true, false);
         AudioInputStream convertedInputStream = AudioSystem.getAudioInputStream(jTargetFormat, audioInputStreamTemp);
-        // It's required to add the wav header to the byte array stream returned for it to work with all the sink
-        // implementations.
-        // It can not be done with the AudioInputStream returned by AudioSystem::getAudioInputStream because it missed
-        // the length property.
-        // Therefore, the following method creates another AudioInputStream instance and uses the Java AudioSystem to
-        // prepend
-        // the wav header bytes,
-        // and finally initializes an OpenHAB audio stream.
-        return getAudioStreamWithRIFFHeader(convertedInputStream.readAllBytes(), jTargetFormat, targetFormat);
+        return convertedInputStream.readAllBytes();
+    }
+
+    private javax.sound.sampled.AudioFormat getJavaAudioFormat(AudioFormat targetFormat) {
+        return new javax.sound.sampled.AudioFormat(Objects.requireNonNull(targetFormat.getFrequency()),
+                Objects.requireNonNull(targetFormat.getBitDepth()), Objects.requireNonNull(targetFormat.getChannels()),
+                true, false);
+    }
+
+    /**
+     * Get a wav header for streamed audio, the length of the audio is unknown in advance.
+     */
+    private byte[] getStreamingWaveHeader(javax.sound.sampled.AudioFormat jAudioFormat) {
+        int sampleRate = (int) jAudioFormat.getSampleRate();
+        int frameSize = jAudioFormat.getFrameSize();
+        ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(-1); // maximum length
+        header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        header.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1) // PCM
+                .putShort((short) jAudioFormat.getChannels()).putInt(sampleRate).putInt(sampleRate * frameSize)
+                .putShort((short) frameSize).putShort((short) jAudioFormat.getSampleSizeInBits());
+        header.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(-1); // maximum length
+        return header.array();
     }
 
     private String capitalize(String text) {
@@ -502,8 +623,8 @@ public class PiperTTSService extends AbstractCachedTTSService {
         }
     }
 
-    private record VoiceModel(PiperTTSVoice ttsVoice, PiperVoice piperVoice, int sampleRate, AtomicInteger consumers,
-            Logger logger) implements AutoCloseable {
+    private record VoiceModel(PiperTTSVoice ttsVoice, PiperVoice piperVoice, int sampleRate, long size,
+            AtomicInteger consumers, AtomicBoolean preloaded, Logger logger) implements AutoCloseable {
 
         @Override
         public void close() {
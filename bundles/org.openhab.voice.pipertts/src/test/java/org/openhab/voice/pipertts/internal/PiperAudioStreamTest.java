@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.openhab.core.audio.AudioFormat;
+
+/**
+ * Tests {@link PiperAudioStream}.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+@Timeout(10)
+public class PiperAudioStreamTest {
+    private final PiperAudioStream audioStream = new PiperAudioStream(
+            new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 22050L, 1));
+
+    @Test
+    public void audioIsReadableBeforeTheSynthesisFinished() throws IOException {
+        audioStream.write(new byte[] { 1, 2, 3 });
+
+        byte[] buffer = new byte[10];
+        assertEquals(3, audioStream.read(buffer, 0, buffer.length));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Arrays.copyOf(buffer, 3));
+        assertEquals(0, audioStream.available());
+    }
+
+    @Test
+    public void readWaitsForTheNextSentence() throws Exception {
+        CompletableFuture<Integer> read = CompletableFuture.supplyAsync(() -> {
+            try {
+                return audioStream.read();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> read.get(100, TimeUnit.MILLISECONDS));
+
+        audioStream.write(new byte[] { 4 });
+        assertEquals(4, read.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void streamEndsAfterTheWrittenAudio() throws IOException {
+        audioStream.write(new byte[] { 1, 2 });
+        audioStream.write(new byte[] { 3 });
+        audioStream.finish();
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, audioStream.readAllBytes());
+        assertEquals(-1, audioStream.read());
+    }
+
+    @Test
+    public void failedSynthesisFailsTheReadAfterTheWrittenAudio() throws IOException {
+        audioStream.write(new byte[] { 1, 2 });
+        audioStream.fail(new IOException("synthesis failed"));
+
+        assertEquals(1, audioStream.read());
+        assertEquals(2, audioStream.read());
+        IOException e = assertThrows(IOException.class, audioStream::read);
+        assertEquals("synthesis failed", e.getMessage());
+    }
+
+    @Test
+    public void closedStreamDiscardsTheAudio() throws IOException {
+        audioStream.write(new byte[] { 1, 2 });
+        audioStream.close();
+
+        assertTrue(audioStream.isClosed());
+        audioStream.write(new byte[] { 3 });
+        assertEquals(0, audioStream.available());
+    }
+}
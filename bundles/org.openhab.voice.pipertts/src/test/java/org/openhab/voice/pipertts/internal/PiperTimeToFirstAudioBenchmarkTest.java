@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.givimad.piperjni.PiperJNI;
+import io.github.givimad.piperjni.PiperVoice;
+
+/**
+ * Measures the time to first audio of an announcement, when the whole text is synthesized at once and when it is
+ * synthesized sentence by sentence like the streamed synthesis does.
+ *
+ * Run with {@code -Dpiper.test.voice=/path/to/voice.onnx}, the voice config has to be next to the model.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+public class PiperTimeToFirstAudioBenchmarkTest {
+    private static final String ANNOUNCEMENT = "Good morning. The washing machine has finished. "
+            + "The outside temperature is twelve degrees and it will rain in the afternoon. "
+            + "Remember to take the bins out tonight, the collection is tomorrow morning.";
+    private static final int RUNS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(PiperTimeToFirstAudioBenchmarkTest.class);
+
+    @Test
+    @EnabledIfSystemProperty(named = "piper.test.voice", matches = ".+", disabledReason = "Only for manual execution.")
+    public void timeToFirstAudio() throws Exception {
+        Path model = Path.of(System.getProperty("piper.test.voice", ""));
+        Path config = model.resolveSibling(model.getFileName() + ".json");
+        assertTrue(Files.exists(model) && Files.exists(config), "Missing voice files");
+        List<String> sentences = PiperTTSService.splitSentences(ANNOUNCEMENT, Locale.ENGLISH);
+        assertEquals(4, sentences.size());
+
+        PiperJNI piper = new PiperJNI();
+        try {
+            piper.initialize(true, false);
+            PiperVoice voice = piper.loadVoice(model, config, -1L);
+            try {
+                // warm up
+                piper.textToAudio(voice, sentences.get(0));
+
+                long fullText = 0;
+                long firstSentence = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    long start = System.nanoTime();
+                    assertTrue(piper.textToAudio(voice, ANNOUNCEMENT).length > 0);
+                    fullText += System.nanoTime() - start;
+                    start = System.nanoTime();
+                    assertTrue(piper.textToAudio(voice, sentences.get(0)).length > 0);
+                    firstSentence += System.nanoTime() - start;
+                }
+                logger.info("Time to first audio: {} ms for the whole text, {} ms when streamed",
+                        fullText / RUNS / 1_000_000, firstSentence / RUNS / 1_000_000);
+            } finally {
+                voice.close();
+            }
+        } finally {
+            piper.close();
+        }
+    }
+}
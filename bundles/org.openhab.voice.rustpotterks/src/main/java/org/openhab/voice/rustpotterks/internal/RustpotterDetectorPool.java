@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.rustpotterks.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.givimad.rustpotter_java.Endianness;
+import io.github.givimad.rustpotter_java.Rustpotter;
+import io.github.givimad.rustpotter_java.RustpotterConfig;
+import io.github.givimad.rustpotter_java.RustpotterDetection;
+
+/**
+ * The {@link RustpotterDetectorPool} keeps the detectors of all audio sources, so that the detectors of finished
+ * spotting sessions, with their wakeword already loaded, are reused by the next sessions with the same audio format
+ * and wakeword file instead of being created again.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+class RustpotterDetectorPool {
+    private static final int MAX_IDLE_DETECTORS = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(RustpotterDetectorPool.class);
+    private final List<Detector> runningDetectors = new ArrayList<>();
+    // the least recently released detector first
+    private final Deque<Detector> idleDetectors = new ArrayDeque<>();
+
+    /**
+     * Get an idle detector for the given audio format and wakeword, which must be released after use.
+     *
+     * @param key the audio format and wakeword of the detector
+     * @return a detector, or null if there is none that can be reused
+     */
+    synchronized @Nullable Detector take(Key key) {
+        for (Iterator<Detector> iterator = idleDetectors.descendingIterator(); iterator.hasNext();) {
+            Detector detector = iterator.next();
+            if (detector.key().equals(key)) {
+                iterator.remove();
+                runningDetectors.add(detector);
+                logger.debug("Reusing detector for wakeword '{}'", key.wakewordPath());
+                return detector;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add a new detector to the pool.
+     *
+     * @param key the audio format and wakeword of the detector
+     * @param rustpotter a detector with the wakeword loaded
+     * @return the detector, which must be released after use
+     */
+    synchronized Detector add(Key key, Rustpotter rustpotter) {
+        Detector detector = new Detector(key, rustpotter, new byte[(int) rustpotter.getBytesPerFrame()]);
+        runningDetectors.add(detector);
+        return detector;
+    }
+
+    /**
+     * Release a detector, which is kept for reuse with a cleared state.
+     *
+     * @param detector the detector to release
+     */
+    synchronized void release(Detector detector) {
+        if (!runningDetectors.remove(detector)) {
+            // the pool was cleared in the meantime
+            detector.delete();
+            return;
+        }
+        // the audio and partial detection of the finished session must not be part of the next one
+        detector.reset();
+        idleDetectors.addLast(detector);
+        while (idleDetectors.size() > MAX_IDLE_DETECTORS) {
+            idleDetectors.removeFirst().delete();
+        }
+    }
+
+    /**
+     * Update the configuration of the running detectors and discard the idle ones.
+     *
+     * @param config the new detector configuration
+     * @return the number of running detectors updated
+     */
+    synchronized int updateConfig(RustpotterConfig config) {
+        clearIdle();
+        runningDetectors.forEach(detector -> detector.updateConfig(config));
+        return runningDetectors.size();
+    }
+
+    /**
+     * @return true if there are running detectors
+     */
+    synchronized boolean isRunning() {
+        return !runningDetectors.isEmpty();
+    }
+
+    /**
+     * Delete the idle detectors and stop keeping the running ones, which are deleted when they are released.
+     */
+    synchronized void clear() {
+        clearIdle();
+        runningDetectors.clear();
+    }
+
+    /**
+     * Delete the idle detectors, e.g. because they have an outdated configuration.
+     */
+    synchronized void clearIdle() {
+        idleDetectors.forEach(Detector::delete);
+        idleDetectors.clear();
+    }
+
+    /**
+     * The audio format and wakeword file a detector is created for. The modification time of the wakeword file is
+     * included so a modified file is loaded again.
+     */
+    record Key(long frequency, int bitDepth, int channels, Endianness endianness, String wakewordPath,
+            long wakewordLastModified) {
+    }
+
+    /**
+     * A detector with the buffer for its audio frames.
+     */
+    record Detector(Key key, Rustpotter rustpotter, byte[] buffer) {
+
+        public Optional<RustpotterDetection> processBytes(byte[] bytes) {
+            synchronized (this.rustpotter) {
+                return this.rustpotter.processBytes(bytes);
+            }
+        }
+
+        public void updateConfig(RustpotterConfig config) {
+            synchronized (this.rustpotter) {
+                this.rustpotter.updateConfig(config);
+            }
+        }
+
+        public void reset() {
+            synchronized (this.rustpotter) {
+                this.rustpotter.reset();
+            }
+        }
+
+        public void delete() {
+            synchronized (this.rustpotter) {
+                this.rustpotter.delete();
+            }
+        }
+
+        // detectors are compared by identity, as they are kept in lists
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
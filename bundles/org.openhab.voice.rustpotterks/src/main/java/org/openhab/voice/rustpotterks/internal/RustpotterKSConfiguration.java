@@ -93,4 +93,9 @@ public class RustpotterKSConfiguration {
      * High cutoff for the band-pass filter.
      */
     public float highCutoff = 400f;
+    /**
+     * Percentage of the audio duration the processing of an audio source may take before a warning is logged.
+     * If set to 0 this functionality is disabled.
+     */
+    public int cpuBudget = 10;
 }
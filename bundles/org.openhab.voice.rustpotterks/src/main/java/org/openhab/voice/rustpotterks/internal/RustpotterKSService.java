@@ -18,13 +18,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -43,6 +43,7 @@ import org.openhab.core.voice.KSpottedEvent;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,7 +51,6 @@ import org.slf4j.LoggerFactory;
 import io.github.givimad.rustpotter_java.Endianness;
 import io.github.givimad.rustpotter_java.Rustpotter;
 import io.github.givimad.rustpotter_java.RustpotterConfig;
-import io.github.givimad.rustpotter_java.RustpotterDetection;
 import io.github.givimad.rustpotter_java.SampleFormat;
 import io.github.givimad.rustpotter_java.ScoreMode;
 import io.github.givimad.rustpotter_java.VADMode;
@@ -67,10 +67,13 @@ import io.github.givimad.rustpotter_java.VADMode;
 public class RustpotterKSService implements KSService {
     private static final Path RUSTPOTTER_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "rustpotter");
     private static final Path RUSTPOTTER_RECORDS_FOLDER = RUSTPOTTER_FOLDER.resolve("records");
+    // seconds of audio after which the processing time of a source is reported
+    private static final long CPU_REPORT_INTERVAL = 60;
     private final Logger logger = LoggerFactory.getLogger(RustpotterKSService.class);
     private final ExecutorService executor = ThreadPoolManager.getPool("voice-rustpotterks");
     private RustpotterKSConfiguration config = new RustpotterKSConfiguration();
-    private final List<RustpotterMutex> runningInstances = new ArrayList<>();
+    private final RustpotterDetectorPool detectorPool = new RustpotterDetectorPool();
+    private final AtomicInteger sourceCounter = new AtomicInteger();
 
     @Activate
     protected void activate(Map<String, Object> config) {
@@ -85,6 +88,11 @@ public class RustpotterKSService implements KSService {
         modified(config);
     }
 
+    @Deactivate
+    protected void deactivate() {
+        detectorPool.clear();
+    }
+
     @Modified
     protected void modified(Map<String, Object> config) {
         this.config = new Configuration(config).as(RustpotterKSConfiguration.class);
@@ -138,33 +146,46 @@ public class RustpotterKSService implements KSService {
         if (!Files.exists(wakewordPath)) {
             throw new KSException("Missing wakeword file: " + wakewordPath);
         }
-        Rustpotter rustpotter;
+        RustpotterDetectorPool.Key key;
         try {
-            rustpotter = initRustpotter(frequency, bitDepth, channels, endianness);
-        } catch (Exception e) {
-            throw new KSException("Unable to start rustpotter: " + e.getMessage(), e);
+            key = new RustpotterDetectorPool.Key(frequency, bitDepth, channels, endianness, wakewordPath.toString(),
+                    Files.getLastModifiedTime(wakewordPath).toMillis());
+        } catch (IOException e) {
+            throw new KSException("Unable to read wakeword file: " + e.getMessage());
         }
-        try {
-            rustpotter.addWakewordFile("w", wakewordPath.toString());
-        } catch (Exception e) {
-            throw new KSException("Unable to load wakeword file: " + e.getMessage());
+        RustpotterDetectorPool.Detector detector = detectorPool.take(key);
+        if (detector == null) {
+            detector = detectorPool.add(key, createRustpotter(key));
         }
-        logger.debug("Wakeword '{}' loaded", wakewordPath);
         AtomicBoolean aborted = new AtomicBoolean(false);
-        int bufferSize = (int) rustpotter.getBytesPerFrame();
         long bytesPerMs = frequency / 1000 * (long) bitDepth;
-        RustpotterMutex rustpotterMutex = new RustpotterMutex(rustpotter);
-        synchronized (this.runningInstances) {
-            this.runningInstances.add(rustpotterMutex);
-        }
+        String source = "source " + sourceCounter.incrementAndGet();
+        RustpotterDetectorPool.Detector sourceDetector = detector;
         executor.submit(
-                () -> processAudioStream(rustpotterMutex, bufferSize, bytesPerMs, ksListener, audioStream, aborted));
+                () -> processAudioStream(sourceDetector, source, bytesPerMs, ksListener, audioStream, aborted));
         return () -> {
             logger.debug("Stopping service");
             aborted.set(true);
         };
     }
 
+    private Rustpotter createRustpotter(RustpotterDetectorPool.Key key) throws KSException {
+        Rustpotter rustpotter;
+        try {
+            rustpotter = initRustpotter(key.frequency(), key.bitDepth(), key.channels(), key.endianness());
+        } catch (Exception e) {
+            throw new KSException("Unable to start rustpotter: " + e.getMessage(), e);
+        }
+        try {
+            rustpotter.addWakewordFile("w", key.wakewordPath());
+        } catch (Exception e) {
+            rustpotter.delete();
+            throw new KSException("Unable to load wakeword file: " + e.getMessage());
+        }
+        logger.debug("Wakeword '{}' loaded", key.wakewordPath());
+        return rustpotter;
+    }
+
     private Rustpotter initRustpotter(long frequency, int bitDepth, int channels, Endianness endianness)
             throws Exception {
         var rustpotterConfig = initRustpotterConfig();
@@ -203,12 +224,20 @@ public class RustpotterKSService implements KSService {
         return rustpotterConfig;
     }
 
-    private void processAudioStream(RustpotterMutex rustpotter, int bufferSize, long bytesPerMs, KSListener ksListener,
-            AudioStream audioStream, AtomicBoolean aborted) {
+    private void processAudioStream(RustpotterDetectorPool.Detector rustpotter, String source, long bytesPerMs,
+            KSListener ksListener, AudioStream audioStream, AtomicBoolean aborted) {
         int numBytesRead;
-        byte[] audioBuffer = new byte[bufferSize];
+        // the frame buffer is kept with the detector, the frames are passed to the detector without conversion
+        byte[] audioBuffer = rustpotter.buffer();
+        int bufferSize = audioBuffer.length;
         int remaining = bufferSize;
         boolean hasFailed = false;
+        RustpotterDetectorPool.Key key = rustpotter.key();
+        long frameNanos = bufferSize * 8L * TimeUnit.SECONDS.toNanos(1)
+                / (key.frequency() * key.bitDepth() * key.channels());
+        long framesPerReport = Math.max(1, TimeUnit.SECONDS.toNanos(CPU_REPORT_INTERVAL) / frameNanos);
+        long frames = 0;
+        long processingNanos = 0;
         while (!aborted.get()) {
             try {
                 numBytesRead = audioStream.read(audioBuffer, bufferSize - remaining, remaining);
@@ -229,7 +258,14 @@ public class RustpotterKSService implements KSService {
                     continue;
                 }
                 remaining = bufferSize;
+                long start = System.nanoTime();
                 var result = rustpotter.processBytes(audioBuffer);
+                processingNanos += System.nanoTime() - start;
+                if (++frames == framesPerReport) {
+                    reportCpuUsage(source, processingNanos, frames * frameNanos);
+                    frames = 0;
+                    processingNanos = 0;
+                }
                 hasFailed = false;
                 if (result.isPresent()) {
                     var detection = result.get();
@@ -257,30 +293,35 @@ public class RustpotterKSService implements KSService {
                 hasFailed = true;
             }
         }
-        synchronized (this.runningInstances) {
-            this.runningInstances.remove(rustpotter);
+        if (frames > 0) {
+            reportCpuUsage(source, processingNanos, frames * frameNanos);
         }
-        rustpotter.delete();
+        detectorPool.release(rustpotter);
         logger.debug("Rustpotter stopped");
     }
 
-    private void asyncUpdateActiveInstances() {
-        int nInstances;
-        synchronized (this.runningInstances) {
-            nInstances = this.runningInstances.size();
+    private void reportCpuUsage(String source, long processingNanos, long audioNanos) {
+        double usage = 100.0 * processingNanos / audioNanos;
+        if (config.cpuBudget > 0 && usage > config.cpuBudget) {
+            logger.warn("Processing the audio of {} took {}% of its duration, exceeding the CPU budget of {}%", source,
+                    String.format(Locale.ROOT, "%.1f", usage), config.cpuBudget);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Processing {} ms of audio of {} took {} ms ({}%)", TimeUnit.NANOSECONDS.toMillis(audioNanos),
+                    source, TimeUnit.NANOSECONDS.toMillis(processingNanos),
+                    String.format(Locale.ROOT, "%.1f", usage));
         }
-        if (nInstances == 0) {
+    }
+
+    private void asyncUpdateActiveInstances() {
+        if (!detectorPool.isRunning()) {
+            detectorPool.clearIdle();
             return;
         }
         var rustpotterConfig = initRustpotterConfig();
         executor.submit(() -> {
             logger.debug("Updating running instances");
-            synchronized (this.runningInstances) {
-                for (RustpotterMutex rustpotter : this.runningInstances) {
-                    rustpotter.updateConfig(rustpotterConfig);
-                }
-                logger.debug("{} running instances updated", this.runningInstances.size());
-            }
+            int nInstances = detectorPool.updateConfig(rustpotterConfig);
+            logger.debug("{} running instances updated", nInstances);
             rustpotterConfig.delete();
         });
     }
@@ -327,25 +368,4 @@ public class RustpotterKSService implements KSService {
             }
         }
     }
-
-    private record RustpotterMutex(Rustpotter rustpotter) {
-
-        public Optional<RustpotterDetection> processBytes(byte[] bytes) {
-            synchronized (this.rustpotter) {
-                return this.rustpotter.processBytes(bytes);
-            }
-        }
-
-        public void updateConfig(RustpotterConfig config) {
-            synchronized (this.rustpotter) {
-                this.rustpotter.updateConfig(config);
-            }
-        }
-
-        public void delete() {
-            synchronized (this.rustpotter) {
-                this.rustpotter.delete();
-            }
-        }
-    }
 }
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.voskstt.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vosk.Model;
+import org.vosk.Recognizer;
+
+/**
+ * The {@link VoskRecognizerPool} shares a single Vosk {@link Model} between all recognitions and keeps the
+ * {@link Recognizer}s of finished recognitions for reuse, per sample rate.
+ * The model is loaded on first use and closed together with the idle recognizers once it hasn't been used for
+ * {@value #IDLE_TIMEOUT_SECONDS} seconds, unless it is preloaded.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+class VoskRecognizerPool {
+    private static final int BUFFER_SIZE = 4096;
+    // keeps the model and recognizers loaded between the recognitions of a dialog
+    private static final int IDLE_TIMEOUT_SECONDS = 30;
+
+    private final Logger logger = LoggerFactory.getLogger(VoskRecognizerPool.class);
+    private final String modelPath;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Float, Deque<Lease>> idleRecognizers = new HashMap<>();
+
+    private @Nullable Model model;
+    // the number of recognizers in use, plus one if the model is preloaded
+    private int users;
+    private boolean preloaded;
+    // incremented whenever the model is closed, the recognizers created for it can't be reused afterwards
+    private int generation;
+    private @Nullable ScheduledFuture<?> closeJob;
+    // incremented whenever the close job is scheduled or cancelled, so that an outdated job doesn't close the model
+    private int closeRequest;
+
+    VoskRecognizerPool(String modelPath, ScheduledExecutorService scheduler) {
+        this.modelPath = modelPath;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Load the model and keep it loaded until {@link #releasePreload()} is called.
+     */
+    synchronized void preload() throws IOException, UnsatisfiedLinkError {
+        cancelClose();
+        getModel();
+        if (!preloaded) {
+            preloaded = true;
+            users++;
+        }
+    }
+
+    /**
+     * Close the model once it's no longer used.
+     */
+    synchronized void releasePreload() {
+        if (preloaded) {
+            preloaded = false;
+            users--;
+            scheduleCloseIfUnused();
+        }
+    }
+
+    /**
+     * Get a recognizer for the given sample rate, which must be released after use.
+     *
+     * @param sampleRate the sample rate of the audio to recognize
+     * @return a recognizer in its initial state, together with a read buffer
+     */
+    synchronized Lease acquire(float sampleRate) throws IOException, UnsatisfiedLinkError {
+        cancelClose();
+        Model model = getModel();
+        Deque<Lease> idle = idleRecognizers.get(sampleRate);
+        Lease lease = idle != null ? idle.pollFirst() : null;
+        if (lease == null) {
+            try {
+                lease = new Lease(createRecognizer(model, sampleRate), sampleRate, generation,
+                        new byte[BUFFER_SIZE]);
+            } catch (IOException | RuntimeException e) {
+                scheduleCloseIfUnused();
+                throw e;
+            }
+        } else {
+            logger.debug("Reusing recognizer for sample rate {}", sampleRate);
+        }
+        users++;
+        return lease;
+    }
+
+    /**
+     * Release a recognizer, which is kept for reuse if the model is still loaded.
+     *
+     * @param lease the recognizer to release
+     */
+    synchronized void release(Lease lease) {
+        if (lease.generation() != generation) {
+            // the model was closed in the meantime
+            lease.recognizer().close();
+            return;
+        }
+        users--;
+        lease.recognizer().reset();
+        idleRecognizers.computeIfAbsent(lease.sampleRate(), sampleRate -> new ArrayDeque<>()).addLast(lease);
+        scheduleCloseIfUnused();
+    }
+
+    /**
+     * Close the model and all idle recognizers now, so that the model is loaded again from disk by the next
+     * {@link #preload()} or {@link #acquire(float)}. Recognizers in use are closed when they are released.
+     */
+    synchronized void unload() {
+        // the recognizers in use are not counted anymore, as they are closed on release
+        users = preloaded ? 1 : 0;
+        cancelClose();
+        closeModel();
+    }
+
+    /**
+     * Close the model and all idle recognizers, recognizers in use are closed when they are released.
+     */
+    synchronized void close() {
+        preloaded = false;
+        unload();
+    }
+
+    private Model getModel() throws IOException, UnsatisfiedLinkError {
+        Model model = this.model;
+        if (model != null) {
+            return model;
+        }
+        logger.debug("loading model");
+        long start = System.currentTimeMillis();
+        model = loadModel(modelPath);
+        logger.debug("loaded model in {} ms", System.currentTimeMillis() - start);
+        this.model = model;
+        return model;
+    }
+
+    Model loadModel(String modelPath) throws IOException, UnsatisfiedLinkError {
+        var modelFile = new File(modelPath);
+        if (!modelFile.exists() || !modelFile.isDirectory()) {
+            throw new IOException("missing model dir: " + modelPath);
+        }
+        return new Model(modelPath);
+    }
+
+    Recognizer createRecognizer(Model model, float sampleRate) throws IOException {
+        return new Recognizer(model, sampleRate);
+    }
+
+    private void scheduleCloseIfUnused() {
+        if (users > 0 || closeJob != null) {
+            return;
+        }
+        int request = ++closeRequest;
+        closeJob = scheduler.schedule(() -> {
+            synchronized (this) {
+                if (request == closeRequest) {
+                    closeJob = null;
+                    closeIfUnused();
+                }
+            }
+        }, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void cancelClose() {
+        ScheduledFuture<?> closeJob = this.closeJob;
+        if (closeJob != null) {
+            closeJob.cancel(false);
+            this.closeJob = null;
+            closeRequest++;
+        }
+    }
+
+    private void closeIfUnused() {
+        if (users == 0) {
+            closeModel();
+        }
+    }
+
+    private void closeModel() {
+        idleRecognizers.values().forEach(idle -> idle.forEach(lease -> lease.recognizer().close()));
+        idleRecognizers.clear();
+        Model model = this.model;
+        if (model != null) {
+            logger.debug("unloading model");
+            model.close();
+            this.model = null;
+            generation++;
+        }
+    }
+
+    record Lease(Recognizer recognizer, float sampleRate, int generation, byte[] buffer) {
+    }
+}
@@ -43,6 +43,8 @@ import org.openhab.core.voice.STTService;
 import org.openhab.core.voice.STTServiceHandle;
 import org.openhab.core.voice.SpeechRecognitionErrorEvent;
 import org.openhab.core.voice.SpeechRecognitionEvent;
+import org.openhab.core.voice.SpeechStartEvent;
+import org.openhab.core.voice.SpeechStopEvent;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -53,8 +55,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vosk.LibVosk;
 import org.vosk.LogLevel;
-import org.vosk.Model;
-import org.vosk.Recognizer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.jna.NativeLibrary;
@@ -81,10 +81,11 @@ public class VoskSTTService implements STTService {
         }
     }
     private final Logger logger = LoggerFactory.getLogger(VoskSTTService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
     private final ScheduledExecutorService executor = ThreadPoolManager.getScheduledPool("OH-voice-voskstt");
     private final LocaleService localeService;
+    private final VoskRecognizerPool recognizerPool = new VoskRecognizerPool(MODEL_PATH, executor);
     private VoskSTTConfiguration config = new VoskSTTConfiguration();
-    private @Nullable Model model;
 
     @Activate
     public VoskSTTService(@Reference LocaleService localeService) {
@@ -114,29 +115,23 @@ public class VoskSTTService implements STTService {
 
     @Deactivate
     protected void deactivate(Map<String, Object> config) {
-        try {
-            unloadModel();
-        } catch (IOException e) {
-            logger.warn("IOException unloading model: {}", e.getMessage());
-        }
+        recognizerPool.close();
     }
 
     private void configChange(Map<String, Object> config) {
         this.config = new Configuration(config).as(VoskSTTConfiguration.class);
+        // the model files may have changed, the next recognitions use the model loaded again from disk
+        recognizerPool.unload();
         if (this.config.preloadModel) {
             try {
-                loadModel();
+                recognizerPool.preload();
             } catch (IOException e) {
                 logger.warn("IOException loading model: {}", e.getMessage());
             } catch (UnsatisfiedLinkError e) {
                 logger.warn("Missing native dependency: {}", e.getMessage());
             }
         } else {
-            try {
-                unloadModel();
-            } catch (IOException e) {
-                logger.warn("IOException unloading model: {}", e.getMessage());
-            }
+            recognizerPool.releasePreload();
         }
     }
 
@@ -186,37 +181,6 @@ public class VoskSTTService implements STTService {
         };
     }
 
-    private Model getModel() throws IOException, UnsatisfiedLinkError {
-        var model = this.model;
-        if (model != null) {
-            return model;
-        }
-        return loadModel();
-    }
-
-    private Model loadModel() throws IOException, UnsatisfiedLinkError {
-        unloadModel();
-        var modelFile = new File(MODEL_PATH);
-        if (!modelFile.exists() || !modelFile.isDirectory()) {
-            throw new IOException("missing model dir: " + MODEL_PATH);
-        }
-        logger.debug("loading model");
-        var model = new Model(MODEL_PATH);
-        if (config.preloadModel) {
-            this.model = model;
-        }
-        return model;
-    }
-
-    private void unloadModel() throws IOException {
-        var model = this.model;
-        if (model != null) {
-            logger.debug("unloading model");
-            model.close();
-            this.model = null;
-        }
-    }
-
     private Future<?> backgroundRecognize(STTListener sttListener, InputStream audioStream, long frequency,
             AtomicBoolean aborted) {
         StringBuilder transcriptBuilder = new StringBuilder();
@@ -224,14 +188,15 @@ public class VoskSTTService implements STTService {
         long maxSilenceMillis = (config.maxSilenceSeconds * 1000L);
         long startTime = System.currentTimeMillis();
         return executor.submit(() -> {
-            Recognizer recognizer = null;
-            Model model = null;
+            VoskRecognizerPool.Lease lease = null;
+            boolean speechStarted = false;
             try {
-                model = getModel();
-                recognizer = new Recognizer(model, frequency);
+                lease = recognizerPool.acquire(frequency);
+                var recognizer = lease.recognizer();
+                logger.debug("Recognizer ready after {} ms", System.currentTimeMillis() - startTime);
                 long lastInputTime = System.currentTimeMillis();
                 int nbytes;
-                byte[] b = new byte[4096];
+                byte[] b = lease.buffer();
                 sttListener.sttEventReceived(new RecognitionStartEvent());
                 while (!aborted.get()) {
                     nbytes = audioStream.read(b);
@@ -254,17 +219,25 @@ public class VoskSTTService implements STTService {
                         lastInputTime = System.currentTimeMillis();
                         var result = recognizer.getResult();
                         logger.debug("Result: {}", result);
-                        ObjectMapper mapper = new ObjectMapper();
-                        var json = mapper.readTree(result);
+                        var json = MAPPER.readTree(result);
                         transcriptBuilder.append(json.get("text").asText()).append(" ");
                         if (config.singleUtteranceMode) {
                             break;
                         }
                     } else {
-                        logger.debug("Partial: {}", recognizer.getPartialResult());
+                        var partialResult = recognizer.getPartialResult();
+                        logger.debug("Partial: {}", partialResult);
+                        if (!speechStarted && !MAPPER.readTree(partialResult).path("partial").asText().isBlank()) {
+                            // the listener can't receive partial transcripts, but it is notified when speech is detected
+                            speechStarted = true;
+                            sttListener.sttEventReceived(new SpeechStartEvent());
+                        }
                     }
                 }
                 if (!aborted.get()) {
+                    if (speechStarted) {
+                        sttListener.sttEventReceived(new SpeechStopEvent());
+                    }
                     sttListener.sttEventReceived(new RecognitionStopEvent());
                     var transcript = transcriptBuilder.toString().trim();
                     logger.debug("Final: {}", transcript);
@@ -293,11 +266,8 @@ public class VoskSTTService implements STTService {
                     sttListener.sttEventReceived(new SpeechRecognitionErrorEvent(config.errorMessage));
                 }
             } finally {
-                if (recognizer != null) {
-                    recognizer.close();
-                }
-                if (!config.preloadModel && model != null) {
-                    model.close();
+                if (lease != null) {
+                    recognizerPool.release(lease);
                 }
             }
             try {
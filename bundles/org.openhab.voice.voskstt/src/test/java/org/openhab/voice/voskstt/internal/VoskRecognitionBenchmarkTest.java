@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.voskstt.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vosk.Recognizer;
+
+/**
+ * Measures the latency of recognitions of recorded WAV files (16 bit mono PCM), the first one with a cold pool that
+ * has to load the model and the following ones with pooled recognizers.
+ *
+ * Run with {@code -Dvosk.test.model=/path/to/model -Dvosk.test.wav=/path/to/wav/files}.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+public class VoskRecognitionBenchmarkTest {
+    private static final int RUNS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(VoskRecognitionBenchmarkTest.class);
+
+    @Test
+    @EnabledIfSystemProperty(named = "vosk.test.model", matches = ".+", disabledReason = "Only for manual execution.")
+    public void recognitionLatency() throws Exception {
+        File[] wavFiles = new File(System.getProperty("vosk.test.wav", ""))
+                .listFiles((dir, name) -> name.endsWith(".wav"));
+        assertNotNull(wavFiles, "vosk.test.wav has to be a directory with WAV files");
+        assertTrue(wavFiles.length > 0, "vosk.test.wav has to be a directory with WAV files");
+        Arrays.sort(wavFiles);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        VoskRecognizerPool pool = new VoskRecognizerPool(System.getProperty("vosk.test.model", ""), scheduler);
+        try {
+            boolean cold = true;
+            for (File wavFile : wavFiles) {
+                List<byte[]> chunks;
+                float sampleRate;
+                try (AudioInputStream audio = AudioSystem.getAudioInputStream(wavFile)) {
+                    sampleRate = audio.getFormat().getSampleRate();
+                    chunks = readChunks(audio);
+                }
+                for (int i = 0; i < RUNS; i++) {
+                    recognize(pool, wavFile.getName(), sampleRate, chunks, cold ? "cold" : "pooled");
+                    cold = false;
+                }
+            }
+        } finally {
+            pool.close();
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void recognize(VoskRecognizerPool pool, String name, float sampleRate, List<byte[]> chunks, String mode)
+            throws Exception {
+        long start = System.nanoTime();
+        VoskRecognizerPool.Lease lease = pool.acquire(sampleRate);
+        try {
+            long ready = System.nanoTime();
+            Recognizer recognizer = lease.recognizer();
+            for (byte[] chunk : chunks) {
+                recognizer.acceptWaveForm(chunk, chunk.length);
+            }
+            // the latency the user notices is the time from the end of the speech to the transcript
+            long endOfAudio = System.nanoTime();
+            String result = recognizer.getFinalResult();
+            long end = System.nanoTime();
+            logger.info("{} ({}): recognizer ready in {} ms, result {} ms after the end of the audio, total {} ms: {}",
+                    name, mode, (ready - start) / 1_000_000, (end - endOfAudio) / 1_000_000,
+                    (end - start) / 1_000_000, result.replaceAll("\\s+", " "));
+        } finally {
+            pool.release(lease);
+        }
+    }
+
+    private List<byte[]> readChunks(InputStream audio) throws IOException {
+        // the audio is fed in chunks of the size used by the service
+        List<byte[]> chunks = new ArrayList<>();
+        byte[] chunk;
+        while ((chunk = audio.readNBytes(4096)).length > 0) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
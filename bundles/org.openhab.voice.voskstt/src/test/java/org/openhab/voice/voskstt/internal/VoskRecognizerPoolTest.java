@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.voskstt.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.vosk.Model;
+import org.vosk.Recognizer;
+
+/**
+ * Tests {@link VoskRecognizerPool}.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+public class VoskRecognizerPoolTest {
+    private final List<Model> models = new ArrayList<>();
+    private final List<Recognizer> recognizers = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final VoskRecognizerPool pool = new VoskRecognizerPool("model", scheduler) {
+        @Override
+        Model loadModel(String modelPath) {
+            Model model = mock(Model.class);
+            models.add(model);
+            return model;
+        }
+
+        @Override
+        Recognizer createRecognizer(Model model, float sampleRate) {
+            Recognizer recognizer = mock(Recognizer.class);
+            recognizers.add(recognizer);
+            return recognizer;
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void releasedRecognizerIsResetAndReused() throws Exception {
+        VoskRecognizerPool.Lease lease = pool.acquire(16000);
+        pool.release(lease);
+        verify(lease.recognizer()).reset();
+
+        VoskRecognizerPool.Lease reused = pool.acquire(16000);
+        assertSame(lease.recognizer(), reused.recognizer());
+        assertSame(lease.buffer(), reused.buffer());
+        assertEquals(1, models.size());
+        assertEquals(1, recognizers.size());
+    }
+
+    @Test
+    public void recognizersAreKeptPerSampleRate() throws Exception {
+        VoskRecognizerPool.Lease first = pool.acquire(16000);
+        VoskRecognizerPool.Lease concurrent = pool.acquire(16000);
+        pool.release(first);
+        pool.release(concurrent);
+
+        assertNotSame(first.recognizer(), pool.acquire(8000).recognizer());
+        assertSame(first.recognizer(), pool.acquire(16000).recognizer());
+        assertSame(concurrent.recognizer(), pool.acquire(16000).recognizer());
+        // all recognizers share the same model
+        assertEquals(1, models.size());
+        assertEquals(3, recognizers.size());
+    }
+
+    @Test
+    public void unusedModelIsClosedAfterTheIdleTimeout() throws Exception {
+        VoskRecognizerPool.Lease lease = pool.acquire(16000);
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+        pool.release(lease);
+
+        ArgumentCaptor<Runnable> closeJob = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(closeJob.capture(), eq(30L), eq(TimeUnit.SECONDS));
+        closeJob.getValue().run();
+        verify(lease.recognizer()).close();
+        verify(models.get(0)).close();
+
+        pool.acquire(16000);
+        assertEquals(2, models.size());
+    }
+
+    @Test
+    public void outdatedCloseJobDoesNotCloseTheModel() throws Exception {
+        pool.release(pool.acquire(16000));
+        ArgumentCaptor<Runnable> closeJob = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(closeJob.capture(), anyLong(), any());
+
+        // the model is used again before the close job runs
+        VoskRecognizerPool.Lease lease = pool.acquire(16000);
+        closeJob.getValue().run();
+
+        verify(models.get(0), never()).close();
+        verify(lease.recognizer(), never()).close();
+    }
+
+    @Test
+    public void preloadedModelIsNotClosed() throws Exception {
+        pool.preload();
+        pool.release(pool.acquire(16000));
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+
+        pool.releasePreload();
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        assertEquals(1, models.size());
+    }
+
+    @Test
+    public void unloadLoadsTheModelAgain() throws Exception {
+        pool.preload();
+        VoskRecognizerPool.Lease idle = pool.acquire(16000);
+        VoskRecognizerPool.Lease inUse = pool.acquire(16000);
+        pool.release(idle);
+
+        pool.unload();
+        verify(idle.recognizer()).close();
+        verify(models.get(0)).close();
+        verify(inUse.recognizer(), never()).close();
+
+        pool.preload();
+        assertEquals(2, models.size());
+        // a recognizer of the old model is closed on release and not reused
+        pool.release(inUse);
+        verify(inUse.recognizer()).close();
+        assertNotSame(inUse.recognizer(), pool.acquire(16000).recognizer());
+    }
+
+    @Test
+    public void closeClosesTheModelInUse() throws Exception {
+        pool.preload();
+        VoskRecognizerPool.Lease lease = pool.acquire(16000);
+
+        pool.close();
+        verify(models.get(0)).close();
+        pool.release(lease);
+        verify(lease.recognizer()).close();
+    }
+}